@@ -5,6 +5,11 @@ bin/solr create -c students -s 2 -rf 2
 bin/solr config -c students -p 8983 -action set-user-property -property update.autoCreateFields -value false
 curl -X POST -H 'Content-type: application/json' --data-binary '{"add-field": {"name": "courseId", "type": "string"}}' localhost:8983/solr/students/schema
 curl -X POST -H 'Content-type: application/json' --data-binary '{"add-field": {"name": "email", "type": "string"}}' localhost:8983/solr/students/schema
+curl -X POST -H 'Content-type: application/json' --data-binary '{"add-field": {"name": "name", "type": "string", "indexed": false}}' localhost:8983/solr/students/schema
+curl -X POST -H 'Content-type: application/json' --data-binary '{"add-field": {"name": "team", "type": "string", "indexed": false}}' localhost:8983/solr/students/schema
+curl -X POST -H 'Content-type: application/json' --data-binary '{"add-field": {"name": "section", "type": "string", "indexed": false}}' localhost:8983/solr/students/schema
+curl -X POST -H 'Content-type: application/json' --data-binary '{"add-field-type": {"name": "text_prefix", "class": "solr.TextField", "indexAnalyzer": {"tokenizer": {"class": "solr.StandardTokenizerFactory"}, "filters": [{"class": "solr.LowerCaseFilterFactory"}, {"class": "solr.EdgeNGramFilterFactory", "minGramSize": "1", "maxGramSize": "20", "preserveOriginal": "true"}]}, "queryAnalyzer": {"tokenizer": {"class": "solr.StandardTokenizerFactory"}, "filters": [{"class": "solr.LowerCaseFilterFactory"}]}}}' localhost:8983/solr/students/schema
+curl -X POST -H 'Content-type: application/json' --data-binary '{"add-field": {"name": "_prefix_", "type": "text_prefix", "stored": false}}' localhost:8983/solr/students/schema
 
 # Create core to run instructors collection
 bin/solr create -c instructors -s 2 -rf 2
@@ -0,0 +1,37 @@
+package teammates.common.datatransfer;
+
+import java.util.List;
+
+/**
+ * Represents a page of entities read from the database in a fixed order,
+ * together with the position from which the next page can be read.
+ *
+ * @param <T> type of the entities in the page
+ */
+public class CursorPage<T> {
+    private final List<T> items;
+    private final String nextCursor;
+
+    public CursorPage(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    /**
+     * Gets the web-safe cursor from which the next page can be read, or null if this is the last page.
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    /**
+     * Returns true if there may be more entities after this page.
+     */
+    public boolean hasNextPage() {
+        return nextCursor != null;
+    }
+}
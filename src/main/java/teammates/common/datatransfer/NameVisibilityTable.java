@@ -0,0 +1,59 @@
+package teammates.common.datatransfer;
+
+import java.util.BitSet;
+
+/**
+ * Records whether the giver and recipient names of feedback items (e.g. responses or comments)
+ * are visible to the current user.
+ *
+ * <p>The items are identified by their positions in the list of items the table is built for.
+ * The two flags of an item are stored next to each other in one bit set, so that recording and looking up
+ * the visibility of an item needs neither hashing nor boxing.
+ */
+public class NameVisibilityTable {
+
+    private static final int FLAGS_PER_ITEM = 2;
+
+    private final BitSet flags = new BitSet();
+    private int size;
+
+    /**
+     * Records the name visibility of the item at the given position, replacing any previously recorded visibility.
+     */
+    public void put(int position, boolean isGiverVisible, boolean isRecipientVisible) {
+        flags.set(position * FLAGS_PER_ITEM, isGiverVisible);
+        flags.set(position * FLAGS_PER_ITEM + 1, isRecipientVisible);
+        size = Math.max(size, position + 1);
+    }
+
+    /**
+     * Records the giver name visibility of an item which does not have a recipient, e.g. a comment.
+     */
+    public void put(int position, boolean isGiverVisible) {
+        put(position, isGiverVisible, false);
+    }
+
+    /**
+     * Returns true if the giver name of the item at the given position is visible.
+     * Returns false if it is hidden or if no visibility is recorded for the item.
+     */
+    public boolean isGiverVisible(int position) {
+        return flags.get(position * FLAGS_PER_ITEM);
+    }
+
+    /**
+     * Returns true if the recipient name of the item at the given position is visible.
+     * Returns false if it is hidden or if no visibility is recorded for the item.
+     */
+    public boolean isRecipientVisible(int position) {
+        return flags.get(position * FLAGS_PER_ITEM + 1);
+    }
+
+    /**
+     * Returns the number of items the table covers, i.e. one more than the last position with recorded visibility.
+     */
+    public int size() {
+        return size;
+    }
+
+}
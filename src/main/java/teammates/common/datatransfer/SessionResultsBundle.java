@@ -1,14 +1,17 @@
 package teammates.common.datatransfer;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Supplier;
 
 import teammates.common.datatransfer.attributes.FeedbackQuestionAttributes;
 import teammates.common.datatransfer.attributes.FeedbackResponseAttributes;
 import teammates.common.datatransfer.attributes.FeedbackResponseCommentAttributes;
+import teammates.common.datatransfer.questions.FeedbackQuestionDetails;
 import teammates.common.util.Const;
 import teammates.common.util.StringHelper;
 
@@ -20,96 +23,130 @@ public class SessionResultsBundle {
     private final Map<String, FeedbackQuestionAttributes> questionsMap;
     private final Map<String, FeedbackQuestionAttributes> questionsNotVisibleForPreviewMap;
     private final Set<String> questionsWithCommentNotVisibleForPreview;
-    private final Map<String, List<FeedbackResponseAttributes>> questionResponseMap;
-    private final Map<String, List<FeedbackResponseAttributes>> questionMissingResponseMap;
-    private final Map<String, List<FeedbackResponseCommentAttributes>> responseCommentsMap;
-    private final Map<String, Boolean> responseGiverVisibilityTable;
-    private final Map<String, Boolean> responseRecipientVisibilityTable;
-    private final Map<Long, Boolean> commentGiverVisibilityTable;
+    private final Map<String, List<FeedbackResponseAttributes>> questionResponseMap = new LinkedHashMap<>();
+    private final Map<String, NameVisibilityTable> questionResponseVisibilityTables = new HashMap<>();
+    private final Map<String, List<FeedbackResponseAttributes>> questionMissingResponseMap = new LinkedHashMap<>();
+    private final Map<String, NameVisibilityTable> questionMissingResponseVisibilityTables = new HashMap<>();
+    private final Map<String, List<FeedbackResponseCommentAttributes>> responseCommentsMap = new HashMap<>();
+    private final Map<String, NameVisibilityTable> responseCommentVisibilityTables = new HashMap<>();
     private final CourseRoster roster;
+    private QuestionResultStatisticsProvider questionResultStatisticsProvider =
+            (question, studentEmail, statisticsLoader) -> statisticsLoader.get();
 
+    /**
+     * Creates the results of a session.
+     *
+     * <p>Each visibility table records the name visibility of the items in the list it follows,
+     * by the positions of the items in that list.
+     */
     public SessionResultsBundle(Map<String, FeedbackQuestionAttributes> questionsMap,
                                 Map<String, FeedbackQuestionAttributes> questionsNotVisibleForPreviewMap,
                                 Set<String> questionsWithCommentNotVisibleForPreview,
                                 List<FeedbackResponseAttributes> responses,
+                                NameVisibilityTable responseVisibilityTable,
                                 List<FeedbackResponseAttributes> missingResponses,
-                                Map<String, Boolean> responseGiverVisibilityTable,
-                                Map<String, Boolean> responseRecipientVisibilityTable,
-                                Map<String, List<FeedbackResponseCommentAttributes>> responseCommentsMap,
-                                Map<Long, Boolean> commentGiverVisibilityTable,
+                                NameVisibilityTable missingResponseVisibilityTable,
+                                List<FeedbackResponseCommentAttributes> comments,
+                                NameVisibilityTable commentVisibilityTable,
                                 CourseRoster roster) {
 
         this.questionsMap = questionsMap;
         this.questionsNotVisibleForPreviewMap = questionsNotVisibleForPreviewMap;
         this.questionsWithCommentNotVisibleForPreview = questionsWithCommentNotVisibleForPreview;
-        this.responseCommentsMap = responseCommentsMap;
-        this.responseGiverVisibilityTable = responseGiverVisibilityTable;
-        this.responseRecipientVisibilityTable = responseRecipientVisibilityTable;
-        this.commentGiverVisibilityTable = commentGiverVisibilityTable;
         this.roster = roster;
-        this.questionResponseMap = buildQuestionToResponseMap(responses);
-        this.questionMissingResponseMap = buildQuestionToResponseMap(missingResponses);
-    }
-
-    private Map<String, List<FeedbackResponseAttributes>> buildQuestionToResponseMap(
-            List<FeedbackResponseAttributes> responses) {
-        // build question to response map
-        Map<String, List<FeedbackResponseAttributes>> questionToResponseMap = new LinkedHashMap<>();
-        List<FeedbackQuestionAttributes> questions = new ArrayList<>(questionsMap.values());
-        for (FeedbackQuestionAttributes question : questions) {
-            questionToResponseMap.put(question.getId(), new ArrayList<>());
+        for (FeedbackQuestionAttributes question : questionsMap.values()) {
+            questionResponseMap.put(question.getId(), new ArrayList<>());
+            questionMissingResponseMap.put(question.getId(), new ArrayList<>());
         }
-        for (FeedbackResponseAttributes response : responses) {
+        groupResponsesByQuestion(responses, responseVisibilityTable,
+                questionResponseMap, questionResponseVisibilityTables);
+        groupResponsesByQuestion(missingResponses, missingResponseVisibilityTable,
+                questionMissingResponseMap, questionMissingResponseVisibilityTables);
+        groupCommentsByResponse(comments, commentVisibilityTable);
+    }
+
+    private void groupResponsesByQuestion(List<FeedbackResponseAttributes> responses,
+            NameVisibilityTable visibilityTable, Map<String, List<FeedbackResponseAttributes>> questionToResponseMap,
+            Map<String, NameVisibilityTable> questionToVisibilityTable) {
+        for (int i = 0; i < responses.size(); i++) {
+            FeedbackResponseAttributes response = responses.get(i);
             FeedbackQuestionAttributes question = questionsMap.get(response.getFeedbackQuestionId());
             List<FeedbackResponseAttributes> responsesForQuestion = questionToResponseMap.get(question.getId());
+            NameVisibilityTable visibilityTableForQuestion =
+                    questionToVisibilityTable.computeIfAbsent(question.getId(), id -> new NameVisibilityTable());
+
+            // the name of a participant of type NONE is never hidden
+            boolean isGiverVisible = visibilityTable.isGiverVisible(i)
+                    || question.getGiverType() == FeedbackParticipantType.NONE;
+            boolean isRecipientVisible = visibilityTable.isRecipientVisible(i)
+                    || question.getRecipientType() == FeedbackParticipantType.NONE;
+            visibilityTableForQuestion.put(responsesForQuestion.size(), isGiverVisible, isRecipientVisible);
             responsesForQuestion.add(response);
         }
-        return questionToResponseMap;
+    }
+
+    private void groupCommentsByResponse(List<FeedbackResponseCommentAttributes> comments,
+            NameVisibilityTable visibilityTable) {
+        for (int i = 0; i < comments.size(); i++) {
+            FeedbackResponseCommentAttributes comment = comments.get(i);
+            List<FeedbackResponseCommentAttributes> commentsForResponse =
+                    responseCommentsMap.computeIfAbsent(comment.getFeedbackResponseId(), id -> new ArrayList<>());
+            NameVisibilityTable visibilityTableForResponse = responseCommentVisibilityTables
+                    .computeIfAbsent(comment.getFeedbackResponseId(), id -> new NameVisibilityTable());
+
+            visibilityTableForResponse.put(commentsForResponse.size(), visibilityTable.isGiverVisible(i));
+            commentsForResponse.add(comment);
+        }
     }
 
     /**
-     * Returns true if the giver of a response is visible to the current user.
-     * Returns false otherwise.
+     * Gets the name visibility of the responses to the question,
+     * by the positions of the responses in {@link #getQuestionResponseMap()}.
      */
-    public boolean isResponseGiverVisible(FeedbackResponseAttributes response) {
-        return isResponseParticipantVisible(true, response);
+    public NameVisibilityTable getResponseVisibilityTable(String questionId) {
+        return questionResponseVisibilityTables.getOrDefault(questionId, new NameVisibilityTable());
     }
 
     /**
-     * Returns true if the recipient of a response is visible to the current user.
-     * Returns false otherwise.
+     * Gets the name visibility of the missing responses to the question,
+     * by the positions of the responses in {@link #getQuestionMissingResponseMap()}.
      */
-    public boolean isResponseRecipientVisible(FeedbackResponseAttributes response) {
-        return isResponseParticipantVisible(false, response);
+    public NameVisibilityTable getMissingResponseVisibilityTable(String questionId) {
+        return questionMissingResponseVisibilityTables.getOrDefault(questionId, new NameVisibilityTable());
     }
 
     /**
-     * Checks if the giver/recipient for a response is visible/hidden from the current user.
+     * Gets the giver name visibility of the comments on the response,
+     * by the positions of the comments in {@link #getResponseCommentsMap()}.
      */
-    private boolean isResponseParticipantVisible(boolean isGiver, FeedbackResponseAttributes response) {
-        FeedbackQuestionAttributes question = questionsMap.get(response.getFeedbackQuestionId());
-        FeedbackParticipantType participantType;
-        String responseId = response.getId();
-
-        boolean isVisible;
-        if (isGiver) {
-            isVisible = responseGiverVisibilityTable.get(responseId);
-            participantType = question.getGiverType();
-        } else {
-            isVisible = responseRecipientVisibilityTable.get(responseId);
-            participantType = question.getRecipientType();
-        }
-        boolean isTypeNone = participantType == FeedbackParticipantType.NONE;
+    public NameVisibilityTable getCommentVisibilityTable(String responseId) {
+        return responseCommentVisibilityTables.getOrDefault(responseId, new NameVisibilityTable());
+    }
 
-        return isVisible || isTypeNone;
+    /**
+     * Sets the provider of the result statistics of the questions, e.g. a cache shared across requests.
+     *
+     * <p>By default, the statistics are computed whenever they are requested.
+     */
+    public void setQuestionResultStatisticsProvider(QuestionResultStatisticsProvider questionResultStatisticsProvider) {
+        this.questionResultStatisticsProvider = questionResultStatisticsProvider;
     }
 
     /**
-     * Returns true if the giver of a comment is visible to the current user.
-     * Returns false otherwise.
+     * Gets the result statistics of the question as seen by the current user in JSON format.
+     *
+     * @param studentEmail the email of the student viewing the results, or null for instructors
+     * @see teammates.common.datatransfer.questions.FeedbackQuestionDetails#getQuestionResultStatisticsJson
      */
-    public boolean isCommentGiverVisible(FeedbackResponseCommentAttributes comment) {
-        return commentGiverVisibilityTable.get(comment.getId());
+    public String getQuestionResultStatisticsJson(FeedbackQuestionAttributes question, String studentEmail) {
+        FeedbackQuestionDetails questionDetails = question.getQuestionDetailsCopy();
+        Supplier<String> statisticsLoader =
+                () -> questionDetails.getQuestionResultStatisticsJson(question, studentEmail, this);
+        if (!questionDetails.hasQuestionResultStatistics()) {
+            return statisticsLoader.get();
+        }
+        return questionResultStatisticsProvider.getQuestionResultStatisticsJson(
+                question, studentEmail, statisticsLoader);
     }
 
     /**
@@ -160,15 +197,17 @@ public class SessionResultsBundle {
         return roster;
     }
 
-    public Map<String, Boolean> getResponseGiverVisibilityTable() {
-        return responseGiverVisibilityTable;
-    }
+    /**
+     * Provides the result statistics of questions, using {@code statisticsLoader} to compute them when needed.
+     */
+    @FunctionalInterface
+    public interface QuestionResultStatisticsProvider {
 
-    public Map<String, Boolean> getResponseRecipientVisibilityTable() {
-        return responseRecipientVisibilityTable;
-    }
+        /**
+         * Gets the result statistics of the question as seen by the given student, or by instructors if null.
+         */
+        String getQuestionResultStatisticsJson(FeedbackQuestionAttributes question, String studentEmail,
+                                               Supplier<String> statisticsLoader);
 
-    public Map<Long, Boolean> getCommentGiverVisibilityTable() {
-        return commentGiverVisibilityTable;
     }
 }
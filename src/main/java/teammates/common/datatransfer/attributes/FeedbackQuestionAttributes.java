@@ -1,8 +1,12 @@
 package teammates.common.datatransfer.attributes;
 
 import java.time.Instant;
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 
 import teammates.common.datatransfer.FeedbackParticipantType;
 import teammates.common.datatransfer.questions.FeedbackQuestionDetails;
@@ -32,6 +36,7 @@ public final class FeedbackQuestionAttributes extends EntityAttributes<FeedbackQ
     private transient Instant createdAt;
     private transient Instant updatedAt;
     private transient String feedbackQuestionId;
+    private transient VisibilityPolicy visibilityPolicy;
 
     private FeedbackQuestionAttributes() {
         this.showResponsesTo = new ArrayList<>();
@@ -168,7 +173,50 @@ public final class FeedbackQuestionAttributes extends EntityAttributes<FeedbackQ
      * Returns true if the response is visible to the given participant type.
      */
     public boolean isResponseVisibleTo(FeedbackParticipantType userType) {
-        return showResponsesTo.contains(userType);
+        return getVisibilityPolicy().responseViewerTypes.contains(userType);
+    }
+
+    /**
+     * Returns true if the giver name of the response is visible to the given participant type.
+     */
+    public boolean isGiverNameVisibleTo(FeedbackParticipantType userType) {
+        return getVisibilityPolicy().giverNameViewerTypes.contains(userType);
+    }
+
+    /**
+     * Returns true if the recipient name of the response is visible to the given participant type.
+     */
+    public boolean isRecipientNameVisibleTo(FeedbackParticipantType userType) {
+        return getVisibilityPolicy().recipientNameViewerTypes.contains(userType);
+    }
+
+    /**
+     * Returns the participant types which the giver name of the response is visible to, as an unmodifiable set.
+     */
+    public Set<FeedbackParticipantType> getGiverNameViewerTypes() {
+        return getVisibilityPolicy().giverNameViewerTypes;
+    }
+
+    /**
+     * Returns the participant types which the recipient name of the response is visible to, as an unmodifiable set.
+     */
+    public Set<FeedbackParticipantType> getRecipientNameViewerTypes() {
+        return getVisibilityPolicy().recipientNameViewerTypes;
+    }
+
+    /**
+     * Gets the visibility settings compiled into sets, which are reused until the visibility settings change.
+     *
+     * <p>The compiled policy is discarded by every method which changes the visibility settings,
+     * including changes made in place to the lists returned by the getters of the visibility settings.
+     */
+    private VisibilityPolicy getVisibilityPolicy() {
+        VisibilityPolicy policy = visibilityPolicy;
+        if (policy == null) {
+            policy = new VisibilityPolicy(showResponsesTo, showGiverNameTo, showRecipientNameTo);
+            visibilityPolicy = policy;
+        }
+        return policy;
     }
 
     /**
@@ -368,6 +416,7 @@ public final class FeedbackQuestionAttributes extends EntityAttributes<FeedbackQ
         if (showRecipientNameTo != null) {
             showRecipientNameTo.removeAll(optionsToRemove);
         }
+        visibilityPolicy = null;
     }
 
     @Override
@@ -435,16 +484,24 @@ public final class FeedbackQuestionAttributes extends EntityAttributes<FeedbackQ
         return giverType;
     }
 
+    /**
+     * Sets the giver type of the question.
+     */
     public void setGiverType(FeedbackParticipantType giverType) {
         this.giverType = giverType;
+        this.visibilityPolicy = null;
     }
 
     public FeedbackParticipantType getRecipientType() {
         return recipientType;
     }
 
+    /**
+     * Sets the recipient type of the question.
+     */
     public void setRecipientType(FeedbackParticipantType recipientType) {
         this.recipientType = recipientType;
+        this.visibilityPolicy = null;
     }
 
     public int getNumberOfEntitiesToGiveFeedbackTo() {
@@ -455,28 +512,52 @@ public final class FeedbackQuestionAttributes extends EntityAttributes<FeedbackQ
         this.numberOfEntitiesToGiveFeedbackTo = numberOfEntitiesToGiveFeedbackTo;
     }
 
+    /**
+     * Gets the participant types which the response is visible to.
+     * Changes made to the returned list are applied to the question.
+     */
     public List<FeedbackParticipantType> getShowResponsesTo() {
-        return showResponsesTo;
+        return showResponsesTo == null ? null : new VisibilityOptionsView(showResponsesTo);
     }
 
+    /**
+     * Sets the participant types which the response is visible to.
+     */
     public void setShowResponsesTo(List<FeedbackParticipantType> showResponsesTo) {
-        this.showResponsesTo = showResponsesTo;
+        this.showResponsesTo = showResponsesTo == null ? null : new ArrayList<>(showResponsesTo);
+        this.visibilityPolicy = null;
     }
 
+    /**
+     * Gets the participant types which the giver name of the response is visible to.
+     * Changes made to the returned list are applied to the question.
+     */
     public List<FeedbackParticipantType> getShowGiverNameTo() {
-        return showGiverNameTo;
+        return showGiverNameTo == null ? null : new VisibilityOptionsView(showGiverNameTo);
     }
 
+    /**
+     * Sets the participant types which the giver name of the response is visible to.
+     */
     public void setShowGiverNameTo(List<FeedbackParticipantType> showGiverNameTo) {
-        this.showGiverNameTo = showGiverNameTo;
+        this.showGiverNameTo = showGiverNameTo == null ? null : new ArrayList<>(showGiverNameTo);
+        this.visibilityPolicy = null;
     }
 
+    /**
+     * Gets the participant types which the recipient name of the response is visible to.
+     * Changes made to the returned list are applied to the question.
+     */
     public List<FeedbackParticipantType> getShowRecipientNameTo() {
-        return showRecipientNameTo;
+        return showRecipientNameTo == null ? null : new VisibilityOptionsView(showRecipientNameTo);
     }
 
+    /**
+     * Sets the participant types which the recipient name of the response is visible to.
+     */
     public void setShowRecipientNameTo(List<FeedbackParticipantType> showRecipientNameTo) {
-        this.showRecipientNameTo = showRecipientNameTo;
+        this.showRecipientNameTo = showRecipientNameTo == null ? null : new ArrayList<>(showRecipientNameTo);
+        this.visibilityPolicy = null;
     }
 
     private static FeedbackQuestionDetails deserializeFeedbackQuestionDetails(
@@ -494,9 +575,10 @@ public final class FeedbackQuestionAttributes extends EntityAttributes<FeedbackQ
         updateOptions.giverTypeOption.ifPresent(s -> giverType = s);
         updateOptions.recipientTypeOption.ifPresent(s -> recipientType = s);
         updateOptions.numberOfEntitiesToGiveFeedbackToOption.ifPresent(s -> numberOfEntitiesToGiveFeedbackTo = s);
-        updateOptions.showResponsesToOption.ifPresent(s -> showResponsesTo = s);
-        updateOptions.showGiverNameToOption.ifPresent(s -> showGiverNameTo = s);
-        updateOptions.showRecipientNameToOption.ifPresent(s -> showRecipientNameTo = s);
+        updateOptions.showResponsesToOption.ifPresent(s -> showResponsesTo = new ArrayList<>(s));
+        updateOptions.showGiverNameToOption.ifPresent(s -> showGiverNameTo = new ArrayList<>(s));
+        updateOptions.showRecipientNameToOption.ifPresent(s -> showRecipientNameTo = new ArrayList<>(s));
+        visibilityPolicy = null;
 
         removeIrrelevantVisibilityOptions();
     }
@@ -686,4 +768,74 @@ public final class FeedbackQuestionAttributes extends EntityAttributes<FeedbackQ
         public abstract T build();
 
     }
+
+    /**
+     * Modifiable view of a list of visibility options, which discards the compiled {@link VisibilityPolicy}
+     * whenever the list is modified through it.
+     */
+    private final class VisibilityOptionsView extends AbstractList<FeedbackParticipantType> {
+
+        private final List<FeedbackParticipantType> options;
+
+        private VisibilityOptionsView(List<FeedbackParticipantType> options) {
+            this.options = options;
+        }
+
+        @Override
+        public FeedbackParticipantType get(int index) {
+            return options.get(index);
+        }
+
+        @Override
+        public int size() {
+            return options.size();
+        }
+
+        @Override
+        public FeedbackParticipantType set(int index, FeedbackParticipantType element) {
+            visibilityPolicy = null;
+            return options.set(index, element);
+        }
+
+        @Override
+        public void add(int index, FeedbackParticipantType element) {
+            visibilityPolicy = null;
+            options.add(index, element);
+        }
+
+        @Override
+        public FeedbackParticipantType remove(int index) {
+            visibilityPolicy = null;
+            return options.remove(index);
+        }
+
+    }
+
+    /**
+     * Visibility options of a question compiled into sets for fast lookup.
+     */
+    private static final class VisibilityPolicy {
+
+        private final Set<FeedbackParticipantType> responseViewerTypes;
+        private final Set<FeedbackParticipantType> giverNameViewerTypes;
+        private final Set<FeedbackParticipantType> recipientNameViewerTypes;
+
+        private VisibilityPolicy(List<FeedbackParticipantType> showResponsesTo,
+                                 List<FeedbackParticipantType> showGiverNameTo,
+                                 List<FeedbackParticipantType> showRecipientNameTo) {
+            this.responseViewerTypes = toUnmodifiableEnumSet(showResponsesTo);
+            this.giverNameViewerTypes = toUnmodifiableEnumSet(showGiverNameTo);
+            this.recipientNameViewerTypes = toUnmodifiableEnumSet(showRecipientNameTo);
+        }
+
+        private static Set<FeedbackParticipantType> toUnmodifiableEnumSet(List<FeedbackParticipantType> options) {
+            Set<FeedbackParticipantType> set = EnumSet.noneOf(FeedbackParticipantType.class);
+            if (options != null) {
+                set.addAll(options);
+            }
+            return Collections.unmodifiableSet(set);
+        }
+
+    }
+
 }
@@ -27,6 +27,14 @@ public class RequestLogDetails extends LogDetails {
     private String actionClass;
     @Nullable
     private RequestLogUser userInfo;
+    @Nullable
+    private Integer entityCacheHits;
+    @Nullable
+    private Integer entityCacheMisses;
+    @Nullable
+    private Integer searchCacheHits;
+    @Nullable
+    private Integer searchCacheMisses;
 
     public RequestLogDetails() {
         super(LogEvent.REQUEST_LOG);
@@ -136,6 +144,38 @@ public class RequestLogDetails extends LogDetails {
         this.userInfo = userInfo;
     }
 
+    public Integer getEntityCacheHits() {
+        return entityCacheHits;
+    }
+
+    public void setEntityCacheHits(Integer entityCacheHits) {
+        this.entityCacheHits = entityCacheHits;
+    }
+
+    public Integer getEntityCacheMisses() {
+        return entityCacheMisses;
+    }
+
+    public void setEntityCacheMisses(Integer entityCacheMisses) {
+        this.entityCacheMisses = entityCacheMisses;
+    }
+
+    public Integer getSearchCacheHits() {
+        return searchCacheHits;
+    }
+
+    public void setSearchCacheHits(Integer searchCacheHits) {
+        this.searchCacheHits = searchCacheHits;
+    }
+
+    public Integer getSearchCacheMisses() {
+        return searchCacheMisses;
+    }
+
+    public void setSearchCacheMisses(Integer searchCacheMisses) {
+        this.searchCacheMisses = searchCacheMisses;
+    }
+
     @Override
     public void hideSensitiveInformation() {
         requestHeaders = null;
@@ -69,6 +69,11 @@ public class FeedbackContributionQuestionDetails extends FeedbackQuestionDetails
         return false;
     }
 
+    @Override
+    public boolean hasQuestionResultStatistics() {
+        return true;
+    }
+
     @Override
     public String getQuestionResultStatisticsJson(
             FeedbackQuestionAttributes question, String studentEmail, SessionResultsBundle bundle) {
@@ -40,6 +40,14 @@ public abstract class FeedbackQuestionDetails {
         return "";
     }
 
+    /**
+     * Returns true if {@link #getQuestionResultStatisticsJson} computes statistics from the responses,
+     * i.e. the statistics are not always empty.
+     */
+    public boolean hasQuestionResultStatistics() {
+        return false;
+    }
+
     /**
      * Checks whether the changes to the question details require deletion of corresponding responses.
      */
@@ -36,6 +36,7 @@ public final class Const {
     public static final Duration COOKIE_VALIDITY_PERIOD = Duration.ofDays(7);
 
     public static final int SEARCH_QUERY_SIZE_LIMIT = 50;
+    public static final int SEARCH_SUGGESTION_SIZE_LIMIT = 10;
 
     // These constants are used as variable values to mean that the variable is in a 'special' state.
 
@@ -352,6 +353,8 @@ public final class Const {
         public static final String SEARCH_ACCOUNT_REQUESTS = URI_PREFIX + "/search/accountrequests";
         public static final String SEARCH_INSTRUCTORS = URI_PREFIX + "/search/instructors";
         public static final String SEARCH_STUDENTS = URI_PREFIX + "/search/students";
+        public static final String SEARCH_STUDENT_SUGGESTIONS = URI_PREFIX + "/search/students/suggestions";
+        public static final String SEARCH_REINDEX = URI_PREFIX + "/search/reindex";
         public static final String BIN_SESSION = URI_PREFIX + "/bin/session";
         public static final String QUESTIONS = URI_PREFIX + "/questions";
         public static final String QUESTION = URI_PREFIX + "/question";
@@ -436,6 +439,8 @@ public final class Const {
         public static final String ACCOUNT_REQUEST_SEARCH_INDEXING_WORKER_URL =
                 URI_PREFIX + "/accountRequestSearchIndexing";
         public static final String STUDENT_SEARCH_INDEXING_WORKER_URL = URI_PREFIX + "/studentSearchIndexing";
+        public static final String STUDENTS_SEARCH_INDEXING_WORKER_URL = URI_PREFIX + "/studentsSearchIndexing";
+        public static final String SEARCH_REINDEXING_WORKER_URL = URI_PREFIX + "/searchReindexing";
     }
 
 }
@@ -1,5 +1,8 @@
 package teammates.common.util;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 /**
  * Represents an email message and its important metadata.
  */
@@ -18,6 +21,8 @@ public class EmailWrapper {
     private String bcc;
     private String subject;
     private String content;
+    private String template;
+    private Map<String, String> templateValues;
     private boolean isCopy;
 
     public EmailType getType() {
@@ -93,8 +98,44 @@ public class EmailWrapper {
         return content;
     }
 
+    /**
+     * Sets the content of the email, which is not populated from a template.
+     */
     public void setContent(String content) {
         this.content = content;
+        this.template = null;
+        this.templateValues = null;
+    }
+
+    /**
+     * Sets the content of the email by populating the template with the values of the recipient.
+     *
+     * <p>The template and the values are kept together with the content, so that emails populated from
+     * the same template can be sent to their recipients in one request by the email services which support it.
+     *
+     * @see Templates#populateTemplate(String, String...)
+     */
+    public void setContentFromTemplate(String template, String... keyValuePairs) {
+        this.content = Templates.populateTemplate(template, keyValuePairs);
+        this.template = template;
+        this.templateValues = new LinkedHashMap<>();
+        for (int i = 0; i < keyValuePairs.length; i += 2) {
+            templateValues.putIfAbsent(keyValuePairs[i], keyValuePairs[i + 1]);
+        }
+    }
+
+    /**
+     * Gets the template which the content is populated from, or null if the content is not set from a template.
+     */
+    public String getTemplate() {
+        return template;
+    }
+
+    /**
+     * Gets the values which the template is populated with, or null if the content is not set from a template.
+     */
+    public Map<String, String> getTemplateValues() {
+        return templateValues;
     }
 
     public boolean getIsCopy() {
@@ -1,20 +1,25 @@
 package teammates.common.util;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.lang.reflect.Type;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
-import com.google.gson.JsonDeserializationContext;
-import com.google.gson.JsonDeserializer;
 import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
-import com.google.gson.JsonPrimitive;
-import com.google.gson.JsonSerializationContext;
-import com.google.gson.JsonSerializer;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 
 import teammates.common.datatransfer.logs.LogDetails;
 import teammates.common.datatransfer.logs.LogEvent;
@@ -27,27 +32,34 @@ import teammates.common.datatransfer.questions.FeedbackResponseDetails;
  */
 public final class JsonUtils {
 
+    /**
+     * Gson instances are immutable and thread-safe, so they are built once and shared
+     * instead of being re-created with all the type adapters on every call.
+     */
+    private static final Gson COMPACT_GSON = createGsonBuilder().create();
+    private static final Gson PRETTY_GSON = createGsonBuilder().setPrettyPrinting().create();
+
     private JsonUtils() {
         // utility class
     }
 
     /**
-     * This creates a Gson object that can handle the Date format we use in the
-     * Json file and also reformat the Json string in pretty-print format.
+     * This creates a Gson builder that can handle the Date format we use in the
+     * Json file as well as the polymorphic question, response and log details.
      */
-    private static Gson getGsonInstance(boolean prettyPrint) {
-        GsonBuilder builder = new GsonBuilder()
-                .registerTypeAdapter(Instant.class, new InstantAdapter())
-                .registerTypeAdapter(ZoneId.class, new ZoneIdAdapter())
-                .registerTypeAdapter(Duration.class, new DurationMinutesAdapter())
-                .registerTypeAdapter(FeedbackQuestionDetails.class, new FeedbackQuestionDetailsAdapter())
-                .registerTypeAdapter(FeedbackResponseDetails.class, new FeedbackResponseDetailsAdapter())
-                .registerTypeAdapter(LogDetails.class, new LogDetailsAdapter())
+    private static GsonBuilder createGsonBuilder() {
+        return new GsonBuilder()
+                .registerTypeAdapter(Instant.class, new InstantAdapter().nullSafe())
+                .registerTypeAdapter(ZoneId.class, new ZoneIdAdapter().nullSafe())
+                .registerTypeAdapter(Duration.class, new DurationMinutesAdapter().nullSafe())
+                .registerTypeAdapterFactory(new FeedbackQuestionDetailsAdapterFactory())
+                .registerTypeAdapterFactory(new FeedbackResponseDetailsAdapterFactory())
+                .registerTypeAdapterFactory(new LogDetailsAdapterFactory())
                 .disableHtmlEscaping();
-        if (prettyPrint) {
-            builder.setPrettyPrinting();
-        }
-        return builder.create();
+    }
+
+    private static Gson getGsonInstance(boolean prettyPrint) {
+        return prettyPrint ? PRETTY_GSON : COMPACT_GSON;
     }
 
     /**
@@ -87,6 +99,26 @@ public final class JsonUtils {
         getGsonInstance(false).toJson(src, writer);
     }
 
+    /**
+     * Serializes the specified object into its equivalent JSON string as the next value of a JSON writer.
+     * This allows large JSON documents to be written piece by piece.
+     *
+     * @see #createCompactJsonWriter(Writer)
+     * @see Gson#toJson(Object, Type, JsonWriter)
+     */
+    public static void toCompactJson(Object src, JsonWriter writer) {
+        getGsonInstance(false).toJson(src, src.getClass(), writer);
+    }
+
+    /**
+     * Creates a JSON writer which produces the same JSON format as {@link #toCompactJson(Object)}.
+     *
+     * @see Gson#newJsonWriter(Writer)
+     */
+    public static JsonWriter createCompactJsonWriter(Writer writer) throws IOException {
+        return getGsonInstance(false).newJsonWriter(writer);
+    }
+
     /**
      * Deserializes the specified JSON string into an object of the specified type.
      *
@@ -114,110 +146,179 @@ public final class JsonUtils {
         return JsonParser.parseString(json);
     }
 
-    private static class InstantAdapter implements JsonSerializer<Instant>, JsonDeserializer<Instant> {
+    private static class InstantAdapter extends TypeAdapter<Instant> {
 
         @Override
-        public JsonElement serialize(Instant instant, Type type, JsonSerializationContext context) {
-            synchronized (this) {
-                return new JsonPrimitive(DateTimeFormatter.ISO_INSTANT.format(instant));
-            }
+        public void write(JsonWriter out, Instant instant) throws IOException {
+            out.value(DateTimeFormatter.ISO_INSTANT.format(instant));
         }
 
         @Override
-        public Instant deserialize(JsonElement element, Type type, JsonDeserializationContext context) {
-            synchronized (this) {
-                return Instant.parse(element.getAsString());
-            }
+        public Instant read(JsonReader in) throws IOException {
+            return Instant.parse(in.nextString());
         }
     }
 
-    private static class ZoneIdAdapter implements JsonSerializer<ZoneId>, JsonDeserializer<ZoneId> {
+    private static class ZoneIdAdapter extends TypeAdapter<ZoneId> {
 
         @Override
-        public JsonElement serialize(ZoneId zoneId, Type type, JsonSerializationContext context) {
-            synchronized (this) {
-                return new JsonPrimitive(zoneId.getId());
-            }
+        public void write(JsonWriter out, ZoneId zoneId) throws IOException {
+            out.value(zoneId.getId());
         }
 
         @Override
-        public ZoneId deserialize(JsonElement element, Type type, JsonDeserializationContext context) {
-            synchronized (this) {
-                return ZoneId.of(element.getAsString());
-            }
+        public ZoneId read(JsonReader in) throws IOException {
+            return ZoneId.of(in.nextString());
         }
     }
 
-    private static class DurationMinutesAdapter implements JsonSerializer<Duration>, JsonDeserializer<Duration> {
+    private static class DurationMinutesAdapter extends TypeAdapter<Duration> {
 
         @Override
-        public JsonElement serialize(Duration duration, Type type, JsonSerializationContext context) {
-            synchronized (this) {
-                return new JsonPrimitive(duration.toMinutes());
-            }
+        public void write(JsonWriter out, Duration duration) throws IOException {
+            out.value(duration.toMinutes());
         }
 
         @Override
-        public Duration deserialize(JsonElement element, Type type, JsonDeserializationContext context) {
-            synchronized (this) {
-                return Duration.ofMinutes(element.getAsLong());
+        public Duration read(JsonReader in) throws IOException {
+            return Duration.ofMinutes(in.nextLong());
+        }
+    }
+
+    /**
+     * Creates adapters for an abstract base type whose concrete subtype is determined by the object itself
+     * when serializing and by a discriminator field when deserializing.
+     *
+     * <p>The adapters of the concrete subtypes are looked up once per {@link Gson} instance and cached.
+     * Serialization streams directly through the concrete subtype adapter without building a JSON tree.
+     *
+     * @param <T> the abstract base type
+     */
+    private abstract static class SubtypeAdapterFactory<T> implements TypeAdapterFactory {
+
+        private final Class<T> baseType;
+
+        SubtypeAdapterFactory(Class<T> baseType) {
+            this.baseType = baseType;
+        }
+
+        /**
+         * Gets the concrete subtype to serialize {@code src} as.
+         */
+        abstract Class<? extends T> getSubtype(T src);
+
+        /**
+         * Gets the concrete subtype to deserialize {@code json} into.
+         */
+        abstract Class<? extends T> getSubtype(JsonObject json);
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <R> TypeAdapter<R> create(Gson gson, TypeToken<R> type) {
+            if (type.getRawType() != baseType) {
+                return null;
+            }
+            return (TypeAdapter<R>) new SubtypeAdapter(gson).nullSafe();
+        }
+
+        private class SubtypeAdapter extends TypeAdapter<T> {
+
+            private final Gson gson;
+            private final Map<Class<?>, TypeAdapter<?>> subtypeAdapters = new ConcurrentHashMap<>();
+
+            SubtypeAdapter(Gson gson) {
+                this.gson = gson;
+            }
+
+            @SuppressWarnings("unchecked")
+            private <S extends T> TypeAdapter<S> getSubtypeAdapter(Class<S> subtype) {
+                TypeAdapter<?> adapter = subtypeAdapters.get(subtype);
+                if (adapter == null) {
+                    // not using computeIfAbsent as resolving an adapter may recursively resolve other subtypes
+                    adapter = gson.getAdapter(subtype);
+                    subtypeAdapters.putIfAbsent(subtype, adapter);
+                }
+                return (TypeAdapter<S>) adapter;
+            }
+
+            @Override
+            public void write(JsonWriter out, T src) throws IOException {
+                writeAs(out, src, getSubtype(src));
+            }
+
+            private <S extends T> void writeAs(JsonWriter out, T src, Class<S> subtype) throws IOException {
+                getSubtypeAdapter(subtype).write(out, subtype.cast(src));
+            }
+
+            @Override
+            public T read(JsonReader in) throws IOException {
+                JsonObject json = JsonParser.parseReader(in).getAsJsonObject();
+                return getSubtypeAdapter(getSubtype(json)).fromJsonTree(json);
             }
         }
     }
 
-    private static class FeedbackResponseDetailsAdapter implements JsonSerializer<FeedbackResponseDetails>,
-            JsonDeserializer<FeedbackResponseDetails> {
+    private static class FeedbackResponseDetailsAdapterFactory extends SubtypeAdapterFactory<FeedbackResponseDetails> {
+
+        FeedbackResponseDetailsAdapterFactory() {
+            super(FeedbackResponseDetails.class);
+        }
 
         @Override
-        public JsonElement serialize(FeedbackResponseDetails src, Type typeOfSrc, JsonSerializationContext context) {
-            return context.serialize(src, src.getQuestionType().getResponseDetailsClass());
+        Class<? extends FeedbackResponseDetails> getSubtype(FeedbackResponseDetails src) {
+            return src.getQuestionType().getResponseDetailsClass();
         }
 
         @Override
-        public FeedbackResponseDetails deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext context) {
-            FeedbackQuestionType questionType =
-                    FeedbackQuestionType.valueOf(json.getAsJsonObject().get("questionType").getAsString());
-            return context.deserialize(json, questionType.getResponseDetailsClass());
+        Class<? extends FeedbackResponseDetails> getSubtype(JsonObject json) {
+            FeedbackQuestionType questionType = FeedbackQuestionType.valueOf(json.get("questionType").getAsString());
+            return questionType.getResponseDetailsClass();
         }
 
     }
 
-    private static class FeedbackQuestionDetailsAdapter implements JsonSerializer<FeedbackQuestionDetails>,
-            JsonDeserializer<FeedbackQuestionDetails> {
+    private static class FeedbackQuestionDetailsAdapterFactory extends SubtypeAdapterFactory<FeedbackQuestionDetails> {
+
+        FeedbackQuestionDetailsAdapterFactory() {
+            super(FeedbackQuestionDetails.class);
+        }
 
         @Override
-        public JsonElement serialize(FeedbackQuestionDetails src, Type typeOfSrc, JsonSerializationContext context) {
-            return context.serialize(src, src.getQuestionType().getQuestionDetailsClass());
+        Class<? extends FeedbackQuestionDetails> getSubtype(FeedbackQuestionDetails src) {
+            return src.getQuestionType().getQuestionDetailsClass();
         }
 
         @Override
-        public FeedbackQuestionDetails deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext context) {
-            FeedbackQuestionType questionType =
-                    FeedbackQuestionType.valueOf(json.getAsJsonObject().get("questionType").getAsString());
-            return context.deserialize(json, questionType.getQuestionDetailsClass());
+        Class<? extends FeedbackQuestionDetails> getSubtype(JsonObject json) {
+            FeedbackQuestionType questionType = FeedbackQuestionType.valueOf(json.get("questionType").getAsString());
+            return questionType.getQuestionDetailsClass();
         }
     }
 
-    private static class LogDetailsAdapter implements JsonSerializer<LogDetails>, JsonDeserializer<LogDetails> {
+    private static class LogDetailsAdapterFactory extends SubtypeAdapterFactory<LogDetails> {
+
+        LogDetailsAdapterFactory() {
+            super(LogDetails.class);
+        }
 
         @Override
-        public JsonElement serialize(LogDetails src, Type typeOfSrc, JsonSerializationContext context) {
-            return context.serialize(src, src.getEvent().getDetailsClass());
+        Class<? extends LogDetails> getSubtype(LogDetails src) {
+            return src.getEvent().getDetailsClass();
         }
 
         @Override
-        public LogDetails deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext context) {
+        Class<? extends LogDetails> getSubtype(JsonObject json) {
             LogEvent event;
-            if (json.getAsJsonObject().has("event")) {
+            if (json.has("event")) {
                 try {
-                    event = LogEvent.valueOf(json.getAsJsonObject().get("event").getAsString());
+                    event = LogEvent.valueOf(json.get("event").getAsString());
                 } catch (IllegalArgumentException e) {
                     event = LogEvent.DEFAULT_LOG;
                 }
             } else {
                 event = LogEvent.DEFAULT_LOG;
             }
-            return context.deserialize(json, event.getDetailsClass());
+            return event.getDetailsClass();
         }
     }
 }
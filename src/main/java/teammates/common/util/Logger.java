@@ -130,6 +130,10 @@ public final class Logger {
         details.setUserInfo(userInfo);
         details.setRequestBody(requestBody);
         details.setActionClass(actionClass);
+        details.setEntityCacheHits(RequestTracer.getEntityCacheHits());
+        details.setEntityCacheMisses(RequestTracer.getEntityCacheMisses());
+        details.setSearchCacheHits(RequestTracer.getSearchCacheHits());
+        details.setSearchCacheMisses(RequestTracer.getSearchCacheMisses());
 
         String logMessage = String.format("[%s] [%sms] [%s %s] %s",
                 statusCode, timeElapsed, method, requestUrl, message);
@@ -2,6 +2,8 @@ package teammates.common.util;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 import teammates.common.exception.DeadlineExceededException;
 
@@ -41,7 +43,7 @@ public final class RequestTracer {
     /**
      * Returns the remaining time (in millis) until the current request times out.
      */
-    private static long getRemainingTimeMillis() {
+    public static long getRemainingTimeMillis() {
         RequestTrace trace = THREAD_LOCAL.get();
         if (trace == null) {
             return 1L;
@@ -71,6 +73,112 @@ public final class RequestTracer {
         return Instant.now().toEpochMilli() - trace.initTimestamp;
     }
 
+    /**
+     * Records a lookup served by the request-scoped entity cache.
+     */
+    public static void recordEntityCacheHit() {
+        RequestTrace trace = THREAD_LOCAL.get();
+        if (trace != null) {
+            trace.entityCacheHits.incrementAndGet();
+        }
+    }
+
+    /**
+     * Records a lookup which has to go to the database as it is not in the request-scoped entity cache.
+     */
+    public static void recordEntityCacheMiss() {
+        RequestTrace trace = THREAD_LOCAL.get();
+        if (trace != null) {
+            trace.entityCacheMisses.incrementAndGet();
+        }
+    }
+
+    /**
+     * Returns the number of lookups served by the request-scoped entity cache in the current request.
+     */
+    public static int getEntityCacheHits() {
+        RequestTrace trace = THREAD_LOCAL.get();
+        if (trace == null) {
+            return 0;
+        }
+        return trace.entityCacheHits.get();
+    }
+
+    /**
+     * Returns the number of lookups not served by the request-scoped entity cache in the current request.
+     */
+    public static int getEntityCacheMisses() {
+        RequestTrace trace = THREAD_LOCAL.get();
+        if (trace == null) {
+            return 0;
+        }
+        return trace.entityCacheMisses.get();
+    }
+
+    /**
+     * Records a search served by the search result cache.
+     */
+    public static void recordSearchCacheHit() {
+        RequestTrace trace = THREAD_LOCAL.get();
+        if (trace != null) {
+            trace.searchCacheHits.incrementAndGet();
+        }
+    }
+
+    /**
+     * Records a search which has to go to the search service as its result is not in the search result cache.
+     */
+    public static void recordSearchCacheMiss() {
+        RequestTrace trace = THREAD_LOCAL.get();
+        if (trace != null) {
+            trace.searchCacheMisses.incrementAndGet();
+        }
+    }
+
+    /**
+     * Returns the number of searches served by the search result cache in the current request.
+     */
+    public static int getSearchCacheHits() {
+        RequestTrace trace = THREAD_LOCAL.get();
+        if (trace == null) {
+            return 0;
+        }
+        return trace.searchCacheHits.get();
+    }
+
+    /**
+     * Returns the number of searches not served by the search result cache in the current request.
+     */
+    public static int getSearchCacheMisses() {
+        RequestTrace trace = THREAD_LOCAL.get();
+        if (trace == null) {
+            return 0;
+        }
+        return trace.searchCacheMisses.get();
+    }
+
+    /**
+     * Returns a task which runs {@code task} within the trace of the current request.
+     *
+     * <p>This is used to carry the request information (including its deadline) over to other threads.
+     */
+    public static <T> Supplier<T> propagate(Supplier<T> task) {
+        RequestTrace trace = THREAD_LOCAL.get();
+        return () -> {
+            RequestTrace previousTrace = THREAD_LOCAL.get();
+            THREAD_LOCAL.set(trace);
+            try {
+                return task.get();
+            } finally {
+                if (previousTrace == null) {
+                    THREAD_LOCAL.remove();
+                } else {
+                    THREAD_LOCAL.set(previousTrace);
+                }
+            }
+        };
+    }
+
     /**
      * Initializes the request with an ID and the timeout value (in seconds).
      */
@@ -83,6 +191,10 @@ public final class RequestTracer {
         private final String spanId;
         private final long initTimestamp;
         private final long timeoutTimestamp;
+        private final AtomicInteger entityCacheHits = new AtomicInteger();
+        private final AtomicInteger entityCacheMisses = new AtomicInteger();
+        private final AtomicInteger searchCacheHits = new AtomicInteger();
+        private final AtomicInteger searchCacheMisses = new AtomicInteger();
 
         private RequestTrace(String traceId, String spanId, int timeoutInSeconds) {
             this.traceId = traceId;
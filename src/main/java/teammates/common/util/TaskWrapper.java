@@ -11,12 +11,19 @@ public class TaskWrapper {
     private final String workerUrl;
     private final Map<String, String> paramMap;
     private final Object requestBody;
+    private final long countdownTime;
 
     public TaskWrapper(String queueName, String workerUrl, Map<String, String> paramMap, Object requestBody) {
+        this(queueName, workerUrl, paramMap, requestBody, 0);
+    }
+
+    public TaskWrapper(String queueName, String workerUrl, Map<String, String> paramMap, Object requestBody,
+                       long countdownTime) {
         this.queueName = queueName;
         this.workerUrl = workerUrl;
         this.paramMap = paramMap;
         this.requestBody = requestBody;
+        this.countdownTime = countdownTime;
     }
 
     public String getQueueName() {
@@ -35,4 +42,11 @@ public class TaskWrapper {
         return requestBody;
     }
 
+    /**
+     * Gets the time delay, in milliseconds, for the task to be executed.
+     */
+    public long getCountdownTime() {
+        return countdownTime;
+    }
+
 }
@@ -1,5 +1,11 @@
 package teammates.common.util;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * Contains utility methods for creating strings from given templates.
  */
@@ -7,6 +13,13 @@ public final class Templates {
 
     public static final String INSTRUCTOR_SAMPLE_DATA = FileHelper.readResourceFile("InstructorSampleData.json");
 
+    private static final String PLACEHOLDER_PREFIX = "${";
+    private static final String PLACEHOLDER_SUFFIX = "}";
+    private static final String ESCAPED_PLACEHOLDER_PREFIX = "&#36;{";
+
+    // only the templates read from files are kept, as any other template contains values which vary
+    private static final Map<String, CompiledTemplate> COMPILED_TEMPLATE_FILES = new ConcurrentHashMap<>();
+
     private Templates() {
         // utility class
     }
@@ -14,6 +27,10 @@ public final class Templates {
     /**
      * Populates the HTML templates by replacing variables in the template string
      * with the given value strings.
+     *
+     * <p>If all variables are placeholders of the form {@code ${name}}, the template is populated in a single pass,
+     * and the values are inserted as they are, i.e. placeholders in a value are not populated.
+     * The templates read from files are parsed only once.
      * @param template The template html to be populated
      * @param keyValuePairs Array of a variable, even number of key-value pairs:
      *                   { "key1", "val1", "key2", "val2", ... }
@@ -21,6 +38,37 @@ public final class Templates {
      */
     public static String populateTemplate(String template, String... keyValuePairs) {
         assert keyValuePairs.length % 2 == 0 : "The number of elements in keyValuePairs passed in must be even";
+        Map<String, String> values = new HashMap<>();
+        for (int i = 0; i < keyValuePairs.length; i += 2) {
+            if (!isPlaceholder(keyValuePairs[i])) {
+                return populateTemplateByReplacing(template, keyValuePairs);
+            }
+            values.putIfAbsent(keyValuePairs[i], keyValuePairs[i + 1]);
+        }
+        CompiledTemplate compiledTemplate = COMPILED_TEMPLATE_FILES.get(template);
+        if (compiledTemplate == null) {
+            compiledTemplate = new CompiledTemplate(template);
+        }
+        return compiledTemplate.populate(values, keyValuePairs);
+    }
+
+    /**
+     * Escapes the placeholders in a value to be inserted into an HTML template which is populated again later,
+     * e.g. with the values of each recipient, so that the value is shown as it is instead of being populated.
+     */
+    public static String escapePlaceholdersForHtml(String value) {
+        return value.replace(PLACEHOLDER_PREFIX, ESCAPED_PLACEHOLDER_PREFIX);
+    }
+
+    /**
+     * Checks whether the HTML template contains placeholders escaped by {@link #escapePlaceholdersForHtml(String)},
+     * which become placeholders again when the template is converted to plain text.
+     */
+    public static boolean hasEscapedPlaceholders(String template) {
+        return template.contains(ESCAPED_PLACEHOLDER_PREFIX);
+    }
+
+    private static String populateTemplateByReplacing(String template, String... keyValuePairs) {
         String populatedTemplate = template;
         for (int i = 0; i < keyValuePairs.length; i += 2) {
             populatedTemplate = populatedTemplate.replace(keyValuePairs[i], keyValuePairs[i + 1]);
@@ -28,70 +76,136 @@ public final class Templates {
         return populatedTemplate;
     }
 
+    private static boolean isPlaceholder(String key) {
+        return key.length() > PLACEHOLDER_PREFIX.length() + 1
+                && key.startsWith(PLACEHOLDER_PREFIX) && key.indexOf(PLACEHOLDER_SUFFIX) == key.length() - 1
+                && key.indexOf(PLACEHOLDER_PREFIX, 1) == -1;
+    }
+
+    private static String readTemplateFile(String fileName) {
+        String template = FileHelper.readResourceFile(fileName);
+        COMPILED_TEMPLATE_FILES.put(template, new CompiledTemplate(template));
+        return template;
+    }
+
+    /**
+     * A template split into text and placeholder segments.
+     */
+    private static final class CompiledTemplate {
+        private final List<String> segments = new ArrayList<>();
+        private final List<Boolean> isPlaceholderSegment = new ArrayList<>();
+        private final int length;
+
+        CompiledTemplate(String template) {
+            length = template.length();
+            int textStart = 0;
+            int placeholderStart = template.indexOf(PLACEHOLDER_PREFIX);
+            while (placeholderStart != -1) {
+                int placeholderEnd = template.indexOf(PLACEHOLDER_SUFFIX, placeholderStart);
+                if (placeholderEnd == -1) {
+                    break;
+                }
+                int nextPlaceholderStart = template.indexOf(PLACEHOLDER_PREFIX, placeholderStart + 1);
+                if (nextPlaceholderStart != -1 && nextPlaceholderStart < placeholderEnd) {
+                    // not a placeholder as it is not closed before the next one starts
+                    placeholderStart = nextPlaceholderStart;
+                    continue;
+                }
+                addSegment(template.substring(textStart, placeholderStart), false);
+                addSegment(template.substring(placeholderStart, placeholderEnd + 1), true);
+                textStart = placeholderEnd + 1;
+                placeholderStart = template.indexOf(PLACEHOLDER_PREFIX, textStart);
+            }
+            addSegment(template.substring(textStart), false);
+        }
+
+        private void addSegment(String segment, boolean isPlaceholder) {
+            if (!segment.isEmpty()) {
+                segments.add(segment);
+                isPlaceholderSegment.add(isPlaceholder);
+            }
+        }
+
+        String populate(Map<String, String> values, String[] keyValuePairs) {
+            int capacity = length;
+            for (int i = 1; i < keyValuePairs.length; i += 2) {
+                capacity += keyValuePairs[i].length();
+            }
+
+            StringBuilder populatedTemplate = new StringBuilder(capacity);
+            for (int i = 0; i < segments.size(); i++) {
+                String segment = segments.get(i);
+                String value = isPlaceholderSegment.get(i) ? values.get(segment) : null;
+                populatedTemplate.append(value == null ? segment : value);
+            }
+            return populatedTemplate.toString();
+        }
+    }
+
     /**
      * Collection of templates of emails to be sent by the system.
      */
     public static class EmailTemplates {
         public static final String USER_COURSE_JOIN =
-                FileHelper.readResourceFile("userEmailTemplate-courseJoin.html");
+                readTemplateFile("userEmailTemplate-courseJoin.html");
         public static final String USER_COURSE_REGISTER =
-                FileHelper.readResourceFile("userEmailTemplate-userRegisterForCourse.html");
+                readTemplateFile("userEmailTemplate-userRegisterForCourse.html");
         public static final String FRAGMENT_STUDENT_COURSE_JOIN =
-                FileHelper.readResourceFile("studentEmailFragment-courseJoin.html");
+                readTemplateFile("studentEmailFragment-courseJoin.html");
         public static final String FRAGMENT_STUDENT_COURSE_REJOIN_AFTER_GOOGLE_ID_RESET =
-                FileHelper.readResourceFile("studentEmailFragment-googleIdReset.html");
+                readTemplateFile("studentEmailFragment-googleIdReset.html");
         public static final String FRAGMENT_STUDENT_COURSE_REJOIN_AFTER_REGKEY_RESET =
-                FileHelper.readResourceFile("studentEmailFragment-registrationKeyReset.html");
+                readTemplateFile("studentEmailFragment-registrationKeyReset.html");
         public static final String FRAGMENT_INSTRUCTOR_COPY_PREAMBLE =
-                FileHelper.readResourceFile("instructorEmailFragment-instructorCopyPreamble.html");
+                readTemplateFile("instructorEmailFragment-instructorCopyPreamble.html");
         public static final String FRAGMENT_INSTRUCTOR_COURSE_JOIN =
-                FileHelper.readResourceFile("instructorEmailFragment-courseJoin.html");
+                readTemplateFile("instructorEmailFragment-courseJoin.html");
         public static final String FRAGMENT_INSTRUCTOR_COURSE_REJOIN_AFTER_GOOGLE_ID_RESET =
-                FileHelper.readResourceFile("instructorEmailFragment-googleIdReset.html");
+                readTemplateFile("instructorEmailFragment-googleIdReset.html");
         public static final String FRAGMENT_INSTRUCTOR_COURSE_REJOIN_AFTER_REGKEY_RESET =
-                FileHelper.readResourceFile("instructorEmailFragment-registrationKeyReset.html");
+                readTemplateFile("instructorEmailFragment-registrationKeyReset.html");
         public static final String USER_FEEDBACK_SESSION =
-                FileHelper.readResourceFile("userEmailTemplate-feedbackSession.html");
+                readTemplateFile("userEmailTemplate-feedbackSession.html");
         public static final String USER_FEEDBACK_SESSION_OPENING =
-                FileHelper.readResourceFile("userEmailTemplate-feedbackSessionOpening.html");
+                readTemplateFile("userEmailTemplate-feedbackSessionOpening.html");
         public static final String USER_FEEDBACK_SESSION_PUBLISHED =
-                FileHelper.readResourceFile("userEmailTemplate-feedbackSessionPublished.html");
+                readTemplateFile("userEmailTemplate-feedbackSessionPublished.html");
         public static final String FRAGMENT_SESSION_LINKS_RECOVERY_ACCESS_LINKS_BY_SESSION =
-                FileHelper.readResourceFile("sessionLinksRecoveryEmailTemplateFragment-sessionAccessLinksBySession.html");
+                readTemplateFile("sessionLinksRecoveryEmailTemplateFragment-sessionAccessLinksBySession.html");
         public static final String FRAGMENT_SESSION_LINKS_RECOVERY_ACCESS_LINKS_BY_COURSE =
-                FileHelper.readResourceFile("sessionLinksRecoveryEmailTemplateFragment-sessionAccessLinksByCourse.html");
+                readTemplateFile("sessionLinksRecoveryEmailTemplateFragment-sessionAccessLinksByCourse.html");
         public static final String SESSION_LINKS_RECOVERY_ACCESS_LINKS =
-                FileHelper.readResourceFile("sessionLinksRecoveryEmailTemplate-feedbackSessionAccessLinks.html");
+                readTemplateFile("sessionLinksRecoveryEmailTemplate-feedbackSessionAccessLinks.html");
         public static final String SESSION_LINKS_RECOVERY_ACCESS_LINKS_NONE =
-                FileHelper.readResourceFile("sessionLinksRecoveryEmailTemplate-feedbackSessionAccessLinksNone.html");
+                readTemplateFile("sessionLinksRecoveryEmailTemplate-feedbackSessionAccessLinksNone.html");
         public static final String SESSION_LINKS_RECOVERY_EMAIL_NOT_FOUND =
-                FileHelper.readResourceFile("sessionLinksRecoveryEmailTemplate-emailNotFound.html");
+                readTemplateFile("sessionLinksRecoveryEmailTemplate-emailNotFound.html");
         public static final String USER_FEEDBACK_SESSION_UNPUBLISHED =
-                FileHelper.readResourceFile("userEmailTemplate-feedbackSessionUnpublished.html");
+                readTemplateFile("userEmailTemplate-feedbackSessionUnpublished.html");
         public static final String FRAGMENT_SINGLE_FEEDBACK_SESSION_LINKS =
-                FileHelper.readResourceFile("userEmailTemplateFragment-feedbackSessionResendAllLinks.html");
+                readTemplateFile("userEmailTemplateFragment-feedbackSessionResendAllLinks.html");
         public static final String USER_FEEDBACK_SESSION_RESEND_ALL_LINKS =
-                FileHelper.readResourceFile("userEmailTemplate-feedbackSessionResendAllLinks.html");
+                readTemplateFile("userEmailTemplate-feedbackSessionResendAllLinks.html");
         public static final String USER_REGKEY_REGENERATION_RESEND_ALL_COURSE_LINKS =
-                FileHelper.readResourceFile("userEmailTemplate-regenerateLinksResendAllCourseLinks.html");
+                readTemplateFile("userEmailTemplate-regenerateLinksResendAllCourseLinks.html");
         public static final String SEVERE_ERROR_LOG_LINE =
-                FileHelper.readResourceFile("severeErrorLogLine.html");
+                readTemplateFile("severeErrorLogLine.html");
         public static final String LOGIN_EMAIL =
-                FileHelper.readResourceFile("loginEmail.html");
+                readTemplateFile("loginEmail.html");
         public static final String NEW_INSTRUCTOR_ACCOUNT_WELCOME =
-                FileHelper.readResourceFile("newInstructorAccountWelcome.html");
+                readTemplateFile("newInstructorAccountWelcome.html");
         public static final String FRAGMENT_SESSION_ADDITIONAL_CONTACT_INFORMATION =
-                FileHelper.readResourceFile("userEmailFragment-sessionAdditionalContactInformationFragment.html");
+                readTemplateFile("userEmailFragment-sessionAdditionalContactInformationFragment.html");
         public static final String OWNER_FEEDBACK_SESSION =
-                FileHelper.readResourceFile("ownerEmailTemplate-feedbackSession.html");
+                readTemplateFile("ownerEmailTemplate-feedbackSession.html");
         public static final String FRAGMENT_OPENING_SOON_EDIT_DETAILS =
-                FileHelper.readResourceFile("ownerEmailFragment-editDetails.html");
+                readTemplateFile("ownerEmailFragment-editDetails.html");
         public static final String FRAGMENT_OPENING_SOON_JOIN_COURSE_BEFORE_EDIT_DETAILS =
-                FileHelper.readResourceFile("ownerEmailFragment-joinCourseBeforeEditDetails.html");
+                readTemplateFile("ownerEmailFragment-joinCourseBeforeEditDetails.html");
         public static final String FRAGMENT_CLOSED_VIEW_RESPONSES =
-                FileHelper.readResourceFile("ownerEmailFragment-viewResponses.html");
+                readTemplateFile("ownerEmailFragment-viewResponses.html");
         public static final String USER_DEADLINE_EXTENSION =
-                FileHelper.readResourceFile("userEmailTemplate-deadlineExtension.html");
+                readTemplateFile("userEmailTemplate-deadlineExtension.html");
     }
 
 }
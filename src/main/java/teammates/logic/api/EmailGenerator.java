@@ -2,10 +2,12 @@ package teammates.logic.api;
 
 import java.time.Instant;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import teammates.common.datatransfer.ErrorLogEntry;
@@ -24,6 +26,7 @@ import teammates.common.util.SanitizationHelper;
 import teammates.common.util.Templates;
 import teammates.common.util.Templates.EmailTemplates;
 import teammates.common.util.TimeHelper;
+import teammates.common.util.Url;
 import teammates.logic.core.CoursesLogic;
 import teammates.logic.core.FeedbackSessionsLogic;
 import teammates.logic.core.InstructorsLogic;
@@ -57,6 +60,11 @@ public final class EmailGenerator {
 
     private static final long SESSION_LINK_RECOVERY_DURATION_IN_DAYS = 90;
 
+    // emails of many recipients are generated in parallel, in a pool shared by all requests
+    private static final int MIN_RECIPIENTS_FOR_PARALLEL_GENERATION = 50;
+    private static final ForkJoinPool EMAIL_GENERATION_POOL =
+            new ForkJoinPool(Math.min(4, Runtime.getRuntime().availableProcessors()));
+
     private static final EmailGenerator instance = new EmailGenerator();
 
     private final CoursesLogic coursesLogic = CoursesLogic.inst();
@@ -529,17 +537,19 @@ public final class EmailGenerator {
         String template = EmailTemplates.USER_FEEDBACK_SESSION.replace("${status}", FEEDBACK_STATUS_SESSION_CLOSING);
         EmailType type = EmailType.FEEDBACK_CLOSING;
         String feedbackAction = FEEDBACK_ACTION_SUBMIT_EDIT_OR_VIEW;
+        String studentAdditionalContactInformation = getAdditionalContactInformationFragment(course, false);
+        String instructorAdditionalContactInformation = getAdditionalContactInformationFragment(course, true);
+
+        // the deadline differs for each user, hence so does the context of each email
         List<EmailWrapper> emails = new ArrayList<>();
-        for (StudentAttributes student : students) {
-            FeedbackSessionAttributes studentSession = session.getCopyForStudent(student.getEmail());
-            emails.addAll(generateFeedbackSessionEmailBases(course, studentSession, Collections.singletonList(student),
-                    Collections.emptyList(), Collections.emptyList(), template, type, feedbackAction));
-        }
-        for (InstructorAttributes instructor : instructors) {
-            FeedbackSessionAttributes instructorSession = session.getCopyForInstructor(instructor.getEmail());
-            emails.addAll(generateFeedbackSessionEmailBases(course, instructorSession, Collections.emptyList(),
-                    Collections.singletonList(instructor), Collections.emptyList(), template, type, feedbackAction));
-        }
+        emails.addAll(generateInParallel(students, student -> generateFeedbackSessionEmailBaseForStudents(
+                new FeedbackSessionEmailContext(course, session.getCopyForStudent(student.getEmail()),
+                        template, type, feedbackAction),
+                student, studentAdditionalContactInformation)));
+        emails.addAll(generateInParallel(instructors, instructor -> generateFeedbackSessionEmailBaseForInstructors(
+                new FeedbackSessionEmailContext(course, session.getCopyForInstructor(instructor.getEmail()),
+                        template, type, feedbackAction),
+                instructor, instructorAdditionalContactInformation)));
         return emails;
     }
 
@@ -684,14 +694,16 @@ public final class EmailGenerator {
                 return null;
             }
             return generateFeedbackSessionEmailBaseForInstructors(
-                    course, session, instructor, template, emailType, feedbackAction, additionalContactInformation);
+                    new FeedbackSessionEmailContext(course, session, template, emailType, feedbackAction),
+                    instructor, additionalContactInformation);
         } else {
             StudentAttributes student = studentsLogic.getStudentForEmail(course.getId(), userEmail);
             if (student == null) {
                 return null;
             }
             return generateFeedbackSessionEmailBaseForStudents(
-                    course, session, student, template, emailType, feedbackAction, additionalContactInformation);
+                    new FeedbackSessionEmailContext(course, session, template, emailType, feedbackAction),
+                    student, additionalContactInformation);
         }
     }
 
@@ -699,130 +711,85 @@ public final class EmailGenerator {
             CourseAttributes course, FeedbackSessionAttributes session, List<StudentAttributes> students,
             List<InstructorAttributes> instructors, List<InstructorAttributes> instructorsToNotify, String template,
             EmailType type, String feedbackAction) {
-        StringBuilder studentAdditionalContactBuilder = new StringBuilder();
-        StringBuilder instructorAdditionalContactBuilder = new StringBuilder();
-        studentAdditionalContactBuilder.append(getAdditionalContactInformationFragment(course, false));
-        instructorAdditionalContactBuilder.append(getAdditionalContactInformationFragment(course, true));
+        FeedbackSessionEmailContext context =
+                new FeedbackSessionEmailContext(course, session, template, type, feedbackAction);
+        String studentAdditionalContactInformation = getAdditionalContactInformationFragment(course, false);
+        String instructorAdditionalContactInformation = getAdditionalContactInformationFragment(course, true);
 
         List<EmailWrapper> emails = new ArrayList<>();
-        for (StudentAttributes student : students) {
-            emails.add(generateFeedbackSessionEmailBaseForStudents(course, session, student,
-                    template, type, feedbackAction, studentAdditionalContactBuilder.toString()));
-        }
-        for (InstructorAttributes instructor : instructors) {
-            emails.add(generateFeedbackSessionEmailBaseForInstructors(course, session, instructor,
-                    template, type, feedbackAction, instructorAdditionalContactBuilder.toString()));
-        }
+        emails.addAll(generateInParallel(students, student ->
+                generateFeedbackSessionEmailBaseForStudents(context, student, studentAdditionalContactInformation)));
+        emails.addAll(generateInParallel(instructors, instructor ->
+                generateFeedbackSessionEmailBaseForInstructors(
+                        context, instructor, instructorAdditionalContactInformation)));
         for (InstructorAttributes instructor : instructorsToNotify) {
-            emails.add(generateFeedbackSessionEmailBaseForNotifiedInstructors(course, session, instructor,
-                    template, type, feedbackAction, studentAdditionalContactBuilder.toString()));
+            emails.add(generateFeedbackSessionEmailBaseForNotifiedInstructors(
+                    context, instructor, studentAdditionalContactInformation));
         }
         return emails;
     }
 
-    private EmailWrapper generateFeedbackSessionEmailBaseForStudents(
-            CourseAttributes course, FeedbackSessionAttributes session, StudentAttributes student, String template,
-            EmailType type, String feedbackAction, String additionalContactInformation) {
-        String submitUrl = Config.getFrontEndAppUrl(Const.WebPageURIs.SESSION_SUBMISSION_PAGE)
-                .withCourseId(course.getId())
-                .withSessionName(session.getFeedbackSessionName())
-                .withRegistrationKey(student.getKey())
-                .toAbsoluteString();
-
-        String reportUrl = Config.getFrontEndAppUrl(Const.WebPageURIs.SESSION_RESULTS_PAGE)
-                .withCourseId(course.getId())
-                .withSessionName(session.getFeedbackSessionName())
-                .withRegistrationKey(student.getKey())
-                .toAbsoluteString();
-
-        Instant endTime = TimeHelper.getMidnightAdjustedInstantBasedOnZone(
-                session.getDeadline(), session.getTimeZone(), false);
-        String emailBody = Templates.populateTemplate(template,
-                "${userName}", SanitizationHelper.sanitizeForHtml(student.getName()),
-                "${courseName}", SanitizationHelper.sanitizeForHtml(course.getName()),
-                "${courseId}", SanitizationHelper.sanitizeForHtml(course.getId()),
-                "${feedbackSessionName}", SanitizationHelper.sanitizeForHtml(session.getFeedbackSessionName()),
-                "${deadline}", SanitizationHelper.sanitizeForHtml(
-                        TimeHelper.formatInstant(endTime, session.getTimeZone(), DATETIME_DISPLAY_FORMAT))
-                        + (session.getUserEmail() == null ? "" : " (after extension)"),
-                "${instructorPreamble}", "",
-                "${sessionInstructions}", session.getInstructionsString(),
-                "${submitUrl}", submitUrl,
-                "${reportUrl}", reportUrl,
-                "${feedbackAction}", feedbackAction,
-                "${additionalContactInformation}", additionalContactInformation);
+    /**
+     * Generates an email for each of the {@code recipients}, in the same order as the recipients.
+     *
+     * <p>For many recipients, the emails are generated in parallel by a bounded pool of threads.
+     * The generation of each email must hence not access the database, as the Objectify session is per thread.
+     */
+    private <T> List<EmailWrapper> generateInParallel(List<T> recipients, Function<T, EmailWrapper> emailGenerator) {
+        RequestTracer.checkRemainingTime();
+        if (recipients.size() < MIN_RECIPIENTS_FOR_PARALLEL_GENERATION) {
+            return recipients.stream().map(emailGenerator).collect(Collectors.toList());
+        }
+        // parallel streams run in the pool which starts them, instead of the common pool
+        return EMAIL_GENERATION_POOL.submit(() -> recipients.parallelStream()
+                .map(emailGenerator)
+                .collect(Collectors.toList()))
+                .join();
+    }
 
+    private EmailWrapper generateFeedbackSessionEmailBaseForStudents(
+            FeedbackSessionEmailContext context, StudentAttributes student, String additionalContactInformation) {
         EmailWrapper email = getEmptyEmailAddressedToEmail(student.getEmail());
-        email.setType(type);
-        email.setSubjectFromType(course.getName(), session.getFeedbackSessionName());
-        email.setContent(emailBody);
+        email.setType(context.type);
+        email.setSubjectFromType(context.courseName, context.sessionName);
+        email.setContentFromTemplate(context.getRecipientTemplate(additionalContactInformation),
+                "${userName}", SanitizationHelper.sanitizeForHtml(student.getName()),
+                "${submitUrl}", context.getSubmitUrl(student.getKey(), null),
+                "${reportUrl}", context.getReportUrl(student.getKey(), null));
         return email;
     }
 
     private EmailWrapper generateFeedbackSessionEmailBaseForInstructors(
-            CourseAttributes course, FeedbackSessionAttributes session, InstructorAttributes instructor,
-            String template, EmailType type, String feedbackAction, String additionalContactInformation) {
-        String submitUrl = Config.getFrontEndAppUrl(Const.WebPageURIs.SESSION_SUBMISSION_PAGE)
-                .withCourseId(course.getId())
-                .withSessionName(session.getFeedbackSessionName())
-                .withRegistrationKey(instructor.getKey())
-                .withEntityType(Const.EntityType.INSTRUCTOR)
-                .toAbsoluteString();
-
-        String reportUrl = Config.getFrontEndAppUrl(Const.WebPageURIs.SESSION_RESULTS_PAGE)
-                .withCourseId(course.getId())
-                .withSessionName(session.getFeedbackSessionName())
-                .withRegistrationKey(instructor.getKey())
-                .withEntityType(Const.EntityType.INSTRUCTOR)
-                .toAbsoluteString();
-
-        Instant endTime = TimeHelper.getMidnightAdjustedInstantBasedOnZone(
-                session.getDeadline(), session.getTimeZone(), false);
-        String emailBody = Templates.populateTemplate(template,
-                "${userName}", SanitizationHelper.sanitizeForHtml(instructor.getName()),
-                "${courseName}", SanitizationHelper.sanitizeForHtml(course.getName()),
-                "${courseId}", SanitizationHelper.sanitizeForHtml(course.getId()),
-                "${feedbackSessionName}", SanitizationHelper.sanitizeForHtml(session.getFeedbackSessionName()),
-                "${deadline}", SanitizationHelper.sanitizeForHtml(
-                        TimeHelper.formatInstant(endTime, session.getTimeZone(), DATETIME_DISPLAY_FORMAT))
-                        + (session.getUserEmail() == null ? "" : " (after extension)"),
-                "${instructorPreamble}", "",
-                "${sessionInstructions}", session.getInstructionsString(),
-                "${submitUrl}", submitUrl,
-                "${reportUrl}", reportUrl,
-                "${feedbackAction}", feedbackAction,
-                "${additionalContactInformation}", additionalContactInformation);
-
+            FeedbackSessionEmailContext context, InstructorAttributes instructor, String additionalContactInformation) {
         EmailWrapper email = getEmptyEmailAddressedToEmail(instructor.getEmail());
-        email.setType(type);
-        email.setSubjectFromType(course.getName(), session.getFeedbackSessionName());
-        email.setContent(emailBody);
+        email.setType(context.type);
+        email.setSubjectFromType(context.courseName, context.sessionName);
+        email.setContentFromTemplate(context.getRecipientTemplate(additionalContactInformation),
+                "${userName}", SanitizationHelper.sanitizeForHtml(instructor.getName()),
+                "${submitUrl}", context.getSubmitUrl(instructor.getKey(), Const.EntityType.INSTRUCTOR),
+                "${reportUrl}", context.getReportUrl(instructor.getKey(), Const.EntityType.INSTRUCTOR));
         return email;
     }
 
     private EmailWrapper generateFeedbackSessionEmailBaseForNotifiedInstructors(
-            CourseAttributes course, FeedbackSessionAttributes session, InstructorAttributes instructor,
-            String template, EmailType type, String feedbackAction, String additionalContactInformation) {
-        Instant endTime = TimeHelper.getMidnightAdjustedInstantBasedOnZone(
-                session.getEndTime(), session.getTimeZone(), false);
-        String emailBody = Templates.populateTemplate(template,
+            FeedbackSessionEmailContext context, InstructorAttributes instructor, String additionalContactInformation) {
+        String emailBody = Templates.populateTemplate(context.template,
                 "${userName}", SanitizationHelper.sanitizeForHtml(instructor.getName()),
-                "${courseName}", SanitizationHelper.sanitizeForHtml(course.getName()),
-                "${courseId}", SanitizationHelper.sanitizeForHtml(course.getId()),
-                "${feedbackSessionName}", SanitizationHelper.sanitizeForHtml(session.getFeedbackSessionName()),
-                "${deadline}", SanitizationHelper.sanitizeForHtml(
-                        TimeHelper.formatInstant(endTime, session.getTimeZone(), DATETIME_DISPLAY_FORMAT)),
-                "${instructorPreamble}", fillUpInstructorPreamble(course),
-                "${sessionInstructions}", session.getInstructionsString(),
+                "${courseName}", context.sanitizedCourseName,
+                "${courseId}", context.sanitizedCourseId,
+                "${feedbackSessionName}", context.sanitizedSessionName,
+                "${deadline}", context.endTime,
+                "${instructorPreamble}", context.instructorPreamble,
+                "${sessionInstructions}", context.sessionInstructions,
                 "${submitUrl}", "{in the actual email sent to the students, this will be the unique link}",
                 "${reportUrl}", "{in the actual email sent to the students, this will be the unique link}",
-                "${feedbackAction}", feedbackAction,
+                "${feedbackAction}", context.feedbackAction,
                 "${additionalContactInformation}", additionalContactInformation);
 
         EmailWrapper email = getEmptyEmailAddressedToEmail(instructor.getEmail());
-        email.setType(type);
+        email.setType(context.type);
         email.setIsCopy(true);
-        email.setSubjectFromType(course.getName(), session.getFeedbackSessionName());
+        email.setSubjectFromType(context.courseName, context.sessionName);
         email.setContent(emailBody);
         return email;
     }
@@ -977,16 +944,18 @@ public final class EmailGenerator {
         String joinUrl = Config.getFrontEndAppUrl(student.getRegistrationUrl()).toAbsoluteString();
 
         return Templates.populateTemplate(EmailTemplates.USER_COURSE_JOIN,
-                "${joinFragment}", EmailTemplates.FRAGMENT_STUDENT_COURSE_JOIN,
-                "${joinUrl}", joinUrl);
+                "${joinFragment}", Templates.populateTemplate(EmailTemplates.FRAGMENT_STUDENT_COURSE_JOIN,
+                        "${joinUrl}", joinUrl));
     }
 
     private String fillUpStudentRejoinAfterGoogleIdResetFragment(StudentAttributes student) {
         String joinUrl = Config.getFrontEndAppUrl(student.getRegistrationUrl()).toAbsoluteString();
 
         return Templates.populateTemplate(EmailTemplates.USER_COURSE_JOIN,
-                "${joinFragment}", EmailTemplates.FRAGMENT_STUDENT_COURSE_REJOIN_AFTER_GOOGLE_ID_RESET,
-                "${joinUrl}", joinUrl,
+                "${joinFragment}", Templates.populateTemplate(
+                        EmailTemplates.FRAGMENT_STUDENT_COURSE_REJOIN_AFTER_GOOGLE_ID_RESET,
+                        "${joinUrl}", joinUrl,
+                        "${supportEmail}", Config.SUPPORT_EMAIL),
                 "${supportEmail}", Config.SUPPORT_EMAIL);
     }
 
@@ -996,20 +965,22 @@ public final class EmailGenerator {
 
     private String fillUpInstructorJoinFragment(InstructorAttributes instructor) {
         return Templates.populateTemplate(EmailTemplates.USER_COURSE_JOIN,
-                "${joinFragment}", EmailTemplates.FRAGMENT_INSTRUCTOR_COURSE_JOIN,
-                "${joinUrl}", getInstructorCourseJoinUrl(instructor));
+                "${joinFragment}", Templates.populateTemplate(EmailTemplates.FRAGMENT_INSTRUCTOR_COURSE_JOIN,
+                        "${joinUrl}", getInstructorCourseJoinUrl(instructor)));
     }
 
     private String fillUpInstructorRejoinAfterGoogleIdResetFragment(InstructorAttributes instructor) {
         String joinUrl = Config.getFrontEndAppUrl(instructor.getRegistrationUrl()).toAbsoluteString();
 
         return Templates.populateTemplate(EmailTemplates.USER_COURSE_JOIN,
-                "${joinFragment}", EmailTemplates.FRAGMENT_INSTRUCTOR_COURSE_REJOIN_AFTER_GOOGLE_ID_RESET,
-                "${joinUrl}", joinUrl,
+                "${joinFragment}", Templates.populateTemplate(
+                        EmailTemplates.FRAGMENT_INSTRUCTOR_COURSE_REJOIN_AFTER_GOOGLE_ID_RESET,
+                        "${joinUrl}", joinUrl,
+                        "${supportEmail}", Config.SUPPORT_EMAIL),
                 "${supportEmail}", Config.SUPPORT_EMAIL);
     }
 
-    private String fillUpInstructorPreamble(CourseAttributes course) {
+    private static String fillUpInstructorPreamble(CourseAttributes course) {
         return Templates.populateTemplate(EmailTemplates.FRAGMENT_INSTRUCTOR_COPY_PREAMBLE,
                 "${courseId}", SanitizationHelper.sanitizeForHtml(course.getId()),
                 "${courseName}", SanitizationHelper.sanitizeForHtml(course.getName()));
@@ -1078,4 +1049,93 @@ public final class EmailGenerator {
                 "${coOwnersEmails}", generateCoOwnersEmailsLine(course.getId()),
                 "${supportEmail}", Config.SUPPORT_EMAIL);
     }
+
+    /**
+     * Holds the parts of the emails of a feedback session which are the same for all recipients,
+     * so that they are computed once for all the emails generated together.
+     */
+    private static final class FeedbackSessionEmailContext {
+        private final String courseName;
+        private final String sessionName;
+        private final String template;
+        private final EmailType type;
+        private final String feedbackAction;
+        private final String sanitizedCourseName;
+        private final String sanitizedCourseId;
+        private final String sanitizedSessionName;
+        private final String sessionInstructions;
+        private final String deadline;
+        private final String endTime;
+        private final String instructorPreamble;
+        private final String submitUrlPrefix;
+        private final String reportUrlPrefix;
+        private final Map<String, String> recipientTemplates = new ConcurrentHashMap<>();
+
+        FeedbackSessionEmailContext(CourseAttributes course, FeedbackSessionAttributes session, String template,
+                                    EmailType type, String feedbackAction) {
+            this.courseName = course.getName();
+            this.sessionName = session.getFeedbackSessionName();
+            this.template = template;
+            this.type = type;
+            this.feedbackAction = feedbackAction;
+            this.sanitizedCourseName = SanitizationHelper.sanitizeForHtml(course.getName());
+            this.sanitizedCourseId = SanitizationHelper.sanitizeForHtml(course.getId());
+            this.sanitizedSessionName = SanitizationHelper.sanitizeForHtml(session.getFeedbackSessionName());
+            this.sessionInstructions = session.getInstructionsString();
+
+            Instant deadline = TimeHelper.getMidnightAdjustedInstantBasedOnZone(
+                    session.getDeadline(), session.getTimeZone(), false);
+            this.deadline = SanitizationHelper.sanitizeForHtml(
+                    TimeHelper.formatInstant(deadline, session.getTimeZone(), DATETIME_DISPLAY_FORMAT))
+                    + (session.getUserEmail() == null ? "" : " (after extension)");
+            Instant endTime = TimeHelper.getMidnightAdjustedInstantBasedOnZone(
+                    session.getEndTime(), session.getTimeZone(), false);
+            this.endTime = SanitizationHelper.sanitizeForHtml(
+                    TimeHelper.formatInstant(endTime, session.getTimeZone(), DATETIME_DISPLAY_FORMAT));
+            this.instructorPreamble = fillUpInstructorPreamble(course);
+
+            this.submitUrlPrefix = Config.getFrontEndAppUrl(Const.WebPageURIs.SESSION_SUBMISSION_PAGE)
+                    .withCourseId(course.getId())
+                    .withSessionName(session.getFeedbackSessionName())
+                    .toAbsoluteString();
+            this.reportUrlPrefix = Config.getFrontEndAppUrl(Const.WebPageURIs.SESSION_RESULTS_PAGE)
+                    .withCourseId(course.getId())
+                    .withSessionName(session.getFeedbackSessionName())
+                    .toAbsoluteString();
+        }
+
+        /**
+         * Gets the template populated with the values shared by all students or instructors,
+         * which leaves the name and the links of the recipient to be populated.
+         *
+         * <p>As the template is populated again, placeholders in the values given by users are escaped
+         * so that they are not populated with the values of the recipient.
+         */
+        String getRecipientTemplate(String additionalContactInformation) {
+            return recipientTemplates.computeIfAbsent(additionalContactInformation, info ->
+                    Templates.populateTemplate(template,
+                            "${courseName}", Templates.escapePlaceholdersForHtml(sanitizedCourseName),
+                            "${courseId}", Templates.escapePlaceholdersForHtml(sanitizedCourseId),
+                            "${feedbackSessionName}", Templates.escapePlaceholdersForHtml(sanitizedSessionName),
+                            "${deadline}", deadline,
+                            "${instructorPreamble}", "",
+                            "${sessionInstructions}", Templates.escapePlaceholdersForHtml(sessionInstructions),
+                            "${feedbackAction}", feedbackAction,
+                            "${additionalContactInformation}", Templates.escapePlaceholdersForHtml(info)));
+        }
+
+        String getSubmitUrl(String registrationKey, String entityType) {
+            return getUrl(submitUrlPrefix, registrationKey, entityType);
+        }
+
+        String getReportUrl(String registrationKey, String entityType) {
+            return getUrl(reportUrlPrefix, registrationKey, entityType);
+        }
+
+        private static String getUrl(String urlPrefix, String registrationKey, String entityType) {
+            String url = Url.addParamToUrl(urlPrefix, Const.ParamsNames.REGKEY, registrationKey);
+            return Url.addParamToUrl(url, Const.ParamsNames.ENTITY_TYPE, entityType);
+        }
+    }
+
 }
@@ -1,5 +1,8 @@
 package teammates.logic.api;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.apache.http.HttpStatus;
 
 import teammates.common.datatransfer.logs.EmailSentLogDetails;
@@ -26,18 +29,28 @@ public class EmailSender {
     private final EmailSenderService service;
 
     EmailSender() {
+        this(createService());
+    }
+
+    /**
+     * Creates an email sender which sends emails with the given {@code service}.
+     */
+    EmailSender(EmailSenderService service) {
+        this.service = service;
+    }
+
+    private static EmailSenderService createService() {
         if (Config.IS_DEV_SERVER) {
-            service = new EmptyEmailService();
+            return new EmptyEmailService();
+        }
+        if (Config.isUsingSendgrid()) {
+            return new SendgridService();
+        } else if (Config.isUsingMailgun()) {
+            return new MailgunService();
+        } else if (Config.isUsingMailjet()) {
+            return new MailjetService();
         } else {
-            if (Config.isUsingSendgrid()) {
-                service = new SendgridService();
-            } else if (Config.isUsingMailgun()) {
-                service = new MailgunService();
-            } else if (Config.isUsingMailjet()) {
-                service = new MailjetService();
-            } else {
-                service = new EmptyEmailService();
-            }
+            return new EmptyEmailService();
         }
     }
 
@@ -71,6 +84,45 @@ public class EmailSender {
             }
         }
 
+        logEmailSent(message, status);
+        return status;
+    }
+
+    /**
+     * Sends the given {@code messages} in as few requests to the email sending service as possible,
+     * and generates a log report for each of them.
+     *
+     * @return The HTTP status of the email request of each message, in the same order as the messages.
+     */
+    public List<EmailSendingStatus> sendEmails(List<EmailWrapper> messages) {
+        List<EmailWrapper> messagesToSend = new ArrayList<>();
+        for (EmailWrapper message : messages) {
+            if (!isTestingAccount(message.getRecipient())) {
+                messagesToSend.add(message);
+            }
+        }
+        List<EmailSendingStatus> sendingStatuses =
+                messagesToSend.isEmpty() ? new ArrayList<>() : service.sendEmails(messagesToSend);
+
+        List<EmailSendingStatus> statuses = new ArrayList<>();
+        int sentIndex = 0;
+        for (EmailWrapper message : messages) {
+            if (isTestingAccount(message.getRecipient())) {
+                statuses.add(new EmailSendingStatus(HttpStatus.SC_OK, "Not sending email to test account"));
+                continue;
+            }
+            EmailSendingStatus status = sendingStatuses.get(sentIndex);
+            sentIndex++;
+            if (!status.isSuccess()) {
+                log.severe("Email failed to send: " + status.getMessage());
+            }
+            logEmailSent(message, status);
+            statuses.add(status);
+        }
+        return statuses;
+    }
+
+    private void logEmailSent(EmailWrapper message, EmailSendingStatus status) {
         EmailSentLogDetails details = new EmailSentLogDetails();
         details.setEmailRecipient(message.getRecipient());
         details.setEmailSubject(message.getSubject());
@@ -82,8 +134,6 @@ public class EmailSender {
             details.setEmailStatusMessage(status.getMessage());
         }
         log.event("Email sent: " + message.getType(), details);
-
-        return status;
     }
 
     private boolean isTestingAccount(String email) {
@@ -8,6 +8,7 @@ import java.util.Set;
 
 import javax.annotation.Nullable;
 
+import teammates.common.datatransfer.CursorPage;
 import teammates.common.datatransfer.DataBundle;
 import teammates.common.datatransfer.FeedbackQuestionRecipient;
 import teammates.common.datatransfer.FeedbackResultFetchType;
@@ -258,6 +259,15 @@ public class Logic {
         instructorsLogic.putDocument(instructor);
     }
 
+    /**
+     * Creates or updates the search documents of a page of all instructors.
+     *
+     * @see InstructorsLogic#reindexDocuments(String, int)
+     */
+    public CursorPage<InstructorAttributes> reindexInstructors(String cursor, int limit) throws SearchServiceException {
+        return instructorsLogic.reindexDocuments(cursor, limit);
+    }
+
     /**
      * Update instructor being edited to ensure validity of instructors for the course.
      *
@@ -575,6 +585,21 @@ public class Logic {
         return studentsLogic.searchStudents(queryString, instructors);
     }
 
+    /**
+     * Suggests students as an instructor types the query string, from the search index only.
+     * Preconditions: all parameters are non-null.
+     * @param instructors   a list of InstructorAttributes associated to a googleId,
+     *                      used for filtering of search result
+     * @return the students whose name, email, team or section has words starting with every word
+     *         of the query string, with only their course, email, name, team and section populated
+     */
+    public List<StudentAttributes> suggestStudents(String queryString, List<InstructorAttributes> instructors)
+            throws SearchServiceException {
+        assert queryString != null;
+        assert instructors != null;
+        return studentsLogic.suggestStudents(queryString, instructors);
+    }
+
     /**
      * This method should be used by admin only since the searching does not restrict the
      * visibility according to the logged-in user's google ID. This is used by admin to
@@ -636,6 +661,21 @@ public class Logic {
         return studentsLogic.getStudentsForGoogleId(googleId);
     }
 
+    /**
+     * Gets the students of a course with the given emails.
+     *
+     * <br/>Preconditions: <br/>
+     * * All parameters are non-null.
+     *
+     * @return the students found, keyed by their emails
+     */
+    public Map<String, StudentAttributes> getStudentsForEmails(String courseId, Collection<String> emails) {
+        assert courseId != null;
+        assert emails != null;
+
+        return studentsLogic.getStudentsForEmails(courseId, emails);
+    }
+
     /**
      * Preconditions: <br>
      * * All parameters are non-null.
@@ -780,6 +820,27 @@ public class Logic {
         return studentsLogic.updateStudentCascade(updateOptions);
     }
 
+    /**
+     * Creates and updates students in bulk, cascading the team and section changes of the updated students.
+     *
+     * <br/>Preconditions: <br/>
+     * * All parameters are non-null.
+     *
+     * @return the created students followed by the updated students, in the order given
+     * @throws InvalidParametersException if any student to create or update is not valid
+     * @throws EntityAlreadyExistsException if any student to create already exists
+     * @throws EntityDoesNotExistException if any student to update cannot be found
+     * @see StudentsLogic#saveStudentsCascade(List, List)
+     */
+    public List<StudentAttributes> saveStudentsCascade(List<StudentAttributes> studentsToCreate,
+                                                       List<StudentAttributes.UpdateOptions> studentsToUpdate)
+            throws InvalidParametersException, EntityAlreadyExistsException, EntityDoesNotExistException {
+        assert studentsToCreate != null;
+        assert studentsToUpdate != null;
+
+        return studentsLogic.saveStudentsCascade(studentsToCreate, studentsToUpdate);
+    }
+
     /**
      * Make the student join the course, i.e. associate the Google ID to the student.<br>
      * Create an account for the student if no existing account is found.
@@ -887,6 +948,24 @@ public class Logic {
         studentsLogic.putDocument(student);
     }
 
+    /**
+     * Creates or updates search documents for the given students.
+     *
+     * @see StudentsLogic#putDocuments(List)
+     */
+    public void putStudentDocuments(List<StudentAttributes> students) throws SearchServiceException {
+        studentsLogic.putDocuments(students);
+    }
+
+    /**
+     * Creates or updates the search documents of a page of all students.
+     *
+     * @see StudentsLogic#reindexDocuments(String, int)
+     */
+    public CursorPage<StudentAttributes> reindexStudents(String cursor, int limit) throws SearchServiceException {
+        return studentsLogic.reindexDocuments(cursor, limit);
+    }
+
     /**
      * Creates a feedback session.
      *
@@ -1321,6 +1400,31 @@ public class Logic {
         return feedbackResponsesLogic.updateFeedbackResponseCascade(updateOptions);
     }
 
+    /**
+     * Creates, updates and deletes feedback responses in bulk, cascading to their associated comments.
+     *
+     * <br/>Preconditions: <br/>
+     * * All parameters are non-null.
+     *
+     * @return the created responses followed by the updated responses, in the order given
+     * @throws InvalidParametersException if any response to create or update is not valid
+     * @throws EntityAlreadyExistsException if any response to create, or to update by recreation, already exists
+     * @throws EntityDoesNotExistException if any response to update cannot be found
+     * @see FeedbackResponsesLogic#saveFeedbackResponsesCascade(List, List, Collection)
+     */
+    public List<FeedbackResponseAttributes> saveFeedbackResponsesCascade(
+            List<FeedbackResponseAttributes> responsesToCreate,
+            List<FeedbackResponseAttributes.UpdateOptions> responsesToUpdate,
+            Collection<String> responseIdsToDelete)
+            throws InvalidParametersException, EntityAlreadyExistsException, EntityDoesNotExistException {
+        assert responsesToCreate != null;
+        assert responsesToUpdate != null;
+        assert responseIdsToDelete != null;
+
+        return feedbackResponsesLogic.saveFeedbackResponsesCascade(
+                responsesToCreate, responsesToUpdate, responseIdsToDelete);
+    }
+
     /**
      * Deletes a feedback response cascade its associated comments.
      *
@@ -1572,6 +1676,16 @@ public class Logic {
         accountRequestsLogic.putDocument(accountRequest);
     }
 
+    /**
+     * Creates or updates the search documents of a page of all account requests.
+     *
+     * @see AccountRequestsLogic#reindexDocuments(String, int)
+     */
+    public CursorPage<AccountRequestAttributes> reindexAccountRequests(String cursor, int limit)
+            throws SearchServiceException {
+        return accountRequestsLogic.reindexDocuments(cursor, limit);
+    }
+
     public List<UsageStatisticsAttributes> getUsageStatisticsForTimeRange(Instant startTime, Instant endTime) {
         assert startTime != null;
         assert endTime != null;
@@ -1,5 +1,7 @@
 package teammates.logic.api;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -8,19 +10,33 @@ import teammates.common.util.Config;
 import teammates.common.util.Const.ParamsNames;
 import teammates.common.util.Const.TaskQueue;
 import teammates.common.util.EmailWrapper;
+import teammates.common.util.JsonUtils;
 import teammates.common.util.Logger;
 import teammates.common.util.TaskWrapper;
 import teammates.logic.external.GoogleCloudTasksService;
 import teammates.logic.external.LocalTaskQueueService;
 import teammates.logic.external.TaskQueueService;
 import teammates.ui.request.FeedbackSessionRemindRequest;
+import teammates.ui.request.SearchReindexingRequest;
 import teammates.ui.request.SendEmailRequest;
+import teammates.ui.request.StudentsSearchIndexingRequest;
 
 /**
  * Allows for adding specific type of tasks to the task queue.
  */
 public class TaskQueuer {
 
+    /**
+     * Maximum number of emails sent by one email sending task.
+     */
+    public static final int EMAILS_PER_TASK = 50;
+
+    /**
+     * Maximum total size, in bytes, of the emails sent by one email sending task,
+     * well below the limit of Cloud Tasks on the size of a task.
+     */
+    public static final int MAX_EMAIL_BYTES_PER_TASK = 256 * 1024;
+
     private static final Logger log = Logger.getLogger();
 
     private static final TaskQueuer instance = new TaskQueuer();
@@ -46,10 +62,14 @@ public class TaskQueuer {
         addDeferredTask(queueName, workerUrl, paramMap, requestBody, 0);
     }
 
-    void addDeferredTask(String queueName, String workerUrl, Map<String, String> paramMap, Object requestBody,
-                         long countdownTime) {
+    boolean addDeferredTask(String queueName, String workerUrl, Map<String, String> paramMap, Object requestBody,
+                            long countdownTime) {
         TaskWrapper task = new TaskWrapper(queueName, workerUrl, paramMap, requestBody);
-        service.addDeferredTask(task, countdownTime);
+        return service.addDeferredTask(task, countdownTime);
+    }
+
+    boolean addDeferredTasks(List<TaskWrapper> tasks) {
+        return service.addDeferredTasks(tasks);
     }
 
     // The following methods are the actual API methods to be used by the client classes
@@ -182,6 +202,9 @@ public class TaskQueuer {
     /**
      * Schedules for the given list of emails to be sent.
      *
+     * <p>The emails are sent in chunks of up to {@link #EMAILS_PER_TASK} emails and {@link #MAX_EMAIL_BYTES_PER_TASK}
+     * bytes, one task for each chunk. An email larger than that is sent in a chunk of its own.
+     *
      * @param emails the list of emails to be sent
      */
     public void scheduleEmailsForSending(List<EmailWrapper> emails) {
@@ -194,12 +217,45 @@ public class TaskQueuer {
         int oneHourInMillis = 60 * 60 * 1000;
         int emailIntervalMillis = Math.min(5000, oneHourInMillis / emails.size());
 
-        int numberOfEmailsSent = 0;
-        for (EmailWrapper email : emails) {
-            long emailDelayTimer = (long) numberOfEmailsSent * (long) emailIntervalMillis;
-            scheduleEmailForSending(email, emailDelayTimer);
-            numberOfEmailsSent++;
+        List<TaskWrapper> tasks = new ArrayList<>();
+        int chunkStart = 0;
+        while (chunkStart < emails.size()) {
+            // the template and its values are sent together with the content, hence emails vary widely in size
+            int chunkEnd = chunkStart;
+            int chunkBytes = 0;
+            while (chunkEnd < emails.size() && chunkEnd - chunkStart < EMAILS_PER_TASK) {
+                int emailBytes = JsonUtils.toCompactJson(emails.get(chunkEnd)).getBytes(StandardCharsets.UTF_8).length;
+                if (chunkEnd > chunkStart && chunkBytes + emailBytes > MAX_EMAIL_BYTES_PER_TASK) {
+                    break;
+                }
+                chunkBytes += emailBytes;
+                chunkEnd++;
+            }
+            List<EmailWrapper> chunk = new ArrayList<>(emails.subList(chunkStart, chunkEnd));
+            long chunkDelayTimer = (long) chunkStart * (long) emailIntervalMillis;
+            tasks.add(new TaskWrapper(TaskQueue.SEND_EMAIL_QUEUE_NAME, TaskQueue.SEND_EMAIL_WORKER_URL,
+                    new HashMap<>(), new SendEmailRequest(chunk), chunkDelayTimer));
+            chunkStart = chunkEnd;
         }
+        if (!addDeferredTasks(tasks)) {
+            // the tasks which are not added are unknown, hence every email which may not be sent is reported
+            for (EmailWrapper email : emails) {
+                log.severe("Error when adding email to task queue\n"
+                           + "Email receiver: " + email.getRecipient() + "\n"
+                           + "Email subject: " + email.getSubject());
+            }
+        }
+    }
+
+    /**
+     * Schedules for the given list of emails, which failed to be sent, to be sent again in a task of their own.
+     *
+     * @param emails the list of emails to be sent, not more than {@link #EMAILS_PER_TASK}
+     * @return true if the task is added, false if it could not be added
+     */
+    public boolean scheduleEmailsForResending(List<EmailWrapper> emails) {
+        return addDeferredTask(TaskQueue.SEND_EMAIL_QUEUE_NAME, TaskQueue.SEND_EMAIL_WORKER_URL,
+                new HashMap<>(), new SendEmailRequest(emails), 0);
     }
 
     /**
@@ -247,26 +303,37 @@ public class TaskQueuer {
                 paramMap, null);
     }
 
-    private void scheduleEmailForSending(EmailWrapper email, long emailDelayTimer) {
-        try {
-            SendEmailRequest request = new SendEmailRequest(email);
-
-            addDeferredTask(TaskQueue.SEND_EMAIL_QUEUE_NAME, TaskQueue.SEND_EMAIL_WORKER_URL,
-                            new HashMap<>(), request, emailDelayTimer);
-        } catch (Exception e) {
-            String emailSubject = email.getSubject();
-            String emailSenderName = email.getSenderName();
-            String emailSender = email.getSenderEmail();
-            String emailReceiver = email.getRecipient();
-            String emailReplyToAddress = email.getReplyTo();
-
-            log.severe("Error when adding email to task queue: " + e.getMessage() + "\n"
-                       + "Email sender: " + emailSender + "\n"
-                       + "Email sender name: " + emailSenderName + "\n"
-                       + "Email receiver: " + emailReceiver + "\n"
-                       + "Email subject: " + emailSubject + "\n"
-                       + "Email reply-to address: " + emailReplyToAddress);
+    /**
+     * Schedules for the search indexing of the students identified by {@code emails} in one task.
+     *
+     * @param courseId the course ID of the students
+     * @param emails the emails of the students
+     */
+    public void scheduleStudentsForSearchIndexing(String courseId, List<String> emails) {
+        if (emails.isEmpty()) {
+            return;
         }
+
+        StudentsSearchIndexingRequest indexingRequest =
+                new StudentsSearchIndexingRequest(courseId, emails.toArray(new String[0]));
+
+        addTask(TaskQueue.SEARCH_INDEXING_QUEUE_NAME, TaskQueue.STUDENTS_SEARCH_INDEXING_WORKER_URL,
+                new HashMap<>(), indexingRequest);
+    }
+
+    /**
+     * Schedules for the re-indexing of all entities of the given search collection, starting from {@code cursor}.
+     *
+     * @param collection the search collection to re-index
+     * @param cursor the cursor of the entities to continue re-indexing from, or null to start from the beginning
+     * @param numIndexed the number of entities re-indexed before the cursor
+     */
+    public void scheduleSearchReindexing(SearchReindexingRequest.SearchCollection collection, String cursor,
+                                         int numIndexed) {
+        SearchReindexingRequest reindexingRequest = new SearchReindexingRequest(collection, cursor, numIndexed);
+
+        addTask(TaskQueue.SEARCH_INDEXING_QUEUE_NAME, TaskQueue.SEARCH_REINDEXING_WORKER_URL,
+                new HashMap<>(), reindexingRequest);
     }
 
 }
@@ -3,6 +3,7 @@ package teammates.logic.core;
 import java.time.Instant;
 import java.util.List;
 
+import teammates.common.datatransfer.CursorPage;
 import teammates.common.datatransfer.attributes.AccountRequestAttributes;
 import teammates.common.exception.EntityAlreadyExistsException;
 import teammates.common.exception.EntityDoesNotExistException;
@@ -91,6 +92,19 @@ public final class AccountRequestsLogic {
         accountRequestsDb.putDocument(accountRequest);
     }
 
+    /**
+     * Creates or updates the search documents of a page of all account requests, in the order they are stored.
+     *
+     * @param cursor the cursor to read the page from, or null to read the first page
+     * @param limit the maximum number of account requests in the page
+     * @return the page of account requests whose search documents were put
+     */
+    public CursorPage<AccountRequestAttributes> reindexDocuments(String cursor, int limit) throws SearchServiceException {
+        CursorPage<AccountRequestAttributes> page = accountRequestsDb.getEntitiesPage(cursor, limit);
+        accountRequestsDb.putDocuments(page.getItems());
+        return page;
+    }
+
     /**
      * Searches for account requests in the whole system.
      *
@@ -0,0 +1,134 @@
+package teammates.logic.core;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import teammates.common.datatransfer.CourseRoster;
+import teammates.common.datatransfer.attributes.InstructorAttributes;
+import teammates.common.datatransfer.attributes.StudentAttributes;
+import teammates.storage.api.CourseRosterVersionsDb;
+
+/**
+ * In-memory cache of {@link CourseRoster} shared across requests.
+ *
+ * <p>A cached roster is used only if the roster version of the course, which is persisted and hence shared by
+ * all instances, has not changed since it was loaded (see {@link CourseRosterVersionsDb}). As a new version is
+ * written only after the write to the roster, a roster read in between may be cached under the previous version,
+ * hence cached rosters also expire after a short while.
+ *
+ * <p>Rosters used to decide what to write must be read from the database instead, as they may still be outdated.
+ *
+ * <p>The least recently used rosters are evicted when the estimated total size exceeds the limit.
+ * Cached rosters are shared and must not be modified.
+ */
+final class CourseRosterCache {
+
+    private static final long MAX_SIZE_IN_BYTES = 16L * 1024 * 1024;
+    private static final Duration MAX_AGE = Duration.ofMinutes(1);
+
+    private static final long BASE_SIZE_PER_USER_IN_BYTES = 256;
+    private static final long BASE_SIZE_PER_INSTRUCTOR_PRIVILEGES_IN_BYTES = 1024;
+
+    private static final CourseRosterCache instance = new CourseRosterCache();
+
+    private final CourseRosterVersionsDb rosterVersionsDb = CourseRosterVersionsDb.inst();
+    private final Map<String, CachedRoster> rosters = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalSizeInBytes;
+
+    private CourseRosterCache() {
+        // prevent initialization
+    }
+
+    public static CourseRosterCache inst() {
+        return instance;
+    }
+
+    /**
+     * Gets the roster of the course, using {@code studentsLoader} and {@code instructorsLoader}
+     * to load it if it is not cached or the cached copy is outdated.
+     */
+    CourseRoster getCourseRoster(String courseId, Supplier<List<StudentAttributes>> studentsLoader,
+                                 Supplier<List<InstructorAttributes>> instructorsLoader) {
+        String version = rosterVersionsDb.getVersion(courseId);
+        Instant now = Instant.now();
+
+        synchronized (this) {
+            CachedRoster cachedRoster = rosters.get(courseId);
+            if (cachedRoster != null && cachedRoster.version.equals(version)
+                    && cachedRoster.loadedTime.plus(MAX_AGE).isAfter(now)) {
+                return cachedRoster.roster;
+            }
+        }
+
+        List<StudentAttributes> students = studentsLoader.get();
+        List<InstructorAttributes> instructors = instructorsLoader.get();
+        CourseRoster roster = new CourseRoster(students, instructors);
+        long sizeInBytes = estimateSizeInBytes(students, instructors);
+
+        if (sizeInBytes <= MAX_SIZE_IN_BYTES) {
+            put(courseId, new CachedRoster(roster, version, now, sizeInBytes));
+        }
+        return roster;
+    }
+
+    private void put(String courseId, CachedRoster cachedRoster) {
+        synchronized (this) {
+            CachedRoster replacedRoster = rosters.put(courseId, cachedRoster);
+            if (replacedRoster != null) {
+                totalSizeInBytes -= replacedRoster.sizeInBytes;
+            }
+            totalSizeInBytes += cachedRoster.sizeInBytes;
+
+            Iterator<CachedRoster> leastRecentlyUsed = rosters.values().iterator();
+            while (totalSizeInBytes > MAX_SIZE_IN_BYTES && leastRecentlyUsed.hasNext()) {
+                totalSizeInBytes -= leastRecentlyUsed.next().sizeInBytes;
+                leastRecentlyUsed.remove();
+            }
+        }
+    }
+
+    private static long estimateSizeInBytes(List<StudentAttributes> students, List<InstructorAttributes> instructors) {
+        long size = 0;
+        for (StudentAttributes student : students) {
+            size += BASE_SIZE_PER_USER_IN_BYTES + estimateSizeInBytes(student.getEmail(), student.getName(),
+                    student.getGoogleId(), student.getTeam(), student.getSection(), student.getComments(),
+                    student.getKey());
+        }
+        for (InstructorAttributes instructor : instructors) {
+            size += BASE_SIZE_PER_USER_IN_BYTES + BASE_SIZE_PER_INSTRUCTOR_PRIVILEGES_IN_BYTES
+                    + estimateSizeInBytes(instructor.getEmail(), instructor.getName(), instructor.getGoogleId(),
+                            instructor.getRole(), instructor.getDisplayedName(), instructor.getKey());
+        }
+        return size;
+    }
+
+    private static long estimateSizeInBytes(String... values) {
+        long size = 0;
+        for (String value : values) {
+            if (value != null) {
+                size += 2L * value.length();
+            }
+        }
+        return size;
+    }
+
+    private static final class CachedRoster {
+        private final CourseRoster roster;
+        private final String version;
+        private final Instant loadedTime;
+        private final long sizeInBytes;
+
+        private CachedRoster(CourseRoster roster, String version, Instant loadedTime, long sizeInBytes) {
+            this.roster = roster;
+            this.version = version;
+            this.loadedTime = loadedTime;
+            this.sizeInBytes = sizeInBytes;
+        }
+    }
+
+}
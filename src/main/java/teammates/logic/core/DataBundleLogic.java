@@ -166,25 +166,24 @@ public final class DataBundleLogic {
     public void putDocuments(DataBundle dataBundle) throws SearchServiceException {
         // query the entity in db first to get the actual data and create document for actual entity
 
-        Map<String, StudentAttributes> students = dataBundle.students;
-        for (StudentAttributes student : students.values()) {
-            StudentAttributes studentInDb = studentsDb.getStudentForEmail(student.getCourse(), student.getEmail());
-            studentsDb.putDocument(studentInDb);
+        List<StudentAttributes> studentsInDb = new ArrayList<>();
+        for (StudentAttributes student : dataBundle.students.values()) {
+            studentsInDb.add(studentsDb.getStudentForEmail(student.getCourse(), student.getEmail()));
         }
+        studentsDb.putDocuments(studentsInDb);
 
-        Map<String, InstructorAttributes> instructors = dataBundle.instructors;
-        for (InstructorAttributes instructor : instructors.values()) {
-            InstructorAttributes instructorInDb =
-                    instructorsDb.getInstructorForEmail(instructor.getCourseId(), instructor.getEmail());
-            instructorsDb.putDocument(instructorInDb);
+        List<InstructorAttributes> instructorsInDb = new ArrayList<>();
+        for (InstructorAttributes instructor : dataBundle.instructors.values()) {
+            instructorsInDb.add(instructorsDb.getInstructorForEmail(instructor.getCourseId(), instructor.getEmail()));
         }
+        instructorsDb.putDocuments(instructorsInDb);
 
-        Map<String, AccountRequestAttributes> accountRequests = dataBundle.accountRequests;
-        for (AccountRequestAttributes accountRequest : accountRequests.values()) {
-            AccountRequestAttributes accountRequestInDb =
-                    accountRequestsDb.getAccountRequest(accountRequest.getEmail(), accountRequest.getInstitute());
-            accountRequestsDb.putDocument(accountRequestInDb);
+        List<AccountRequestAttributes> accountRequestsInDb = new ArrayList<>();
+        for (AccountRequestAttributes accountRequest : dataBundle.accountRequests.values()) {
+            accountRequestsInDb.add(
+                    accountRequestsDb.getAccountRequest(accountRequest.getEmail(), accountRequest.getInstitute()));
         }
+        accountRequestsDb.putDocuments(accountRequestsInDb);
     }
 
     private void processInstructors(
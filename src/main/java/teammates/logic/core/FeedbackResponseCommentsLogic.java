@@ -1,6 +1,7 @@
 package teammates.logic.core;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 
@@ -200,6 +201,13 @@ public final class FeedbackResponseCommentsLogic {
         frcDb.deleteFeedbackResponseComments(query);
     }
 
+    /**
+     * Deletes all comments of the given responses.
+     */
+    public void deleteFeedbackResponseCommentsForResponses(Collection<String> feedbackResponseIds) {
+        frcDb.deleteFeedbackResponseCommentsForResponses(feedbackResponseIds);
+    }
+
     /**
      * Returns true if the comment's giver name is visible to certain user.
      */
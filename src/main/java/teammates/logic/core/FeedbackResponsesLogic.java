@@ -1,14 +1,19 @@
 package teammates.logic.core;
 
 import java.time.Instant;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
 
 import javax.annotation.Nullable;
 
@@ -16,6 +21,7 @@ import teammates.common.datatransfer.AttributesDeletionQuery;
 import teammates.common.datatransfer.CourseRoster;
 import teammates.common.datatransfer.FeedbackParticipantType;
 import teammates.common.datatransfer.FeedbackResultFetchType;
+import teammates.common.datatransfer.NameVisibilityTable;
 import teammates.common.datatransfer.SessionResultsBundle;
 import teammates.common.datatransfer.attributes.FeedbackQuestionAttributes;
 import teammates.common.datatransfer.attributes.FeedbackResponseAttributes;
@@ -30,6 +36,8 @@ import teammates.common.exception.EntityDoesNotExistException;
 import teammates.common.exception.InvalidParametersException;
 import teammates.common.util.Const;
 import teammates.common.util.RequestTracer;
+import teammates.storage.api.ConcurrentReads;
+import teammates.storage.api.CourseRosterVersionsDb;
 import teammates.storage.api.FeedbackResponsesDb;
 
 /**
@@ -40,9 +48,13 @@ import teammates.storage.api.FeedbackResponsesDb;
  */
 public final class FeedbackResponsesLogic {
 
+    private static final int MAX_CONCURRENT_QUESTION_READS = 8;
+
     private static final FeedbackResponsesLogic instance = new FeedbackResponsesLogic();
 
     private final FeedbackResponsesDb frDb = FeedbackResponsesDb.inst();
+    private final CourseRosterVersionsDb rosterVersionsDb = CourseRosterVersionsDb.inst();
+    private final CourseRosterCache rosterCache = CourseRosterCache.inst();
 
     private FeedbackQuestionsLogic fqLogic;
     private FeedbackResponseCommentsLogic frcLogic;
@@ -64,6 +76,12 @@ public final class FeedbackResponsesLogic {
         studentsLogic = StudentsLogic.inst();
     }
 
+    private CourseRoster getCourseRoster(String courseId) {
+        return rosterCache.getCourseRoster(courseId,
+                () -> studentsLogic.getStudentsForCourse(courseId),
+                () -> instructorsLogic.getInstructorsForCourse(courseId));
+    }
+
     /**
      * Gets a set of giver identifiers that has at least one response under a feedback session.
      */
@@ -194,6 +212,22 @@ public final class FeedbackResponsesLogic {
         return frDb.getFeedbackResponsesFromGiverForCourse(courseId, userEmail);
     }
 
+    /**
+     * Streams all responses received by an user for a course, reading the responses in chunks.
+     */
+    public Stream<FeedbackResponseAttributes> streamFeedbackResponsesForReceiverForCourse(
+            String courseId, String userEmail) {
+        return frDb.streamFeedbackResponsesForReceiverForCourse(courseId, userEmail);
+    }
+
+    /**
+     * Streams all responses given by an user for a course, reading the responses in chunks.
+     */
+    public Stream<FeedbackResponseAttributes> streamFeedbackResponsesFromGiverForCourse(
+            String courseId, String userEmail) {
+        return frDb.streamFeedbackResponsesFromGiverForCourse(courseId, userEmail);
+    }
+
     /**
      * Get existing feedback responses from student or his team for the given
      * question.
@@ -239,9 +273,9 @@ public final class FeedbackResponsesLogic {
     private boolean isFeedbackParticipantNameVisibleToUser(
             FeedbackQuestionAttributes question, FeedbackResponseAttributes response,
             String userEmail, boolean isInstructor, boolean isGiverName, CourseRoster roster) {
-        List<FeedbackParticipantType> showNameTo = isGiverName
-                                                 ? question.getShowGiverNameTo()
-                                                 : question.getShowRecipientNameTo();
+        Set<FeedbackParticipantType> showNameTo = isGiverName
+                                                ? question.getGiverNameViewerTypes()
+                                                : question.getRecipientNameViewerTypes();
         for (FeedbackParticipantType type : showNameTo) {
             switch (type) {
             case INSTRUCTORS:
@@ -340,11 +374,20 @@ public final class FeedbackResponsesLogic {
         return fqa == null ? Collections.emptyList() : Collections.singletonList(fqa);
     }
 
+    private List<FeedbackResponseCommentAttributes> getCommentsForSession(
+            String feedbackSessionName, String courseId, @Nullable String questionId, @Nullable String section) {
+        if (questionId == null) {
+            return frcLogic.getFeedbackResponseCommentForSessionInSection(courseId, feedbackSessionName, section);
+        }
+        return frcLogic.getFeedbackResponseCommentForQuestionInSection(questionId, section);
+    }
+
     private SessionResultsBundle buildResultsBundle(
-            boolean isCourseWide, String feedbackSessionName, String courseId, String section, String questionId,
+            boolean isCourseWide, String feedbackSessionName, String courseId, String section,
             boolean isInstructor, String userEmail, InstructorAttributes instructor, StudentAttributes student,
             CourseRoster roster, List<FeedbackQuestionAttributes> allQuestions,
-            List<FeedbackResponseAttributes> allResponses, boolean isPreviewResults) {
+            List<FeedbackResponseAttributes> allResponses, List<FeedbackResponseCommentAttributes> allComments,
+            boolean isPreviewResults, @Nullable String resultsVersion) {
         Map<String, FeedbackQuestionAttributes> allQuestionsMap = new HashMap<>();
         Set<String> questionsNotVisibleToInstructors = new HashSet<>();
         for (FeedbackQuestionAttributes qn : allQuestions) {
@@ -356,21 +399,13 @@ public final class FeedbackResponsesLogic {
             }
         }
 
-        // load comment(s)
-        List<FeedbackResponseCommentAttributes> allComments;
-        if (questionId == null) {
-            allComments = frcLogic.getFeedbackResponseCommentForSessionInSection(courseId, feedbackSessionName, section);
-        } else {
-            allComments = frcLogic.getFeedbackResponseCommentForQuestionInSection(questionId, section);
-        }
-        RequestTracer.checkRemainingTime();
-
         // related questions, responses, and comment
         Map<String, FeedbackQuestionAttributes> relatedQuestionsMap = new HashMap<>();
         Map<String, FeedbackQuestionAttributes> relatedQuestionsNotVisibleForPreviewMap = new HashMap<>();
         Set<String> relatedQuestionsWithCommentNotVisibleForPreview = new HashSet<>();
         Map<String, FeedbackResponseAttributes> relatedResponsesMap = new HashMap<>();
-        Map<String, List<FeedbackResponseCommentAttributes>> relatedCommentsMap = new HashMap<>();
+        List<FeedbackResponseAttributes> existingResponses = new ArrayList<>();
+        List<FeedbackResponseCommentAttributes> relatedComments = new ArrayList<>();
         if (isCourseWide) {
             // all questions are related questions when viewing course-wide result
             for (FeedbackQuestionAttributes qn : allQuestions) {
@@ -386,10 +421,9 @@ public final class FeedbackResponsesLogic {
             }
         }
 
-        // visibility table for each response and comment
-        Map<String, Boolean> responseGiverVisibilityTable = new HashMap<>();
-        Map<String, Boolean> responseRecipientVisibilityTable = new HashMap<>();
-        Map<Long, Boolean> commentVisibilityTable = new HashMap<>();
+        // visibility table for each response and comment, by their positions in the lists above
+        NameVisibilityTable responseVisibilityTable = new NameVisibilityTable();
+        NameVisibilityTable commentVisibilityTable = new NameVisibilityTable();
 
         // build response
         for (FeedbackResponseAttributes response : allResponses) {
@@ -422,10 +456,10 @@ public final class FeedbackResponsesLogic {
             relatedQuestionsMap.put(response.getFeedbackQuestionId(), correspondingQuestion);
             relatedResponsesMap.put(response.getId(), response);
             // generate giver/recipient name visibility table
-            responseGiverVisibilityTable.put(response.getId(),
-                    isNameVisibleToUser(correspondingQuestion, response, userEmail, isInstructor, true, roster));
-            responseRecipientVisibilityTable.put(response.getId(),
+            responseVisibilityTable.put(existingResponses.size(),
+                    isNameVisibleToUser(correspondingQuestion, response, userEmail, isInstructor, true, roster),
                     isNameVisibleToUser(correspondingQuestion, response, userEmail, isInstructor, false, roster));
+            existingResponses.add(response);
         }
         RequestTracer.checkRemainingTime();
 
@@ -451,25 +485,48 @@ public final class FeedbackResponsesLogic {
                 continue;
             }
 
-            relatedCommentsMap.computeIfAbsent(relatedResponse.getId(), key -> new ArrayList<>()).add(frc);
             // generate comment giver name visibility table
-            commentVisibilityTable.put(frc.getId(), frcLogic.isNameVisibleToUser(frc, relatedResponse, userEmail, roster));
+            commentVisibilityTable.put(relatedComments.size(),
+                    frcLogic.isNameVisibleToUser(frc, relatedResponse, userEmail, roster));
+            relatedComments.add(frc);
         }
         RequestTracer.checkRemainingTime();
 
-        List<FeedbackResponseAttributes> existingResponses = new ArrayList<>(relatedResponsesMap.values());
         List<FeedbackResponseAttributes> missingResponses = Collections.emptyList();
+        NameVisibilityTable missingResponseVisibilityTable = new NameVisibilityTable();
         if (isCourseWide) {
             missingResponses = buildMissingResponses(
-                    courseId, feedbackSessionName, instructor, responseGiverVisibilityTable,
-                    responseRecipientVisibilityTable, relatedQuestionsMap, existingResponses, roster, section);
+                    courseId, feedbackSessionName, instructor, missingResponseVisibilityTable,
+                    relatedQuestionsMap, existingResponses, roster, section);
         }
         RequestTracer.checkRemainingTime();
 
-        return new SessionResultsBundle(relatedQuestionsMap, relatedQuestionsNotVisibleForPreviewMap,
-                relatedQuestionsWithCommentNotVisibleForPreview,
-                existingResponses, missingResponses, responseGiverVisibilityTable, responseRecipientVisibilityTable,
-                relatedCommentsMap, commentVisibilityTable, roster);
+        SessionResultsBundle bundle = new SessionResultsBundle(relatedQuestionsMap,
+                relatedQuestionsNotVisibleForPreviewMap, relatedQuestionsWithCommentNotVisibleForPreview,
+                existingResponses, responseVisibilityTable, missingResponses, missingResponseVisibilityTable,
+                relatedComments, commentVisibilityTable, roster);
+        if (resultsVersion != null) {
+            // the results of each question are the same for any bundle built from the same version and view
+            bundle.setQuestionResultStatisticsProvider((question, studentEmail, statisticsLoader) ->
+                    QuestionResultStatisticsCache.inst().getQuestionResultStatisticsJson(
+                            question, resultsVersion, studentEmail, statisticsLoader));
+        }
+        return bundle;
+    }
+
+    /**
+     * Gets the version of the data the results of the session are built from, i.e. the responses and the roster,
+     * or null if it is not known.
+     *
+     * <p>The version must be obtained before reading the data so that any write that happens while reading
+     * is not missed.
+     */
+    private String getResultsVersion(String feedbackSessionName, String courseId) {
+        String responsesVersion = frDb.getFeedbackResponsesVersion(feedbackSessionName, courseId);
+        if (responsesVersion == null) {
+            return null;
+        }
+        return responsesVersion + ":" + rosterVersionsDb.getVersion(courseId);
     }
 
     /**
@@ -486,29 +543,40 @@ public final class FeedbackResponsesLogic {
     public SessionResultsBundle getSessionResultsForCourse(
             String feedbackSessionName, String courseId, String instructorEmail,
             @Nullable String questionId, @Nullable String section, @Nullable FeedbackResultFetchType fetchType) {
-        CourseRoster roster = new CourseRoster(
-                studentsLogic.getStudentsForCourse(courseId),
-                instructorsLogic.getInstructorsForCourse(courseId));
-
-        // load question(s)
-        List<FeedbackQuestionAttributes> allQuestions = getQuestionsForSession(feedbackSessionName, courseId, questionId);
-        RequestTracer.checkRemainingTime();
-
-        // load response(s)
-        List<FeedbackResponseAttributes> allResponses;
-        // load all response for instructors and passively filter them later
-        if (questionId == null) {
-            allResponses = getFeedbackResponsesForSessionInSection(feedbackSessionName, courseId, section, fetchType);
-        } else {
-            allResponses = getFeedbackResponsesForQuestionInSection(questionId, section, fetchType);
+        String dataVersion = getResultsVersion(feedbackSessionName, courseId);
+        String resultsVersion = dataVersion == null ? null
+                : String.join("|", dataVersion, "course", instructorEmail, section, String.valueOf(fetchType));
+
+        // the reads below are independent of each other, hence they are issued concurrently
+        try (ConcurrentReads reads = new ConcurrentReads()) {
+            Future<CourseRoster> pendingRoster = reads.submit(() -> getCourseRoster(courseId));
+
+            // load question(s)
+            Future<List<FeedbackQuestionAttributes>> pendingQuestions = reads.submit(
+                    () -> getQuestionsForSession(feedbackSessionName, courseId, questionId));
+
+            // load response(s)
+            // load all response for instructors and passively filter them later
+            Future<List<FeedbackResponseAttributes>> pendingResponses = reads.submit(
+                    () -> questionId == null
+                            ? getFeedbackResponsesForSessionInSection(feedbackSessionName, courseId, section, fetchType)
+                            : getFeedbackResponsesForQuestionInSection(questionId, section, fetchType));
+
+            // load comment(s)
+            Future<List<FeedbackResponseCommentAttributes>> pendingComments = reads.submit(
+                    () -> getCommentsForSession(feedbackSessionName, courseId, questionId, section));
+
+            // consider the current viewing user
+            InstructorAttributes instructor = instructorsLogic.getInstructorForEmail(courseId, instructorEmail);
+
+            CourseRoster roster = reads.await(pendingRoster);
+            List<FeedbackQuestionAttributes> allQuestions = reads.await(pendingQuestions);
+            List<FeedbackResponseAttributes> allResponses = reads.await(pendingResponses);
+            List<FeedbackResponseCommentAttributes> allComments = reads.await(pendingComments);
+
+            return buildResultsBundle(true, feedbackSessionName, courseId, section, true, instructorEmail,
+                    instructor, null, roster, allQuestions, allResponses, allComments, false, resultsVersion);
         }
-        RequestTracer.checkRemainingTime();
-
-        // consider the current viewing user
-        InstructorAttributes instructor = instructorsLogic.getInstructorForEmail(courseId, instructorEmail);
-
-        return buildResultsBundle(true, feedbackSessionName, courseId, section, questionId, true, instructorEmail,
-                instructor, null, roster, allQuestions, allResponses, false);
     }
 
     /**
@@ -525,40 +593,64 @@ public final class FeedbackResponsesLogic {
     public SessionResultsBundle getSessionResultsForUser(
             String feedbackSessionName, String courseId, String userEmail, boolean isInstructor,
             @Nullable String questionId, boolean isPreviewResults) {
-        CourseRoster roster = new CourseRoster(
-                studentsLogic.getStudentsForCourse(courseId),
-                instructorsLogic.getInstructorsForCourse(courseId));
+        String dataVersion = getResultsVersion(feedbackSessionName, courseId);
+        String resultsVersion = dataVersion == null ? null : String.join("|", dataVersion, "user", userEmail,
+                String.valueOf(isInstructor), String.valueOf(isPreviewResults));
+
+        // the reads below are independent of each other, hence they are issued concurrently
+        try (ConcurrentReads reads = new ConcurrentReads()) {
+            Future<CourseRoster> pendingRoster = reads.submit(() -> getCourseRoster(courseId));
+
+            // load question(s)
+            Future<List<FeedbackQuestionAttributes>> pendingQuestions = reads.submit(
+                    () -> getQuestionsForSession(feedbackSessionName, courseId, questionId));
+
+            // load comment(s)
+            Future<List<FeedbackResponseCommentAttributes>> pendingComments = reads.submit(
+                    () -> getCommentsForSession(feedbackSessionName, courseId, questionId, null));
+
+            StudentAttributes student = isInstructor ? null : studentsLogic.getStudentForEmail(courseId, userEmail);
+            InstructorAttributes instructor =
+                    isInstructor ? instructorsLogic.getInstructorForEmail(courseId, userEmail) : null;
+
+            CourseRoster roster = reads.await(pendingRoster);
+            List<FeedbackQuestionAttributes> allQuestions = reads.await(pendingQuestions);
+
+            // load response(s)
+            List<FeedbackResponseAttributes> allResponses = new ArrayList<>();
+            // the responses of different questions are loaded concurrently, for a bounded number of questions at a time
+            Deque<Future<List<FeedbackResponseAttributes>>> pendingViewableResponses = new ArrayDeque<>();
+            for (FeedbackQuestionAttributes question : allQuestions) {
+                if (pendingViewableResponses.size() == MAX_CONCURRENT_QUESTION_READS) {
+                    allResponses.addAll(reads.await(pendingViewableResponses.remove()));
+                }
+                // load viewable responses for students/instructors proactively
+                // this is cost-effective as in most of time responses for the whole session
+                // will not be viewable to individuals
+                pendingViewableResponses.add(reads.submit(() -> isInstructor
+                        ? getFeedbackResponsesToOrFromInstructorForQuestion(question, instructor)
+                        : getViewableFeedbackResponsesForStudentForQuestion(question, student, roster)));
+            }
+            while (!pendingViewableResponses.isEmpty()) {
+                allResponses.addAll(reads.await(pendingViewableResponses.remove()));
+            }
+            RequestTracer.checkRemainingTime();
 
-        // load question(s)
-        List<FeedbackQuestionAttributes> allQuestions = getQuestionsForSession(feedbackSessionName, courseId, questionId);
-        RequestTracer.checkRemainingTime();
+            List<FeedbackResponseCommentAttributes> allComments = reads.await(pendingComments);
 
-        // load response(s)
-        StudentAttributes student = isInstructor ? null : studentsLogic.getStudentForEmail(courseId, userEmail);
-        InstructorAttributes instructor = isInstructor ? instructorsLogic.getInstructorForEmail(courseId, userEmail) : null;
-        List<FeedbackResponseAttributes> allResponses = new ArrayList<>();
-        for (FeedbackQuestionAttributes question : allQuestions) {
-            // load viewable responses for students/instructors proactively
-            // this is cost-effective as in most of time responses for the whole session will not be viewable to individuals
-            List<FeedbackResponseAttributes> viewableResponses = isInstructor
-                    ? getFeedbackResponsesToOrFromInstructorForQuestion(question, instructor)
-                    : getViewableFeedbackResponsesForStudentForQuestion(question, student, roster);
-            allResponses.addAll(viewableResponses);
+            return buildResultsBundle(false, feedbackSessionName, courseId, null, isInstructor, userEmail,
+                    instructor, student, roster, allQuestions, allResponses, allComments, isPreviewResults,
+                    resultsVersion);
         }
-        RequestTracer.checkRemainingTime();
-
-        return buildResultsBundle(false, feedbackSessionName, courseId, null, questionId, isInstructor, userEmail,
-                instructor, student, roster, allQuestions, allResponses, isPreviewResults);
     }
 
     /**
      * Builds viewable missing responses for the session for instructor.
      *
      * @param instructor the instructor
-     * @param responseGiverVisibilityTable
-     *         the giver visibility table which will be updated with the visibility of missing responses
-     * @param responseRecipientVisibilityTable
-     *         the recipient visibility table which will be updated with the visibility of missing responses
+     * @param missingResponseVisibilityTable
+     *         the name visibility table which will be filled with the visibility of the missing responses,
+     *         by their positions in the returned list
      * @param relatedQuestionsMap the relevant questions
      * @param existingResponses existing responses
      * @param courseRoster the course roster
@@ -567,7 +659,7 @@ public final class FeedbackResponsesLogic {
      */
     private List<FeedbackResponseAttributes> buildMissingResponses(
             String courseId, String feedbackSessionName, InstructorAttributes instructor,
-            Map<String, Boolean> responseGiverVisibilityTable, Map<String, Boolean> responseRecipientVisibilityTable,
+            NameVisibilityTable missingResponseVisibilityTable,
             Map<String, FeedbackQuestionAttributes> relatedQuestionsMap,
             List<FeedbackResponseAttributes> existingResponses, CourseRoster courseRoster, @Nullable String section) {
 
@@ -635,10 +727,9 @@ public final class FeedbackResponsesLogic {
                     }
 
                     // generate giver/recipient name visibility table
-                    responseGiverVisibilityTable.put(missingResponse.getId(),
+                    missingResponseVisibilityTable.put(missingResponses.size(),
                             isNameVisibleToUser(correspondingQuestion, missingResponse,
-                                    instructor.getEmail(), true, true, courseRoster));
-                    responseRecipientVisibilityTable.put(missingResponse.getId(),
+                                    instructor.getEmail(), true, true, courseRoster),
                             isNameVisibleToUser(correspondingQuestion, missingResponse,
                                     instructor.getEmail(), true, false, courseRoster));
                     missingResponses.add(missingResponse);
@@ -728,6 +819,55 @@ public final class FeedbackResponsesLogic {
         FeedbackResponseAttributes oldResponse = frDb.getFeedbackResponse(updateOptions.getFeedbackResponseId());
         FeedbackResponseAttributes newResponse = frDb.updateFeedbackResponse(updateOptions);
 
+        updateFeedbackResponseCommentsOfUpdatedResponse(oldResponse, newResponse);
+
+        return newResponse;
+    }
+
+    /**
+     * Creates, updates and deletes feedback responses in bulk, e.g. for the responses submitted together
+     * by a giver for a question.
+     *
+     * <p>All responses are validated before any of them is written, and the responses are written
+     * with batched datastore operations instead of one operation per response.
+     *
+     * <p>Cascade deletes the comments of the deleted responses and cascade updates the comments
+     * of the updated responses, as in {@link #deleteFeedbackResponseCascade(String)} and
+     * {@link #updateFeedbackResponseCascade(FeedbackResponseAttributes.UpdateOptions)} respectively.
+     *
+     * @return the created responses followed by the updated responses, in the order given
+     * @throws InvalidParametersException if any response to create or update is not valid
+     * @throws EntityAlreadyExistsException if any response to create, or to update by recreation, already exists
+     * @throws EntityDoesNotExistException if any response to update cannot be found
+     */
+    public List<FeedbackResponseAttributes> saveFeedbackResponsesCascade(
+            List<FeedbackResponseAttributes> responsesToCreate,
+            List<FeedbackResponseAttributes.UpdateOptions> responsesToUpdate,
+            Collection<String> responseIdsToDelete)
+            throws InvalidParametersException, EntityAlreadyExistsException, EntityDoesNotExistException {
+        // the old responses are needed for the cascade, hence they are looked up here and passed on for the save
+        Map<String, FeedbackResponseAttributes> oldResponses = frDb.getFeedbackResponses(
+                frDb.getIdsOfResponsesToSave(responsesToCreate, responsesToUpdate, responseIdsToDelete));
+
+        List<FeedbackResponseAttributes> savedResponses =
+                frDb.saveFeedbackResponses(responsesToCreate, responsesToUpdate, responseIdsToDelete, oldResponses);
+
+        if (!responseIdsToDelete.isEmpty()) {
+            frcLogic.deleteFeedbackResponseCommentsForResponses(responseIdsToDelete);
+        }
+
+        for (int i = 0; i < responsesToUpdate.size(); i++) {
+            FeedbackResponseAttributes oldResponse = oldResponses.get(responsesToUpdate.get(i).getFeedbackResponseId());
+            FeedbackResponseAttributes newResponse = savedResponses.get(responsesToCreate.size() + i);
+            updateFeedbackResponseCommentsOfUpdatedResponse(oldResponse, newResponse);
+        }
+
+        return savedResponses;
+    }
+
+    private void updateFeedbackResponseCommentsOfUpdatedResponse(
+            FeedbackResponseAttributes oldResponse, FeedbackResponseAttributes newResponse)
+            throws InvalidParametersException, EntityDoesNotExistException {
         boolean isResponseIdChanged = !oldResponse.getId().equals(newResponse.getId());
         boolean isGiverSectionChanged = !oldResponse.getGiverSection().equals(newResponse.getGiverSection());
         boolean isRecipientSectionChanged = !oldResponse.getRecipientSection().equals(newResponse.getRecipientSection());
@@ -754,8 +894,6 @@ public final class FeedbackResponsesLogic {
                 frcLogic.updateFeedbackResponseComment(updateOptionsBuilder.build());
             }
         }
-
-        return newResponse;
     }
 
     /**
@@ -765,27 +903,22 @@ public final class FeedbackResponsesLogic {
      */
     public void updateFeedbackResponsesForChangingTeam(
             String courseId, String userEmail, String oldTeam, String newTeam) {
-        FeedbackQuestionAttributes question;
         // deletes all responses given by the user to team members or given by the user as a representative of a team.
-        List<FeedbackResponseAttributes> responsesFromUser =
-                getFeedbackResponsesFromGiverForCourse(courseId, userEmail);
-        for (FeedbackResponseAttributes response : responsesFromUser) {
-            question = fqLogic.getFeedbackQuestion(response.getFeedbackQuestionId());
+        streamFeedbackResponsesFromGiverForCourse(courseId, userEmail).forEach(response -> {
+            FeedbackQuestionAttributes question = fqLogic.getFeedbackQuestion(response.getFeedbackQuestionId());
             if (question.getGiverType() == FeedbackParticipantType.TEAMS
                     || isRecipientTypeTeamMembers(question)) {
                 deleteFeedbackResponseCascade(response.getId());
             }
-        }
+        });
 
         // Deletes all responses given by other team members to the user.
-        List<FeedbackResponseAttributes> responsesToUser =
-                getFeedbackResponsesForReceiverForCourse(courseId, userEmail);
-        for (FeedbackResponseAttributes response : responsesToUser) {
-            question = fqLogic.getFeedbackQuestion(response.getFeedbackQuestionId());
+        streamFeedbackResponsesForReceiverForCourse(courseId, userEmail).forEach(response -> {
+            FeedbackQuestionAttributes question = fqLogic.getFeedbackQuestion(response.getFeedbackQuestionId());
             if (isRecipientTypeTeamMembers(question)) {
                 deleteFeedbackResponseCascade(response.getId());
             }
-        }
+        });
 
         boolean isOldTeamEmpty = studentsLogic.getStudentsForTeam(oldTeam, courseId).isEmpty();
         if (isOldTeamEmpty) {
@@ -819,6 +952,7 @@ public final class FeedbackResponsesLogic {
     private void updateRankRecipientQuestionResponsesAfterDeletingStudent(String courseId) {
         List<FeedbackQuestionAttributes> filteredQuestions =
                 fqLogic.getFeedbackQuestionForCourseWithType(courseId, FeedbackQuestionType.RANK_RECIPIENTS);
+        // the cached roster may not reflect the deletion yet, while the corrected rankings are persisted
         CourseRoster roster = new CourseRoster(
                 studentsLogic.getStudentsForCourse(courseId),
                 instructorsLogic.getInstructorsForCourse(courseId));
@@ -895,10 +1029,11 @@ public final class FeedbackResponsesLogic {
 
     private void updateSectionOfResponsesToUser(String courseId, String userEmail, String newSection)
             throws InvalidParametersException, EntityDoesNotExistException {
-        List<FeedbackResponseAttributes> responsesToUser =
-                getFeedbackResponsesForReceiverForCourse(courseId, userEmail);
+        Iterator<FeedbackResponseAttributes> responsesToUser =
+                streamFeedbackResponsesForReceiverForCourse(courseId, userEmail).iterator();
 
-        for (FeedbackResponseAttributes response : responsesToUser) {
+        while (responsesToUser.hasNext()) {
+            FeedbackResponseAttributes response = responsesToUser.next();
             try {
                 frDb.updateFeedbackResponse(
                         FeedbackResponseAttributes.updateOptionsBuilder(response.getId())
@@ -913,10 +1048,11 @@ public final class FeedbackResponsesLogic {
 
     private void updateSectionOfResponsesFromUser(String courseId, String userEmail, String newSection)
             throws InvalidParametersException, EntityDoesNotExistException {
-        List<FeedbackResponseAttributes> responsesFromUser =
-                getFeedbackResponsesFromGiverForCourse(courseId, userEmail);
+        Iterator<FeedbackResponseAttributes> responsesFromUser =
+                streamFeedbackResponsesFromGiverForCourse(courseId, userEmail).iterator();
 
-        for (FeedbackResponseAttributes response : responsesFromUser) {
+        while (responsesFromUser.hasNext()) {
+            FeedbackResponseAttributes response = responsesFromUser.next();
             try {
                 frDb.updateFeedbackResponse(
                         FeedbackResponseAttributes.updateOptionsBuilder(response.getId())
@@ -941,10 +1077,11 @@ public final class FeedbackResponsesLogic {
             String courseId, String oldEmail, String newEmail)
             throws InvalidParametersException, EntityDoesNotExistException {
 
-        List<FeedbackResponseAttributes> responsesFromUser =
-                getFeedbackResponsesFromGiverForCourse(courseId, oldEmail);
+        Iterator<FeedbackResponseAttributes> responsesFromUser =
+                streamFeedbackResponsesFromGiverForCourse(courseId, oldEmail).iterator();
 
-        for (FeedbackResponseAttributes response : responsesFromUser) {
+        while (responsesFromUser.hasNext()) {
+            FeedbackResponseAttributes response = responsesFromUser.next();
             try {
                 updateFeedbackResponseCascade(
                         FeedbackResponseAttributes.updateOptionsBuilder(response.getId())
@@ -956,10 +1093,11 @@ public final class FeedbackResponsesLogic {
             }
         }
 
-        List<FeedbackResponseAttributes> responsesToUser =
-                getFeedbackResponsesForReceiverForCourse(courseId, oldEmail);
+        Iterator<FeedbackResponseAttributes> responsesToUser =
+                streamFeedbackResponsesForReceiverForCourse(courseId, oldEmail).iterator();
 
-        for (FeedbackResponseAttributes response : responsesToUser) {
+        while (responsesToUser.hasNext()) {
+            FeedbackResponseAttributes response = responsesToUser.next();
             try {
                 updateFeedbackResponseCascade(
                         FeedbackResponseAttributes.updateOptionsBuilder(response.getId())
@@ -1009,18 +1147,12 @@ public final class FeedbackResponsesLogic {
      */
     public void deleteFeedbackResponsesInvolvedEntityOfCourseCascade(String courseId, String entityEmail) {
         // delete responses from the entity
-        List<FeedbackResponseAttributes> responsesFromStudent =
-                getFeedbackResponsesFromGiverForCourse(courseId, entityEmail);
-        for (FeedbackResponseAttributes response : responsesFromStudent) {
-            deleteFeedbackResponseCascade(response.getId());
-        }
+        streamFeedbackResponsesFromGiverForCourse(courseId, entityEmail)
+                .forEach(response -> deleteFeedbackResponseCascade(response.getId()));
 
         // delete responses to the entity
-        List<FeedbackResponseAttributes> responsesToStudent =
-                getFeedbackResponsesForReceiverForCourse(courseId, entityEmail);
-        for (FeedbackResponseAttributes response : responsesToStudent) {
-            deleteFeedbackResponseCascade(response.getId());
-        }
+        streamFeedbackResponsesForReceiverForCourse(courseId, entityEmail)
+                .forEach(response -> deleteFeedbackResponseCascade(response.getId()));
     }
 
     private List<FeedbackResponseAttributes> getFeedbackResponsesFromTeamForQuestion(
@@ -1090,7 +1222,8 @@ public final class FeedbackResponsesLogic {
         }
 
         if (question.isResponseVisibleTo(FeedbackParticipantType.STUDENTS)) {
-            viewableResponses.addNewResponses(getFeedbackResponsesForQuestion(question.getId()));
+            // the responses are added as they are read, without listing all responses of the question first
+            frDb.streamFeedbackResponsesForQuestion(question.getId()).forEach(viewableResponses::addNewResponse);
 
             // Early return as STUDENTS covers all cases below.
             return viewableResponses.getResponses();
@@ -1136,11 +1269,11 @@ public final class FeedbackResponsesLogic {
      */
     boolean canInstructorsSeeQuestion(FeedbackQuestionAttributes feedbackQuestion) {
         boolean isResponseVisibleToInstructor =
-                feedbackQuestion.getShowResponsesTo().contains(FeedbackParticipantType.INSTRUCTORS);
+                feedbackQuestion.isResponseVisibleTo(FeedbackParticipantType.INSTRUCTORS);
         boolean isGiverVisibleToInstructor =
-                feedbackQuestion.getShowGiverNameTo().contains(FeedbackParticipantType.INSTRUCTORS);
+                feedbackQuestion.isGiverNameVisibleTo(FeedbackParticipantType.INSTRUCTORS);
         boolean isRecipientVisibleToInstructor =
-                feedbackQuestion.getShowRecipientNameTo().contains(FeedbackParticipantType.INSTRUCTORS);
+                feedbackQuestion.isRecipientNameVisibleTo(FeedbackParticipantType.INSTRUCTORS);
         return isResponseVisibleToInstructor && isGiverVisibleToInstructor && isRecipientVisibleToInstructor;
     }
 
@@ -4,9 +4,11 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
 
 import teammates.common.datatransfer.AttributesDeletionQuery;
+import teammates.common.datatransfer.CursorPage;
 import teammates.common.datatransfer.FeedbackParticipantType;
 import teammates.common.datatransfer.attributes.FeedbackQuestionAttributes;
 import teammates.common.datatransfer.attributes.FeedbackResponseAttributes;
@@ -65,6 +67,19 @@ public final class InstructorsLogic {
         instructorsDb.putDocument(instructor);
     }
 
+    /**
+     * Creates or updates the search documents of a page of all instructors, in the order they are stored.
+     *
+     * @param cursor the cursor to read the page from, or null to read the first page
+     * @param limit the maximum number of instructors in the page
+     * @return the page of instructors whose search documents were put
+     */
+    public CursorPage<InstructorAttributes> reindexDocuments(String cursor, int limit) throws SearchServiceException {
+        CursorPage<InstructorAttributes> page = instructorsDb.getEntitiesPage(cursor, limit);
+        instructorsDb.putDocuments(page.getItems());
+        return page;
+    }
+
     /**
      * This method should be used by admin only since the searching does not restrict the
      * visibility according to the logged-in user's google ID. This is used by admin to
@@ -227,10 +242,11 @@ public final class InstructorsLogic {
 
         if (!originalInstructor.getEmail().equals(updatedInstructor.getEmail())) {
             // cascade responses
-            List<FeedbackResponseAttributes> responsesFromUser =
-                    frLogic.getFeedbackResponsesFromGiverForCourse(
-                            originalInstructor.getCourseId(), originalInstructor.getEmail());
-            for (FeedbackResponseAttributes responseFromUser : responsesFromUser) {
+            Iterator<FeedbackResponseAttributes> responsesFromUser =
+                    frLogic.streamFeedbackResponsesFromGiverForCourse(
+                            originalInstructor.getCourseId(), originalInstructor.getEmail()).iterator();
+            while (responsesFromUser.hasNext()) {
+                FeedbackResponseAttributes responseFromUser = responsesFromUser.next();
                 FeedbackQuestionAttributes question = fqLogic.getFeedbackQuestion(responseFromUser.getFeedbackQuestionId());
                 if (question.getGiverType() == FeedbackParticipantType.INSTRUCTORS
                         || question.getGiverType() == FeedbackParticipantType.SELF) {
@@ -244,10 +260,11 @@ public final class InstructorsLogic {
                     }
                 }
             }
-            List<FeedbackResponseAttributes> responsesToUser =
-                    frLogic.getFeedbackResponsesForReceiverForCourse(
-                            originalInstructor.getCourseId(), originalInstructor.getEmail());
-            for (FeedbackResponseAttributes responseToUser : responsesToUser) {
+            Iterator<FeedbackResponseAttributes> responsesToUser =
+                    frLogic.streamFeedbackResponsesForReceiverForCourse(
+                            originalInstructor.getCourseId(), originalInstructor.getEmail()).iterator();
+            while (responsesToUser.hasNext()) {
+                FeedbackResponseAttributes responseToUser = responsesToUser.next();
                 FeedbackQuestionAttributes question = fqLogic.getFeedbackQuestion(responseToUser.getFeedbackQuestionId());
                 if (question.getRecipientType() == FeedbackParticipantType.INSTRUCTORS
                         || question.getGiverType() == FeedbackParticipantType.INSTRUCTORS
@@ -0,0 +1,95 @@
+package teammates.logic.core;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import teammates.common.datatransfer.attributes.FeedbackQuestionAttributes;
+
+/**
+ * In-memory cache of question result statistics JSON shared across requests.
+ *
+ * <p>Cached statistics are looked up by the question, the viewer and the version of the results
+ * the statistics are computed from, which is read before the responses and the roster are read.
+ * The version of the responses is persisted and hence reflects the writes done by all instances,
+ * but the version of the roster only reflects the writes done by the current instance.
+ * Cached statistics therefore also expire after a while so that roster changes made by other instances
+ * are picked up.
+ *
+ * <p>The least recently used statistics are evicted when the total size exceeds the limit.
+ */
+final class QuestionResultStatisticsCache {
+
+    private static final long MAX_SIZE_IN_CHARS = 8L * 1024 * 1024;
+    private static final Duration MAX_AGE = Duration.ofMinutes(10);
+
+    private static final QuestionResultStatisticsCache instance = new QuestionResultStatisticsCache();
+
+    private final Map<String, CachedStatistics> statistics = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalSizeInChars;
+
+    private QuestionResultStatisticsCache() {
+        // prevent initialization
+    }
+
+    public static QuestionResultStatisticsCache inst() {
+        return instance;
+    }
+
+    /**
+     * Gets the statistics of the question for the viewer, using {@code statisticsLoader} to compute them
+     * if they are not cached or the cached copy is outdated.
+     *
+     * @param resultsVersion the version of the data and the view of the results the statistics are computed from
+     * @param studentEmail the email of the student viewing the statistics, or null for instructors
+     */
+    String getQuestionResultStatisticsJson(FeedbackQuestionAttributes question, String resultsVersion,
+                                           String studentEmail, Supplier<String> statisticsLoader) {
+        String key = String.join("|", question.getId(), String.valueOf(question.getUpdatedAt()),
+                resultsVersion, String.valueOf(studentEmail));
+        Instant now = Instant.now();
+
+        synchronized (this) {
+            CachedStatistics cachedStatistics = statistics.get(key);
+            if (cachedStatistics != null && cachedStatistics.computedTime.plus(MAX_AGE).isAfter(now)) {
+                return cachedStatistics.json;
+            }
+        }
+
+        String json = statisticsLoader.get();
+        if (json.length() <= MAX_SIZE_IN_CHARS) {
+            put(key, new CachedStatistics(json, now));
+        }
+        return json;
+    }
+
+    private void put(String key, CachedStatistics cachedStatistics) {
+        synchronized (this) {
+            CachedStatistics replacedStatistics = statistics.put(key, cachedStatistics);
+            if (replacedStatistics != null) {
+                totalSizeInChars -= replacedStatistics.json.length();
+            }
+            totalSizeInChars += cachedStatistics.json.length();
+
+            Iterator<CachedStatistics> leastRecentlyUsed = statistics.values().iterator();
+            while (totalSizeInChars > MAX_SIZE_IN_CHARS && leastRecentlyUsed.hasNext()) {
+                totalSizeInChars -= leastRecentlyUsed.next().json.length();
+                leastRecentlyUsed.remove();
+            }
+        }
+    }
+
+    private static final class CachedStatistics {
+        private final String json;
+        private final Instant computedTime;
+
+        private CachedStatistics(String json, Instant computedTime) {
+            this.json = json;
+            this.computedTime = computedTime;
+        }
+    }
+
+}
@@ -3,10 +3,14 @@ package teammates.logic.core;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.StringJoiner;
+import java.util.stream.Collectors;
 
 import teammates.common.datatransfer.AttributesDeletionQuery;
+import teammates.common.datatransfer.CursorPage;
 import teammates.common.datatransfer.attributes.InstructorAttributes;
 import teammates.common.datatransfer.attributes.StudentAttributes;
 import teammates.common.exception.EnrollException;
@@ -76,6 +80,15 @@ public final class StudentsLogic {
         return studentsDb.getStudentForEmail(courseId, email);
     }
 
+    /**
+     * Gets the students of a course with the given emails.
+     *
+     * @return the students found, keyed by their emails
+     */
+    public Map<String, StudentAttributes> getStudentsForEmails(String courseId, Collection<String> emails) {
+        return studentsDb.getStudentsForEmails(courseId, emails);
+    }
+
     /**
      * Gets list of students by email.
      */
@@ -156,6 +169,18 @@ public final class StudentsLogic {
         return studentsDb.search(queryString, instructors);
     }
 
+    /**
+     * Suggests students whose name, email, team or section has words starting with every word of the query string.
+     *
+     * <p>Only the course, email, name, team and section of the students are populated.
+     *
+     * @param instructors the constraint that restricts the search result
+     */
+    public List<StudentAttributes> suggestStudents(String queryString, List<InstructorAttributes> instructors)
+            throws SearchServiceException {
+        return studentsDb.suggestStudents(queryString, instructors);
+    }
+
     /**
      * This method should be used by admin only since the searching does not restrict the
      * visibility according to the logged-in user's google ID. This is used by admin to
@@ -265,6 +290,52 @@ public final class StudentsLogic {
         return updatedStudent;
     }
 
+    /**
+     * Creates and updates students in bulk, e.g. for the students enrolled together.
+     *
+     * <p>All students are validated before any of them is written, and the students are written
+     * with batched datastore operations instead of one operation per student.
+     * The emails of the students cannot be changed in bulk.
+     *
+     * <p>As in {@link #updateStudentCascade(StudentAttributes.UpdateOptions)}, the responses of the updated
+     * students are adjusted, but only for the students whose team or section is actually changed.
+     *
+     * @return the created students followed by the updated students, in the order given
+     * @throws InvalidParametersException if any student to create or update is not valid
+     * @throws EntityAlreadyExistsException if any student to create already exists
+     * @throws EntityDoesNotExistException if any student to update cannot be found
+     */
+    public List<StudentAttributes> saveStudentsCascade(List<StudentAttributes> studentsToCreate,
+                                                       List<StudentAttributes.UpdateOptions> studentsToUpdate)
+            throws InvalidParametersException, EntityAlreadyExistsException, EntityDoesNotExistException {
+        Map<String, StudentAttributes> originalStudents = new HashMap<>();
+        studentsToUpdate.stream()
+                .collect(Collectors.groupingBy(StudentAttributes.UpdateOptions::getCourseId,
+                        Collectors.mapping(StudentAttributes.UpdateOptions::getEmail, Collectors.toList())))
+                .forEach((courseId, emails) -> studentsDb.getStudentsForEmails(courseId, emails).values()
+                        .forEach(student -> originalStudents.put(student.getId(), student)));
+
+        List<StudentAttributes> savedStudents = studentsDb.saveStudents(studentsToCreate, studentsToUpdate);
+
+        for (StudentAttributes updatedStudent : savedStudents.subList(studentsToCreate.size(), savedStudents.size())) {
+            StudentAttributes originalStudent = originalStudents.get(updatedStudent.getId());
+
+            // adjust submissions if moving to a different team
+            if (isTeamChanged(originalStudent.getTeam(), updatedStudent.getTeam())) {
+                frLogic.updateFeedbackResponsesForChangingTeam(updatedStudent.getCourse(), updatedStudent.getEmail(),
+                        originalStudent.getTeam(), updatedStudent.getTeam());
+            }
+
+            // update the new section name in responses
+            if (isSectionChanged(originalStudent.getSection(), updatedStudent.getSection())) {
+                frLogic.updateFeedbackResponsesForChangingSection(updatedStudent.getCourse(), updatedStudent.getEmail(),
+                        originalStudent.getSection(), updatedStudent.getSection());
+            }
+        }
+
+        return savedStudents;
+    }
+
     /**
      * Resets the googleId associated with the student.
      */
@@ -485,6 +556,28 @@ public final class StudentsLogic {
         studentsDb.putDocument(student);
     }
 
+    /**
+     * Creates or updates search documents for the given students.
+     *
+     * @param students the students to be put into documents
+     */
+    public void putDocuments(List<StudentAttributes> students) throws SearchServiceException {
+        studentsDb.putDocuments(students);
+    }
+
+    /**
+     * Creates or updates the search documents of a page of all students, in the order they are stored.
+     *
+     * @param cursor the cursor to read the page from, or null to read the first page
+     * @param limit the maximum number of students in the page
+     * @return the page of students whose search documents were put
+     */
+    public CursorPage<StudentAttributes> reindexDocuments(String cursor, int limit) throws SearchServiceException {
+        CursorPage<StudentAttributes> page = studentsDb.getEntitiesPage(cursor, limit);
+        studentsDb.putDocuments(page.getItems());
+        return page;
+    }
+
     private boolean isInEnrollList(StudentAttributes student,
             List<StudentAttributes> studentInfoList) {
         for (StudentAttributes studentInfo : studentInfoList) {
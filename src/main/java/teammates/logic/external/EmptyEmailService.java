@@ -1,5 +1,8 @@
 package teammates.logic.external;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.apache.http.HttpStatus;
 
 import teammates.common.util.EmailSendingStatus;
@@ -20,4 +23,13 @@ public class EmptyEmailService implements EmailSenderService {
         return new EmailSendingStatus(HttpStatus.SC_OK, null);
     }
 
+    @Override
+    public List<EmailSendingStatus> sendEmails(List<EmailWrapper> wrappers) {
+        List<EmailSendingStatus> statuses = new ArrayList<>();
+        for (EmailWrapper wrapper : wrappers) {
+            statuses.add(sendEmail(wrapper));
+        }
+        return statuses;
+    }
+
 }
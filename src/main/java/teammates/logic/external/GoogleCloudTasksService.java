@@ -2,13 +2,22 @@ package teammates.logic.external;
 
 import java.io.IOException;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
 
+import com.google.api.core.ApiFuture;
 import com.google.cloud.tasks.v2.AppEngineHttpRequest;
 import com.google.cloud.tasks.v2.AppEngineRouting;
 import com.google.cloud.tasks.v2.CloudTasksClient;
+import com.google.cloud.tasks.v2.CreateTaskRequest;
 import com.google.cloud.tasks.v2.HttpMethod;
 import com.google.cloud.tasks.v2.QueueName;
 import com.google.cloud.tasks.v2.Task;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.google.protobuf.ByteString;
 import com.google.protobuf.Timestamp;
 
@@ -21,47 +30,125 @@ import teammates.common.util.TaskWrapper;
 
 /**
  * Holds functions for operations related to Google Cloud Tasks.
+ *
+ * <p>One Cloud Tasks client, and hence one gRPC channel, is shared by all tasks added through this service.
+ * The client is created when the first task is added and closed when the JVM shuts down.
  */
 public class GoogleCloudTasksService implements TaskQueueService {
 
     private static final Logger log = Logger.getLogger();
 
+    /**
+     * Maximum number of task creation requests to Cloud Tasks which are in flight at any time.
+     */
+    private static final int MAX_CONCURRENT_REQUESTS = 50;
+
+    private final Function<CreateTaskRequest, ApiFuture<Task>> taskCreator;
+    private CloudTasksClient client;
+
+    public GoogleCloudTasksService() {
+        this.taskCreator = request -> getClient().createTaskCallable().futureCall(request);
+    }
+
+    /**
+     * Creates a service which sends the task creation requests with the given function instead of Cloud Tasks.
+     */
+    GoogleCloudTasksService(Function<CreateTaskRequest, ApiFuture<Task>> taskCreator) {
+        this.taskCreator = taskCreator;
+    }
+
     @Override
-    public void addDeferredTask(TaskWrapper task, long countdownTime) {
-        try (CloudTasksClient client = CloudTasksClient.create()) {
-            String queuePath = QueueName.of(Config.APP_ID, Config.APP_REGION, task.getQueueName()).toString();
-
-            AppEngineHttpRequest.Builder requestBuilder =
-                    AppEngineHttpRequest.newBuilder()
-                            .setAppEngineRouting(AppEngineRouting.newBuilder()
-                                    .setVersion(Config.APP_VERSION)
-                                    .build())
-                            .setHttpMethod(HttpMethod.POST);
-
-            if (task.getRequestBody() == null) {
-                String relativeUrl = "http://place.holder"; // the value is not important
-                AppUrl url = new AppUrl(relativeUrl + task.getWorkerUrl());
-                task.getParamMap().forEach((key, value) -> url.withParam(key, value));
-
-                requestBuilder.setRelativeUri(url.toString());
-            } else {
-                String requestBody = JsonUtils.toCompactJson(task.getRequestBody());
-                requestBuilder.putHeaders("Content-Type", "application/json; charset=UTF-8")
-                        .setRelativeUri(task.getWorkerUrl())
-                        .setBody(ByteString.copyFrom(requestBody, Const.ENCODING));
+    public boolean addDeferredTask(TaskWrapper task, long countdownTime) {
+        return addDeferredTasks(Collections.singletonList(new TaskWrapper(task.getQueueName(), task.getWorkerUrl(),
+                task.getParamMap(), task.getRequestBody(), countdownTime)));
+    }
+
+    @Override
+    public boolean addDeferredTasks(List<TaskWrapper> tasks) {
+        Semaphore availableRequests = new Semaphore(MAX_CONCURRENT_REQUESTS);
+        List<ApiFuture<Task>> pendingRequests = new ArrayList<>();
+        boolean isAllAdded = true;
+        try {
+            for (TaskWrapper task : tasks) {
+                availableRequests.acquire();
+                ApiFuture<Task> pendingRequest;
+                try {
+                    pendingRequest = taskCreator.apply(createTaskRequest(task));
+                } catch (RuntimeException e) {
+                    availableRequests.release();
+                    log.severe("Cannot add task to queue " + task.getQueueName(), e);
+                    isAllAdded = false;
+                    continue;
+                }
+                pendingRequest.addListener(availableRequests::release, MoreExecutors.directExecutor());
+                pendingRequests.add(pendingRequest);
             }
 
-            Task.Builder taskBuilder = Task.newBuilder().setAppEngineHttpRequest(requestBuilder.build());
-            if (countdownTime > 0) {
-                taskBuilder.setScheduleTime(
-                        Timestamp.newBuilder()
-                                .setSeconds(Instant.now().plusMillis(countdownTime).getEpochSecond()));
+            for (ApiFuture<Task> pendingRequest : pendingRequests) {
+                try {
+                    pendingRequest.get();
+                } catch (ExecutionException e) {
+                    log.severe("Cannot add task to queue", e.getCause());
+                    isAllAdded = false;
+                }
             }
+            return isAllAdded;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.severe("Interrupted while adding tasks to queue", e);
+            return false;
+        }
+    }
 
-            client.createTask(queuePath, taskBuilder.build());
-        } catch (IOException e) {
-            log.severe("Cannot create Cloud Tasks client", e);
+    private CloudTasksClient getClient() {
+        synchronized (this) {
+            if (client == null || client.isShutdown()) {
+                try {
+                    CloudTasksClient newClient = CloudTasksClient.create();
+                    Runtime.getRuntime().addShutdownHook(new Thread(newClient::close));
+                    client = newClient;
+                } catch (IOException e) {
+                    throw new IllegalStateException("Cannot create Cloud Tasks client", e);
+                }
+            }
+            return client;
+        }
+    }
+
+    private static CreateTaskRequest createTaskRequest(TaskWrapper task) {
+        String queuePath = QueueName.of(Config.APP_ID, Config.APP_REGION, task.getQueueName()).toString();
+
+        AppEngineHttpRequest.Builder requestBuilder =
+                AppEngineHttpRequest.newBuilder()
+                        .setAppEngineRouting(AppEngineRouting.newBuilder()
+                                .setVersion(Config.APP_VERSION)
+                                .build())
+                        .setHttpMethod(HttpMethod.POST);
+
+        if (task.getRequestBody() == null) {
+            String relativeUrl = "http://place.holder"; // the value is not important
+            AppUrl url = new AppUrl(relativeUrl + task.getWorkerUrl());
+            task.getParamMap().forEach((key, value) -> url.withParam(key, value));
+
+            requestBuilder.setRelativeUri(url.toString());
+        } else {
+            String requestBody = JsonUtils.toCompactJson(task.getRequestBody());
+            requestBuilder.putHeaders("Content-Type", "application/json; charset=UTF-8")
+                    .setRelativeUri(task.getWorkerUrl())
+                    .setBody(ByteString.copyFrom(requestBody, Const.ENCODING));
         }
+
+        Task.Builder taskBuilder = Task.newBuilder().setAppEngineHttpRequest(requestBuilder.build());
+        if (task.getCountdownTime() > 0) {
+            taskBuilder.setScheduleTime(
+                    Timestamp.newBuilder()
+                            .setSeconds(Instant.now().plusMillis(task.getCountdownTime()).getEpochSecond()));
+        }
+
+        return CreateTaskRequest.newBuilder()
+                .setParent(queuePath)
+                .setTask(taskBuilder.build())
+                .build();
     }
 
 }
@@ -6,14 +6,24 @@ import java.net.URISyntaxException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
 
 import org.apache.http.NameValuePair;
+import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.utils.URIBuilder;
 import org.apache.http.entity.StringEntity;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.apache.http.message.BasicNameValuePair;
+import org.apache.http.util.EntityUtils;
 
 import teammates.common.util.Config;
 import teammates.common.util.Const;
@@ -23,19 +33,113 @@ import teammates.common.util.TaskWrapper;
 
 /**
  * Holds functions for operations related to task queue in local dev environment.
+ *
+ * <p>Tasks are run asynchronously by a bounded pool of workers for each queue, after their countdown time.
+ * Failed tasks are retried with exponential backoff, similar to Cloud Tasks.
  */
 public class LocalTaskQueueService implements TaskQueueService {
 
     private static final Logger log = Logger.getLogger();
 
-    @Override
-    public void addDeferredTask(TaskWrapper task, long countdownTime) {
-        // In dev server, task queues are either not active (i.e. they will not be executed even if queued)
-        // or they will be executed immediately without going through any kind of "queue"
+    private static final int WORKERS_PER_QUEUE = 5;
+    private static final int MAX_ATTEMPTS = 5;
+    private static final long MIN_BACKOFF_MILLIS = 1000;
+    private static final long MAX_BACKOFF_MILLIS = 60 * 1000;
+
+    private static final CloseableHttpClient HTTP_CLIENT = createHttpClient();
+
+    private final Predicate<TaskWrapper> taskRunner;
+    private final TaskScheduler scheduler;
+    private final LongSupplier clock;
+    private final Map<String, QueueStatistics> statistics = new ConcurrentHashMap<>();
+
+    public LocalTaskQueueService() {
+        this(LocalTaskQueueService::runTaskWithHttpRequest, new WorkerPoolScheduler(), System::currentTimeMillis);
+    }
+
+    /**
+     * Creates a service which runs tasks with {@code taskRunner}, which returns whether the task succeeds,
+     * instead of sending HTTP requests to the workers.
+     *
+     * <p>The tasks are scheduled with {@code scheduler}, and their due times are measured with {@code clock}
+     * in milliseconds, so that the time at which tasks run can be controlled.
+     */
+    LocalTaskQueueService(Predicate<TaskWrapper> taskRunner, TaskScheduler scheduler, LongSupplier clock) {
+        this.taskRunner = taskRunner;
+        this.scheduler = scheduler;
+        this.clock = clock;
+    }
 
+    @Override
+    public boolean addDeferredTask(TaskWrapper task, long countdownTime) {
         if (!Config.TASKQUEUE_ACTIVE) {
+            return true;
+        }
+
+        long dueTime = clock.getAsLong() + Math.max(countdownTime, 0);
+        getStatistics(task.getQueueName()).pendingTasks.incrementAndGet();
+        schedule(task, 1, dueTime, dueTime);
+        return true;
+    }
+
+    @Override
+    public boolean addDeferredTasks(List<TaskWrapper> tasks) {
+        for (TaskWrapper task : tasks) {
+            addDeferredTask(task, task.getCountdownTime());
+        }
+        return true;
+    }
+
+    /**
+     * Gets the statistics of the tasks added to the queue through this service,
+     * e.g. to check how long tasks wait before they are run when many tasks are added at once.
+     */
+    public QueueStatistics getStatistics(String queueName) {
+        return statistics.computeIfAbsent(queueName, k -> new QueueStatistics());
+    }
+
+    private void schedule(TaskWrapper task, int attempt, long attemptDueTime, long countdownEndTime) {
+        long delay = Math.max(attemptDueTime - clock.getAsLong(), 0);
+        scheduler.schedule(task.getQueueName(), () -> run(task, attempt, countdownEndTime), delay);
+    }
+
+    private void run(TaskWrapper task, int attempt, long countdownEndTime) {
+        QueueStatistics queueStatistics = getStatistics(task.getQueueName());
+
+        boolean isSuccessful;
+        try {
+            isSuccessful = taskRunner.test(task);
+        } catch (RuntimeException e) {
+            log.severe("Error when running task for " + task.getWorkerUrl(), e);
+            isSuccessful = false;
+        }
+
+        if (!isSuccessful && attempt < MAX_ATTEMPTS) {
+            long backoff = Math.min(MIN_BACKOFF_MILLIS << (attempt - 1), MAX_BACKOFF_MILLIS);
+            queueStatistics.retriedAttempts.incrementAndGet();
+            schedule(task, attempt + 1, clock.getAsLong() + backoff, countdownEndTime);
             return;
         }
+
+        long latency = clock.getAsLong() - countdownEndTime;
+        queueStatistics.totalLatencyMillis.addAndGet(latency);
+        if (isSuccessful) {
+            queueStatistics.completedTasks.incrementAndGet();
+        } else {
+            queueStatistics.failedTasks.incrementAndGet();
+            log.warning(String.format("Task for %s in %s failed after %d attempts",
+                    task.getWorkerUrl(), task.getQueueName(), attempt));
+        }
+        long pendingTasks = queueStatistics.pendingTasks.decrementAndGet();
+        log.fine(String.format("Task for %s in %s done %d ms after its countdown, %d task(s) pending",
+                task.getWorkerUrl(), task.getQueueName(), latency, pendingTasks));
+        if (pendingTasks == 0) {
+            // summarise the queue whenever it is drained, e.g. after a batch of emails is sent
+            log.info(String.format("All tasks in %s done: %s", task.getQueueName(), queueStatistics));
+        }
+    }
+
+    private static boolean runTaskWithHttpRequest(TaskWrapper task) {
         HttpPost post = new HttpPost(createBasicUri(
                 "http://localhost:" + Config.getPort() + task.getWorkerUrl(), task.getParamMap()));
 
@@ -48,13 +152,26 @@ public class LocalTaskQueueService implements TaskQueueService {
         post.addHeader("X-AppEngine-QueueName", task.getQueueName());
         post.addHeader("X-Google-DevAppserver-SkipAdminCheck", "true");
 
-        try (CloseableHttpClient httpClient = HttpClients.createDefault()) {
-            httpClient.execute(post);
+        try (CloseableHttpResponse response = HTTP_CLIENT.execute(post)) {
+            // consume the response so that the connection can be reused
+            EntityUtils.consume(response.getEntity());
+            int statusCode = response.getStatusLine().getStatusCode();
+            return statusCode >= 200 && statusCode < 300;
         } catch (IOException e) {
             log.severe("Error when executing HTTP request", e);
+            return false;
         }
     }
 
+    private static CloseableHttpClient createHttpClient() {
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(50);
+        connectionManager.setDefaultMaxPerRoute(50);
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .build();
+    }
+
     private static URI createBasicUri(String url, Map<String, String> params) {
         List<NameValuePair> postParameters = new ArrayList<>();
         if (params != null) {
@@ -71,4 +188,88 @@ public class LocalTaskQueueService implements TaskQueueService {
         }
     }
 
+    /**
+     * Schedules the runs of the tasks of each queue.
+     */
+    interface TaskScheduler {
+
+        /**
+         * Schedules {@code run} to be run once for a task of the queue after {@code delayMillis} milliseconds.
+         */
+        void schedule(String queueName, Runnable run, long delayMillis);
+
+    }
+
+    /**
+     * Runs the tasks of each queue in a bounded pool of worker threads of the queue.
+     */
+    private static final class WorkerPoolScheduler implements TaskScheduler {
+        private final Map<String, ScheduledExecutorService> workers = new ConcurrentHashMap<>();
+
+        @Override
+        public void schedule(String queueName, Runnable run, long delayMillis) {
+            getWorkers(queueName).schedule(run, delayMillis, TimeUnit.MILLISECONDS);
+        }
+
+        private ScheduledExecutorService getWorkers(String queueName) {
+            return workers.computeIfAbsent(queueName, k -> {
+                ScheduledThreadPoolExecutor executor =
+                        new ScheduledThreadPoolExecutor(WORKERS_PER_QUEUE, runnable -> {
+                            Thread thread = new Thread(runnable, "local-task-queue-" + queueName);
+                            thread.setDaemon(true);
+                            return thread;
+                        });
+                executor.setRemoveOnCancelPolicy(true);
+                return executor;
+            });
+        }
+    }
+
+    /**
+     * Represents the statistics of the tasks added to a queue.
+     */
+    public static final class QueueStatistics {
+        private final AtomicLong pendingTasks = new AtomicLong();
+        private final AtomicLong completedTasks = new AtomicLong();
+        private final AtomicLong failedTasks = new AtomicLong();
+        private final AtomicLong retriedAttempts = new AtomicLong();
+        private final AtomicLong totalLatencyMillis = new AtomicLong();
+
+        /**
+         * Gets the number of tasks which are waiting for their countdown, waiting for a worker, or running.
+         */
+        public long getPendingTasks() {
+            return pendingTasks.get();
+        }
+
+        public long getCompletedTasks() {
+            return completedTasks.get();
+        }
+
+        /**
+         * Gets the number of tasks which still failed after all attempts.
+         */
+        public long getFailedTasks() {
+            return failedTasks.get();
+        }
+
+        public long getRetriedAttempts() {
+            return retriedAttempts.get();
+        }
+
+        /**
+         * Gets the average time from the end of the countdown of the tasks to when they are done.
+         */
+        public long getAverageLatencyMillis() {
+            long doneTasks = completedTasks.get() + failedTasks.get();
+            return doneTasks == 0 ? 0 : totalLatencyMillis.get() / doneTasks;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d completed, %d failed, %d retried attempt(s), %d ms average latency",
+                    getCompletedTasks(), getFailedTasks(), getRetriedAttempts(), getAverageLatencyMillis());
+        }
+    }
+
 }
@@ -1,6 +1,8 @@
 package teammates.logic.external;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
 import javax.ws.rs.core.MediaType;
 
@@ -27,6 +29,11 @@ public class MailgunService implements EmailSenderService {
 
     private static final Logger log = Logger.getLogger();
 
+    private static final int MAX_EMAILS_PER_SECOND = 10;
+
+    // the client keeps its connections alive, hence it is shared by all emails sent
+    private WebResource messagesResource;
+
     /**
      * {@inheritDoc}
      */
@@ -55,19 +62,60 @@ public class MailgunService implements EmailSenderService {
     @Override
     public EmailSendingStatus sendEmail(EmailWrapper wrapper) {
         try (FormDataMultiPart email = parseToEmail(wrapper)) {
-            Client client = Client.create();
-            client.addFilter(new HTTPBasicAuthFilter("api", Config.MAILGUN_APIKEY));
-            WebResource webResource =
-                    client.resource("https://api.mailgun.net/v3/" + Config.MAILGUN_DOMAINNAME + "/messages");
-
-            ClientResponse response = webResource.type(MediaType.MULTIPART_FORM_DATA_TYPE)
+            ClientResponse response = getMessagesResource().type(MediaType.MULTIPART_FORM_DATA_TYPE)
                     .post(ClientResponse.class, email);
-
-            return new EmailSendingStatus(response.getStatus(), response.getStatusInfo().getReasonPhrase());
+            try {
+                return new EmailSendingStatus(response.getStatus(), response.getStatusInfo().getReasonPhrase());
+            } finally {
+                // release the connection so that it can be reused
+                response.close();
+            }
         } catch (IOException e) {
             log.warning("Could not clean up resources after sending email", e);
             return new EmailSendingStatus(HttpStatus.SC_OK, e.getMessage());
         }
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Mailgun can only send the same email to many recipients in one request,
+     * hence the emails are sent one at a time, at most {@value #MAX_EMAILS_PER_SECOND} per second.
+     */
+    @Override
+    public List<EmailSendingStatus> sendEmails(List<EmailWrapper> wrappers) {
+        List<EmailSendingStatus> statuses = new ArrayList<>();
+        long lastSentTime = 0;
+        for (EmailWrapper wrapper : wrappers) {
+            waitUntil(lastSentTime + 1000 / MAX_EMAILS_PER_SECOND);
+            lastSentTime = System.currentTimeMillis();
+            statuses.add(sendEmail(wrapper));
+        }
+        return statuses;
+    }
+
+    private static void waitUntil(long time) {
+        long waitTime = time - System.currentTimeMillis();
+        if (waitTime <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(waitTime);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private WebResource getMessagesResource() {
+        synchronized (this) {
+            if (messagesResource == null) {
+                Client client = Client.create();
+                client.addFilter(new HTTPBasicAuthFilter("api", Config.MAILGUN_APIKEY));
+                messagesResource =
+                        client.resource("https://api.mailgun.net/v3/" + Config.MAILGUN_DOMAINNAME + "/messages");
+            }
+            return messagesResource;
+        }
+    }
+
 }
@@ -1,5 +1,9 @@
 package teammates.logic.external;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 import org.apache.http.HttpStatus;
 import org.json.JSONArray;
 import org.json.JSONObject;
@@ -11,6 +15,7 @@ import com.mailjet.client.MailjetRequest;
 import com.mailjet.client.MailjetResponse;
 import com.mailjet.client.errors.MailjetException;
 import com.mailjet.client.resource.Email;
+import com.mailjet.client.resource.Emailv31;
 
 import teammates.common.exception.EmailSendingException;
 import teammates.common.util.Config;
@@ -27,6 +32,14 @@ import teammates.common.util.EmailWrapper;
  */
 public class MailjetService implements EmailSenderService {
 
+    /**
+     * Maximum number of messages sent in one request to the Send API v3.1.
+     */
+    private static final int MAX_MESSAGES_PER_REQUEST = 50;
+
+    // the client keeps a pool of connections, hence it is shared by all emails sent
+    private MailjetClient mailjet;
+
     /**
      * {@inheritDoc}
      */
@@ -53,14 +66,102 @@ public class MailjetService implements EmailSenderService {
     @Override
     public EmailSendingStatus sendEmail(EmailWrapper wrapper) throws EmailSendingException {
         MailjetRequest email = parseToEmail(wrapper);
-        MailjetClient mailjet = new MailjetClient(
-                ClientOptions.builder().apiKey(Config.MAILJET_APIKEY).apiSecretKey(Config.MAILJET_SECRETKEY).build());
         try {
-            MailjetResponse response = mailjet.post(email);
+            MailjetResponse response = getClient().post(email);
             return new EmailSendingStatus(response.getStatus(), response.getData().toString());
         } catch (MailjetException e) {
             throw new EmailSendingException(e, HttpStatus.SC_BAD_GATEWAY);
         }
     }
 
+    /**
+     * Parses the {@code wrappers} email objects to requests to the Send API v3.1,
+     * each with up to {@value #MAX_MESSAGES_PER_REQUEST} messages.
+     */
+    public List<MailjetRequest> parseToEmails(List<EmailWrapper> wrappers) {
+        List<MailjetRequest> requests = new ArrayList<>();
+        for (int i = 0; i < wrappers.size(); i += MAX_MESSAGES_PER_REQUEST) {
+            JSONArray messages = new JSONArray();
+            for (EmailWrapper wrapper : wrappers.subList(i, Math.min(i + MAX_MESSAGES_PER_REQUEST, wrappers.size()))) {
+                messages.put(parseToMessage(wrapper));
+            }
+            requests.add(new MailjetRequest(Emailv31.resource).property(Emailv31.MESSAGES, messages));
+        }
+        return requests;
+    }
+
+    private JSONObject parseToMessage(EmailWrapper wrapper) {
+        JSONObject sender = new JSONObject().put("Email", wrapper.getSenderEmail());
+        if (wrapper.getSenderName() != null && !wrapper.getSenderName().isEmpty()) {
+            sender.put("Name", wrapper.getSenderName());
+        }
+
+        JSONObject message = new JSONObject()
+                .put(Emailv31.Message.FROM, sender)
+                .put(Emailv31.Message.TO, new JSONArray().put(new JSONObject().put("Email", wrapper.getRecipient())))
+                .put(Emailv31.Message.REPLYTO, new JSONObject().put("Email", wrapper.getReplyTo()))
+                .put(Emailv31.Message.SUBJECT, wrapper.getSubject())
+                .put(Emailv31.Message.HTMLPART, wrapper.getContent())
+                .put(Emailv31.Message.TEXTPART, Jsoup.parse(wrapper.getContent()).text());
+        if (wrapper.getBcc() != null && !wrapper.getBcc().isEmpty()) {
+            message.put(Emailv31.Message.BCC, new JSONArray().put(new JSONObject().put("Email", wrapper.getBcc())));
+        }
+        return message;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The emails are sent with the Send API v3.1, up to {@value #MAX_MESSAGES_PER_REQUEST} emails in one request.
+     */
+    @Override
+    public List<EmailSendingStatus> sendEmails(List<EmailWrapper> wrappers) {
+        List<EmailSendingStatus> statuses = new ArrayList<>();
+        for (MailjetRequest request : parseToEmails(wrappers)) {
+            int numberOfMessages = request.getBodyJSON().getJSONArray(Emailv31.MESSAGES).length();
+            try {
+                MailjetResponse response = getClient().post(request);
+                statuses.addAll(getMessageStatuses(response, numberOfMessages));
+            } catch (MailjetException e) {
+                EmailSendingStatus status = new EmailSendingStatus(HttpStatus.SC_BAD_GATEWAY, e.getMessage());
+                for (int i = 0; i < numberOfMessages; i++) {
+                    statuses.add(status);
+                }
+            }
+        }
+        return statuses;
+    }
+
+    /**
+     * Gets the status of sending each message from the response of the Send API v3.1.
+     */
+    private static List<EmailSendingStatus> getMessageStatuses(MailjetResponse response, int numberOfMessages) {
+        JSONArray messageResults = new JSONObject(response.getRawResponseContent()).optJSONArray("Messages");
+        EmailSendingStatus[] statuses = new EmailSendingStatus[numberOfMessages];
+        for (int i = 0; i < numberOfMessages; i++) {
+            JSONObject messageResult = messageResults == null ? null : messageResults.optJSONObject(i);
+            if (messageResult == null) {
+                // the status of the individual message is unknown
+                statuses[i] = new EmailSendingStatus(response.getStatus(), response.getRawResponseContent());
+            } else if ("success".equals(messageResult.optString("Status"))) {
+                statuses[i] = new EmailSendingStatus(HttpStatus.SC_OK, messageResult.toString());
+            } else {
+                statuses[i] = new EmailSendingStatus(HttpStatus.SC_BAD_REQUEST, messageResult.toString());
+            }
+        }
+        return Arrays.asList(statuses);
+    }
+
+    private MailjetClient getClient() {
+        synchronized (this) {
+            if (mailjet == null) {
+                mailjet = new MailjetClient(ClientOptions.builder()
+                        .apiKey(Config.MAILJET_APIKEY)
+                        .apiSecretKey(Config.MAILJET_SECRETKEY)
+                        .build());
+            }
+            return mailjet;
+        }
+    }
+
 }
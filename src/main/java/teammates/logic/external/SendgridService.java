@@ -1,6 +1,12 @@
 package teammates.logic.external;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 import org.apache.http.HttpStatus;
 import org.jsoup.Jsoup;
@@ -18,6 +24,7 @@ import teammates.common.exception.EmailSendingException;
 import teammates.common.util.Config;
 import teammates.common.util.EmailSendingStatus;
 import teammates.common.util.EmailWrapper;
+import teammates.common.util.Templates;
 
 /**
  * Email sender service provided by SendGrid.
@@ -27,11 +34,30 @@ import teammates.common.util.EmailWrapper;
  */
 public class SendgridService implements EmailSenderService {
 
+    /**
+     * Maximum number of recipients, including BCC recipients, of all the personalizations in one request.
+     */
+    private static final int MAX_RECIPIENTS_PER_REQUEST = 1000;
+
+    /**
+     * Maximum total size, in bytes, of the substitutions of one personalization.
+     */
+    private static final int MAX_SUBSTITUTION_BYTES_PER_PERSONALIZATION = 10000;
+
+    // the client keeps a pool of connections, hence it is shared by all emails sent
+    private SendGrid sendgrid;
+
     /**
      * {@inheritDoc}
      */
     @Override
     public Mail parseToEmail(EmailWrapper wrapper) {
+        Mail email = createEmail(wrapper, wrapper.getContent(), Jsoup.parse(wrapper.getContent()).text());
+        email.addPersonalization(createPersonalization(wrapper));
+        return email;
+    }
+
+    private static Mail createEmail(EmailWrapper wrapper, String htmlContent, String textContent) {
         Mail email = new Mail();
         Email sender;
         if (wrapper.getSenderName() == null || wrapper.getSenderName().isEmpty()) {
@@ -41,32 +67,185 @@ public class SendgridService implements EmailSenderService {
         }
         email.setFrom(sender);
         email.setReplyTo(new Email(wrapper.getReplyTo()));
+        email.setSubject(wrapper.getSubject());
+        email.addContent(new Content("text/plain", textContent));
+        email.addContent(new Content("text/html", htmlContent));
+        return email;
+    }
+
+    private static Personalization createPersonalization(EmailWrapper wrapper) {
         Personalization personalization = new Personalization();
         personalization.addTo(new Email(wrapper.getRecipient()));
         if (wrapper.getBcc() != null && !wrapper.getBcc().isEmpty()) {
             personalization.addBcc(new Email(wrapper.getBcc()));
         }
-        email.addPersonalization(personalization);
-        email.setSubject(wrapper.getSubject());
-        email.addContent(new Content("text/plain", Jsoup.parse(wrapper.getContent()).text()));
-        email.addContent(new Content("text/html", wrapper.getContent()));
+        return personalization;
+    }
+
+    /**
+     * Parses the {@code wrappers} email objects to as few SendGrid emails as possible.
+     *
+     * <p>Emails with the same sender and reply-to address are sent as one SendGrid email, with one personalization
+     * for each email, up to {@value #MAX_RECIPIENTS_PER_REQUEST} recipients, if either they have the same content,
+     * or their contents are populated from the same template. In the latter case, the SendGrid email has the template
+     * as its content, which is populated by SendGrid with the substitutions of each personalization.
+     */
+    public List<Mail> parseToEmails(List<EmailWrapper> wrappers) {
+        List<Mail> emails = new ArrayList<>();
+        for (List<Integer> batch : splitIntoBatches(wrappers)) {
+            emails.add(parseToBatchEmail(wrappers, batch));
+        }
+        return emails;
+    }
+
+    private Mail parseToBatchEmail(List<EmailWrapper> wrappers, List<Integer> batch) {
+        EmailWrapper firstWrapper = wrappers.get(batch.get(0));
+        if (batch.size() == 1) {
+            return parseToEmail(firstWrapper);
+        }
+
+        boolean isPersonalized = isPersonalizable(firstWrapper);
+        Mail email = isPersonalized
+                ? createEmail(firstWrapper, firstWrapper.getTemplate(), getTextTemplate(firstWrapper))
+                : createEmail(firstWrapper, firstWrapper.getContent(), Jsoup.parse(firstWrapper.getContent()).text());
+        for (int i : batch) {
+            EmailWrapper wrapper = wrappers.get(i);
+            Personalization personalization = createPersonalization(wrapper);
+            personalization.setSubject(wrapper.getSubject());
+            if (isPersonalized) {
+                getSubstitutions(wrapper).forEach(personalization::addSubstitution);
+            }
+            email.addPersonalization(personalization);
+        }
         return email;
     }
 
+    /**
+     * Checks whether the email can be sent as a personalization of an email with its template as the content.
+     *
+     * <p>Templates with escaped placeholders, e.g. typed by users in session instructions, are not used, as the
+     * placeholders are unescaped in the plain text version, where SendGrid would substitute them.
+     */
+    private static boolean isPersonalizable(EmailWrapper wrapper) {
+        if (wrapper.getTemplate() == null || Templates.hasEscapedPlaceholders(wrapper.getTemplate())) {
+            return false;
+        }
+        int substitutionBytes = 0;
+        for (Map.Entry<String, String> substitution : getSubstitutions(wrapper).entrySet()) {
+            substitutionBytes += substitution.getKey().getBytes(StandardCharsets.UTF_8).length
+                    + substitution.getValue().getBytes(StandardCharsets.UTF_8).length;
+        }
+        return substitutionBytes <= MAX_SUBSTITUTION_BYTES_PER_PERSONALIZATION;
+    }
+
+    /**
+     * Gets the plain text version of the template of the email, in which the keys of the template are replaced
+     * by keys of their own, as the plain text values differ from the HTML values.
+     */
+    private static String getTextTemplate(EmailWrapper wrapper) {
+        String textTemplate = Jsoup.parse(wrapper.getTemplate()).text();
+        int index = 0;
+        for (String key : wrapper.getTemplateValues().keySet()) {
+            textTemplate = textTemplate.replace(key, getTextKey(index));
+            index++;
+        }
+        return textTemplate;
+    }
+
+    private static Map<String, String> getSubstitutions(EmailWrapper wrapper) {
+        Map<String, String> substitutions = new LinkedHashMap<>();
+        int index = 0;
+        for (Map.Entry<String, String> templateValue : wrapper.getTemplateValues().entrySet()) {
+            substitutions.put(templateValue.getKey(), templateValue.getValue());
+            substitutions.put(getTextKey(index), Jsoup.parse(templateValue.getValue()).text());
+            index++;
+        }
+        return substitutions;
+    }
+
+    private static String getTextKey(int index) {
+        return "${text:" + index + "}";
+    }
+
+    /**
+     * Splits the emails into batches which can be sent as one SendGrid email.
+     *
+     * @return the indices of the emails in each batch
+     */
+    private static List<List<Integer>> splitIntoBatches(List<EmailWrapper> wrappers) {
+        Map<List<Object>, List<Integer>> openBatches = new LinkedHashMap<>();
+        Map<List<Object>, Integer> openBatchRecipients = new LinkedHashMap<>();
+        List<List<Integer>> batches = new ArrayList<>();
+        for (int i = 0; i < wrappers.size(); i++) {
+            EmailWrapper wrapper = wrappers.get(i);
+            // emails of the same template are batched only if their substitutions have the same keys
+            List<Object> sharedFields = isPersonalizable(wrapper)
+                    ? Arrays.asList(wrapper.getSenderEmail(), wrapper.getSenderName(), wrapper.getReplyTo(),
+                            wrapper.getTemplate(), new ArrayList<>(wrapper.getTemplateValues().keySet()))
+                    : Arrays.asList(wrapper.getSenderEmail(), wrapper.getSenderName(), wrapper.getReplyTo(),
+                            wrapper.getContent());
+            int recipients = wrapper.getBcc() == null || wrapper.getBcc().isEmpty() ? 1 : 2;
+
+            List<Integer> batch = openBatches.get(sharedFields);
+            if (batch == null || openBatchRecipients.get(sharedFields) + recipients > MAX_RECIPIENTS_PER_REQUEST) {
+                batch = new ArrayList<>();
+                batches.add(batch);
+                openBatches.put(sharedFields, batch);
+                openBatchRecipients.put(sharedFields, 0);
+            }
+            batch.add(i);
+            openBatchRecipients.merge(sharedFields, recipients, Integer::sum);
+        }
+        return batches;
+    }
+
     @Override
     public EmailSendingStatus sendEmail(EmailWrapper wrapper) throws EmailSendingException {
-        Mail email = parseToEmail(wrapper);
-        SendGrid sendgrid = new SendGrid(Config.SENDGRID_APIKEY);
+        return send(parseToEmail(wrapper));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Emails with the same sender and reply-to address, and the same content or template, are sent in one request.
+     */
+    @Override
+    public List<EmailSendingStatus> sendEmails(List<EmailWrapper> wrappers) {
+        EmailSendingStatus[] statuses = new EmailSendingStatus[wrappers.size()];
+        for (List<Integer> batch : splitIntoBatches(wrappers)) {
+            EmailSendingStatus status;
+            try {
+                status = send(parseToBatchEmail(wrappers, batch));
+            } catch (EmailSendingException e) {
+                status = new EmailSendingStatus(e.getStatusCode(), e.getMessage());
+            }
+            for (int i : batch) {
+                statuses[i] = status;
+            }
+        }
+        return Arrays.asList(statuses);
+    }
+
+    private EmailSendingStatus send(Mail email) throws EmailSendingException {
         Request request = new Request();
         request.setMethod(Method.POST);
         request.setEndpoint("mail/send");
         try {
             request.setBody(email.build());
-            Response response = sendgrid.api(request);
+            Response response = getClient().api(request);
             return new EmailSendingStatus(response.getStatusCode(), response.getBody());
         } catch (IOException e) {
             throw new EmailSendingException(e, HttpStatus.SC_BAD_GATEWAY);
         }
     }
 
+    private SendGrid getClient() {
+        synchronized (this) {
+            if (sendgrid == null) {
+                sendgrid = new SendGrid(Config.SENDGRID_APIKEY);
+            }
+            return sendgrid;
+        }
+    }
+
 }
@@ -1,5 +1,7 @@
 package teammates.logic.external;
 
+import java.util.List;
+
 import teammates.common.util.TaskWrapper;
 
 /**
@@ -12,7 +14,17 @@ public interface TaskQueueService {
      *
      * @param task the task object containing the details of task to be added
      * @param countdownTime the time delay for the task to be executed
+     * @return true if the task is added, false if it could not be added
+     */
+    boolean addDeferredTask(TaskWrapper task, long countdownTime);
+
+    /**
+     * Adds the given tasks to their queues, each to be run after its own countdown time.
+     *
+     * @param tasks the task objects containing the details of tasks to be added
+     * @return true if all the tasks are added, false if any of them could not be added
+     * @see TaskWrapper#getCountdownTime()
      */
-    void addDeferredTask(TaskWrapper task, long countdownTime);
+    boolean addDeferredTasks(List<TaskWrapper> tasks);
 
 }
@@ -4,8 +4,11 @@ import static com.googlecode.objectify.ObjectifyService.ofy;
 
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import com.googlecode.objectify.Key;
@@ -48,6 +51,13 @@ public final class AccountRequestsDb extends EntitiesDb<AccountRequest, AccountR
         getSearchManager().putDocument(accountRequest);
     }
 
+    /**
+     * Creates or updates search documents for the given account requests.
+     */
+    public void putDocuments(List<AccountRequestAttributes> accountRequests) throws SearchServiceException {
+        getSearchManager().putDocuments(accountRequests);
+    }
+
     /**
      * Searches all account requests in the system.
      *
@@ -73,6 +83,20 @@ public final class AccountRequestsDb extends EntitiesDb<AccountRequest, AccountR
         return makeAttributesOrNull(getAccountRequestEntity(AccountRequest.generateId(email, institute)));
     }
 
+    /**
+     * Gets the account requests with the given IDs in one batched lookup.
+     *
+     * @param ids the IDs of the account requests, in the format of {@code email%institute}
+     * @return the account requests found, keyed by their IDs
+     */
+    public Map<String, AccountRequestAttributes> getAccountRequestsForIds(Collection<String> ids) {
+        assert ids != null;
+
+        Map<String, AccountRequestAttributes> accountRequests = new HashMap<>();
+        load().ids(ids).forEach((id, entity) -> accountRequests.put(id, makeAttributes(entity)));
+        return accountRequests;
+    }
+
     /**
      * Updates an account request.
      *
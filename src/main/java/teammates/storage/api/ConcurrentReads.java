@@ -0,0 +1,138 @@
+package teammates.storage.api;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import com.googlecode.objectify.ObjectifyService;
+import com.googlecode.objectify.util.Closeable;
+
+import teammates.common.exception.DeadlineExceededException;
+import teammates.common.util.RequestTracer;
+
+/**
+ * Runs independent database reads of a request concurrently.
+ *
+ * <p>Each read runs in a separate thread with its own Objectify session, within the trace of the request
+ * which submits it so that the deadline of the request applies to the read as well, and with the
+ * {@link RequestScopedCache} of the request so that the read shares the lookups cached by the request.
+ * When all {@link #MAX_THREADS} read threads are busy, the read runs in the submitting thread instead.
+ *
+ * <p>The reads submitted to an instance are given up together: once any of them fails, the request exceeds
+ * its deadline, or the instance is closed, the reads which are still pending are cancelled.
+ * An instance is meant to be used by a single request thread in a try-with-resources statement.
+ */
+public final class ConcurrentReads implements AutoCloseable {
+
+    /**
+     * Maximum number of threads running reads for all requests together.
+     */
+    static final int MAX_THREADS = 32;
+
+    // threads are created on demand and reused while idle, so that the reads of a request never queue behind
+    // those of other requests; once the limit is reached, reads run in the submitting thread as they would
+    // without this class
+    private static final ExecutorService EXECUTOR = new ThreadPoolExecutor(0, MAX_THREADS, 60L, TimeUnit.SECONDS,
+            new SynchronousQueue<>(), new ReadThreadFactory(), new ThreadPoolExecutor.CallerRunsPolicy());
+
+    private final List<Future<?>> pendingReads = new ArrayList<>();
+
+    /**
+     * Submits a read to be run concurrently with the current thread.
+     *
+     * @see #await(Future)
+     */
+    public <T> Future<T> submit(Supplier<T> read) {
+        Supplier<T> readInCurrentTrace = RequestTracer.propagate(RequestScopedCache.propagate(() -> {
+            // the deadline can only be checked once the trace of the request is in place in the read thread
+            RequestTracer.checkRemainingTime();
+            return read.get();
+        }));
+        Future<T> pendingRead = EXECUTOR.submit(() -> {
+            try (Closeable session = ObjectifyService.begin()) {
+                return readInCurrentTrace.get();
+            }
+        });
+
+        pendingReads.removeIf(Future::isDone);
+        pendingReads.add(pendingRead);
+        return pendingRead;
+    }
+
+    /**
+     * Waits for a submitted read to complete and returns its result.
+     *
+     * <p>Any exception thrown by the read is rethrown as is, after cancelling the other pending reads.
+     *
+     * @throws DeadlineExceededException if the current request has exceeded its deadline
+     */
+    public <T> T await(Future<T> pendingRead) {
+        boolean isSuccessful = false;
+        try {
+            T result = getResult(pendingRead);
+            RequestTracer.checkRemainingTime();
+            isSuccessful = true;
+            return result;
+        } finally {
+            if (!isSuccessful) {
+                cancelPendingReads();
+            }
+        }
+    }
+
+    @SuppressWarnings("PMD.PreserveStackTrace") // the exception thrown by the read is more useful than the wrapper
+    private static <T> T getResult(Future<T> pendingRead) {
+        try {
+            return pendingRead.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DeadlineExceededException();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    private void cancelPendingReads() {
+        for (Future<?> pendingRead : pendingReads) {
+            pendingRead.cancel(true);
+        }
+        pendingReads.clear();
+    }
+
+    /**
+     * Cancels the reads which are still pending, e.g. when the request gives up before awaiting all of them.
+     */
+    @Override
+    public void close() {
+        cancelPendingReads();
+    }
+
+    private static final class ReadThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger threadCount = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "concurrent-read-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+
+    }
+
+}
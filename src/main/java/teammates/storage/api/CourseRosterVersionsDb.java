@@ -0,0 +1,65 @@
+package teammates.storage.api;
+
+import static com.googlecode.objectify.ObjectifyService.ofy;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import com.googlecode.objectify.Key;
+
+import teammates.storage.entity.CourseRosterVersion;
+
+/**
+ * Handles the {@link CourseRosterVersion} of courses, which {@link StudentsDb} and {@link InstructorsDb}
+ * replace after every write to the students and instructors.
+ *
+ * <p>A new version is written blindly, i.e. without reading the previous one in a transaction.
+ * The version only needs to differ from the previous one, not to be ordered after it.
+ */
+public final class CourseRosterVersionsDb {
+
+    private static final CourseRosterVersionsDb instance = new CourseRosterVersionsDb();
+
+    private CourseRosterVersionsDb() {
+        // prevent initialization
+    }
+
+    public static CourseRosterVersionsDb inst() {
+        return instance;
+    }
+
+    /**
+     * Gets the current version of the roster of the course, which changes whenever any student or instructor
+     * of the course is created, updated or deleted by any instance.
+     *
+     * <p>The version should be obtained before reading the roster so that any write that happens
+     * while reading is not missed. A version is created for courses whose roster has not been written
+     * since versions were introduced.
+     */
+    public String getVersion(String courseId) {
+        assert courseId != null;
+
+        CourseRosterVersion version = ofy().load().key(Key.create(CourseRosterVersion.class, courseId)).now();
+        if (version == null) {
+            // a concurrent write to the roster may replace this version, which only makes it unused
+            version = new CourseRosterVersion(courseId);
+            ofy().save().entity(version).now();
+        }
+        return version.getVersion();
+    }
+
+    /**
+     * Replaces the versions of the rosters of the given courses. To be called after the write is done.
+     */
+    void updateVersions(Collection<String> courseIds) {
+        List<CourseRosterVersion> newVersions = courseIds.stream()
+                .distinct()
+                .map(CourseRosterVersion::new)
+                .collect(Collectors.toList());
+        if (!newVersions.isEmpty()) {
+            ofy().save().entities(newVersions).now();
+        }
+    }
+
+}
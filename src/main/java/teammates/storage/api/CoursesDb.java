@@ -38,7 +38,7 @@ public final class CoursesDb extends EntitiesDb<Course, CourseAttributes> {
     public CourseAttributes getCourse(String courseId) {
         assert courseId != null;
 
-        return makeAttributesOrNull(getCourseEntity(courseId));
+        return makeAttributesOrNull(loadCached(Course.class, courseId, () -> getCourseEntity(courseId)));
     }
 
     /**
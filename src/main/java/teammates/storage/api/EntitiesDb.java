@@ -5,14 +5,28 @@ import static com.googlecode.objectify.ObjectifyService.ofy;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.LinkedList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Optional;
-
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.google.cloud.datastore.Cursor;
+import com.google.cloud.datastore.QueryResults;
 import com.google.common.base.Objects;
 import com.googlecode.objectify.Key;
+import com.googlecode.objectify.Objectify;
+import com.googlecode.objectify.ObjectifyService;
 import com.googlecode.objectify.cmd.LoadType;
+import com.googlecode.objectify.cmd.Query;
+import com.googlecode.objectify.util.Closeable;
 
+import teammates.common.datatransfer.CursorPage;
 import teammates.common.datatransfer.attributes.EntityAttributes;
 import teammates.common.exception.EntityAlreadyExistsException;
 import teammates.common.exception.InvalidParametersException;
@@ -44,6 +58,11 @@ abstract class EntitiesDb<E extends BaseEntity, A extends EntityAttributes<E>> {
     static final String OPTIMIZED_SAVING_POLICY_APPLIED =
             "Saving request is not issued because entity %s does not change by the update (%s)";
 
+    /**
+     * The number of entities read from the database at a time when streaming query results.
+     */
+    static final int STREAM_CHUNK_SIZE = 500;
+
     static final Logger log = Logger.getLogger();
 
     /**
@@ -75,6 +94,8 @@ abstract class EntitiesDb<E extends BaseEntity, A extends EntityAttributes<E>> {
         E entity = convertToEntityForSaving(entityToAdd);
 
         ofy().save().entity(entity).now();
+        invalidateCachedLookups(entity.getClass());
+        afterEntitiesSaved(Collections.singletonList(entity));
         log.info("Entity created: " + JsonUtils.toJson(entityToAdd));
 
         return makeAttributes(entity);
@@ -134,6 +155,8 @@ abstract class EntitiesDb<E extends BaseEntity, A extends EntityAttributes<E>> {
             log.info("Entity created: " + JsonUtils.toJson(attributes));
         }
         ofy().save().entities(entities).now();
+        entities.stream().map(Object::getClass).distinct().forEach(this::invalidateCachedLookups);
+        afterEntitiesSaved(entities);
 
         return makeAttributes(entities);
     }
@@ -154,6 +177,8 @@ abstract class EntitiesDb<E extends BaseEntity, A extends EntityAttributes<E>> {
         log.info("Entity saved: " + JsonUtils.toJson(entityToSave));
 
         ofy().save().entity(entityToSave).now();
+        invalidateCachedLookups(entityToSave.getClass());
+        afterEntitiesSaved(Collections.singletonList(entityToSave));
     }
 
     /**
@@ -165,6 +190,111 @@ abstract class EntitiesDb<E extends BaseEntity, A extends EntityAttributes<E>> {
         }
 
         ofy().save().entities(entitiesToSave).now();
+        entitiesToSave.stream().map(Object::getClass).distinct().forEach(this::invalidateCachedLookups);
+        afterEntitiesSaved(entitiesToSave);
+    }
+
+    /**
+     * Called after the given entities are saved to the database.
+     */
+    @SuppressWarnings("PMD.EmptyMethodInAbstractClassShouldBeAbstract") // only some subclasses need to act on saves
+    void afterEntitiesSaved(Collection<E> savedEntities) {
+        // nothing to do by default
+    }
+
+    /**
+     * Gets a page of up to {@code limit} entities of this type, in the order of their keys.
+     *
+     * <p>This allows all entities of the type to be read over many requests, as each page can be read
+     * in a different request from where the previous page ended.
+     *
+     * @param cursor the web-safe cursor to read the page from, or null to read the first page
+     * @param limit the maximum number of entities in the page
+     */
+    public CursorPage<A> getEntitiesPage(String cursor, int limit) {
+        assert limit > 0;
+
+        CursorPage<E> page = getEntityPage(load(), cursor, limit);
+        return new CursorPage<>(makeAttributes(page.getItems()), page.getNextCursor());
+    }
+
+    /**
+     * Streams the entities matched by a query, reading them one chunk at a time.
+     *
+     * <p>The query is run once, when the stream is first read, in an Objectify session of its own which
+     * is outside any transaction of the caller. Each chunk is fetched only when the stream reaches the end
+     * of the previous chunk. As Objectify keeps the entities read by a query in the session, the session
+     * of the stream is cleared whenever a chunk has been read, leaving the session of the caller as it is.
+     * Hence, unless the caller collects the stream, at most one chunk of entities is held in memory
+     * regardless of the number of entities matched.
+     *
+     * @param querySupplier creates the query, e.g. {@code () -> load().filter(...)}; it is called when the stream
+     *                      is first read, with the session of the stream as the current session
+     */
+    Stream<E> streamEntities(Supplier<Query<E>> querySupplier) {
+        return streamEntities(querySupplier, STREAM_CHUNK_SIZE);
+    }
+
+    /**
+     * Streams the entities matched by a query, reading up to {@code chunkSize} entities at a time.
+     *
+     * @see #streamEntities(Supplier)
+     */
+    Stream<E> streamEntities(Supplier<Query<E>> querySupplier, int chunkSize) {
+        assert chunkSize > 0;
+
+        Iterator<E> iterator = new ChunkedIterator(querySupplier, chunkSize);
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * Streams the attributes of the entities matched by a query, reading the entities one chunk at a time
+     * and converting each entity only when the stream reaches it.
+     *
+     * @see #streamEntities(Supplier)
+     */
+    Stream<A> streamAttributes(Supplier<Query<E>> querySupplier) {
+        return streamEntities(querySupplier).map(this::makeAttributes);
+    }
+
+    /**
+     * Applies an update to the entities matched by a query and saves them one chunk at a time,
+     * so that only one chunk of the entities is held in memory at a time.
+     *
+     * <p>The query should not match the entities once they are updated, or should be ordered by a property
+     * which is not updated, as each chunk is read from the query only after the previous chunk is saved.
+     *
+     * @see #streamEntities(Supplier)
+     */
+    void updateEntitiesInChunks(Supplier<Query<E>> querySupplier, Consumer<E> update) {
+        List<E> chunk = new ArrayList<>(STREAM_CHUNK_SIZE);
+        Iterator<E> entities = streamEntities(querySupplier).iterator();
+        while (entities.hasNext()) {
+            E entity = entities.next();
+            update.accept(entity);
+            chunk.add(entity);
+            if (chunk.size() == STREAM_CHUNK_SIZE || !entities.hasNext()) {
+                saveEntities(chunk);
+                chunk = new ArrayList<>(STREAM_CHUNK_SIZE);
+            }
+        }
+    }
+
+    private CursorPage<E> getEntityPage(Query<E> baseQuery, String cursor, int limit) {
+        Query<E> query = baseQuery.limit(limit).chunk(limit);
+        if (cursor != null) {
+            query = query.startAt(Cursor.fromUrlSafe(cursor));
+        }
+        QueryResults<E> results = query.iterator();
+
+        List<E> entities = new ArrayList<>();
+        while (results.hasNext()) {
+            entities.add(results.next());
+        }
+        // a page with fewer entities than the limit must be the last page
+        String nextCursor = entities.size() < limit ? null : results.getCursorAfter().toUrlSafe();
+        return new CursorPage<>(entities, nextCursor);
     }
 
     /**
@@ -187,6 +317,24 @@ abstract class EntitiesDb<E extends BaseEntity, A extends EntityAttributes<E>> {
                     key.getKind(), key.getRaw().getId(), key.getName()));
         }
         ofy().delete().keys(keys).now();
+        keys.stream().map(Key::getKind).distinct().forEach(RequestScopedCache::invalidate);
+    }
+
+    /**
+     * Gets the value cached under {@code key} in the current request for lookups of the given entity class,
+     * loading it with {@code loader} if it is not cached yet.
+     *
+     * <p>The cached value is discarded whenever any entity of the class is written through this class.
+     * Callers must not modify the returned entities without saving them.
+     *
+     * @see RequestScopedCache
+     */
+    <T> T loadCached(Class<E> entityClass, String key, Supplier<T> loader) {
+        return RequestScopedCache.get(Key.getKind(entityClass), key, loader);
+    }
+
+    private void invalidateCachedLookups(Class<?> entityClass) {
+        RequestScopedCache.invalidate(Key.getKind(entityClass));
     }
 
     abstract LoadType<E> load();
@@ -200,7 +348,7 @@ abstract class EntitiesDb<E extends BaseEntity, A extends EntityAttributes<E>> {
      * Converts a collection of entities to a list of attributes.
      */
     List<A> makeAttributes(Collection<E> entities) {
-        List<A> attributes = new LinkedList<>();
+        List<A> attributes = new ArrayList<>(entities.size());
         for (E entity : entities) {
             attributes.add(makeAttributes(entity));
         }
@@ -233,4 +381,46 @@ abstract class EntitiesDb<E extends BaseEntity, A extends EntityAttributes<E>> {
         }
     }
 
+    /**
+     * Iterates over the entities matched by a query, reading them one chunk at a time.
+     */
+    private final class ChunkedIterator implements Iterator<E> {
+        private final Supplier<Query<E>> querySupplier;
+        private final int chunkSize;
+        private Objectify session;
+        private Iterator<E> results;
+        private int numReadInChunk;
+
+        private ChunkedIterator(Supplier<Query<E>> querySupplier, int chunkSize) {
+            this.querySupplier = querySupplier;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (results == null) {
+                // the query keeps using the session it is created in after the session is no longer current
+                try (Closeable currentSession = ObjectifyService.begin()) {
+                    session = ofy();
+                    results = querySupplier.get().chunk(chunkSize).iterator();
+                }
+            }
+            if (numReadInChunk == chunkSize) {
+                // the entities of the chunk read are no longer needed in the session
+                session.clear();
+                numReadInChunk = 0;
+            }
+            return results.hasNext();
+        }
+
+        @Override
+        public E next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            numReadInChunk++;
+            return results.next();
+        }
+    }
+
 }
@@ -3,10 +3,15 @@ package teammates.storage.api;
 import static com.googlecode.objectify.ObjectifyService.ofy;
 
 import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
 
 import com.googlecode.objectify.Key;
 import com.googlecode.objectify.cmd.LoadType;
@@ -31,6 +36,11 @@ public final class FeedbackResponseCommentsDb
 
     private static final Logger log = Logger.getLogger();
 
+    /**
+     * Maximum number of queries for the comments of different responses which are run at a time.
+     */
+    private static final int MAX_CONCURRENT_RESPONSE_QUERIES = 8;
+
     private static final FeedbackResponseCommentsDb instance = new FeedbackResponseCommentsDb();
 
     private FeedbackResponseCommentsDb() {
@@ -69,7 +79,8 @@ public final class FeedbackResponseCommentsDb
         assert courseId != null;
         assert commentGiver != null;
 
-        return makeAttributes(getFeedbackResponseCommentEntitiesForGiverInCourse(courseId, commentGiver));
+        return streamAttributes(() -> getFeedbackResponseCommentsForGiverInCourseQuery(courseId, commentGiver))
+                .collect(Collectors.toList());
     }
 
     /**
@@ -78,7 +89,8 @@ public final class FeedbackResponseCommentsDb
     public List<FeedbackResponseCommentAttributes> getFeedbackResponseCommentsForResponse(String feedbackResponseId) {
         assert feedbackResponseId != null;
 
-        return makeAttributes(getFeedbackResponseCommentEntitiesForResponse(feedbackResponseId));
+        return streamAttributes(() -> getFeedbackResponseCommentsForResponseQuery(feedbackResponseId))
+                .collect(Collectors.toList());
     }
 
     /**
@@ -102,7 +114,8 @@ public final class FeedbackResponseCommentsDb
         assert courseId != null;
         assert feedbackSessionName != null;
 
-        return makeAttributes(getFeedbackResponseCommentEntitiesForSession(courseId, feedbackSessionName));
+        return streamAttributes(() -> getFeedbackResponseCommentsForSessionQuery(courseId, feedbackSessionName))
+                .collect(Collectors.toList());
     }
 
     /**
@@ -111,7 +124,8 @@ public final class FeedbackResponseCommentsDb
     public List<FeedbackResponseCommentAttributes> getFeedbackResponseCommentsForQuestion(String questionId) {
         assert questionId != null;
 
-        return makeAttributes(getFeedbackResponseCommentEntitiesForQuestion(questionId));
+        return streamAttributes(() -> getFeedbackResponseCommentsForQuestionQuery(questionId))
+                .collect(Collectors.toList());
     }
 
     /**
@@ -123,7 +137,15 @@ public final class FeedbackResponseCommentsDb
         assert feedbackSessionName != null;
         assert section != null;
 
-        return makeAttributes(getFeedbackResponseCommentEntitiesForSessionInSection(courseId, feedbackSessionName, section));
+        // creating map to remove duplicates
+        Map<Long, FeedbackResponseCommentAttributes> comments = new HashMap<>();
+        streamAttributes(() -> getFeedbackResponseCommentsForSessionQuery(courseId, feedbackSessionName)
+                .filter("giverSection =", section))
+                .forEach(comment -> comments.put(comment.getId(), comment));
+        streamAttributes(() -> getFeedbackResponseCommentsForSessionQuery(courseId, feedbackSessionName)
+                .filter("receiverSection =", section))
+                .forEach(comment -> comments.put(comment.getId(), comment));
+        return new ArrayList<>(comments.values());
     }
 
     /**
@@ -134,7 +156,15 @@ public final class FeedbackResponseCommentsDb
         assert questionId != null;
         assert section != null;
 
-        return makeAttributes(getFeedbackResponseCommentEntitiesForQuestionInSection(questionId, section));
+        // creating map to remove duplicates
+        Map<Long, FeedbackResponseCommentAttributes> comments = new HashMap<>();
+        streamAttributes(() -> getFeedbackResponseCommentsForQuestionQuery(questionId)
+                .filter("giverSection =", section))
+                .forEach(comment -> comments.put(comment.getId(), comment));
+        streamAttributes(() -> getFeedbackResponseCommentsForQuestionQuery(questionId)
+                .filter("receiverSection =", section))
+                .forEach(comment -> comments.put(comment.getId(), comment));
+        return new ArrayList<>(comments.values());
     }
 
     /**
@@ -205,14 +235,8 @@ public final class FeedbackResponseCommentsDb
             return;
         }
 
-        List<FeedbackResponseComment> responseComments =
-                getFeedbackResponseCommentEntitiesForGiverInCourse(courseId, oldEmail);
-
-        for (FeedbackResponseComment responseComment : responseComments) {
-            responseComment.setGiverEmail(updatedEmail);
-        }
-
-        saveEntities(responseComments);
+        updateEntitiesInChunks(() -> getFeedbackResponseCommentsForGiverInCourseQuery(courseId, oldEmail),
+                responseComment -> responseComment.setGiverEmail(updatedEmail));
     }
 
     /**
@@ -227,14 +251,8 @@ public final class FeedbackResponseCommentsDb
             return;
         }
 
-        List<FeedbackResponseComment> responseComments =
-                getFeedbackResponseCommentEntitiesForLastEditorInCourse(courseId, oldEmail);
-
-        for (FeedbackResponseComment responseComment : responseComments) {
-            responseComment.setLastEditorEmail(updatedEmail);
-        }
-
-        saveEntities(responseComments);
+        updateEntitiesInChunks(() -> getFeedbackResponseCommentsForLastEditorInCourseQuery(courseId, oldEmail),
+                responseComment -> responseComment.setLastEditorEmail(updatedEmail));
         log.info("updating last editor email from: " + oldEmail + " to: " + updatedEmail
                  + " for feedback response comments in the course: " + courseId);
     }
@@ -269,6 +287,35 @@ public final class FeedbackResponseCommentsDb
         deleteEntity(entitiesToDelete.keys().list());
     }
 
+    /**
+     * Deletes all comments of the given responses with one batched deletion.
+     *
+     * <p>The comments of each response are found by a query of its own, as Objectify does not support IN filters;
+     * the queries are run concurrently, for a bounded number of responses at a time.
+     */
+    public void deleteFeedbackResponseCommentsForResponses(Collection<String> feedbackResponseIds) {
+        assert feedbackResponseIds != null;
+
+        List<Key<FeedbackResponseComment>> keysToDelete = new ArrayList<>();
+        try (ConcurrentReads reads = new ConcurrentReads()) {
+            Deque<Future<List<Key<FeedbackResponseComment>>>> pendingKeys = new ArrayDeque<>();
+            for (String feedbackResponseId : feedbackResponseIds) {
+                if (pendingKeys.size() == MAX_CONCURRENT_RESPONSE_QUERIES) {
+                    keysToDelete.addAll(reads.await(pendingKeys.remove()));
+                }
+                pendingKeys.add(reads.submit(
+                        () -> getFeedbackResponseCommentsForResponseQuery(feedbackResponseId).keys().list()));
+            }
+            while (!pendingKeys.isEmpty()) {
+                keysToDelete.addAll(reads.await(pendingKeys.remove()));
+            }
+        }
+
+        if (!keysToDelete.isEmpty()) {
+            deleteEntity(keysToDelete);
+        }
+    }
+
     private FeedbackResponseComment getFeedbackResponseCommentEntity(long feedbackResponseCommentId) {
         return load().id(feedbackResponseCommentId).now();
     }
@@ -282,23 +329,21 @@ public final class FeedbackResponseCommentsDb
                 .first().now();
     }
 
-    private List<FeedbackResponseComment> getFeedbackResponseCommentEntitiesForGiverInCourse(
+    private Query<FeedbackResponseComment> getFeedbackResponseCommentsForGiverInCourseQuery(
             String courseId, String giverEmail) {
         return load()
                 .filter("courseId =", courseId)
-                .filter("giverEmail =", giverEmail)
-                .list();
+                .filter("giverEmail =", giverEmail);
     }
 
     /**
-     * Gets a list of comments which have a last editor set to the given email.
+     * Gets a query of comments which have a last editor set to the given email.
      */
-    private List<FeedbackResponseComment> getFeedbackResponseCommentEntitiesForLastEditorInCourse(
+    private Query<FeedbackResponseComment> getFeedbackResponseCommentsForLastEditorInCourseQuery(
             String courseId, String lastEditorEmail) {
         return load()
                 .filter("courseId =", courseId)
-                .filter("lastEditorEmail =", lastEditorEmail)
-                .list();
+                .filter("lastEditorEmail =", lastEditorEmail);
     }
 
     private Query<FeedbackResponseComment> getFeedbackResponseCommentsForResponseQuery(String feedbackResponseId) {
@@ -314,75 +359,15 @@ public final class FeedbackResponseCommentsDb
                 .now();
     }
 
-    private List<FeedbackResponseComment> getFeedbackResponseCommentEntitiesForResponse(String feedbackResponseId) {
-        return getFeedbackResponseCommentsForResponseQuery(feedbackResponseId).list();
-    }
-
-    private List<FeedbackResponseComment> getFeedbackResponseCommentEntitiesForSession(
+    private Query<FeedbackResponseComment> getFeedbackResponseCommentsForSessionQuery(
             String courseId, String feedbackSessionName) {
         return load()
                 .filter("courseId =", courseId)
-                .filter("feedbackSessionName =", feedbackSessionName)
-                .list();
-    }
-
-    private Collection<FeedbackResponseComment> getFeedbackResponseCommentEntitiesForQuestion(String questionId) {
-        return load()
-                .filter("feedbackQuestionId =", questionId)
-                .list();
+                .filter("feedbackSessionName =", feedbackSessionName);
     }
 
-    private Collection<FeedbackResponseComment> getFeedbackResponseCommentEntitiesForQuestionInSection(
-            String questionId, String section) {
-        // creating map to remove duplicates
-        Map<Long, FeedbackResponseComment> comments = new HashMap<>();
-
-        List<FeedbackResponseComment> responseCommentsFromSection = load()
-                .filter("feedbackQuestionId =", questionId)
-                .filter("giverSection =", section)
-                .list();
-
-        for (FeedbackResponseComment comment : responseCommentsFromSection) {
-            comments.put(comment.getFeedbackResponseCommentId(), comment);
-        }
-
-        List<FeedbackResponseComment> responseCommentsToSection = load()
-                .filter("feedbackQuestionId =", questionId)
-                .filter("receiverSection =", section)
-                .list();
-
-        for (FeedbackResponseComment comment : responseCommentsToSection) {
-            comments.put(comment.getFeedbackResponseCommentId(), comment);
-        }
-
-        return comments.values();
-    }
-
-    private Collection<FeedbackResponseComment> getFeedbackResponseCommentEntitiesForSessionInSection(
-            String courseId, String feedbackSessionName, String section) {
-        Map<Long, FeedbackResponseComment> comments = new HashMap<>();
-
-        List<FeedbackResponseComment> firstQueryResponseComments = load()
-                .filter("courseId =", courseId)
-                .filter("feedbackSessionName =", feedbackSessionName)
-                .filter("giverSection =", section)
-                .list();
-
-        for (FeedbackResponseComment comment : firstQueryResponseComments) {
-            comments.put(comment.getFeedbackResponseCommentId(), comment);
-        }
-
-        List<FeedbackResponseComment> secondQueryResponseComments = load()
-                .filter("courseId =", courseId)
-                .filter("feedbackSessionName =", feedbackSessionName)
-                .filter("receiverSection =", section)
-                .list();
-
-        for (FeedbackResponseComment comment : secondQueryResponseComments) {
-            comments.put(comment.getFeedbackResponseCommentId(), comment);
-        }
-
-        return comments.values();
+    private Query<FeedbackResponseComment> getFeedbackResponseCommentsForQuestionQuery(String questionId) {
+        return load().filter("feedbackQuestionId =", questionId);
     }
 
     @Override
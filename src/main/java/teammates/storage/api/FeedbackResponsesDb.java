@@ -3,12 +3,17 @@ package teammates.storage.api;
 import static com.googlecode.objectify.ObjectifyService.ofy;
 
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import com.googlecode.objectify.Key;
 import com.googlecode.objectify.cmd.LoadType;
@@ -21,6 +26,8 @@ import teammates.common.exception.EntityAlreadyExistsException;
 import teammates.common.exception.EntityDoesNotExistException;
 import teammates.common.exception.InvalidParametersException;
 import teammates.storage.entity.FeedbackResponse;
+import teammates.storage.entity.FeedbackResponsesVersion;
+import teammates.storage.entity.FeedbackSessionStatistics;
 
 /**
  * Handles CRUD operations for feedback responses.
@@ -40,18 +47,45 @@ public final class FeedbackResponsesDb extends EntitiesDb<FeedbackResponse, Feed
         return instance;
     }
 
+    /**
+     * Gets the current version of the responses of a feedback session, which changes whenever any response
+     * of the session is created, updated or deleted by any instance.
+     *
+     * <p>The version should be obtained before reading the responses so that any write that happens
+     * while reading is not missed. As the version is replaced only after it is obtained, it should only be
+     * obtained to keep data derived from the responses under it.
+     *
+     * @return the version
+     */
+    public String getFeedbackResponsesVersion(String feedbackSessionName, String courseId) {
+        assert feedbackSessionName != null;
+        assert courseId != null;
+
+        return FeedbackResponsesVersionDb.inst().getVersionToUse(feedbackSessionName, courseId);
+    }
+
     /**
      * Gets a set of giver identifiers that has at least one response under a feedback session.
+     *
+     * <p>The set is read from the statistics of the session, which are kept up to date as responses are
+     * created and deleted, instead of from the responses themselves.
      */
     public Set<String> getGiverSetThatAnswerFeedbackSession(String courseId, String feedbackSessionName) {
         assert courseId != null;
         assert feedbackSessionName != null;
 
-        List<Key<FeedbackResponse>> keysOfResponses =
+        return FeedbackSessionStatisticsDb.inst().getGiversWithResponses(feedbackSessionName, courseId,
+                () -> getGiverSetFromResponses(courseId, feedbackSessionName));
+    }
+
+    private Set<String> getGiverSetFromResponses(String courseId, String feedbackSessionName) {
+        // the keys are read in chunks, instead of all at once, as a session can have many responses
+        Iterable<Key<FeedbackResponse>> keysOfResponses =
                 load().filter("courseId =", courseId)
                         .filter("feedbackSessionName =", feedbackSessionName)
+                        .chunk(STREAM_CHUNK_SIZE)
                         .keys()
-                        .list();
+                        .iterable();
 
         // the following process makes use of the key pattern of feedback response entity
         // see generateId() in FeedbackResponse.java
@@ -101,7 +135,18 @@ public final class FeedbackResponsesDb extends EntitiesDb<FeedbackResponse, Feed
         assert section != null;
         assert fetchType != null;
 
-        return makeAttributes(getFeedbackResponseEntitiesForQuestionInSection(feedbackQuestionId, section, fetchType));
+        Map<String, FeedbackResponseAttributes> allResponses = new HashMap<>();
+        if (fetchType.shouldFetchByGiver()) {
+            streamAttributes(() -> getFeedbackResponsesForQuestionQuery(feedbackQuestionId)
+                    .filter("giverSection =", section))
+                    .forEach(resp -> allResponses.put(resp.getId(), resp));
+        }
+        if (fetchType.shouldFetchByReceiver()) {
+            streamAttributes(() -> getFeedbackResponsesForQuestionQuery(feedbackQuestionId)
+                    .filter("receiverSection =", section))
+                    .forEach(resp -> allResponses.put(resp.getId(), resp));
+        }
+        return new ArrayList<>(allResponses.values());
     }
 
     /**
@@ -110,7 +155,18 @@ public final class FeedbackResponsesDb extends EntitiesDb<FeedbackResponse, Feed
     public List<FeedbackResponseAttributes> getFeedbackResponsesForQuestion(String feedbackQuestionId) {
         assert feedbackQuestionId != null;
 
-        return makeAttributes(getFeedbackResponseEntitiesForQuestion(feedbackQuestionId));
+        return streamFeedbackResponsesForQuestion(feedbackQuestionId).collect(Collectors.toList());
+    }
+
+    /**
+     * Streams all feedback responses for a question, reading the responses in chunks.
+     *
+     * <p>The stream must not be used within a transaction.
+     */
+    public Stream<FeedbackResponseAttributes> streamFeedbackResponsesForQuestion(String feedbackQuestionId) {
+        assert feedbackQuestionId != null;
+
+        return streamAttributes(() -> getFeedbackResponsesForQuestionQuery(feedbackQuestionId));
     }
 
     /**
@@ -134,7 +190,8 @@ public final class FeedbackResponsesDb extends EntitiesDb<FeedbackResponse, Feed
         assert feedbackSessionName != null;
         assert courseId != null;
 
-        return makeAttributes(getFeedbackResponseEntitiesForSession(feedbackSessionName, courseId));
+        return streamAttributes(() -> getFeedbackResponsesForSessionQuery(feedbackSessionName, courseId))
+                .collect(Collectors.toList());
     }
 
     /**
@@ -148,8 +205,18 @@ public final class FeedbackResponsesDb extends EntitiesDb<FeedbackResponse, Feed
         assert section != null;
         assert fetchType != null;
 
-        return makeAttributes(getFeedbackResponseEntitiesForSessionInSection(
-                feedbackSessionName, courseId, section, fetchType));
+        Map<String, FeedbackResponseAttributes> allResponses = new HashMap<>();
+        if (fetchType.shouldFetchByGiver()) {
+            streamAttributes(() -> getFeedbackResponsesForSessionQuery(feedbackSessionName, courseId)
+                    .filter("giverSection =", section))
+                    .forEach(resp -> allResponses.put(resp.getId(), resp));
+        }
+        if (fetchType.shouldFetchByReceiver()) {
+            streamAttributes(() -> getFeedbackResponsesForSessionQuery(feedbackSessionName, courseId)
+                    .filter("receiverSection =", section))
+                    .forEach(resp -> allResponses.put(resp.getId(), resp));
+        }
+        return new ArrayList<>(allResponses.values());
     }
 
     /**
@@ -160,7 +227,9 @@ public final class FeedbackResponsesDb extends EntitiesDb<FeedbackResponse, Feed
         assert feedbackQuestionId != null;
         assert giverEmail != null;
 
-        return makeAttributes(getFeedbackResponseEntitiesFromGiverForQuestion(feedbackQuestionId, giverEmail));
+        return streamAttributes(() -> getFeedbackResponsesForQuestionQuery(feedbackQuestionId)
+                .filter("giverEmail =", giverEmail))
+                .collect(Collectors.toList());
     }
 
     /**
@@ -171,7 +240,9 @@ public final class FeedbackResponsesDb extends EntitiesDb<FeedbackResponse, Feed
         assert feedbackQuestionId != null;
         assert receiver != null;
 
-        return makeAttributes(getFeedbackResponseEntitiesForReceiverForQuestion(feedbackQuestionId, receiver));
+        return streamAttributes(() -> getFeedbackResponsesForQuestionQuery(feedbackQuestionId)
+                .filter("receiver =", receiver))
+                .collect(Collectors.toList());
     }
 
     /**
@@ -201,7 +272,22 @@ public final class FeedbackResponsesDb extends EntitiesDb<FeedbackResponse, Feed
         assert courseId != null;
         assert receiver != null;
 
-        return makeAttributes(getFeedbackResponseEntitiesForReceiverForCourse(courseId, receiver));
+        return streamFeedbackResponsesForReceiverForCourse(courseId, receiver).collect(Collectors.toList());
+    }
+
+    /**
+     * Streams all responses given to a user in a course, reading the responses in chunks.
+     *
+     * <p>The stream must not be used within a transaction.
+     */
+    public Stream<FeedbackResponseAttributes> streamFeedbackResponsesForReceiverForCourse(
+            String courseId, String receiver) {
+        assert courseId != null;
+        assert receiver != null;
+
+        return streamAttributes(() -> load()
+                .filter("courseId =", courseId)
+                .filter("receiver =", receiver));
     }
 
     /**
@@ -212,7 +298,22 @@ public final class FeedbackResponsesDb extends EntitiesDb<FeedbackResponse, Feed
         assert courseId != null;
         assert giverEmail != null;
 
-        return makeAttributes(getFeedbackResponseEntitiesFromGiverForCourse(courseId, giverEmail));
+        return streamFeedbackResponsesFromGiverForCourse(courseId, giverEmail).collect(Collectors.toList());
+    }
+
+    /**
+     * Streams all responses given by a user in a course, reading the responses in chunks.
+     *
+     * <p>The stream must not be used within a transaction.
+     */
+    public Stream<FeedbackResponseAttributes> streamFeedbackResponsesFromGiverForCourse(
+            String courseId, String giverEmail) {
+        assert courseId != null;
+        assert giverEmail != null;
+
+        return streamAttributes(() -> load()
+                .filter("courseId =", courseId)
+                .filter("giverEmail =", giverEmail));
     }
 
     /**
@@ -278,7 +379,7 @@ public final class FeedbackResponsesDb extends EntitiesDb<FeedbackResponse, Feed
                     .withRecipientSection(newAttributes.getRecipientSection())
                     .build();
             newAttributes = createEntity(newAttributes);
-            deleteEntity(Key.create(FeedbackResponse.class, oldResponse.getId()));
+            deleteFeedbackResponseEntity(oldResponse);
 
             return newAttributes;
         }
@@ -290,7 +391,242 @@ public final class FeedbackResponsesDb extends EntitiesDb<FeedbackResponse, Feed
     public void deleteFeedbackResponse(String responseId) {
         assert responseId != null;
 
-        deleteEntity(Key.create(FeedbackResponse.class, responseId));
+        FeedbackResponse response = getFeedbackResponseEntity(responseId);
+        if (response == null) {
+            return;
+        }
+        deleteFeedbackResponseEntity(response);
+    }
+
+    private void deleteFeedbackResponseEntity(FeedbackResponse response) {
+        deleteFeedbackResponseEntities(Collections.singletonList(response));
+    }
+
+    private void deleteFeedbackResponseEntities(List<FeedbackResponse> responses) {
+        if (responses.isEmpty()) {
+            return;
+        }
+        deleteEntity(responses.stream()
+                .map(response -> Key.create(FeedbackResponse.class, response.getId()))
+                .collect(Collectors.toList()));
+
+        Map<String, FeedbackResponse> responsePerSessionGiver = new LinkedHashMap<>();
+        for (FeedbackResponse response : responses) {
+            responsePerSessionGiver.putIfAbsent(String.join("%", response.getCourseId(),
+                    response.getFeedbackSessionName(), response.getGiverEmail()), response);
+        }
+        FeedbackSessionStatisticsDb.inst().removeGiversWithoutResponses(responsePerSessionGiver.values(),
+                response -> hasResponsesFromGiverInSession(
+                        response.getGiverEmail(), response.getFeedbackSessionName(), response.getCourseId()),
+                shardKeys -> loadShardsAndUpdateVersions(shardKeys, responses));
+    }
+
+    /**
+     * Reads the statistics shards with the given keys together with the versions of the sessions of the
+     * given written responses, and replaces the versions which are used.
+     */
+    private Map<Key<FeedbackSessionStatistics>, FeedbackSessionStatistics> loadShardsAndUpdateVersions(
+            Set<Key<FeedbackSessionStatistics>> shardKeys, Collection<FeedbackResponse> writtenResponses) {
+        // the versions are read in the same batch as the shards, so that checking them takes no extra lookup
+        List<Key<?>> keys = new ArrayList<>(shardKeys);
+        keys.addAll(FeedbackResponsesVersionDb.inst().getVersionKeys(writtenResponses));
+        Map<Key<Object>, Object> entities = ofy().load().values(keys);
+
+        Map<Key<FeedbackSessionStatistics>, FeedbackSessionStatistics> shards = new HashMap<>();
+        List<FeedbackResponsesVersion> versions = new ArrayList<>();
+        for (Object entity : entities.values()) {
+            if (entity instanceof FeedbackSessionStatistics) {
+                FeedbackSessionStatistics shard = (FeedbackSessionStatistics) entity;
+                shards.put(Key.create(shard), shard);
+            } else if (entity instanceof FeedbackResponsesVersion) {
+                versions.add((FeedbackResponsesVersion) entity);
+            }
+        }
+        FeedbackResponsesVersionDb.inst().updateUsedVersions(versions);
+        return shards;
+    }
+
+    /**
+     * Gets the IDs of the existing responses which are needed to create, update and delete the given responses
+     * with {@link #saveFeedbackResponses(Collection, Collection, Collection, Map)}.
+     */
+    public Set<String> getIdsOfResponsesToSave(
+            Collection<FeedbackResponseAttributes> responsesToCreate,
+            Collection<FeedbackResponseAttributes.UpdateOptions> responsesToUpdate,
+            Collection<String> responseIdsToDelete) {
+        Set<String> ids = new HashSet<>(responseIdsToDelete);
+        responsesToCreate.forEach(response -> ids.add(response.getId()));
+        responsesToUpdate.forEach(updateOptions -> ids.add(updateOptions.getFeedbackResponseId()));
+        return ids;
+    }
+
+    /**
+     * Converts an existing response back to its entity, keeping its timestamps.
+     */
+    private static FeedbackResponse toExistingEntity(FeedbackResponseAttributes response) {
+        FeedbackResponse entity = response.toEntity();
+        entity.setCreatedAt(response.getCreatedAt());
+        entity.setLastUpdate(response.getUpdatedAt());
+        return entity;
+    }
+
+    /**
+     * Gets the responses with the given IDs with one batched lookup.
+     *
+     * @return the responses found, keyed by their IDs
+     */
+    public Map<String, FeedbackResponseAttributes> getFeedbackResponses(Collection<String> feedbackResponseIds) {
+        assert feedbackResponseIds != null;
+
+        Map<String, FeedbackResponseAttributes> responses = new HashMap<>();
+        load().ids(feedbackResponseIds).forEach((id, entity) -> responses.put(id, makeAttributes(entity)));
+        return responses;
+    }
+
+    /**
+     * Creates, updates and deletes responses in bulk.
+     *
+     * <p>All responses are validated before anything is written. The existing responses are then looked up
+     * with one batched lookup, and the changes are written with one batched save and one batched delete.
+     * Responses whose giver/recipient field is changed are updated by recreating them,
+     * as in {@link #updateFeedbackResponse(FeedbackResponseAttributes.UpdateOptions)}.
+     *
+     * @return the created responses followed by the updated responses, in the order given
+     * @throws InvalidParametersException if any response to create or update is not valid
+     * @throws EntityAlreadyExistsException if any response to create, or to update by recreation, already exists
+     * @throws EntityDoesNotExistException if any response to update cannot be found
+     */
+    public List<FeedbackResponseAttributes> saveFeedbackResponses(
+            Collection<FeedbackResponseAttributes> responsesToCreate,
+            Collection<FeedbackResponseAttributes.UpdateOptions> responsesToUpdate,
+            Collection<String> responseIdsToDelete)
+            throws InvalidParametersException, EntityAlreadyExistsException, EntityDoesNotExistException {
+        assert responsesToCreate != null;
+        assert responsesToUpdate != null;
+        assert responseIdsToDelete != null;
+
+        return saveFeedbackResponses(responsesToCreate, responsesToUpdate, responseIdsToDelete,
+                getFeedbackResponses(getIdsOfResponsesToSave(responsesToCreate, responsesToUpdate, responseIdsToDelete)));
+    }
+
+    /**
+     * Creates, updates and deletes responses in bulk, given the existing responses
+     * which have the IDs of the responses to create, update and delete.
+     *
+     * <p>This is for callers which have already looked up the existing responses,
+     * e.g. with {@link #getFeedbackResponses(Collection)} and {@link #getIdsOfResponsesToSave},
+     * so that they are not looked up again.
+     *
+     * @param existingResponses the existing responses, keyed by their IDs, as they are in the database
+     * @see #saveFeedbackResponses(Collection, Collection, Collection)
+     */
+    public List<FeedbackResponseAttributes> saveFeedbackResponses(
+            Collection<FeedbackResponseAttributes> responsesToCreate,
+            Collection<FeedbackResponseAttributes.UpdateOptions> responsesToUpdate,
+            Collection<String> responseIdsToDelete,
+            Map<String, FeedbackResponseAttributes> existingResponses)
+            throws InvalidParametersException, EntityAlreadyExistsException, EntityDoesNotExistException {
+        assert responsesToCreate != null;
+        assert responsesToUpdate != null;
+        assert responseIdsToDelete != null;
+        assert existingResponses != null;
+
+        for (FeedbackResponseAttributes responseToCreate : responsesToCreate) {
+            responseToCreate.sanitizeForSaving();
+            if (!responseToCreate.isValid()) {
+                throw new InvalidParametersException(responseToCreate.getInvalidityInfo());
+            }
+        }
+
+        Map<String, FeedbackResponse> existingEntities = new HashMap<>();
+        existingResponses.forEach((id, response) -> existingEntities.put(id, toExistingEntity(response)));
+
+        for (FeedbackResponseAttributes responseToCreate : responsesToCreate) {
+            if (existingEntities.containsKey(responseToCreate.getId())) {
+                throw new EntityAlreadyExistsException(
+                        String.format(ERROR_CREATE_ENTITY_ALREADY_EXISTS, responseToCreate.toString()));
+            }
+        }
+
+        List<FeedbackResponse> resultEntities = responsesToCreate.stream()
+                .map(FeedbackResponseAttributes::toEntity)
+                .collect(Collectors.toList());
+        List<FeedbackResponse> entitiesToSave = new ArrayList<>(resultEntities);
+        List<FeedbackResponse> entitiesToDelete = new ArrayList<>();
+        List<String> idsToRecreate = new ArrayList<>();
+
+        for (FeedbackResponseAttributes.UpdateOptions updateOptions : responsesToUpdate) {
+            FeedbackResponse oldResponse = existingEntities.get(updateOptions.getFeedbackResponseId());
+            if (oldResponse == null) {
+                throw new EntityDoesNotExistException(ERROR_UPDATE_NON_EXISTENT);
+            }
+
+            FeedbackResponseAttributes newAttributes = makeAttributes(oldResponse);
+            newAttributes.update(updateOptions);
+
+            newAttributes.sanitizeForSaving();
+            if (!newAttributes.isValid()) {
+                throw new InvalidParametersException(newAttributes.getInvalidityInfo());
+            }
+
+            if (newAttributes.getRecipient().equals(oldResponse.getRecipientEmail())
+                    && newAttributes.getGiver().equals(oldResponse.getGiverEmail())) {
+                resultEntities.add(oldResponse);
+
+                // update only if change
+                boolean hasSameAttributes =
+                        this.<String>hasSameValue(oldResponse.getGiverSection(), newAttributes.getGiverSection())
+                        && this.<String>hasSameValue(
+                                oldResponse.getRecipientSection(), newAttributes.getRecipientSection())
+                        && this.<String>hasSameValue(
+                                oldResponse.getAnswer(), newAttributes.getSerializedFeedbackResponseDetail());
+                if (hasSameAttributes) {
+                    log.info(String.format(
+                            OPTIMIZED_SAVING_POLICY_APPLIED, FeedbackResponse.class.getSimpleName(), updateOptions));
+                    continue;
+                }
+
+                oldResponse.setGiverSection(newAttributes.getGiverSection());
+                oldResponse.setRecipientSection(newAttributes.getRecipientSection());
+                oldResponse.setAnswer(newAttributes.getSerializedFeedbackResponseDetail());
+                entitiesToSave.add(oldResponse);
+            } else {
+                // need to recreate the entity
+                FeedbackResponse recreatedResponse = FeedbackResponseAttributes
+                        .builder(newAttributes.getFeedbackQuestionId(), newAttributes.getGiver(),
+                                 newAttributes.getRecipient())
+                        .withCourseId(newAttributes.getCourseId())
+                        .withFeedbackSessionName(newAttributes.getFeedbackSessionName())
+                        .withResponseDetails(newAttributes.getResponseDetailsCopy())
+                        .withGiverSection(newAttributes.getGiverSection())
+                        .withRecipientSection(newAttributes.getRecipientSection())
+                        .build()
+                        .toEntity();
+                idsToRecreate.add(recreatedResponse.getId());
+                resultEntities.add(recreatedResponse);
+                entitiesToSave.add(recreatedResponse);
+                entitiesToDelete.add(oldResponse);
+            }
+        }
+
+        if (!idsToRecreate.isEmpty() && !load().ids(idsToRecreate).isEmpty()) {
+            throw new EntityAlreadyExistsException(
+                    String.format(ERROR_CREATE_ENTITY_ALREADY_EXISTS, idsToRecreate.toString()));
+        }
+
+        for (String responseIdToDelete : responseIdsToDelete) {
+            FeedbackResponse responseToDelete = existingEntities.get(responseIdToDelete);
+            if (responseToDelete != null) {
+                entitiesToDelete.add(responseToDelete);
+            }
+        }
+
+        if (!entitiesToSave.isEmpty()) {
+            saveEntities(entitiesToSave);
+        }
+        deleteFeedbackResponseEntities(entitiesToDelete);
+
+        return makeAttributes(resultEntities);
     }
 
     /**
@@ -310,7 +646,27 @@ public final class FeedbackResponsesDb extends EntitiesDb<FeedbackResponse, Feed
             entitiesToDelete = entitiesToDelete.filter("feedbackQuestionId =", query.getQuestionId());
         }
 
-        deleteEntity(entitiesToDelete.keys().list());
+        // all responses of a question belong to the same session
+        FeedbackResponse responseOfQuestion = query.isQuestionIdPresent()
+                ? load().filter("feedbackQuestionId =", query.getQuestionId()).first().now()
+                : null;
+
+        List<Key<FeedbackResponse>> keysToDelete = entitiesToDelete.keys().list();
+        deleteEntity(keysToDelete);
+
+        // the givers affected by a bulk deletion are not known, so the statistics are rebuilt when next read
+        if (query.isFeedbackSessionNamePresent()) {
+            FeedbackSessionStatisticsDb.inst().deleteStatistics(query.getFeedbackSessionName(), query.getCourseId());
+            FeedbackResponsesVersionDb.inst().updateVersion(query.getFeedbackSessionName(), query.getCourseId());
+        } else if (query.isCourseIdPresent()) {
+            FeedbackSessionStatisticsDb.inst().deleteStatisticsForCourse(query.getCourseId());
+            FeedbackResponsesVersionDb.inst().deleteVersionsForCourse(query.getCourseId());
+        } else if (responseOfQuestion != null) {
+            FeedbackSessionStatisticsDb.inst().deleteStatistics(
+                    responseOfQuestion.getFeedbackSessionName(), responseOfQuestion.getCourseId());
+            FeedbackResponsesVersionDb.inst().updateVersion(
+                    responseOfQuestion.getFeedbackSessionName(), responseOfQuestion.getCourseId());
+        }
     }
 
     /**
@@ -325,88 +681,14 @@ public final class FeedbackResponsesDb extends EntitiesDb<FeedbackResponse, Feed
         return load().id(feedbackResponseId).now();
     }
 
-    private Collection<FeedbackResponse> getFeedbackResponseEntitiesForQuestionInSection(
-            String feedbackQuestionId, String section, FeedbackResultFetchType fetchType) {
-        Map<String, FeedbackResponse> allResponses = new HashMap<>();
-
-        if (fetchType.shouldFetchByGiver()) {
-            load().filter("feedbackQuestionId =", feedbackQuestionId)
-                    .filter("giverSection =", section)
-                    .forEach(resp -> allResponses.put(resp.getId(), resp));
-        }
-        if (fetchType.shouldFetchByReceiver()) {
-            load().filter("feedbackQuestionId =", feedbackQuestionId)
-                    .filter("receiverSection =", section)
-                    .forEach(resp -> allResponses.put(resp.getId(), resp));
-        }
-
-        return allResponses.values();
-    }
-
-    private List<FeedbackResponse> getFeedbackResponseEntitiesForQuestion(String feedbackQuestionId) {
-        return load()
-                .filter("feedbackQuestionId =", feedbackQuestionId)
-                .list();
+    private Query<FeedbackResponse> getFeedbackResponsesForQuestionQuery(String feedbackQuestionId) {
+        return load().filter("feedbackQuestionId =", feedbackQuestionId);
     }
 
-    private List<FeedbackResponse> getFeedbackResponseEntitiesForSession(String feedbackSessionName, String courseId) {
+    private Query<FeedbackResponse> getFeedbackResponsesForSessionQuery(String feedbackSessionName, String courseId) {
         return load()
                 .filter("feedbackSessionName =", feedbackSessionName)
-                .filter("courseId =", courseId)
-                .list();
-    }
-
-    private Collection<FeedbackResponse> getFeedbackResponseEntitiesForSessionInSection(
-            String feedbackSessionName, String courseId, String section, FeedbackResultFetchType fetchType) {
-        Map<String, FeedbackResponse> allResponse = new HashMap<>();
-
-        if (fetchType.shouldFetchByGiver()) {
-            load().filter("feedbackSessionName =", feedbackSessionName)
-                    .filter("courseId =", courseId)
-                    .filter("giverSection =", section)
-                    .forEach(resp -> allResponse.put(resp.getId(), resp));
-        }
-
-        if (fetchType.shouldFetchByReceiver()) {
-            load().filter("feedbackSessionName =", feedbackSessionName)
-                    .filter("courseId =", courseId)
-                    .filter("receiverSection =", section)
-                    .forEach(resp -> allResponse.put(resp.getId(), resp));
-        }
-
-        return allResponse.values();
-    }
-
-    private List<FeedbackResponse> getFeedbackResponseEntitiesFromGiverForQuestion(
-            String feedbackQuestionId, String giverEmail) {
-        return load()
-                .filter("feedbackQuestionId =", feedbackQuestionId)
-                .filter("giverEmail =", giverEmail)
-                .list();
-    }
-
-    private List<FeedbackResponse> getFeedbackResponseEntitiesForReceiverForQuestion(
-            String feedbackQuestionId, String receiver) {
-        return load()
-                .filter("feedbackQuestionId =", feedbackQuestionId)
-                .filter("receiver =", receiver)
-                .list();
-    }
-
-    private List<FeedbackResponse> getFeedbackResponseEntitiesForReceiverForCourse(
-            String courseId, String receiver) {
-        return load()
-                .filter("courseId =", courseId)
-                .filter("receiver =", receiver)
-                .list();
-    }
-
-    private List<FeedbackResponse> getFeedbackResponseEntitiesFromGiverForCourse(
-            String courseId, String giverEmail) {
-        return load()
-                .filter("courseId =", courseId)
-                .filter("giverEmail =", giverEmail)
-                .list();
+                .filter("courseId =", courseId);
     }
 
     @Override
@@ -414,6 +696,12 @@ public final class FeedbackResponsesDb extends EntitiesDb<FeedbackResponse, Feed
         return ofy().load().type(FeedbackResponse.class);
     }
 
+    @Override
+    void afterEntitiesSaved(Collection<FeedbackResponse> savedEntities) {
+        FeedbackSessionStatisticsDb.inst().addGiversWithResponses(savedEntities,
+                shardKeys -> loadShardsAndUpdateVersions(shardKeys, savedEntities));
+    }
+
     @Override
     boolean hasExistingEntities(FeedbackResponseAttributes entityToCreate) {
         return !load()
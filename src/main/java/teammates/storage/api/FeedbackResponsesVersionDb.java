@@ -0,0 +1,106 @@
+package teammates.storage.api;
+
+import static com.googlecode.objectify.ObjectifyService.ofy;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import com.googlecode.objectify.Key;
+
+import teammates.common.util.Logger;
+import teammates.storage.entity.FeedbackResponse;
+import teammates.storage.entity.FeedbackResponsesVersion;
+import teammates.storage.entity.FeedbackSession;
+
+/**
+ * Handles the {@link FeedbackResponsesVersion} of feedback sessions,
+ * which {@link FeedbackResponsesDb} replaces after writes to the responses.
+ *
+ * <p>A version is replaced only if it is used, i.e. if data derived from the responses may have been kept under it,
+ * so that most submissions, which are made while nobody views the results, do not write the version at all.
+ * A version is marked as used before the responses are read, and checked after the responses are written,
+ * hence a write is either seen by the read or followed by a replacement of the version.
+ *
+ * <p>A new version is written blindly, i.e. without reading the previous one in a transaction,
+ * so that concurrent submissions to a session never contend for it. The version only needs to differ
+ * from the previous one, not to be ordered after it.
+ */
+final class FeedbackResponsesVersionDb {
+
+    private static final Logger log = Logger.getLogger();
+
+    private static final FeedbackResponsesVersionDb instance = new FeedbackResponsesVersionDb();
+
+    private FeedbackResponsesVersionDb() {
+        // prevent initialization
+    }
+
+    static FeedbackResponsesVersionDb inst() {
+        return instance;
+    }
+
+    /**
+     * Gets the current version of the responses of the session, marking it as used.
+     * To be called before the responses are read.
+     */
+    String getVersionToUse(String feedbackSessionName, String courseId) {
+        FeedbackResponsesVersion version = ofy().load()
+                .key(Key.create(FeedbackResponsesVersion.class, FeedbackSession.generateId(feedbackSessionName, courseId)))
+                .now();
+        if (version == null || !version.isUsed()) {
+            version = new FeedbackResponsesVersion(feedbackSessionName, courseId, true);
+            ofy().save().entity(version).now();
+        }
+        return version.getVersion();
+    }
+
+    /**
+     * Gets the keys of the versions of the sessions of the given responses.
+     */
+    Set<Key<FeedbackResponsesVersion>> getVersionKeys(Collection<FeedbackResponse> responses) {
+        return responses.stream()
+                .map(response -> Key.create(FeedbackResponsesVersion.class,
+                        FeedbackSession.generateId(response.getFeedbackSessionName(), response.getCourseId())))
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    /**
+     * Replaces the given current versions which are used. To be called after the write to the responses is done,
+     * with the versions read after the write.
+     */
+    void updateUsedVersions(Collection<FeedbackResponsesVersion> currentVersions) {
+        List<FeedbackResponsesVersion> newVersions = currentVersions.stream()
+                .filter(FeedbackResponsesVersion::isUsed)
+                .map(version -> new FeedbackResponsesVersion(
+                        version.getFeedbackSessionName(), version.getCourseId(), false))
+                .collect(Collectors.toList());
+        if (!newVersions.isEmpty()) {
+            ofy().save().entities(newVersions).now();
+        }
+    }
+
+    /**
+     * Replaces the version of the session. To be called after the write is done.
+     */
+    void updateVersion(String feedbackSessionName, String courseId) {
+        ofy().save().entity(new FeedbackResponsesVersion(feedbackSessionName, courseId, false)).now();
+    }
+
+    /**
+     * Deletes the versions of all sessions in a course, e.g. when all responses of the course are deleted.
+     */
+    void deleteVersionsForCourse(String courseId) {
+        List<Key<FeedbackResponsesVersion>> keys = ofy().load().type(FeedbackResponsesVersion.class)
+                .filter("courseId =", courseId)
+                .keys()
+                .list();
+        for (Key<FeedbackResponsesVersion> key : keys) {
+            log.info(String.format("Delete entity %s of key (name: %s)", key.getKind(), key.getName()));
+        }
+        ofy().delete().keys(keys).now();
+    }
+
+}
@@ -0,0 +1,302 @@
+package teammates.storage.api;
+
+import static com.googlecode.objectify.ObjectifyService.ofy;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import com.googlecode.objectify.Key;
+
+import teammates.common.util.Logger;
+import teammates.storage.entity.FeedbackResponse;
+import teammates.storage.entity.FeedbackSession;
+import teammates.storage.entity.FeedbackSessionStatistics;
+
+/**
+ * Handles the {@link FeedbackSessionStatistics} of feedback sessions,
+ * which {@link FeedbackResponsesDb} keeps up to date as responses are written.
+ *
+ * <p>The givers of a session are spread over {@link #NUM_SHARDS} shards, so that the submissions of different
+ * givers, which peak near the end of a session, seldom contend for the same entity in their transactions.
+ *
+ * <p>Shards which do not exist yet, e.g. for sessions whose responses were created before the statistics
+ * were introduced or after the statistics are invalidated by a bulk deletion or a failed update, are built
+ * from the responses when they are first read. A build first creates the missing shards as incomplete ones,
+ * which record the givers added and removed while the responses are read, and completes them afterwards
+ * with those updates merged in. Hence updates need not be recorded for shards which do not exist, as any later build
+ * reads the responses after those updates.
+ */
+final class FeedbackSessionStatisticsDb {
+
+    /**
+     * Number of shards the givers of a session are spread over.
+     */
+    static final int NUM_SHARDS = 16;
+
+    private static final Logger log = Logger.getLogger();
+
+    private static final FeedbackSessionStatisticsDb instance = new FeedbackSessionStatisticsDb();
+
+    private FeedbackSessionStatisticsDb() {
+        // prevent initialization
+    }
+
+    static FeedbackSessionStatisticsDb inst() {
+        return instance;
+    }
+
+    /**
+     * Gets the identifiers of the givers with at least one response in the session,
+     * using {@code giversLoader} to build the shards which are not complete.
+     */
+    Set<String> getGiversWithResponses(String feedbackSessionName, String courseId,
+                                       Supplier<Set<String>> giversLoader) {
+        List<Key<FeedbackSessionStatistics>> keys = getShardKeys(feedbackSessionName, courseId);
+        Map<Key<FeedbackSessionStatistics>, FeedbackSessionStatistics> shards = ofy().load().keys(keys);
+
+        Set<String> givers = new HashSet<>();
+        List<Key<FeedbackSessionStatistics>> keysToBuild = new ArrayList<>();
+        for (Key<FeedbackSessionStatistics> key : keys) {
+            FeedbackSessionStatistics shard = shards.get(key);
+            if (shard == null || !shard.isComplete()) {
+                keysToBuild.add(key);
+            } else {
+                givers.addAll(shard.getGiversWithResponses());
+            }
+        }
+        if (!keysToBuild.isEmpty()) {
+            givers.addAll(buildShards(feedbackSessionName, courseId, keysToBuild, giversLoader));
+        }
+        return givers;
+    }
+
+    private Set<String> buildShards(String feedbackSessionName, String courseId,
+                                    List<Key<FeedbackSessionStatistics>> keysToBuild,
+                                    Supplier<Set<String>> giversLoader) {
+        // the shards must exist before the responses are read, so that they record the updates made meanwhile
+        ofy().transact(() -> {
+            Map<Key<FeedbackSessionStatistics>, FeedbackSessionStatistics> latestShards =
+                    ofy().load().keys(keysToBuild);
+            List<FeedbackSessionStatistics> missingShards = keysToBuild.stream()
+                    .filter(key -> !latestShards.containsKey(key))
+                    .map(key -> new FeedbackSessionStatistics(feedbackSessionName, courseId, getShardIndex(key)))
+                    .collect(Collectors.toList());
+            if (!missingShards.isEmpty()) {
+                ofy().save().entities(missingShards).now();
+            }
+        });
+
+        Set<String> giversFromResponses = giversLoader.get();
+
+        return ofy().transact(() -> {
+            Map<Key<FeedbackSessionStatistics>, FeedbackSessionStatistics> latestShards =
+                    ofy().load().keys(keysToBuild);
+            Set<String> givers = new HashSet<>();
+            List<FeedbackSessionStatistics> completedShards = new ArrayList<>();
+            for (Key<FeedbackSessionStatistics> key : keysToBuild) {
+                int shardIndex = getShardIndex(key);
+                Set<String> giversOfShard = giversFromResponses.stream()
+                        .filter(giver -> getShardIndex(giver) == shardIndex)
+                        .collect(Collectors.toSet());
+                FeedbackSessionStatistics shard = latestShards.get(key);
+                if (shard == null) {
+                    // deleted by a bulk deletion meanwhile; it will be built again when next read
+                    givers.addAll(giversOfShard);
+                    continue;
+                }
+                if (!shard.isComplete()) {
+                    shard.complete(giversOfShard);
+                    completedShards.add(shard);
+                }
+                givers.addAll(shard.getGiversWithResponses());
+            }
+            if (!completedShards.isEmpty()) {
+                ofy().save().entities(completedShards).now();
+            }
+            return givers;
+        });
+    }
+
+    /**
+     * Records the givers of the given responses as having responses in their sessions.
+     */
+    void addGiversWithResponses(Collection<FeedbackResponse> responses) {
+        addGiversWithResponses(responses, keys -> ofy().load().keys(keys));
+    }
+
+    /**
+     * Records the givers of the given responses as having responses in their sessions,
+     * using {@code shardsLoader} to read the shards of the givers.
+     *
+     * @param shardsLoader reads the shards with the given keys, e.g. in one batch with other entities
+     */
+    void addGiversWithResponses(Collection<FeedbackResponse> responses, ShardsLoader shardsLoader) {
+        Map<Key<FeedbackSessionStatistics>, Set<String>> giversByShardKey = new HashMap<>();
+        for (FeedbackResponse response : responses) {
+            Key<FeedbackSessionStatistics> key = getShardKey(
+                    response.getFeedbackSessionName(), response.getCourseId(), response.getGiverEmail());
+            giversByShardKey.computeIfAbsent(key, k -> new HashSet<>()).add(response.getGiverEmail());
+        }
+
+        try {
+            // the shards of all sessions are read in one batch, as most submissions do not add new givers
+            Map<Key<FeedbackSessionStatistics>, FeedbackSessionStatistics> shards =
+                    shardsLoader.apply(giversByShardKey.keySet());
+            for (Map.Entry<Key<FeedbackSessionStatistics>, Set<String>> entry : giversByShardKey.entrySet()) {
+                FeedbackSessionStatistics shard = shards.get(entry.getKey());
+                Set<String> givers = entry.getValue();
+                if (shard == null || shard.isComplete() && shard.getGiversWithResponses().containsAll(givers)) {
+                    // shards which do not exist will be built from the responses when read
+                    continue;
+                }
+                updateShard(entry.getKey(), latestShard -> latestShard.addGiversWithResponses(givers));
+            }
+        } catch (RuntimeException e) {
+            deleteShardsAfterFailedUpdate(giversByShardKey.keySet(), e);
+            throw e;
+        }
+    }
+
+    /**
+     * Records that the givers of the given deleted responses no longer have any response in their sessions,
+     * for the givers for which {@code hasRemainingResponses} returns false.
+     *
+     * @param hasRemainingResponses checks whether the giver of a deleted response has other responses in the session
+     */
+    void removeGiversWithoutResponses(Collection<FeedbackResponse> deletedResponses,
+                                      Predicate<FeedbackResponse> hasRemainingResponses) {
+        removeGiversWithoutResponses(deletedResponses, hasRemainingResponses, keys -> ofy().load().keys(keys));
+    }
+
+    /**
+     * Records that the givers of the given deleted responses no longer have any response in their sessions,
+     * for the givers for which {@code hasRemainingResponses} returns false,
+     * using {@code shardsLoader} to read the shards of the givers.
+     *
+     * @param hasRemainingResponses checks whether the giver of a deleted response has other responses in the session
+     * @param shardsLoader reads the shards with the given keys, e.g. in one batch with other entities
+     */
+    void removeGiversWithoutResponses(Collection<FeedbackResponse> deletedResponses,
+                                      Predicate<FeedbackResponse> hasRemainingResponses,
+                                      ShardsLoader shardsLoader) {
+        Map<Key<FeedbackSessionStatistics>, List<FeedbackResponse>> responsesByShardKey = new HashMap<>();
+        for (FeedbackResponse response : deletedResponses) {
+            Key<FeedbackSessionStatistics> key = getShardKey(
+                    response.getFeedbackSessionName(), response.getCourseId(), response.getGiverEmail());
+            responsesByShardKey.computeIfAbsent(key, k -> new ArrayList<>()).add(response);
+        }
+
+        try {
+            Map<Key<FeedbackSessionStatistics>, FeedbackSessionStatistics> shards =
+                    shardsLoader.apply(responsesByShardKey.keySet());
+            for (Map.Entry<Key<FeedbackSessionStatistics>, List<FeedbackResponse>> entry
+                    : responsesByShardKey.entrySet()) {
+                FeedbackSessionStatistics shard = shards.get(entry.getKey());
+                if (shard == null) {
+                    continue;
+                }
+                for (FeedbackResponse response : entry.getValue()) {
+                    String giver = response.getGiverEmail();
+                    // an incomplete shard must record the removal, as the giver may be found by the build in progress
+                    boolean isRecorded = !shard.isComplete() || shard.getGiversWithResponses().contains(giver);
+                    if (isRecorded && !hasRemainingResponses.test(response)) {
+                        updateShard(entry.getKey(), latestShard -> latestShard.removeGiverWithResponses(giver));
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            deleteShardsAfterFailedUpdate(responsesByShardKey.keySet(), e);
+            throw e;
+        }
+    }
+
+    /**
+     * Deletes the shards which may have missed an update for responses which are already written,
+     * so that they are rebuilt from the responses when next read.
+     */
+    private void deleteShardsAfterFailedUpdate(Collection<Key<FeedbackSessionStatistics>> keys,
+                                               RuntimeException updateException) {
+        log.warning("Failed to update statistics shards " + keys + ", deleting them to be rebuilt", updateException);
+        try {
+            ofy().delete().keys(keys).now();
+        } catch (RuntimeException e) {
+            // the shards keep a wrong set of givers until the statistics of the session are deleted
+            log.severe("Failed to delete statistics shards " + keys + " after a failed update", e);
+        }
+    }
+
+    private void updateShard(Key<FeedbackSessionStatistics> key, Predicate<FeedbackSessionStatistics> update) {
+        ofy().transact(() -> {
+            FeedbackSessionStatistics latestShard = ofy().load().key(key).now();
+            if (latestShard != null && update.test(latestShard)) {
+                ofy().save().entity(latestShard).now();
+            }
+        });
+    }
+
+    /**
+     * Deletes the statistics of a session, so that they are rebuilt when next read.
+     */
+    void deleteStatistics(String feedbackSessionName, String courseId) {
+        List<Key<FeedbackSessionStatistics>> keys = getShardKeys(feedbackSessionName, courseId);
+        log.info(String.format("Delete entities %s of session (name: %s)",
+                Key.getKind(FeedbackSessionStatistics.class), FeedbackSession.generateId(feedbackSessionName, courseId)));
+        ofy().delete().keys(keys).now();
+    }
+
+    /**
+     * Deletes the statistics of all sessions in a course, so that they are rebuilt when next read.
+     */
+    void deleteStatisticsForCourse(String courseId) {
+        List<Key<FeedbackSessionStatistics>> keys = ofy().load().type(FeedbackSessionStatistics.class)
+                .filter("courseId =", courseId)
+                .keys()
+                .list();
+        for (Key<FeedbackSessionStatistics> key : keys) {
+            log.info(String.format("Delete entity %s of key (name: %s)", key.getKind(), key.getName()));
+        }
+        ofy().delete().keys(keys).now();
+    }
+
+    private static List<Key<FeedbackSessionStatistics>> getShardKeys(String feedbackSessionName, String courseId) {
+        return IntStream.range(0, NUM_SHARDS)
+                .mapToObj(shardIndex -> Key.create(FeedbackSessionStatistics.class,
+                        FeedbackSessionStatistics.generateId(feedbackSessionName, courseId, shardIndex)))
+                .collect(Collectors.toList());
+    }
+
+    private static Key<FeedbackSessionStatistics> getShardKey(String feedbackSessionName, String courseId,
+                                                              String giver) {
+        return Key.create(FeedbackSessionStatistics.class,
+                FeedbackSessionStatistics.generateId(feedbackSessionName, courseId, getShardIndex(giver)));
+    }
+
+    private static int getShardIndex(String giver) {
+        // the hash code of a string is specified, hence the same on all instances
+        return Math.floorMod(giver.hashCode(), NUM_SHARDS);
+    }
+
+    private static int getShardIndex(Key<FeedbackSessionStatistics> key) {
+        String id = key.getName();
+        return Integer.parseInt(id.substring(id.lastIndexOf('%') + 1));
+    }
+
+    /**
+     * Reads the shards with the given keys, omitting those which do not exist.
+     */
+    @FunctionalInterface
+    interface ShardsLoader extends Function<Set<Key<FeedbackSessionStatistics>>,
+            Map<Key<FeedbackSessionStatistics>, FeedbackSessionStatistics>> {
+    }
+
+}
@@ -6,7 +6,9 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -55,6 +57,13 @@ public final class InstructorsDb extends EntitiesDb<Instructor, InstructorAttrib
         getSearchManager().putDocument(instructor);
     }
 
+    /**
+     * Creates or updates search documents for the given instructors.
+     */
+    public void putDocuments(List<InstructorAttributes> instructors) throws SearchServiceException {
+        getSearchManager().putDocuments(instructors);
+    }
+
     /**
      * Removes search document for the given instructor by using {@code instructorUniqueId}.
      */
@@ -123,7 +132,8 @@ public final class InstructorsDb extends EntitiesDb<Instructor, InstructorAttrib
         assert email != null;
         assert courseId != null;
 
-        return makeAttributesOrNull(getInstructorEntityForEmail(courseId, email));
+        return makeAttributesOrNull(loadCached(Instructor.class, "email:" + Instructor.generateId(email, courseId),
+                () -> getInstructorEntityForEmail(courseId, email)));
     }
 
     /**
@@ -136,6 +146,20 @@ public final class InstructorsDb extends EntitiesDb<Instructor, InstructorAttrib
         return makeAttributesOrNull(getInstructorEntityById(courseId, email));
     }
 
+    /**
+     * Gets the instructors with the given IDs in one batched lookup.
+     *
+     * @param ids the IDs of the instructors, in the format of {@code email%courseId}
+     * @return the instructors found, keyed by their IDs
+     */
+    public Map<String, InstructorAttributes> getInstructorsForIds(Collection<String> ids) {
+        assert ids != null;
+
+        Map<String, InstructorAttributes> instructors = new HashMap<>();
+        load().ids(ids).forEach((id, entity) -> instructors.put(id, makeAttributes(entity)));
+        return instructors;
+    }
+
     /**
      * Gets an instructor by unique constraint courseId-googleId.
      */
@@ -143,7 +167,8 @@ public final class InstructorsDb extends EntitiesDb<Instructor, InstructorAttrib
         assert googleId != null;
         assert courseId != null;
 
-        return makeAttributesOrNull(getInstructorEntityForGoogleId(courseId, googleId));
+        return makeAttributesOrNull(loadCached(Instructor.class, "googleId:" + courseId + "%" + googleId,
+                () -> getInstructorEntityForGoogleId(courseId, googleId)));
     }
 
     /**
@@ -186,7 +211,8 @@ public final class InstructorsDb extends EntitiesDb<Instructor, InstructorAttrib
     public List<InstructorAttributes> getInstructorsForCourse(String courseId) {
         assert courseId != null;
 
-        return makeAttributes(getInstructorEntitiesForCourse(courseId));
+        return makeAttributes(loadCached(Instructor.class, "course:" + courseId,
+                () -> getInstructorEntitiesForCourse(courseId)));
     }
 
     /**
@@ -325,6 +351,7 @@ public final class InstructorsDb extends EntitiesDb<Instructor, InstructorAttrib
         deleteDocumentByInstructorId(instructorToDelete.getUniqueId());
 
         deleteEntity(Key.create(Instructor.class, instructorToDelete.getUniqueId()));
+        CourseRosterVersionsDb.inst().updateVersions(Collections.singletonList(courseId));
     }
 
     /**
@@ -343,6 +370,7 @@ public final class InstructorsDb extends EntitiesDb<Instructor, InstructorAttrib
             deleteEntity(instructorsToDelete.stream()
                     .map(s -> Key.create(Instructor.class, s.getUniqueId()))
                     .collect(Collectors.toList()));
+            CourseRosterVersionsDb.inst().updateVersions(Collections.singletonList(query.getCourseId()));
         }
     }
 
@@ -418,6 +446,12 @@ public final class InstructorsDb extends EntitiesDb<Instructor, InstructorAttrib
         return load().filter("courseId =", courseId).list();
     }
 
+    @Override
+    void afterEntitiesSaved(Collection<Instructor> savedEntities) {
+        CourseRosterVersionsDb.inst().updateVersions(
+                savedEntities.stream().map(Instructor::getCourseId).collect(Collectors.toList()));
+    }
+
     @Override
     LoadType<Instructor> load() {
         return ofy().load().type(Instructor.class);
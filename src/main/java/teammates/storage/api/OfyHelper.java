@@ -12,12 +12,15 @@ import teammates.storage.entity.Account;
 import teammates.storage.entity.AccountRequest;
 import teammates.storage.entity.BaseEntity;
 import teammates.storage.entity.Course;
+import teammates.storage.entity.CourseRosterVersion;
 import teammates.storage.entity.CourseStudent;
 import teammates.storage.entity.DeadlineExtension;
 import teammates.storage.entity.FeedbackQuestion;
 import teammates.storage.entity.FeedbackResponse;
 import teammates.storage.entity.FeedbackResponseComment;
+import teammates.storage.entity.FeedbackResponsesVersion;
 import teammates.storage.entity.FeedbackSession;
+import teammates.storage.entity.FeedbackSessionStatistics;
 import teammates.storage.entity.Instructor;
 import teammates.storage.entity.Notification;
 import teammates.storage.entity.UsageStatistics;
@@ -51,6 +54,9 @@ public class OfyHelper implements ServletContextListener {
         ObjectifyService.register(UsageStatistics.class);
         ObjectifyService.register(DeadlineExtension.class);
         ObjectifyService.register(Notification.class);
+        ObjectifyService.register(FeedbackSessionStatistics.class);
+        ObjectifyService.register(FeedbackResponsesVersion.class);
+        ObjectifyService.register(CourseRosterVersion.class);
         // enable the ability to use java.time.Instant to issue query
         ObjectifyService.factory().getTranslators().add(new BaseEntity.InstantTranslatorFactory());
     }
@@ -0,0 +1,116 @@
+package teammates.storage.api;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import teammates.common.util.RequestTracer;
+
+/**
+ * Read-through cache for database lookups which lives as long as the current request.
+ *
+ * <p>The cache of a request is held by the request thread from the time {@link RequestScopedCacheFilter}
+ * begins the request until it ends, and is carried over to other threads working for the request
+ * with {@link #propagate(Supplier)}. Hence the cached values are never shared across requests.
+ * Lookups made outside any request are not cached.
+ *
+ * <p>Values are grouped by entity kind; all cached values of a kind are discarded
+ * whenever any entity of that kind is written.
+ */
+final class RequestScopedCache {
+
+    private static final ThreadLocal<RequestScopedCache> THREAD_LOCAL = new ThreadLocal<>();
+
+    private final Map<String, Map<String, Object>> valuesByKind = new HashMap<>();
+    private long invalidationCount;
+
+    private RequestScopedCache() {
+        // use the static methods instead
+    }
+
+    /**
+     * Gives the current thread an empty cache, to be discarded with {@link #end()} once the request ends.
+     */
+    static void begin() {
+        THREAD_LOCAL.set(new RequestScopedCache());
+    }
+
+    /**
+     * Discards the cache of the current thread.
+     */
+    static void end() {
+        THREAD_LOCAL.remove();
+    }
+
+    /**
+     * Returns a task which runs {@code task} with the cache of the current thread.
+     *
+     * <p>This is used to share the cache of a request with other threads working for the request.
+     */
+    static <T> Supplier<T> propagate(Supplier<T> task) {
+        RequestScopedCache cache = THREAD_LOCAL.get();
+        return () -> {
+            RequestScopedCache previousCache = THREAD_LOCAL.get();
+            THREAD_LOCAL.set(cache);
+            try {
+                return task.get();
+            } finally {
+                if (previousCache == null) {
+                    THREAD_LOCAL.remove();
+                } else {
+                    THREAD_LOCAL.set(previousCache);
+                }
+            }
+        };
+    }
+
+    /**
+     * Gets the value cached under {@code key} for the given entity kind,
+     * using {@code loader} to load (and cache) the value if it is not yet cached.
+     *
+     * <p>{@code null} values are cached as well.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T get(String kind, String key, Supplier<T> loader) {
+        RequestScopedCache cache = THREAD_LOCAL.get();
+        if (cache == null) {
+            return loader.get();
+        }
+
+        // the cache is only locked by the threads of its own request
+        long invalidationCountBeforeLoad;
+        synchronized (cache) {
+            Map<String, Object> values = cache.valuesByKind.get(kind);
+            if (values != null && values.containsKey(key)) {
+                RequestTracer.recordEntityCacheHit();
+                return (T) values.get(key);
+            }
+            invalidationCountBeforeLoad = cache.invalidationCount;
+        }
+
+        RequestTracer.recordEntityCacheMiss();
+        T value = loader.get();
+        synchronized (cache) {
+            // do not cache the value if a write happened while it was being loaded
+            if (cache.invalidationCount == invalidationCountBeforeLoad) {
+                cache.valuesByKind.computeIfAbsent(kind, k -> new HashMap<>()).put(key, value);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Discards all cached values of the given entity kind.
+     */
+    static void invalidate(String kind) {
+        RequestScopedCache cache = THREAD_LOCAL.get();
+        if (cache == null) {
+            return;
+        }
+        synchronized (cache) {
+            cache.valuesByKind.remove(kind);
+            cache.invalidationCount++;
+        }
+    }
+
+}
@@ -0,0 +1,38 @@
+package teammates.storage.api;
+
+import java.io.IOException;
+
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+
+/**
+ * Setup in web.xml to give every request its own {@link RequestScopedCache}.
+ */
+public class RequestScopedCacheFilter implements Filter {
+
+    @Override
+    public void init(FilterConfig filterConfig) {
+        // nothing to do
+    }
+
+    @Override
+    public void doFilter(ServletRequest req, ServletResponse resp, FilterChain chain) throws IOException, ServletException {
+        RequestScopedCache.begin();
+        try {
+            chain.doFilter(req, resp);
+        } finally {
+            // request threads are pooled, hence the cache must not outlive the request
+            RequestScopedCache.end();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        // nothing to do
+    }
+
+}
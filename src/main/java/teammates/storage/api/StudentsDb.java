@@ -3,12 +3,19 @@ package teammates.storage.api;
 import static com.googlecode.objectify.ObjectifyService.ofy;
 
 import java.time.Instant;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import com.googlecode.objectify.Key;
 import com.googlecode.objectify.cmd.LoadType;
@@ -38,6 +45,11 @@ public final class StudentsDb extends EntitiesDb<CourseStudent, StudentAttribute
 
     private static final int MAX_KEY_REGENERATION_TRIES = 10;
 
+    /**
+     * Maximum number of queries for different registration keys which are run at a time.
+     */
+    private static final int MAX_CONCURRENT_REGISTRATION_KEY_QUERIES = 8;
+
     private static final StudentsDb instance = new StudentsDb();
 
     private StudentsDb() {
@@ -59,6 +71,13 @@ public final class StudentsDb extends EntitiesDb<CourseStudent, StudentAttribute
         getSearchManager().putDocument(student);
     }
 
+    /**
+     * Creates or updates search documents for the given students.
+     */
+    public void putDocuments(List<StudentAttributes> students) throws SearchServiceException {
+        getSearchManager().putDocuments(students);
+    }
+
     /**
      * Searches for students.
      *
@@ -73,6 +92,22 @@ public final class StudentsDb extends EntitiesDb<CourseStudent, StudentAttribute
         return getSearchManager().searchStudents(queryString, instructors);
     }
 
+    /**
+     * Suggests students whose name, email, team or section has words starting with every word of the query string.
+     *
+     * <p>Only the course, email, name, team and section of the students are populated.
+     *
+     * @param instructors the constraint that restricts the search result
+     */
+    public List<StudentAttributes> suggestStudents(String queryString, List<InstructorAttributes> instructors)
+            throws SearchServiceException {
+        if (queryString.trim().isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        return getSearchManager().suggestStudents(queryString, instructors);
+    }
+
     /**
      * Searches all students in the system.
      *
@@ -139,7 +174,8 @@ public final class StudentsDb extends EntitiesDb<CourseStudent, StudentAttribute
         assert courseId != null;
         assert email != null;
 
-        return makeAttributesOrNull(getCourseStudentEntityForEmail(courseId, email));
+        return makeAttributesOrNull(loadCached(CourseStudent.class, "email:" + CourseStudent.generateId(email, courseId),
+                () -> getCourseStudentEntityForEmail(courseId, email)));
     }
 
     /**
@@ -159,10 +195,11 @@ public final class StudentsDb extends EntitiesDb<CourseStudent, StudentAttribute
         assert googleId != null;
         assert courseId != null;
 
-        CourseStudent student = load()
-                    .filter("courseId =", courseId)
-                    .filter("googleId =", googleId)
-                    .first().now();
+        CourseStudent student = loadCached(CourseStudent.class, "googleId:" + courseId + "%" + googleId,
+                () -> load()
+                        .filter("courseId =", courseId)
+                        .filter("googleId =", googleId)
+                        .first().now());
 
         return makeAttributesOrNull(student);
     }
@@ -200,7 +237,8 @@ public final class StudentsDb extends EntitiesDb<CourseStudent, StudentAttribute
     public List<StudentAttributes> getStudentsForCourse(String courseId) {
         assert courseId != null;
 
-        return makeAttributes(getCourseStudentEntitiesForCourse(courseId));
+        return makeAttributes(loadCached(CourseStudent.class, "course:" + courseId,
+                () -> getCourseStudentEntitiesForCourse(courseId)));
     }
 
     /**
@@ -320,6 +358,134 @@ public final class StudentsDb extends EntitiesDb<CourseStudent, StudentAttribute
         }
     }
 
+    /**
+     * Gets the students of a course with the given emails with one batched lookup.
+     *
+     * @return the students found, keyed by their emails
+     */
+    public Map<String, StudentAttributes> getStudentsForEmails(String courseId, Collection<String> emails) {
+        assert courseId != null;
+        assert emails != null;
+
+        Map<String, StudentAttributes> students = new HashMap<>();
+        getCourseStudentEntitiesForEmails(courseId, emails)
+                .forEach((id, entity) -> students.put(entity.getEmail(), makeAttributes(entity)));
+        return students;
+    }
+
+    /**
+     * Gets the students with the given IDs in one batched lookup.
+     *
+     * @param ids the IDs of the students, in the format of {@link StudentAttributes#getId()}
+     * @return the students found, keyed by their IDs
+     */
+    public Map<String, StudentAttributes> getStudentsForIds(Collection<String> ids) {
+        assert ids != null;
+
+        Map<String, StudentAttributes> students = new HashMap<>();
+        load().ids(ids).forEach((id, entity) -> students.put(id, makeAttributes(entity)));
+        return students;
+    }
+
+    /**
+     * Creates and updates students in bulk.
+     *
+     * <p>All students are validated before anything is written. The existing students are then looked up
+     * with one batched lookup, and the changes are written with one batched save.
+     * The emails of the students cannot be changed in bulk.
+     *
+     * <p>The documents of the students WILL NOT be updated.
+     *
+     * @return the created students followed by the updated students, in the order given
+     * @throws InvalidParametersException if any student to create or update is not valid
+     * @throws EntityAlreadyExistsException if any student to create already exists
+     * @throws EntityDoesNotExistException if any student to update cannot be found
+     */
+    public List<StudentAttributes> saveStudents(Collection<StudentAttributes> studentsToCreate,
+                                                Collection<StudentAttributes.UpdateOptions> studentsToUpdate)
+            throws InvalidParametersException, EntityAlreadyExistsException, EntityDoesNotExistException {
+        assert studentsToCreate != null;
+        assert studentsToUpdate != null;
+
+        for (StudentAttributes studentToCreate : studentsToCreate) {
+            studentToCreate.sanitizeForSaving();
+            if (!studentToCreate.isValid()) {
+                throw new InvalidParametersException(studentToCreate.getInvalidityInfo());
+            }
+        }
+
+        Map<String, CourseStudent> existingEntities = new HashMap<>();
+        studentsToCreate.stream()
+                .collect(Collectors.groupingBy(StudentAttributes::getCourse,
+                        Collectors.mapping(StudentAttributes::getEmail, Collectors.toList())))
+                .forEach((courseId, emails) -> existingEntities.putAll(
+                        getCourseStudentEntitiesForEmails(courseId, emails)));
+        studentsToUpdate.stream()
+                .collect(Collectors.groupingBy(StudentAttributes.UpdateOptions::getCourseId,
+                        Collectors.mapping(StudentAttributes.UpdateOptions::getEmail, Collectors.toList())))
+                .forEach((courseId, emails) -> existingEntities.putAll(
+                        getCourseStudentEntitiesForEmails(courseId, emails)));
+
+        for (StudentAttributes studentToCreate : studentsToCreate) {
+            if (existingEntities.containsKey(CourseStudent.generateId(studentToCreate.getEmail(),
+                    studentToCreate.getCourse()))) {
+                throw new EntityAlreadyExistsException(
+                        String.format(ERROR_CREATE_ENTITY_ALREADY_EXISTS, studentToCreate.toString()));
+            }
+        }
+
+        List<CourseStudent> updatedEntities = new ArrayList<>();
+        List<CourseStudent> entitiesToSave = new ArrayList<>();
+        for (StudentAttributes.UpdateOptions updateOptions : studentsToUpdate) {
+            CourseStudent student = existingEntities.get(
+                    CourseStudent.generateId(updateOptions.getEmail(), updateOptions.getCourseId()));
+            if (student == null) {
+                throw new EntityDoesNotExistException(ERROR_UPDATE_NON_EXISTENT + updateOptions);
+            }
+
+            StudentAttributes newAttributes = makeAttributes(student);
+            newAttributes.update(updateOptions);
+            assert student.getEmail().equals(newAttributes.getEmail()) : "Emails cannot be changed in bulk";
+
+            newAttributes.sanitizeForSaving();
+            if (!newAttributes.isValid()) {
+                throw new InvalidParametersException(newAttributes.getInvalidityInfo());
+            }
+
+            updatedEntities.add(student);
+
+            // update only if change
+            boolean hasSameAttributes =
+                    this.<String>hasSameValue(student.getName(), newAttributes.getName())
+                    && this.<String>hasSameValue(student.getComments(), newAttributes.getComments())
+                    && this.<String>hasSameValue(student.getGoogleId(), newAttributes.getGoogleId())
+                    && this.<String>hasSameValue(student.getTeamName(), newAttributes.getTeam())
+                    && this.<String>hasSameValue(student.getSectionName(), newAttributes.getSection());
+            if (hasSameAttributes) {
+                log.info(String.format(OPTIMIZED_SAVING_POLICY_APPLIED, CourseStudent.class.getSimpleName(), updateOptions));
+                continue;
+            }
+
+            student.setName(newAttributes.getName());
+            student.setComments(newAttributes.getComments());
+            student.setGoogleId(newAttributes.getGoogleId());
+            student.setTeamName(newAttributes.getTeam());
+            student.setSectionName(newAttributes.getSection());
+            entitiesToSave.add(student);
+        }
+
+        List<CourseStudent> createdEntities = convertToEntitiesForSaving(studentsToCreate);
+        entitiesToSave.addAll(createdEntities);
+
+        if (!entitiesToSave.isEmpty()) {
+            saveEntities(entitiesToSave);
+        }
+
+        List<StudentAttributes> savedStudents = new ArrayList<>(makeAttributes(createdEntities));
+        savedStudents.addAll(makeAttributes(updatedEntities));
+        return savedStudents;
+    }
+
     /**
      * Deletes a student in a course with email.
      *
@@ -333,6 +499,7 @@ public final class StudentsDb extends EntitiesDb<CourseStudent, StudentAttribute
         if (courseStudentToDelete != null) {
             deleteDocumentByStudentId(courseStudentToDelete.getUniqueId());
             deleteEntity(Key.create(CourseStudent.class, courseStudentToDelete.getUniqueId()));
+            CourseRosterVersionsDb.inst().updateVersions(Collections.singletonList(courseId));
         }
     }
 
@@ -348,6 +515,7 @@ public final class StudentsDb extends EntitiesDb<CourseStudent, StudentAttribute
             deleteEntity(studentsToDelete.stream()
                     .map(s -> Key.create(CourseStudent.class, s.getUniqueId()))
                     .collect(Collectors.toList()));
+            CourseRosterVersionsDb.inst().updateVersions(Collections.singletonList(query.getCourseId()));
         }
     }
 
@@ -355,6 +523,12 @@ public final class StudentsDb extends EntitiesDb<CourseStudent, StudentAttribute
         return load().id(CourseStudent.generateId(email, courseId)).now();
     }
 
+    private Map<String, CourseStudent> getCourseStudentEntitiesForEmails(String courseId, Collection<String> emails) {
+        return load().ids(emails.stream()
+                .map(email -> CourseStudent.generateId(email, courseId))
+                .collect(Collectors.toList()));
+    }
+
     private List<CourseStudent> getAllCourseStudentEntitiesForEmail(String email) {
         return load().filter("email =", email).list();
     }
@@ -429,6 +603,12 @@ public final class StudentsDb extends EntitiesDb<CourseStudent, StudentAttribute
                 .list();
     }
 
+    @Override
+    void afterEntitiesSaved(Collection<CourseStudent> savedEntities) {
+        CourseRosterVersionsDb.inst().updateVersions(
+                savedEntities.stream().map(CourseStudent::getCourseId).collect(Collectors.toList()));
+    }
+
     @Override
     LoadType<CourseStudent> load() {
         return ofy().load().type(CourseStudent.class);
@@ -456,9 +636,7 @@ public final class StudentsDb extends EntitiesDb<CourseStudent, StudentAttribute
         int numTries = 0;
         while (numTries < MAX_KEY_REGENERATION_TRIES) {
             CourseStudent student = attributes.toEntity();
-            Key<CourseStudent> existingStudent =
-                    load().filter("registrationKey =", student.getRegistrationKey()).keys().first().now();
-            if (existingStudent == null) {
+            if (!isRegistrationKeyUsed(student.getRegistrationKey())) {
                 return student;
             }
             numTries++;
@@ -467,6 +645,58 @@ public final class StudentsDb extends EntitiesDb<CourseStudent, StudentAttribute
         throw new EntityAlreadyExistsException("Unable to create new student");
     }
 
+    /**
+     * Converts the students to entities with registration keys which are not used by any existing student,
+     * checking the registration keys of all students concurrently instead of one student after another.
+     *
+     * <p>The registration keys are random, hence each of them is checked by a query of its own,
+     * as Objectify does not support IN filters.
+     */
+    private List<CourseStudent> convertToEntitiesForSaving(Collection<StudentAttributes> studentsToCreate)
+            throws EntityAlreadyExistsException {
+        List<StudentAttributes> students = new ArrayList<>(studentsToCreate);
+        CourseStudent[] entities = new CourseStudent[students.size()];
+        List<Integer> indicesToGenerate = IntStream.range(0, students.size()).boxed().collect(Collectors.toList());
+
+        int numTries = 0;
+        while (!indicesToGenerate.isEmpty()) {
+            if (numTries == MAX_KEY_REGENERATION_TRIES) {
+                log.severe("Failed to generate new registration key for student after "
+                        + MAX_KEY_REGENERATION_TRIES + " tries");
+                throw new EntityAlreadyExistsException("Unable to create new student");
+            }
+            numTries++;
+
+            for (int index : indicesToGenerate) {
+                entities[index] = students.get(index).toEntity();
+            }
+
+            List<Integer> indicesWithUsedKeys = new ArrayList<>();
+            try (ConcurrentReads reads = new ConcurrentReads()) {
+                // each check gives the index of the student if the registration key is used, or nothing otherwise
+                Deque<Future<List<Integer>>> pendingChecks = new ArrayDeque<>();
+                for (int index : indicesToGenerate) {
+                    if (pendingChecks.size() == MAX_CONCURRENT_REGISTRATION_KEY_QUERIES) {
+                        indicesWithUsedKeys.addAll(reads.await(pendingChecks.remove()));
+                    }
+                    String registrationKey = entities[index].getRegistrationKey();
+                    pendingChecks.add(reads.submit(() -> isRegistrationKeyUsed(registrationKey)
+                            ? Collections.singletonList(index) : Collections.emptyList()));
+                }
+                while (!pendingChecks.isEmpty()) {
+                    indicesWithUsedKeys.addAll(reads.await(pendingChecks.remove()));
+                }
+            }
+            indicesToGenerate = indicesWithUsedKeys;
+        }
+
+        return Arrays.asList(entities);
+    }
+
+    private boolean isRegistrationKeyUsed(String registrationKey) {
+        return load().filter("registrationKey =", registrationKey).keys().first().now() != null;
+    }
+
     /**
      * Gets the number of students created within a specified time range.
      */
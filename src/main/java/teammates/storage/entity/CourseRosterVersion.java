@@ -0,0 +1,62 @@
+package teammates.storage.entity;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import com.googlecode.objectify.annotation.Entity;
+import com.googlecode.objectify.annotation.Id;
+import com.googlecode.objectify.annotation.Index;
+import com.googlecode.objectify.annotation.Translate;
+import com.googlecode.objectify.annotation.Unindex;
+
+/**
+ * Represents the version of the roster (i.e. the students and instructors) of a course, which is replaced
+ * by a new one whenever any student or instructor of the course is created, updated or deleted.
+ *
+ * <p>Data derived from the roster of a course can be reused for as long as the version
+ * it was derived from stays the same.
+ */
+@Entity
+@Index
+public class CourseRosterVersion extends BaseEntity {
+
+    /**
+     * The unique id of the entity, which is the id of the course.
+     */
+    @Id
+    private String courseId;
+
+    @Unindex
+    private String version;
+
+    @Translate(InstantTranslatorFactory.class)
+    private Instant updatedAt;
+
+    @SuppressWarnings("unused")
+    private CourseRosterVersion() {
+        // required by Objectify
+    }
+
+    /**
+     * Creates a new version of the roster of the course, which differs from any previous version.
+     */
+    public CourseRosterVersion(String courseId) {
+        this.courseId = courseId;
+        // versions are written by all instances without coordination, hence they are random rather than sequential
+        this.version = UUID.randomUUID().toString();
+        this.updatedAt = Instant.now();
+    }
+
+    public String getCourseId() {
+        return courseId;
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+}
@@ -0,0 +1,91 @@
+package teammates.storage.entity;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import com.googlecode.objectify.annotation.Entity;
+import com.googlecode.objectify.annotation.Id;
+import com.googlecode.objectify.annotation.Index;
+import com.googlecode.objectify.annotation.Translate;
+import com.googlecode.objectify.annotation.Unindex;
+
+/**
+ * Represents the version of the responses of a feedback session, which is replaced by a new one
+ * whenever any response of the session is created, updated or deleted.
+ *
+ * <p>Data derived from the responses of a session can be reused for as long as the version
+ * it was derived from stays the same. As long as no data is derived from a version, it need not be replaced.
+ */
+@Entity
+@Index
+public class FeedbackResponsesVersion extends BaseEntity {
+
+    /**
+     * The unique id of the entity, which is the id of the feedback session.
+     *
+     * @see FeedbackSession#generateId(String, String)
+     */
+    @Id
+    private String id;
+
+    private String courseId;
+
+    private String feedbackSessionName;
+
+    @Unindex
+    private String version;
+
+    /**
+     * Whether data derived from the responses may have been kept under this version.
+     */
+    @Unindex
+    private boolean isUsed;
+
+    @Translate(InstantTranslatorFactory.class)
+    private Instant updatedAt;
+
+    @SuppressWarnings("unused")
+    private FeedbackResponsesVersion() {
+        // required by Objectify
+    }
+
+    /**
+     * Creates a new version of the responses of the session, which differs from any previous version.
+     *
+     * @param isUsed whether data derived from the responses is to be kept under the version
+     */
+    public FeedbackResponsesVersion(String feedbackSessionName, String courseId, boolean isUsed) {
+        this.id = FeedbackSession.generateId(feedbackSessionName, courseId);
+        this.feedbackSessionName = feedbackSessionName;
+        this.courseId = courseId;
+        // versions are written by all instances without coordination, hence they are random rather than sequential
+        this.version = UUID.randomUUID().toString();
+        this.isUsed = isUsed;
+        this.updatedAt = Instant.now();
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getCourseId() {
+        return courseId;
+    }
+
+    public String getFeedbackSessionName() {
+        return feedbackSessionName;
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public boolean isUsed() {
+        return isUsed;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+}
@@ -0,0 +1,167 @@
+package teammates.storage.entity;
+
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Set;
+
+import com.googlecode.objectify.annotation.Entity;
+import com.googlecode.objectify.annotation.Id;
+import com.googlecode.objectify.annotation.Index;
+import com.googlecode.objectify.annotation.Translate;
+import com.googlecode.objectify.annotation.Unindex;
+
+/**
+ * Represents one shard of the response statistics of a feedback session, which are kept up to date
+ * as the responses of the session are created and deleted.
+ *
+ * <p>The givers of a session are spread over a fixed number of shards by their identifiers,
+ * so that concurrent submissions by different givers seldom update the same entity.
+ *
+ * <p>A shard is complete once it has been built from the responses of the session.
+ * Before that, it only records the givers added and removed since, which are merged into the givers
+ * found in the responses when the shard is built, so that no update made during the build is lost.
+ */
+@Entity
+@Index
+public class FeedbackSessionStatistics extends BaseEntity {
+
+    /**
+     * The unique id of the entity, which is the id of the feedback session followed by the index of the shard.
+     *
+     * @see #generateId(String, String, int)
+     */
+    @Id
+    private String id;
+
+    private String courseId;
+
+    private String feedbackSessionName;
+
+    @Unindex
+    private int shardIndex;
+
+    @Unindex
+    private boolean isComplete;
+
+    /**
+     * Identifiers of the givers of the shard who have at least one response in the session.
+     */
+    @Unindex
+    private Set<String> giversWithResponses = new HashSet<>();
+
+    /**
+     * Identifiers of the givers of the shard whose last response in the session has been deleted
+     * while the shard is not complete yet.
+     */
+    @Unindex
+    private Set<String> giversWithoutResponses = new HashSet<>();
+
+    @Translate(InstantTranslatorFactory.class)
+    private Instant updatedAt;
+
+    @SuppressWarnings("unused")
+    private FeedbackSessionStatistics() {
+        // required by Objectify
+    }
+
+    /**
+     * Creates a shard which is not complete yet.
+     */
+    public FeedbackSessionStatistics(String feedbackSessionName, String courseId, int shardIndex) {
+        this.id = generateId(feedbackSessionName, courseId, shardIndex);
+        this.feedbackSessionName = feedbackSessionName;
+        this.courseId = courseId;
+        this.shardIndex = shardIndex;
+        this.updatedAt = Instant.now();
+    }
+
+    /**
+     * Generates the unique id of a shard of the statistics of a session.
+     */
+    public static String generateId(String feedbackSessionName, String courseId, int shardIndex) {
+        return FeedbackSession.generateId(feedbackSessionName, courseId) + "%" + shardIndex;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getCourseId() {
+        return courseId;
+    }
+
+    public String getFeedbackSessionName() {
+        return feedbackSessionName;
+    }
+
+    public int getShardIndex() {
+        return shardIndex;
+    }
+
+    public boolean isComplete() {
+        return isComplete;
+    }
+
+    public Set<String> getGiversWithResponses() {
+        // empty collections are not persisted
+        return giversWithResponses == null ? new HashSet<>() : giversWithResponses;
+    }
+
+    private Set<String> getGiversWithoutResponses() {
+        return giversWithoutResponses == null ? new HashSet<>() : giversWithoutResponses;
+    }
+
+    /**
+     * Adds the givers to those with at least one response in the session.
+     *
+     * @return true if the shard is changed
+     */
+    public boolean addGiversWithResponses(Set<String> givers) {
+        Set<String> updatedGivers = getGiversWithResponses();
+        Set<String> updatedGiversWithoutResponses = getGiversWithoutResponses();
+        boolean isUpdated = updatedGivers.addAll(givers);
+        isUpdated |= updatedGiversWithoutResponses.removeAll(givers);
+        setGivers(updatedGivers, updatedGiversWithoutResponses);
+        return isUpdated;
+    }
+
+    /**
+     * Removes the giver from those with at least one response in the session.
+     *
+     * @return true if the shard is changed
+     */
+    public boolean removeGiverWithResponses(String giver) {
+        Set<String> updatedGivers = getGiversWithResponses();
+        Set<String> updatedGiversWithoutResponses = getGiversWithoutResponses();
+        boolean isUpdated = updatedGivers.remove(giver);
+        if (!isComplete) {
+            // the giver may still be found in the responses read by a build in progress
+            isUpdated |= updatedGiversWithoutResponses.add(giver);
+        }
+        setGivers(updatedGivers, updatedGiversWithoutResponses);
+        return isUpdated;
+    }
+
+    /**
+     * Completes the shard with the givers of the shard found in the responses of the session,
+     * together with the givers added and removed since the responses were read.
+     */
+    public void complete(Set<String> giversFromResponses) {
+        Set<String> updatedGivers = new HashSet<>(giversFromResponses);
+        updatedGivers.addAll(getGiversWithResponses());
+        updatedGivers.removeAll(getGiversWithoutResponses());
+        setGivers(updatedGivers, new HashSet<>());
+        this.isComplete = true;
+    }
+
+    private void setGivers(Set<String> giversWithResponses, Set<String> giversWithoutResponses) {
+        this.giversWithResponses = giversWithResponses;
+        this.giversWithoutResponses = giversWithoutResponses;
+        this.updatedAt = Instant.now();
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+}
@@ -2,10 +2,9 @@ package teammates.storage.search;
 
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.solr.client.solrj.SolrQuery;
-import org.apache.solr.client.solrj.response.QueryResponse;
-import org.apache.solr.common.SolrDocument;
 
 import teammates.common.datatransfer.attributes.AccountRequestAttributes;
 import teammates.common.exception.SearchServiceException;
@@ -33,10 +32,9 @@ public class AccountRequestSearchManager extends SearchManager<AccountRequestAtt
     }
 
     @Override
-    AccountRequestAttributes getAttributeFromDocument(SolrDocument document) {
-        String email = (String) document.getFirstValue("email");
-        String institute = (String) document.getFirstValue("institute");
-        return accountRequestsDb.getAccountRequest(email, institute);
+    Map<String, AccountRequestAttributes> getAttributesForDocumentIds(List<String> documentIds) {
+        // the ID of an account request document is the ID of the account request
+        return accountRequestsDb.getAccountRequestsForIds(documentIds);
     }
 
     @Override
@@ -51,8 +49,7 @@ public class AccountRequestSearchManager extends SearchManager<AccountRequestAtt
     public List<AccountRequestAttributes> searchAccountRequests(String queryString) throws SearchServiceException {
         SolrQuery query = getBasicQuery(queryString);
 
-        QueryResponse response = performQuery(query);
-        return convertDocumentToAttributes(response.getResults());
+        return convertDocumentToAttributes(performQuery(query));
     }
 
 }
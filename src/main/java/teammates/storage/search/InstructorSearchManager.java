@@ -2,10 +2,10 @@ package teammates.storage.search;
 
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 import org.apache.solr.client.solrj.SolrQuery;
-import org.apache.solr.client.solrj.response.QueryResponse;
-import org.apache.solr.common.SolrDocument;
 
 import teammates.common.datatransfer.attributes.CourseAttributes;
 import teammates.common.datatransfer.attributes.InstructorAttributes;
@@ -37,10 +37,23 @@ public class InstructorSearchManager extends SearchManager<InstructorAttributes>
     }
 
     @Override
-    InstructorAttributes getAttributeFromDocument(SolrDocument document) {
-        String courseId = (String) document.getFirstValue("courseId");
-        String email = (String) document.getFirstValue("email");
-        return instructorsDb.getInstructorById(courseId, email);
+    List<InstructorSearchDocument> createDocuments(List<InstructorAttributes> instructors) {
+        // the courses of all the instructors are fetched in one batched lookup
+        List<String> courseIds = instructors.stream()
+                .map(InstructorAttributes::getCourseId)
+                .distinct()
+                .collect(Collectors.toList());
+        Map<String, CourseAttributes> courses = coursesDb.getCourses(courseIds).stream()
+                .collect(Collectors.toMap(CourseAttributes::getId, course -> course));
+        return instructors.stream()
+                .map(instructor -> new InstructorSearchDocument(instructor, courses.get(instructor.getCourseId())))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    Map<String, InstructorAttributes> getAttributesForDocumentIds(List<String> documentIds) {
+        // the ID of an instructor document is the ID of the instructor
+        return instructorsDb.getInstructorsForIds(documentIds);
     }
 
     @Override
@@ -57,8 +70,7 @@ public class InstructorSearchManager extends SearchManager<InstructorAttributes>
     public List<InstructorAttributes> searchInstructors(String queryString) throws SearchServiceException {
         SolrQuery query = getBasicQuery(queryString);
 
-        QueryResponse response = performQuery(query);
-        return convertDocumentToAttributes(response.getResults());
+        return convertDocumentToAttributes(performQuery(query));
     }
 
 }
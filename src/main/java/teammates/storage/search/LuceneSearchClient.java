@@ -0,0 +1,295 @@
+package teammates.storage.search;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.CharArraySet;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.core.KeywordAnalyzer;
+import org.apache.lucene.analysis.miscellaneous.PerFieldAnalyzerWrapper;
+import org.apache.lucene.analysis.ngram.EdgeNGramTokenFilter;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.standard.StandardTokenizer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.IndexableField;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.classic.ParseException;
+import org.apache.lucene.queryparser.classic.QueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.MMapDirectory;
+import org.apache.solr.client.solrj.SolrQuery;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.common.SolrDocument;
+import org.apache.solr.common.SolrDocumentList;
+import org.apache.solr.common.SolrInputDocument;
+
+import teammates.common.util.Logger;
+
+/**
+ * Search client which runs an embedded Lucene search engine in the application.
+ *
+ * <p>Each collection is kept in its own index directory. The fields are indexed like those of the Solr collections:
+ * the "_text_" field is tokenized and case-insensitive, the "_prefix_" field is like the "_text_" field
+ * but also matches the prefixes of its words, and all other fields are stored and matched exactly.
+ *
+ * <p>Like Solr, queries can set the default field with the "df" parameter
+ * and the default operator with the "q.op" parameter.
+ *
+ * <p>Updates are made searchable by reopening the near-real-time readers of the index writer, which is cheap
+ * as it does not flush the index to disk. Readers which are busy reopening are refreshed again within a second,
+ * which is within the commit-within time of the search managers. The updates are made durable by a commit
+ * every {@value #COMMIT_INTERVAL_SECONDS} seconds, and when the client is closed.
+ */
+class LuceneSearchClient implements SearchClient {
+
+    private static final String ID_FIELD = "id";
+    private static final String TEXT_FIELD = "_text_";
+    private static final String PREFIX_FIELD = "_prefix_";
+    private static final List<String> TOKENIZED_FIELDS = Arrays.asList(TEXT_FIELD, PREFIX_FIELD);
+    private static final int MAX_PREFIX_LENGTH = 20;
+    private static final String DEFAULT_FIELD_PARAM = "df";
+    private static final String DEFAULT_OPERATOR_PARAM = "q.op";
+    private static final int DEFAULT_ROWS = 10;
+    private static final long REFRESH_INTERVAL_MILLIS = 1000;
+    private static final long COMMIT_INTERVAL_SECONDS = 30;
+
+    private static final Logger log = Logger.getLogger();
+
+    private final Path indexDirectory;
+    private final Analyzer queryAnalyzer = new PerFieldAnalyzerWrapper(new KeywordAnalyzer(), Map.of(
+            TEXT_FIELD, new StandardAnalyzer(CharArraySet.EMPTY_SET),
+            PREFIX_FIELD, new StandardAnalyzer(CharArraySet.EMPTY_SET)));
+    // the prefixes of the words are indexed, so that a word in the query matches the words it is a prefix of
+    private final Analyzer indexAnalyzer = new PerFieldAnalyzerWrapper(new KeywordAnalyzer(), Map.of(
+            TEXT_FIELD, new StandardAnalyzer(CharArraySet.EMPTY_SET),
+            PREFIX_FIELD, new EdgeNGramAnalyzer()));
+    private final Map<String, LuceneCollection> collections = new HashMap<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "lucene-search-client");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    LuceneSearchClient(Path indexDirectory) {
+        this.indexDirectory = indexDirectory;
+        scheduler.scheduleWithFixedDelay(() -> forEachCollection(LuceneCollection::refresh),
+                REFRESH_INTERVAL_MILLIS, REFRESH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(() -> forEachCollection(LuceneCollection::commit),
+                COMMIT_INTERVAL_SECONDS, COMMIT_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    private LuceneCollection getCollection(String collectionName) throws IOException {
+        synchronized (collections) {
+            // the index is opened on first use, as only one writer can hold the lock of an index
+            LuceneCollection collection = collections.get(collectionName);
+            if (collection == null) {
+                collection = new LuceneCollection(indexDirectory.resolve(collectionName), indexAnalyzer);
+                collections.put(collectionName, collection);
+            }
+            return collection;
+        }
+    }
+
+    private void forEachCollection(CollectionOperation operation) {
+        List<LuceneCollection> openCollections;
+        synchronized (collections) {
+            openCollections = List.copyOf(collections.values());
+        }
+        for (LuceneCollection collection : openCollections) {
+            try {
+                operation.apply(collection);
+            } catch (IOException e) {
+                log.severe("Failed to update search index " + collection.indexPath, e);
+            }
+        }
+    }
+
+    @Override
+    public SolrDocumentList query(String collectionName, SolrQuery query) throws SolrServerException, IOException {
+        SolrDocumentList documents = new SolrDocumentList();
+        if (query.getQuery() == null || query.getQuery().isBlank()) {
+            return documents;
+        }
+
+        BooleanQuery.Builder luceneQuery = new BooleanQuery.Builder()
+                .add(parse(query.getQuery(), query), BooleanClause.Occur.MUST);
+        if (query.getFilterQueries() != null) {
+            for (String filterQuery : query.getFilterQueries()) {
+                luceneQuery.add(parse(filterQuery, query), BooleanClause.Occur.FILTER);
+            }
+        }
+        int start = query.getStart() == null ? 0 : query.getStart();
+        int rows = query.getRows() == null ? DEFAULT_ROWS : query.getRows();
+
+        LuceneCollection collection = getCollection(collectionName);
+        IndexSearcher searcher = collection.searcherManager.acquire();
+        try {
+            TopDocs topDocs = searcher.search(luceneQuery.build(), start + rows);
+            documents.setNumFound(topDocs.totalHits.value);
+            documents.setStart(start);
+            ScoreDoc[] scoreDocs = topDocs.scoreDocs;
+            for (int i = start; i < scoreDocs.length; i++) {
+                SolrDocument document = new SolrDocument();
+                for (IndexableField field : searcher.doc(scoreDocs[i].doc).getFields()) {
+                    document.addField(field.name(), field.stringValue());
+                }
+                documents.add(document);
+            }
+        } finally {
+            collection.searcherManager.release(searcher);
+        }
+        return documents;
+    }
+
+    private Query parse(String queryString, SolrQuery params) throws SolrServerException {
+        String defaultField = params.get(DEFAULT_FIELD_PARAM, TEXT_FIELD);
+        // a query parser is not thread-safe, hence a new one is used for every query
+        QueryParser parser = new QueryParser(defaultField, queryAnalyzer);
+        if ("AND".equals(params.get(DEFAULT_OPERATOR_PARAM))) {
+            parser.setDefaultOperator(QueryParser.Operator.AND);
+        }
+        try {
+            return parser.parse(queryString);
+        } catch (ParseException e) {
+            throw new SolrServerException(e);
+        }
+    }
+
+    @Override
+    public void add(String collectionName, List<SolrInputDocument> documents, int commitWithinMillis)
+            throws IOException {
+        LuceneCollection collection = getCollection(collectionName);
+        for (SolrInputDocument document : documents) {
+            Document luceneDocument = new Document();
+            for (String fieldName : document.getFieldNames()) {
+                for (Object value : document.getFieldValues(fieldName)) {
+                    if (value == null) {
+                        continue;
+                    }
+                    luceneDocument.add(TOKENIZED_FIELDS.contains(fieldName)
+                            ? new TextField(fieldName, value.toString(), Field.Store.NO)
+                            : new StringField(fieldName, value.toString(), Field.Store.YES));
+                }
+            }
+            String id = (String) document.getFieldValue(ID_FIELD);
+            collection.writer.updateDocument(new Term(ID_FIELD, id), luceneDocument);
+        }
+        collection.refresh();
+    }
+
+    @Override
+    public void deleteById(String collectionName, List<String> ids, int commitWithinMillis) throws IOException {
+        LuceneCollection collection = getCollection(collectionName);
+        for (String id : ids) {
+            collection.writer.deleteDocuments(new Term(ID_FIELD, id));
+        }
+        collection.refresh();
+    }
+
+    @Override
+    public void deleteAll(String collectionName) throws IOException {
+        LuceneCollection collection = getCollection(collectionName);
+        collection.writer.deleteAll();
+        collection.refreshBlocking();
+    }
+
+    @Override
+    public void commit(String collectionName) throws IOException {
+        getCollection(collectionName).refreshBlocking();
+    }
+
+    /**
+     * Commits the updates of all collections and closes their indexes.
+     */
+    @Override
+    public void close() throws IOException {
+        scheduler.shutdownNow();
+        synchronized (collections) {
+            for (LuceneCollection collection : collections.values()) {
+                // the writer commits the pending updates when it is closed
+                collection.searcherManager.close();
+                collection.writer.close();
+            }
+            collections.clear();
+        }
+    }
+
+    /**
+     * Analyzer which indexes the lower-cased words of a text together with all their prefixes.
+     */
+    private static final class EdgeNGramAnalyzer extends Analyzer {
+        @Override
+        protected TokenStreamComponents createComponents(String fieldName) {
+            Tokenizer tokenizer = new StandardTokenizer();
+            TokenStream lowerCased = new LowerCaseFilter(tokenizer);
+            // words longer than the longest prefix can still be matched in full
+            return new TokenStreamComponents(tokenizer,
+                    new EdgeNGramTokenFilter(lowerCased, 1, MAX_PREFIX_LENGTH, true));
+        }
+    }
+
+    /**
+     * An operation on the index of a collection.
+     */
+    @FunctionalInterface
+    private interface CollectionOperation {
+        void apply(LuceneCollection collection) throws IOException;
+    }
+
+    /**
+     * The index of a collection, with its writer and the near-real-time readers of the writer.
+     */
+    private static final class LuceneCollection {
+        private final Path indexPath;
+        private final IndexWriter writer;
+        private final SearcherManager searcherManager;
+
+        LuceneCollection(Path indexPath, Analyzer analyzer) throws IOException {
+            this.indexPath = indexPath;
+            this.writer = new IndexWriter(new MMapDirectory(indexPath), new IndexWriterConfig(analyzer));
+            this.searcherManager = new SearcherManager(writer, null);
+        }
+
+        /**
+         * Reopens the readers if they are not busy reopening already.
+         */
+        void refresh() throws IOException {
+            searcherManager.maybeRefresh();
+        }
+
+        /**
+         * Reopens the readers, waiting for any reopening in progress to finish first.
+         */
+        void refreshBlocking() throws IOException {
+            searcherManager.maybeRefreshBlocking();
+        }
+
+        void commit() throws IOException {
+            if (writer.hasUncommittedChanges()) {
+                writer.commit();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,55 @@
+package teammates.storage.search;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+import org.apache.solr.client.solrj.SolrQuery;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.common.SolrDocumentList;
+import org.apache.solr.common.SolrInputDocument;
+
+/**
+ * Handles operations on the search engine behind the search managers.
+ *
+ * <p>Queries and documents use the Solr representation regardless of the search engine,
+ * and queries use the syntax of the Lucene query parser, which is the default query parser of Solr.
+ *
+ * <p>A client is closed when the application shuts down, which releases the connections or indexes it holds.
+ */
+interface SearchClient extends Closeable {
+
+    /**
+     * Searches the specified collection.
+     *
+     * @param query the query, with the search text as the main query and the other constraints as filter queries
+     */
+    SolrDocumentList query(String collectionName, SolrQuery query) throws SolrServerException, IOException;
+
+    /**
+     * Adds or replaces the given documents, identified by their "id" field, in the specified collection.
+     *
+     * @param commitWithinMillis the time within which the documents should be made searchable
+     */
+    void add(String collectionName, List<SolrInputDocument> documents, int commitWithinMillis)
+            throws SolrServerException, IOException;
+
+    /**
+     * Deletes the documents with the given IDs from the specified collection.
+     *
+     * @param commitWithinMillis the time within which the deletion should be visible in searches
+     */
+    void deleteById(String collectionName, List<String> ids, int commitWithinMillis)
+            throws SolrServerException, IOException;
+
+    /**
+     * Deletes all documents in the specified collection and makes the deletion visible right away.
+     */
+    void deleteAll(String collectionName) throws SolrServerException, IOException;
+
+    /**
+     * Makes all updates to the specified collection searchable right away.
+     */
+    void commit(String collectionName) throws SolrServerException, IOException;
+
+}
@@ -2,18 +2,22 @@ package teammates.storage.search;
 
 import java.io.IOException;
 import java.net.SocketTimeoutException;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
 
 import org.apache.commons.lang.StringUtils;
 import org.apache.http.HttpStatus;
 import org.apache.solr.client.solrj.SolrQuery;
 import org.apache.solr.client.solrj.SolrServerException;
-import org.apache.solr.client.solrj.impl.HttpSolrClient;
-import org.apache.solr.client.solrj.response.QueryResponse;
+import org.apache.solr.client.solrj.util.ClientUtils;
 import org.apache.solr.common.SolrDocument;
+import org.apache.solr.common.SolrDocumentList;
 import org.apache.solr.common.SolrInputDocument;
 
 import teammates.common.datatransfer.attributes.EntityAttributes;
@@ -30,6 +34,9 @@ import teammates.common.util.StringHelper;
  */
 abstract class SearchManager<T extends EntityAttributes<?>> {
 
+    // updates are made searchable by Solr's own soft commits instead of a hard commit per update
+    static final int COMMIT_WITHIN_MILLIS = 1000;
+
     private static final Logger log = Logger.getLogger();
 
     private static final String ERROR_DELETE_DOCUMENT =
@@ -39,26 +46,38 @@ abstract class SearchManager<T extends EntityAttributes<?>> {
     private static final String ERROR_SEARCH_NOT_IMPLEMENTED =
             "Search service is not implemented";
     private static final String ERROR_PUT_DOCUMENT =
-            "Failed to put document %s into Solr. Root cause: %s ";
+            "Failed to put document(s) %s into Solr. Root cause: %s ";
     private static final String ERROR_RESET_COLLECTION =
             "Failed to reset collections. Root cause: %s ";
 
     private static final int START_INDEX = 0;
     private static final int NUM_OF_RESULTS = Const.SEARCH_QUERY_SIZE_LIMIT;
 
-    private final HttpSolrClient client;
+    private static final String PREFIX_FIELD = "_prefix_";
+    private static final String HTML_TAG_STRIP_PATTERN = "<[^>]*>";
+
+    private static final String LOCAL_INDEX_PREFIX = "file:";
+
+    private static final int MAX_DOCUMENTS_PER_UPDATE = 500;
+
+    private final SearchClient client;
     private final boolean isResetAllowed;
 
+    /**
+     * Creates a search manager using the given search service.
+     *
+     * @param searchServiceHost the URL of the Solr server, or {@code file:} followed by the index directory
+     *                          of the embedded Lucene search engine, or empty if search is not available
+     */
     SearchManager(String searchServiceHost, boolean isResetAllowed) {
         this.isResetAllowed = Config.IS_DEV_SERVER && isResetAllowed;
 
         if (StringHelper.isEmpty(searchServiceHost)) {
             this.client = null;
+        } else if (searchServiceHost.startsWith(LOCAL_INDEX_PREFIX)) {
+            this.client = new LuceneSearchClient(Paths.get(searchServiceHost.substring(LOCAL_INDEX_PREFIX.length())));
         } else {
-            this.client = new HttpSolrClient.Builder(searchServiceHost)
-                    .withConnectionTimeout(2000) // timeout for connecting to Solr server
-                    .withSocketTimeout(5000) // timeout for reading data
-                    .build();
+            this.client = new SolrSearchClient(searchServiceHost);
         }
     }
 
@@ -74,7 +93,27 @@ abstract class SearchManager<T extends EntityAttributes<?>> {
         return query;
     }
 
-    QueryResponse performQuery(SolrQuery query) throws SearchServiceException {
+    /**
+     * Gets a query for the documents with words starting with every word of the query string,
+     * which searches the prefixes of the words indexed in the "_prefix_" field.
+     */
+    SolrQuery getPrefixQuery(String queryString, int numOfResults) {
+        String[] words = queryString.replaceAll(HTML_TAG_STRIP_PATTERN, "").trim().split("\\s+");
+        String escapedQueryString = Arrays.stream(words)
+                .map(ClientUtils::escapeQueryChars)
+                .collect(Collectors.joining(" "));
+
+        SolrQuery query = new SolrQuery(escapedQueryString);
+        query.set("df", PREFIX_FIELD);
+        query.set("q.op", "AND");
+
+        query.setStart(START_INDEX);
+        query.setRows(numOfResults);
+
+        return query;
+    }
+
+    SolrDocumentList performQuery(SolrQuery query) throws SearchServiceException {
         if (client == null) {
             throw new SearchServiceException("Full-text search is not available.", HttpStatus.SC_NOT_IMPLEMENTED);
         }
@@ -102,31 +141,75 @@ abstract class SearchManager<T extends EntityAttributes<?>> {
 
     abstract SearchDocument<T> createDocument(T attribute);
 
+    /**
+     * Creates the search documents for the given entities, in the same order as the entities.
+     *
+     * <p>Subclasses may override this to share the data needed by the documents of many entities.
+     */
+    List<? extends SearchDocument<T>> createDocuments(List<T> attributesList) {
+        return attributesList.stream().map(this::createDocument).collect(Collectors.toList());
+    }
+
     /**
      * Creates or updates search document for the given entity.
      */
     public void putDocument(T attributes) throws SearchServiceException {
+        putDocuments(Collections.singletonList(attributes));
+    }
+
+    /**
+     * Creates or updates search documents for the given entities.
+     *
+     * <p>The documents are sent in as few update requests as possible, and are made searchable
+     * by Solr within a second instead of being committed right away.
+     */
+    public void putDocuments(List<T> attributesList) throws SearchServiceException {
         if (client == null) {
             log.warning(ERROR_SEARCH_NOT_IMPLEMENTED);
             return;
         }
 
-        if (attributes == null) {
+        List<T> nonNullAttributesList = attributesList.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        if (nonNullAttributesList.isEmpty()) {
             return;
         }
 
-        Map<String, Object> searchableFields = createDocument(attributes).getSearchableFields();
-        SolrInputDocument document = new SolrInputDocument();
-        searchableFields.forEach((key, value) -> document.addField(key, value));
+        List<SolrInputDocument> documents = new ArrayList<>();
+        for (SearchDocument<T> searchDocument : createDocuments(nonNullAttributesList)) {
+            SolrInputDocument document = new SolrInputDocument();
+            searchDocument.getSearchableFields().forEach((key, value) -> document.addField(key, value));
+            documents.add(document);
+        }
+
+        for (int i = 0; i < documents.size(); i += MAX_DOCUMENTS_PER_UPDATE) {
+            List<SolrInputDocument> batch = documents.subList(i, Math.min(i + MAX_DOCUMENTS_PER_UPDATE, documents.size()));
+            try {
+                client.add(getCollectionName(), batch, COMMIT_WITHIN_MILLIS);
+            } catch (SolrServerException e) {
+                log.severe(String.format(ERROR_PUT_DOCUMENT, getInputDocumentIds(batch), e.getRootCause()), e);
+                throw new SearchServiceException(e, HttpStatus.SC_BAD_GATEWAY);
+            } catch (IOException e) {
+                log.severe(String.format(ERROR_PUT_DOCUMENT, getInputDocumentIds(batch), e.getCause()), e);
+                throw new SearchServiceException(e, HttpStatus.SC_BAD_GATEWAY);
+            }
+        }
+
+        if (isResetAllowed) {
+            // component tests search for the documents right after putting them
+            softCommit(documents);
+        }
+    }
 
+    private void softCommit(List<SolrInputDocument> documents) throws SearchServiceException {
         try {
-            client.add(getCollectionName(), Collections.singleton(document));
             client.commit(getCollectionName());
         } catch (SolrServerException e) {
-            log.severe(String.format(ERROR_PUT_DOCUMENT, document, e.getRootCause()), e);
+            log.severe(String.format(ERROR_PUT_DOCUMENT, getInputDocumentIds(documents), e.getRootCause()), e);
             throw new SearchServiceException(e, HttpStatus.SC_BAD_GATEWAY);
         } catch (IOException e) {
-            log.severe(String.format(ERROR_PUT_DOCUMENT, document, e.getCause()), e);
+            log.severe(String.format(ERROR_PUT_DOCUMENT, getInputDocumentIds(documents), e.getCause()), e);
             throw new SearchServiceException(e, HttpStatus.SC_BAD_GATEWAY);
         }
     }
@@ -145,8 +228,10 @@ abstract class SearchManager<T extends EntityAttributes<?>> {
         }
 
         try {
-            client.deleteById(getCollectionName(), keys);
-            client.commit(getCollectionName());
+            client.deleteById(getCollectionName(), keys, COMMIT_WITHIN_MILLIS);
+            if (isResetAllowed) {
+                client.commit(getCollectionName());
+            }
         } catch (SolrServerException e) {
             log.severe(String.format(ERROR_DELETE_DOCUMENT, keys, e.getRootCause()), e);
         } catch (IOException e) {
@@ -163,8 +248,7 @@ abstract class SearchManager<T extends EntityAttributes<?>> {
         }
 
         try {
-            client.deleteByQuery(getCollectionName(), "*:*");
-            client.commit(getCollectionName());
+            client.deleteAll(getCollectionName());
         } catch (SolrServerException e) {
             log.severe(String.format(ERROR_RESET_COLLECTION, e.getRootCause()), e);
         } catch (IOException e) {
@@ -172,11 +256,24 @@ abstract class SearchManager<T extends EntityAttributes<?>> {
         }
     }
 
-    private String cleanSpecialChars(String queryString) {
-        String htmlTagStripPattern = "<[^>]*>";
+    /**
+     * Closes the connection to the search service, committing any pending updates of a local index.
+     */
+    public void close() {
+        if (client == null) {
+            return;
+        }
 
+        try {
+            client.close();
+        } catch (IOException e) {
+            log.warning("Failed to close search client", e);
+        }
+    }
+
+    private String cleanSpecialChars(String queryString) {
         // Solr special characters: + - && || ! ( ) { } [ ] ^ " ~ * ? : \ /
-        String res = queryString.replaceAll(htmlTagStripPattern, "")
+        String res = queryString.replaceAll(HTML_TAG_STRIP_PATTERN, "")
                 .replace("\\", "\\\\")
                 .replace("+", "\\+")
                 .replace("-", "\\-")
@@ -209,28 +306,60 @@ abstract class SearchManager<T extends EntityAttributes<?>> {
         }
     }
 
-    abstract T getAttributeFromDocument(SolrDocument document);
+    /**
+     * Gets the entities of the search documents with the given IDs in one batched lookup.
+     *
+     * @return the entities found, keyed by the IDs of their search documents
+     */
+    abstract Map<String, T> getAttributesForDocumentIds(List<String> documentIds);
 
     abstract void sortResult(List<T> result);
 
     List<T> convertDocumentToAttributes(List<SolrDocument> documents) {
-        if (documents == null) {
+        if (documents == null || documents.isEmpty()) {
             return new ArrayList<>();
         }
 
-        List<T> result = new ArrayList<>();
+        return convertDocumentIdsToAttributes(getDocumentIds(documents));
+    }
+
+    private static List<String> getInputDocumentIds(List<SolrInputDocument> documents) {
+        // only the IDs are logged, as the other fields of a batch of documents hold much personal data
+        return documents.stream()
+                .map(document -> (String) document.getFieldValue("id"))
+                .collect(Collectors.toList());
+    }
+
+    List<String> getDocumentIds(List<SolrDocument> documents) {
+        return documents.stream()
+                .map(document -> (String) document.getFirstValue("id"))
+                .collect(Collectors.toList());
+    }
 
-        for (SolrDocument document : documents) {
-            T attribute = getAttributeFromDocument(document);
+    /**
+     * Gets the entities of the search documents with the given IDs, deleting the documents of entities
+     * which no longer exist.
+     */
+    List<T> convertDocumentIdsToAttributes(List<String> documentIds) {
+        if (documentIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<String, T> attributes = getAttributesForDocumentIds(documentIds);
+
+        List<T> result = new ArrayList<>();
+        List<String> staleDocumentIds = new ArrayList<>();
+        for (String id : documentIds) {
+            T attribute = attributes.get(id);
             if (attribute == null) {
                 // search engine out of sync as SearchManager may fail to delete documents
                 // the chance is low and it is generally not a big problem
-                String id = (String) document.getFirstValue("id");
-                deleteDocuments(Collections.singletonList(id));
+                staleDocumentIds.add(id);
                 continue;
             }
             result.add(attribute);
         }
+        deleteDocuments(staleDocumentIds);
         sortResult(result);
 
         return result;
@@ -21,7 +21,10 @@ public class SearchManagerStarter implements ServletContextListener {
 
     @Override
     public void contextDestroyed(ServletContextEvent event) {
-        // Nothing to do
+        // Invoked by Jetty at application shutdown.
+        SearchManagerFactory.getInstructorSearchManager().close();
+        SearchManagerFactory.getStudentSearchManager().close();
+        SearchManagerFactory.getAccountRequestSearchManager().close();
     }
 
 }
@@ -0,0 +1,188 @@
+package teammates.storage.search;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import teammates.common.util.RequestTracer;
+
+/**
+ * In-memory cache of the IDs of the documents found by search queries, shared across requests.
+ *
+ * <p>Results are looked up by the normalized query string and a digest of the courses the search is restricted to.
+ * Results are dropped when documents in any of their courses are put, or when any of their documents is deleted.
+ * As this only covers updates done by the current instance, cached results also expire after a short while.
+ *
+ * <p>Updates are made searchable by the search service within the given settle time instead of right away,
+ * hence results of courses updated within that time are not cached, as they may not include the updates yet.
+ *
+ * <p>The least recently used results are evicted when the number of results exceeds the limit.
+ */
+final class SearchResultCache {
+
+    private static final int MAX_ENTRIES = 1000;
+    private static final Duration MAX_AGE = Duration.ofSeconds(30);
+
+    // the scope of searches which are not restricted to any course
+    private static final String WHOLE_SYSTEM_SCOPE = "*";
+
+    private final Duration settleTime;
+    private final Map<String, CachedResult> results = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, Instant> unsettledCourses = new HashMap<>();
+    private Instant unsettledUntil = Instant.MIN;
+
+    SearchResultCache(Duration settleTime) {
+        this.settleTime = settleTime;
+    }
+
+    /**
+     * Gets the cached IDs of the documents found by the query.
+     *
+     * @param courseIds the courses the search is restricted to, or null if the search is not restricted
+     * @return null if the result is not cached or the cached result has expired
+     */
+    @SuppressWarnings("PMD.ReturnEmptyCollectionRatherThanNull") // an empty result is a valid cached result
+    List<String> get(String queryString, Collection<String> courseIds) {
+        String key = getKey(queryString, courseIds);
+        Instant now = Instant.now();
+
+        synchronized (this) {
+            CachedResult cachedResult = results.get(key);
+            if (cachedResult != null && cachedResult.cachedTime.plus(MAX_AGE).isAfter(now)) {
+                RequestTracer.recordSearchCacheHit();
+                return cachedResult.documentIds;
+            }
+        }
+
+        RequestTracer.recordSearchCacheMiss();
+        return null;
+    }
+
+    /**
+     * Caches the IDs of the documents found by the query, unless the courses searched have been updated
+     * too recently for the result to be cached.
+     *
+     * @param courseIds the courses the search is restricted to, or null if the search is not restricted
+     */
+    void put(String queryString, Collection<String> courseIds, List<String> documentIds) {
+        String key = getKey(queryString, courseIds);
+        Instant now = Instant.now();
+        Set<String> scope = courseIds == null ? null : new HashSet<>(courseIds);
+
+        synchronized (this) {
+            if (isUnsettled(scope, now)) {
+                return;
+            }
+
+            results.put(key, new CachedResult(new ArrayList<>(documentIds), scope, now));
+            if (results.size() > MAX_ENTRIES) {
+                // the first value is the least recently used one
+                Iterator<CachedResult> leastRecentlyUsed = results.values().iterator();
+                leastRecentlyUsed.next();
+                leastRecentlyUsed.remove();
+            }
+        }
+    }
+
+    private boolean isUnsettled(Set<String> scope, Instant now) {
+        if (!unsettledUntil.isAfter(now)) {
+            unsettledCourses.clear();
+            return false;
+        }
+        if (scope == null) {
+            return true;
+        }
+        unsettledCourses.values().removeIf(settledTime -> !settledTime.isAfter(now));
+        return scope.stream().anyMatch(unsettledCourses::containsKey);
+    }
+
+    /**
+     * Drops the results of searches which may find documents in the given courses,
+     * i.e. searches restricted to any of the courses and searches which are not restricted.
+     */
+    void invalidateCourses(Collection<String> courseIds) {
+        Instant settledTime = Instant.now().plus(settleTime);
+
+        synchronized (this) {
+            for (String courseId : courseIds) {
+                unsettledCourses.put(courseId, settledTime);
+            }
+            unsettledUntil = settledTime;
+
+            results.values().removeIf(cachedResult -> cachedResult.scope == null
+                    || courseIds.stream().anyMatch(cachedResult.scope::contains));
+        }
+    }
+
+    /**
+     * Drops the results which include any of the given documents.
+     */
+    void invalidateDocuments(Collection<String> documentIds) {
+        synchronized (this) {
+            results.values().removeIf(cachedResult -> documentIds.stream().anyMatch(cachedResult.documentIds::contains));
+        }
+    }
+
+    /**
+     * Drops all cached results.
+     */
+    void clear() {
+        synchronized (this) {
+            results.clear();
+        }
+    }
+
+    private static String getKey(String queryString, Collection<String> courseIds) {
+        // whitespace is not significant in queries, but letter case is as the query operators are in upper case
+        String normalizedQueryString = queryString.trim().replaceAll("\\s+", " ");
+        return normalizedQueryString + "|" + getScopeDigest(courseIds);
+    }
+
+    /**
+     * Gets a digest which identifies the set of courses, regardless of their order.
+     */
+    private static String getScopeDigest(Collection<String> courseIds) {
+        if (courseIds == null) {
+            return WHOLE_SYSTEM_SCOPE;
+        }
+
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        for (String courseId : new TreeSet<>(courseIds)) {
+            digest.update(courseId.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+        }
+        return Base64.getEncoder().encodeToString(digest.digest());
+    }
+
+    private static final class CachedResult {
+        private final List<String> documentIds;
+        private final Set<String> scope;
+        private final Instant cachedTime;
+
+        private CachedResult(List<String> documentIds, Set<String> scope, Instant cachedTime) {
+            this.documentIds = Collections.unmodifiableList(documentIds);
+            this.scope = scope;
+            this.cachedTime = cachedTime;
+        }
+    }
+
+}
@@ -0,0 +1,59 @@
+package teammates.storage.search;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.apache.solr.client.solrj.SolrQuery;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.client.solrj.impl.HttpSolrClient;
+import org.apache.solr.common.SolrDocumentList;
+import org.apache.solr.common.SolrInputDocument;
+
+/**
+ * Search client which uses a remote Solr server.
+ */
+class SolrSearchClient implements SearchClient {
+
+    private final HttpSolrClient client;
+
+    SolrSearchClient(String searchServiceHost) {
+        this.client = new HttpSolrClient.Builder(searchServiceHost)
+                .withConnectionTimeout(2000) // timeout for connecting to Solr server
+                .withSocketTimeout(5000) // timeout for reading data
+                .build();
+    }
+
+    @Override
+    public SolrDocumentList query(String collectionName, SolrQuery query) throws SolrServerException, IOException {
+        return client.query(collectionName, query).getResults();
+    }
+
+    @Override
+    public void add(String collectionName, List<SolrInputDocument> documents, int commitWithinMillis)
+            throws SolrServerException, IOException {
+        client.add(collectionName, documents, commitWithinMillis);
+    }
+
+    @Override
+    public void deleteById(String collectionName, List<String> ids, int commitWithinMillis)
+            throws SolrServerException, IOException {
+        client.deleteById(collectionName, ids, commitWithinMillis);
+    }
+
+    @Override
+    public void deleteAll(String collectionName) throws SolrServerException, IOException {
+        client.deleteByQuery(collectionName, "*:*");
+        client.commit(collectionName);
+    }
+
+    @Override
+    public void commit(String collectionName) throws SolrServerException, IOException {
+        client.commit(collectionName, true, true, true);
+    }
+
+    @Override
+    public void close() throws IOException {
+        client.close();
+    }
+
+}
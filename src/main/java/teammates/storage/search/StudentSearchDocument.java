@@ -30,8 +30,15 @@ class StudentSearchDocument extends SearchDocument<StudentAttributes> {
 
         fields.put("id", student.getId());
         fields.put("_text_", String.join(" ", searchableTexts));
+        // the words of the fields suggested as the user types, matched by their prefixes
+        fields.put("_prefix_", String.join(" ",
+                student.getName(), student.getEmail(), student.getTeam(), student.getSection()));
         fields.put("courseId", student.getCourse());
         fields.put("email", student.getEmail());
+        // stored for suggestions, which are built from the search documents alone
+        fields.put("name", student.getName());
+        fields.put("team", student.getTeam());
+        fields.put("section", student.getSection());
 
         return fields;
     }
@@ -1,12 +1,14 @@
 package teammates.storage.search;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 import org.apache.solr.client.solrj.SolrQuery;
-import org.apache.solr.client.solrj.response.QueryResponse;
 import org.apache.solr.common.SolrDocument;
 import org.apache.solr.common.SolrDocumentList;
 
@@ -14,6 +16,7 @@ import teammates.common.datatransfer.attributes.CourseAttributes;
 import teammates.common.datatransfer.attributes.InstructorAttributes;
 import teammates.common.datatransfer.attributes.StudentAttributes;
 import teammates.common.exception.SearchServiceException;
+import teammates.common.util.Const;
 import teammates.storage.api.CoursesDb;
 import teammates.storage.api.StudentsDb;
 
@@ -24,6 +27,7 @@ public class StudentSearchManager extends SearchManager<StudentAttributes> {
 
     private final CoursesDb coursesDb = CoursesDb.inst();
     private final StudentsDb studentsDb = StudentsDb.inst();
+    private final SearchResultCache resultCache = new SearchResultCache(Duration.ofMillis(COMMIT_WITHIN_MILLIS));
 
     public StudentSearchManager(String searchServiceHost, boolean isResetAllowed) {
         super(searchServiceHost, isResetAllowed);
@@ -41,10 +45,23 @@ public class StudentSearchManager extends SearchManager<StudentAttributes> {
     }
 
     @Override
-    StudentAttributes getAttributeFromDocument(SolrDocument document) {
-        String courseId = (String) document.getFirstValue("courseId");
-        String email = (String) document.getFirstValue("email");
-        return studentsDb.getStudentForEmail(courseId, email);
+    List<StudentSearchDocument> createDocuments(List<StudentAttributes> students) {
+        // the courses of all the students are fetched in one batched lookup
+        List<String> courseIds = students.stream()
+                .map(StudentAttributes::getCourse)
+                .distinct()
+                .collect(Collectors.toList());
+        Map<String, CourseAttributes> courses = coursesDb.getCourses(courseIds).stream()
+                .collect(Collectors.toMap(CourseAttributes::getId, course -> course));
+        return students.stream()
+                .map(student -> new StudentSearchDocument(student, courses.get(student.getCourse())))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    Map<String, StudentAttributes> getAttributesForDocumentIds(List<String> documentIds) {
+        // the ID of a student document is the ID of the student
+        return studentsDb.getStudentsForIds(documentIds);
     }
 
     @Override
@@ -56,19 +73,52 @@ public class StudentSearchManager extends SearchManager<StudentAttributes> {
                 .thenComparing(student -> student.getEmail()));
     }
 
+    /**
+     * Creates or updates search documents for the given students.
+     *
+     * <p>Cached search results which may include students in the same courses are dropped.
+     */
+    @Override
+    public void putDocuments(List<StudentAttributes> students) throws SearchServiceException {
+        super.putDocuments(students);
+
+        resultCache.invalidateCourses(students.stream()
+                .filter(Objects::nonNull)
+                .map(StudentAttributes::getCourse)
+                .collect(Collectors.toSet()));
+    }
+
+    /**
+     * Removes search documents based on the given keys.
+     *
+     * <p>Cached search results which include the removed documents are dropped.
+     */
+    @Override
+    public void deleteDocuments(List<String> keys) {
+        super.deleteDocuments(keys);
+
+        resultCache.invalidateDocuments(keys);
+    }
+
+    @Override
+    public void resetCollections() {
+        super.resetCollections();
+
+        resultCache.clear();
+    }
+
     /**
      * Searches for students.
      *
+     * <p>The IDs of the students found are cached for a short while, so that repeating a search
+     * within the same courses only needs to read the students from the database.
+     *
      * @param instructors the constraint that restricts the search result
      */
     public List<StudentAttributes> searchStudents(String queryString, List<InstructorAttributes> instructors)
             throws SearchServiceException {
-        SolrQuery query = getBasicQuery(queryString);
-
-        List<String> courseIdsWithViewStudentPrivilege;
-        if (instructors == null) {
-            courseIdsWithViewStudentPrivilege = new ArrayList<>();
-        } else {
+        List<String> courseIdsWithViewStudentPrivilege = null;
+        if (instructors != null) {
             courseIdsWithViewStudentPrivilege = instructors.stream()
                     .filter(i -> i.getPrivileges().getCourseLevelPrivileges().isCanViewStudentInSections())
                     .map(ins -> ins.getCourseId())
@@ -76,12 +126,25 @@ public class StudentSearchManager extends SearchManager<StudentAttributes> {
             if (courseIdsWithViewStudentPrivilege.isEmpty()) {
                 return new ArrayList<>();
             }
-            String courseIdFq = String.join("\" OR \"", courseIdsWithViewStudentPrivilege);
+        }
+
+        List<String> documentIds = resultCache.get(queryString, courseIdsWithViewStudentPrivilege);
+        if (documentIds == null) {
+            documentIds = searchStudentIds(queryString, courseIdsWithViewStudentPrivilege);
+            resultCache.put(queryString, courseIdsWithViewStudentPrivilege, documentIds);
+        }
+
+        return convertDocumentIdsToAttributes(documentIds);
+    }
+
+    private List<String> searchStudentIds(String queryString, List<String> courseIds) throws SearchServiceException {
+        SolrQuery query = getBasicQuery(queryString);
+        if (courseIds != null) {
+            String courseIdFq = String.join("\" OR \"", courseIds);
             query.addFilterQuery("courseId:(\"" + courseIdFq + "\")");
         }
 
-        QueryResponse response = performQuery(query);
-        SolrDocumentList documents = response.getResults();
+        SolrDocumentList documents = performQuery(query);
 
         // Sanity check such that the course ID of the students match exactly.
         // In ideal case, this check is not expected to do anything,
@@ -89,15 +152,52 @@ public class StudentSearchManager extends SearchManager<StudentAttributes> {
 
         List<SolrDocument> filteredDocuments = documents.stream()
                 .filter(document -> {
-                    if (instructors == null) {
+                    if (courseIds == null) {
                         return true;
                     }
                     String courseId = (String) document.getFirstValue("courseId");
-                    return courseIdsWithViewStudentPrivilege.contains(courseId);
+                    return courseIds.contains(courseId);
                 })
                 .collect(Collectors.toList());
 
-        return convertDocumentToAttributes(filteredDocuments);
+        return getDocumentIds(filteredDocuments);
+    }
+
+    /**
+     * Suggests students with words in their name, email, team or section which start with
+     * every word of the query string, e.g. as the user types the query.
+     *
+     * <p>The students are built from the fields stored in their search documents without reading the database,
+     * hence only their course, email, name, team and section are populated.
+     *
+     * @param instructors the constraint that restricts the search result
+     */
+    public List<StudentAttributes> suggestStudents(String queryString, List<InstructorAttributes> instructors)
+            throws SearchServiceException {
+        List<String> courseIdsWithViewStudentPrivilege = instructors.stream()
+                .filter(i -> i.getPrivileges().getCourseLevelPrivileges().isCanViewStudentInSections())
+                .map(ins -> ins.getCourseId())
+                .collect(Collectors.toList());
+        if (courseIdsWithViewStudentPrivilege.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        SolrQuery query = getPrefixQuery(queryString, Const.SEARCH_SUGGESTION_SIZE_LIMIT);
+        String courseIdFq = String.join("\" OR \"", courseIdsWithViewStudentPrivilege);
+        query.addFilterQuery("courseId:(\"" + courseIdFq + "\")");
+        query.setFields("courseId", "email", "name", "team", "section");
+
+        return performQuery(query).stream()
+                .filter(document -> courseIdsWithViewStudentPrivilege.contains(document.getFirstValue("courseId")))
+                // documents indexed before the names were stored cannot be suggested until they are re-indexed
+                .filter(document -> document.getFirstValue("name") != null)
+                .map(document -> StudentAttributes
+                        .builder((String) document.getFirstValue("courseId"), (String) document.getFirstValue("email"))
+                        .withName((String) document.getFirstValue("name"))
+                        .withTeamName((String) document.getFirstValue("team"))
+                        .withSectionName((String) document.getFirstValue("section"))
+                        .build())
+                .collect(Collectors.toList());
     }
 
 }
@@ -7,11 +7,13 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Queue;
+import java.util.stream.Stream;
 
 import javax.annotation.Nullable;
 
 import teammates.common.datatransfer.CourseRoster;
 import teammates.common.datatransfer.FeedbackParticipantType;
+import teammates.common.datatransfer.NameVisibilityTable;
 import teammates.common.datatransfer.SessionResultsBundle;
 import teammates.common.datatransfer.attributes.FeedbackQuestionAttributes;
 import teammates.common.datatransfer.attributes.FeedbackResponseAttributes;
@@ -41,27 +43,38 @@ public class SessionResultsData extends ApiOutput {
      */
     public static SessionResultsData initForInstructor(SessionResultsBundle bundle) {
         SessionResultsData sessionResultsData = new SessionResultsData();
+        streamForInstructor(bundle).forEachOrdered(sessionResultsData.questions::add);
+        return sessionResultsData;
+    }
 
-        Map<String, List<FeedbackResponseAttributes>> questionsWithResponses =
-                bundle.getQuestionResponseMap();
-
-        questionsWithResponses.forEach((questionId, responses) -> {
-            FeedbackQuestionAttributes question = bundle.getQuestionsMap().get(questionId);
-            FeedbackQuestionDetails questionDetails = question.getQuestionDetailsCopy();
-            QuestionOutput qnOutput = new QuestionOutput(question,
-                    questionDetails.getQuestionResultStatisticsJson(question, null, bundle), false, false);
-            // put normal responses
-            List<ResponseOutput> allResponses = buildResponsesForInstructor(responses, bundle, false);
-            qnOutput.allResponses.addAll(allResponses);
-
-            // put missing responses
-            List<FeedbackResponseAttributes> missingResponses = bundle.getQuestionMissingResponseMap().get(questionId);
-            qnOutput.allResponses.addAll(buildResponsesForInstructor(missingResponses, bundle, true));
-
-            sessionResultsData.questions.add(qnOutput);
-        });
+    /**
+     * Lazily constructs the question outputs of the API output for instructor.
+     *
+     * <p>Each question output is only built when the stream is consumed, in the same order as
+     * {@link #initForInstructor(SessionResultsBundle)}.
+     */
+    public static Stream<QuestionOutput> streamForInstructor(SessionResultsBundle bundle) {
+        return bundle.getQuestionResponseMap().entrySet().stream()
+                .map(questionWithResponses -> buildQuestionForInstructor(
+                        questionWithResponses.getKey(), questionWithResponses.getValue(), bundle));
+    }
 
-        return sessionResultsData;
+    private static QuestionOutput buildQuestionForInstructor(
+            String questionId, List<FeedbackResponseAttributes> responses, SessionResultsBundle bundle) {
+        FeedbackQuestionAttributes question = bundle.getQuestionsMap().get(questionId);
+        QuestionOutput qnOutput = new QuestionOutput(question,
+                bundle.getQuestionResultStatisticsJson(question, null), false, false);
+        // put normal responses
+        List<ResponseOutput> allResponses = buildResponsesForInstructor(
+                responses, bundle.getResponseVisibilityTable(questionId), bundle, false);
+        qnOutput.allResponses.addAll(allResponses);
+
+        // put missing responses
+        List<FeedbackResponseAttributes> missingResponses = bundle.getQuestionMissingResponseMap().get(questionId);
+        qnOutput.allResponses.addAll(buildResponsesForInstructor(
+                missingResponses, bundle.getMissingResponseVisibilityTable(questionId), bundle, true));
+
+        return qnOutput;
     }
 
     /**
@@ -69,69 +82,81 @@ public class SessionResultsData extends ApiOutput {
      */
     public static SessionResultsData initForStudent(SessionResultsBundle bundle, StudentAttributes student) {
         SessionResultsData sessionResultsData = new SessionResultsData();
+        streamForStudent(bundle, student).forEachOrdered(sessionResultsData.questions::add);
+        return sessionResultsData;
+    }
 
-        Map<String, List<FeedbackResponseAttributes>> questionsWithResponses =
-                bundle.getQuestionResponseMap();
-        questionsWithResponses.forEach((questionId, responses) -> {
-            FeedbackQuestionAttributes question = bundle.getQuestionsMap().get(questionId);
-            FeedbackQuestionDetails questionDetails = question.getQuestionDetailsCopy();
-            // check if question has comments (on any responses) not visible for preview
-            boolean hasCommentNotVisibleForPreview = bundle.getQuestionsWithCommentNotVisibleForPreview()
-                    .contains(questionId);
-            QuestionOutput qnOutput = new QuestionOutput(question,
-                    questionDetails.getQuestionResultStatisticsJson(question, student.getEmail(), bundle),
-                    false, hasCommentNotVisibleForPreview);
-            Map<String, List<ResponseOutput>> otherResponsesMap = new HashMap<>();
-
-            qnOutput.getFeedbackQuestion().hideInformationForStudent();
-
-            if (questionDetails.isIndividualResponsesShownToStudents()) {
-                for (FeedbackResponseAttributes response : responses) {
-                    boolean isUserInstructor = Const.USER_TEAM_FOR_INSTRUCTOR.equals(student.getTeam());
-
-                    boolean isUserGiver = student.getEmail().equals(response.getGiver())
-                            && (isUserInstructor && question.getGiverType() == FeedbackParticipantType.INSTRUCTORS
-                            || !isUserInstructor && question.getGiverType() != FeedbackParticipantType.INSTRUCTORS);
-                    boolean isUserRecipient = student.getEmail().equals(response.getRecipient())
-                            && (isUserInstructor && question.getRecipientType() == FeedbackParticipantType.INSTRUCTORS
-                            || !isUserInstructor && question.getRecipientType() != FeedbackParticipantType.INSTRUCTORS);
-                    ResponseOutput responseOutput = buildSingleResponseForStudent(response, bundle, student);
-
-                    if (isUserRecipient) {
-                        qnOutput.responsesToSelf.add(responseOutput);
-                    }
-
-                    if (isUserGiver) {
-                        qnOutput.responsesFromSelf.add(responseOutput);
-                    }
-
-                    if (!isUserRecipient && !isUserGiver) {
-                        // we don't need care about the keys of the map here
-                        // as only the values of the map will be used
-                        otherResponsesMap.computeIfAbsent(response.getRecipient(), k -> new ArrayList<>())
-                                .add(responseOutput);
-                    }
-
-                    qnOutput.allResponses.add(responseOutput);
+    /**
+     * Lazily constructs the question outputs of the API output for student.
+     *
+     * <p>Each question output is only built when the stream is consumed, in the same order as
+     * {@link #initForStudent(SessionResultsBundle, StudentAttributes)}.
+     */
+    public static Stream<QuestionOutput> streamForStudent(SessionResultsBundle bundle, StudentAttributes student) {
+        Stream<QuestionOutput> questionsWithResponses = bundle.getQuestionResponseMap().entrySet().stream()
+                .map(questionWithResponses -> buildQuestionForStudent(
+                        questionWithResponses.getKey(), questionWithResponses.getValue(), bundle, student));
+        Stream<QuestionOutput> questionsWithResponsesNotVisibleForPreview =
+                bundle.getQuestionsNotVisibleForPreviewMap().values().stream()
+                        .map(question -> new QuestionOutput(question, "", true, false));
+        return Stream.concat(questionsWithResponses, questionsWithResponsesNotVisibleForPreview);
+    }
+
+    private static QuestionOutput buildQuestionForStudent(String questionId, List<FeedbackResponseAttributes> responses,
+                                                          SessionResultsBundle bundle, StudentAttributes student) {
+        FeedbackQuestionAttributes question = bundle.getQuestionsMap().get(questionId);
+        FeedbackQuestionDetails questionDetails = question.getQuestionDetailsCopy();
+        // check if question has comments (on any responses) not visible for preview
+        boolean hasCommentNotVisibleForPreview = bundle.getQuestionsWithCommentNotVisibleForPreview()
+                .contains(questionId);
+        QuestionOutput qnOutput = new QuestionOutput(question,
+                bundle.getQuestionResultStatisticsJson(question, student.getEmail()),
+                false, hasCommentNotVisibleForPreview);
+        Map<String, List<ResponseOutput>> otherResponsesMap = new HashMap<>();
+
+        qnOutput.getFeedbackQuestion().hideInformationForStudent();
+
+        if (questionDetails.isIndividualResponsesShownToStudents()) {
+            NameVisibilityTable visibilityTable = bundle.getResponseVisibilityTable(questionId);
+            for (int i = 0; i < responses.size(); i++) {
+                FeedbackResponseAttributes response = responses.get(i);
+                boolean isUserInstructor = Const.USER_TEAM_FOR_INSTRUCTOR.equals(student.getTeam());
+
+                boolean isUserGiver = student.getEmail().equals(response.getGiver())
+                        && (isUserInstructor && question.getGiverType() == FeedbackParticipantType.INSTRUCTORS
+                        || !isUserInstructor && question.getGiverType() != FeedbackParticipantType.INSTRUCTORS);
+                boolean isUserRecipient = student.getEmail().equals(response.getRecipient())
+                        && (isUserInstructor && question.getRecipientType() == FeedbackParticipantType.INSTRUCTORS
+                        || !isUserInstructor && question.getRecipientType() != FeedbackParticipantType.INSTRUCTORS);
+                ResponseOutput responseOutput = buildSingleResponseForStudent(response,
+                        visibilityTable.isGiverVisible(i), visibilityTable.isRecipientVisible(i), bundle, student);
+
+                if (isUserRecipient) {
+                    qnOutput.responsesToSelf.add(responseOutput);
                 }
-            }
-            qnOutput.otherResponses.addAll(otherResponsesMap.values());
 
-            sessionResultsData.questions.add(qnOutput);
-        });
+                if (isUserGiver) {
+                    qnOutput.responsesFromSelf.add(responseOutput);
+                }
 
-        Map<String, FeedbackQuestionAttributes> questionsWithResponsesNotVisibleForPreview =
-                bundle.getQuestionsNotVisibleForPreviewMap();
-        questionsWithResponsesNotVisibleForPreview.forEach((questionId, question) -> {
-            QuestionOutput qnOutput = new QuestionOutput(question, "", true, false);
-            sessionResultsData.questions.add(qnOutput);
-        });
+                if (!isUserRecipient && !isUserGiver) {
+                    // we don't need care about the keys of the map here
+                    // as only the values of the map will be used
+                    otherResponsesMap.computeIfAbsent(response.getRecipient(), k -> new ArrayList<>())
+                            .add(responseOutput);
+                }
 
-        return sessionResultsData;
+                qnOutput.allResponses.add(responseOutput);
+            }
+        }
+        qnOutput.otherResponses.addAll(otherResponsesMap.values());
+
+        return qnOutput;
     }
 
     private static ResponseOutput buildSingleResponseForStudent(
-            FeedbackResponseAttributes response, SessionResultsBundle bundle, StudentAttributes student) {
+            FeedbackResponseAttributes response, boolean isGiverVisible, boolean isRecipientVisible,
+            SessionResultsBundle bundle, StudentAttributes student) {
         FeedbackQuestionAttributes question = bundle.getQuestionsMap().get(response.getFeedbackQuestionId());
         boolean isUserInstructor = Const.USER_TEAM_FOR_INSTRUCTOR.equals(student.getTeam());
 
@@ -151,7 +176,7 @@ public class SessionResultsData extends ApiOutput {
             giverTeam = student.getTeam();
         } else {
             // we don't want student to figure out who is who by using the hash
-            giverName = removeAnonymousHash(getGiverNameOfResponse(response, bundle));
+            giverName = removeAnonymousHash(getGiverNameOfResponse(response, isGiverVisible, bundle));
         }
 
         // process recipient
@@ -171,7 +196,7 @@ public class SessionResultsData extends ApiOutput {
             recipientTeam = response.getRecipient();
         } else {
             // we don't want student to figure out who is who by using the hash
-            recipientName = removeAnonymousHash(getRecipientNameOfResponse(response, bundle));
+            recipientName = removeAnonymousHash(getRecipientNameOfResponse(response, isRecipientVisible, bundle));
             if (!recipientName.contains(Const.DISPLAYED_NAME_FOR_ANONYMOUS_PARTICIPANT)) {
                 recipientTeam = bundle.getRoster().getInfoForIdentifier(response.getRecipient()).getTeamName();
             }
@@ -180,7 +205,8 @@ public class SessionResultsData extends ApiOutput {
         // process comments
         List<FeedbackResponseCommentAttributes> feedbackResponseComments =
                 bundle.getResponseCommentsMap().getOrDefault(response.getId(), Collections.emptyList());
-        Queue<CommentOutput> comments = buildComments(feedbackResponseComments, bundle);
+        Queue<CommentOutput> comments = buildComments(
+                feedbackResponseComments, bundle.getCommentVisibilityTable(response.getId()), bundle);
 
         return ResponseOutput.builder()
                 .withResponseId(response.getId())
@@ -205,22 +231,26 @@ public class SessionResultsData extends ApiOutput {
     }
 
     private static List<ResponseOutput> buildResponsesForInstructor(
-            List<FeedbackResponseAttributes> responses, SessionResultsBundle bundle, boolean areMissingResponses) {
+            List<FeedbackResponseAttributes> responses, NameVisibilityTable visibilityTable,
+            SessionResultsBundle bundle, boolean areMissingResponses) {
         List<ResponseOutput> output = new ArrayList<>();
 
-        for (FeedbackResponseAttributes response : responses) {
-            output.add(buildSingleResponseForInstructor(response, bundle, areMissingResponses));
+        for (int i = 0; i < responses.size(); i++) {
+            output.add(buildSingleResponseForInstructor(responses.get(i),
+                    visibilityTable.isGiverVisible(i), visibilityTable.isRecipientVisible(i),
+                    bundle, areMissingResponses));
         }
 
         return output;
     }
 
     private static ResponseOutput buildSingleResponseForInstructor(
-            FeedbackResponseAttributes response, SessionResultsBundle bundle, boolean isMissingResponse) {
+            FeedbackResponseAttributes response, boolean isGiverVisible, boolean isRecipientVisible,
+            SessionResultsBundle bundle, boolean isMissingResponse) {
         // process giver
         String giverEmail = null;
         String relatedGiverEmail = null;
-        if (bundle.isResponseGiverVisible(response)) {
+        if (isGiverVisible) {
             giverEmail = response.getGiver();
             relatedGiverEmail = response.getGiver();
 
@@ -231,7 +261,7 @@ public class SessionResultsData extends ApiOutput {
                 giverEmail = null;
             }
         }
-        String giverName = getGiverNameOfResponse(response, bundle);
+        String giverName = getGiverNameOfResponse(response, isGiverVisible, bundle);
         String giverTeam = bundle.getRoster().getInfoForIdentifier(response.getGiver()).getTeamName();
         String giverSection = response.getGiverSection();
         FeedbackQuestionAttributes question = bundle.getQuestionsMap().get(response.getFeedbackQuestionId());
@@ -244,7 +274,7 @@ public class SessionResultsData extends ApiOutput {
 
         // process recipient
         String recipientEmail = null;
-        String recipientName = getRecipientNameOfResponse(response, bundle);
+        String recipientName = getRecipientNameOfResponse(response, isRecipientVisible, bundle);
         String recipientTeam =
                 bundle.getRoster().getInfoForIdentifier(response.getRecipient()).getTeamName();
         String recipientSection = response.getRecipientSection();
@@ -254,7 +284,7 @@ public class SessionResultsData extends ApiOutput {
             recipientTeam = Const.USER_TEAM_FOR_INSTRUCTOR;
             recipientSection = Const.DEFAULT_SECTION;
         }
-        if (bundle.isResponseRecipientVisible(response)) {
+        if (isRecipientVisible) {
             recipientEmail = response.getRecipient();
 
             if (bundle.getRoster().isTeamInCourse(recipientEmail)) {
@@ -269,7 +299,8 @@ public class SessionResultsData extends ApiOutput {
         // process comments
         List<FeedbackResponseCommentAttributes> feedbackResponseComments =
                 bundle.getResponseCommentsMap().getOrDefault(response.getId(), Collections.emptyList());
-        Queue<CommentOutput> comments = buildComments(feedbackResponseComments, bundle);
+        Queue<CommentOutput> comments = buildComments(
+                feedbackResponseComments, bundle.getCommentVisibilityTable(response.getId()), bundle);
 
         return ResponseOutput.builder()
                 .withIsMissingResponse(isMissingResponse)
@@ -294,14 +325,15 @@ public class SessionResultsData extends ApiOutput {
      *
      * <p>Anonymized the name if necessary.
      */
-    private static String getGiverNameOfResponse(FeedbackResponseAttributes response, SessionResultsBundle bundle) {
+    private static String getGiverNameOfResponse(
+            FeedbackResponseAttributes response, boolean isGiverVisible, SessionResultsBundle bundle) {
         FeedbackQuestionAttributes question = bundle.getQuestionsMap().get(response.getFeedbackQuestionId());
         FeedbackParticipantType participantType = question.getGiverType();
 
         CourseRoster.ParticipantInfo userInfo = bundle.getRoster().getInfoForIdentifier(response.getGiver());
         String name = userInfo.getName();
 
-        if (!bundle.isResponseGiverVisible(response)) {
+        if (!isGiverVisible) {
             name = SessionResultsBundle.getAnonName(participantType, name);
         }
 
@@ -313,7 +345,8 @@ public class SessionResultsData extends ApiOutput {
      *
      * <p>Anonymized the name if necessary.
      */
-    private static String getRecipientNameOfResponse(FeedbackResponseAttributes response, SessionResultsBundle bundle) {
+    private static String getRecipientNameOfResponse(
+            FeedbackResponseAttributes response, boolean isRecipientVisible, SessionResultsBundle bundle) {
         FeedbackQuestionAttributes question = bundle.getQuestionsMap().get(response.getFeedbackQuestionId());
         FeedbackParticipantType participantType = question.getRecipientType();
         if (participantType == FeedbackParticipantType.SELF) {
@@ -327,7 +360,7 @@ public class SessionResultsData extends ApiOutput {
             // for general question
             name = Const.USER_NOBODY_TEXT;
         }
-        if (!bundle.isResponseRecipientVisible(response)) {
+        if (!isRecipientVisible) {
             name = SessionResultsBundle.getAnonName(participantType, name);
         }
 
@@ -335,11 +368,13 @@ public class SessionResultsData extends ApiOutput {
     }
 
     private static Queue<CommentOutput> buildComments(List<FeedbackResponseCommentAttributes> feedbackResponseComments,
+                                                      NameVisibilityTable visibilityTable,
                                                       SessionResultsBundle bundle) {
         LinkedList<CommentOutput> outputs = new LinkedList<>();
 
         CommentOutput participantComment = null;
-        for (FeedbackResponseCommentAttributes comment : feedbackResponseComments) {
+        for (int i = 0; i < feedbackResponseComments.size(); i++) {
+            FeedbackResponseCommentAttributes comment = feedbackResponseComments.get(i);
             if (comment.isCommentFromFeedbackParticipant()) {
                 // participant comment will not need these fields
                 participantComment = CommentOutput.builder(comment)
@@ -353,7 +388,7 @@ public class SessionResultsData extends ApiOutput {
                 String giverName = Const.DISPLAYED_NAME_FOR_ANONYMOUS_PARTICIPANT;
                 String lastEditorEmail = Const.DISPLAYED_NAME_FOR_ANONYMOUS_PARTICIPANT;
                 String lastEditorName = Const.DISPLAYED_NAME_FOR_ANONYMOUS_PARTICIPANT;
-                if (bundle.isCommentGiverVisible(comment)) {
+                if (visibilityTable.isGiverVisible(i)) {
                     giverEmail = comment.getCommentGiver();
                     giverName = bundle.getRoster().getInfoForIdentifier(comment.getCommentGiver()).getName();
                     lastEditorEmail = comment.getLastEditorEmail();
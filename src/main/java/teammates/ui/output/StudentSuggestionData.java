@@ -0,0 +1,44 @@
+package teammates.ui.output;
+
+import teammates.common.datatransfer.attributes.StudentAttributes;
+
+/**
+ * The API output format of a student suggested as the user types a search query.
+ */
+public class StudentSuggestionData extends ApiOutput {
+
+    private final String email;
+    private final String courseId;
+    private final String name;
+    private final String teamName;
+    private final String sectionName;
+
+    public StudentSuggestionData(StudentAttributes studentAttributes) {
+        this.email = studentAttributes.getEmail();
+        this.courseId = studentAttributes.getCourse();
+        this.name = studentAttributes.getName();
+        this.teamName = studentAttributes.getTeam();
+        this.sectionName = studentAttributes.getSection();
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getCourseId() {
+        return courseId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getTeamName() {
+        return teamName;
+    }
+
+    public String getSectionName() {
+        return sectionName;
+    }
+
+}
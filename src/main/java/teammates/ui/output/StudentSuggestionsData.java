@@ -0,0 +1,23 @@
+package teammates.ui.output;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import teammates.common.datatransfer.attributes.StudentAttributes;
+
+/**
+ * The API output format of a list of students suggested as the user types a search query.
+ */
+public class StudentSuggestionsData extends ApiOutput {
+
+    private final List<StudentSuggestionData> students;
+
+    public StudentSuggestionsData(List<StudentAttributes> students) {
+        this.students = students.stream().map(StudentSuggestionData::new).collect(Collectors.toList());
+    }
+
+    public List<StudentSuggestionData> getStudents() {
+        return students;
+    }
+
+}
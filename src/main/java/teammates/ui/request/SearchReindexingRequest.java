@@ -0,0 +1,62 @@
+package teammates.ui.request;
+
+/**
+ * The request of re-indexing the entities of a search collection, continuing from a cursor.
+ */
+public class SearchReindexingRequest extends BasicRequest {
+
+    private final SearchCollection collection;
+    private final String cursor;
+    private final int numIndexed;
+
+    public SearchReindexingRequest(SearchCollection collection, String cursor, int numIndexed) {
+        this.collection = collection;
+        this.cursor = cursor;
+        this.numIndexed = numIndexed;
+    }
+
+    public SearchCollection getCollection() {
+        return collection;
+    }
+
+    /**
+     * Gets the cursor of the entities to continue re-indexing from, or null to start from the beginning.
+     */
+    public String getCursor() {
+        return cursor;
+    }
+
+    /**
+     * Gets the number of entities re-indexed before the cursor.
+     */
+    public int getNumIndexed() {
+        return numIndexed;
+    }
+
+    @Override
+    public void validate() throws InvalidHttpRequestBodyException {
+        assertTrue(collection != null, "Search collection cannot be null");
+        assertTrue(numIndexed >= 0, "Number of entities indexed cannot be negative");
+    }
+
+    /**
+     * The search collections which can be re-indexed.
+     */
+    public enum SearchCollection {
+        /**
+         * The collection of students.
+         */
+        STUDENTS,
+
+        /**
+         * The collection of instructors.
+         */
+        INSTRUCTORS,
+
+        /**
+         * The collection of account requests.
+         */
+        ACCOUNT_REQUESTS
+    }
+
+}
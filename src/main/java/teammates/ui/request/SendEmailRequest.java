@@ -1,29 +1,52 @@
 package teammates.ui.request;
 
+import java.util.Collections;
+import java.util.List;
+
+import javax.annotation.Nullable;
+
 import teammates.common.util.EmailWrapper;
 
 /**
- * The request of sending an email.
+ * The request of sending a chunk of emails.
  */
 public class SendEmailRequest extends BasicRequest {
+    @Nullable
+    private final List<EmailWrapper> emails;
+
+    /**
+     * The single email of a request queued before emails were sent in chunks.
+     */
+    @Nullable
     private final EmailWrapper email;
 
-    public SendEmailRequest(EmailWrapper email) {
-        this.email = email;
+    public SendEmailRequest(List<EmailWrapper> emails) {
+        this.emails = emails;
+        this.email = null;
     }
 
-    public EmailWrapper getEmail() {
-        return email;
+    /**
+     * Gets the emails to be sent, including the single email of a request queued before emails were sent in chunks.
+     */
+    public List<EmailWrapper> getEmails() {
+        if (emails == null && email != null) {
+            return Collections.singletonList(email);
+        }
+        return emails;
     }
 
     @Override
     public void validate() throws InvalidHttpRequestBodyException {
-        assertTrue(email != null, "Email cannot be null");
-        assertTrue(email.getContent() != null, "Email content cannot be null");
-        assertTrue(email.getRecipient() != null, "Email recipient's address cannot be null");
-        assertTrue(email.getSenderEmail() != null, "Email sender's address cannot be null");
-        assertTrue(email.getReplyTo() != null, "Email reply-to address cannot be null");
-        assertTrue(email.getSubject() != null, "Email subject cannot be null");
+        List<EmailWrapper> emailsToSend = getEmails();
+        assertTrue(emailsToSend != null && !emailsToSend.isEmpty(), "Emails cannot be empty");
+        for (EmailWrapper emailToSend : emailsToSend) {
+            assertTrue(emailToSend != null, "Email cannot be null");
+            assertTrue(emailToSend.getContent() != null, "Email content cannot be null");
+            assertTrue(emailToSend.getRecipient() != null, "Email recipient's address cannot be null");
+            assertTrue(emailToSend.getSenderEmail() != null, "Email sender's address cannot be null");
+            assertTrue(emailToSend.getReplyTo() != null, "Email reply-to address cannot be null");
+            assertTrue(emailToSend.getSubject() != null, "Email subject cannot be null");
+        }
     }
 
 }
@@ -0,0 +1,30 @@
+package teammates.ui.request;
+
+/**
+ * The request of specifying students of a course to be indexed for search.
+ */
+public class StudentsSearchIndexingRequest extends BasicRequest {
+
+    private final String courseId;
+    private final String[] studentEmails;
+
+    public StudentsSearchIndexingRequest(String courseId, String[] studentEmails) {
+        this.courseId = courseId;
+        this.studentEmails = studentEmails;
+    }
+
+    public String getCourseId() {
+        return courseId;
+    }
+
+    public String[] getStudentEmails() {
+        return studentEmails;
+    }
+
+    @Override
+    public void validate() throws InvalidHttpRequestBodyException {
+        assertTrue(courseId != null, "Course ID cannot be null");
+        assertTrue(studentEmails != null, "List of students to index cannot be null");
+    }
+
+}
@@ -1,6 +1,7 @@
 package teammates.ui.webapi;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -29,6 +30,11 @@ import teammates.ui.request.StudentsEnrollRequest;
  */
 class EnrollStudentsAction extends Action {
 
+    /**
+     * Maximum number of students written to the datastore in one batch.
+     */
+    private static final int ENROLLMENT_BATCH_SIZE = 100;
+
     @Override
     AuthType getMinAuthLevel() {
         return AuthType.LOGGED_IN;
@@ -67,46 +73,88 @@ class EnrollStudentsAction extends Action {
             throw new InvalidOperationException(e);
         }
 
-        List<StudentAttributes> existingStudents = logic.getStudentsForCourse(courseId);
-
-        Set<String> existingStudentsEmail =
-                existingStudents.stream().map(StudentAttributes::getEmail).collect(Collectors.toSet());
         List<StudentAttributes> enrolledStudents = new ArrayList<>();
         List<EnrollStudentsData.EnrollErrorResults> failToEnrollStudents = new ArrayList<>();
-        for (StudentAttributes student : studentsToEnroll) {
+        for (int i = 0; i < studentsToEnroll.size(); i += ENROLLMENT_BATCH_SIZE) {
             RequestTracer.checkRemainingTime();
+            List<StudentAttributes> batch =
+                    studentsToEnroll.subList(i, Math.min(i + ENROLLMENT_BATCH_SIZE, studentsToEnroll.size()));
+
+            List<StudentAttributes> enrolledStudentsInBatch = enrollStudents(courseId, batch, failToEnrollStudents);
+            taskQueuer.scheduleStudentsForSearchIndexing(courseId, enrolledStudentsInBatch.stream()
+                    .map(StudentAttributes::getEmail)
+                    .collect(Collectors.toList()));
+            enrolledStudents.addAll(enrolledStudentsInBatch);
+        }
+
+        return new JsonResult(new EnrollStudentsData(new StudentsData(enrolledStudents), failToEnrollStudents));
+    }
+
+    /**
+     * Enrolls a batch of students with batched writes, falling back to enrolling the students one by one
+     * to find out which of them cannot be enrolled if the batched writes fail.
+     */
+    private List<StudentAttributes> enrollStudents(String courseId, List<StudentAttributes> students,
+                                                   List<EnrollStudentsData.EnrollErrorResults> failToEnrollStudents) {
+        Set<String> existingStudentsEmail = logic.getStudentsForEmails(courseId,
+                students.stream().map(StudentAttributes::getEmail).collect(Collectors.toList())).keySet();
+
+        List<StudentAttributes> studentsToCreate = new ArrayList<>();
+        List<StudentAttributes.UpdateOptions> studentsToUpdate = new ArrayList<>();
+        for (StudentAttributes student : students) {
             if (existingStudentsEmail.contains(student.getEmail())) {
                 // The student has been enrolled in the course.
-                StudentAttributes.UpdateOptions updateOptions =
-                        StudentAttributes.updateOptionsBuilder(student.getCourse(), student.getEmail())
-                                .withName(student.getName())
-                                .withSectionName(student.getSection())
-                                .withTeamName(student.getTeam())
-                                .withComment(student.getComments())
-                                .build();
-                try {
-                    StudentAttributes updatedStudent = logic.updateStudentCascade(updateOptions);
-                    taskQueuer.scheduleStudentForSearchIndexing(updatedStudent.getCourse(), updatedStudent.getEmail());
-                    enrolledStudents.add(updatedStudent);
-                } catch (InvalidParametersException | EntityDoesNotExistException
-                        | EntityAlreadyExistsException exception) {
-                    // Unsuccessfully enrolled students will not be returned.
-                    failToEnrollStudents.add(new EnrollStudentsData.EnrollErrorResults(student.getEmail(),
-                            exception.getMessage()));
-                }
+                studentsToUpdate.add(getUpdateOptions(student));
             } else {
                 // The student is new.
-                try {
-                    StudentAttributes newStudent = logic.createStudent(student);
-                    taskQueuer.scheduleStudentForSearchIndexing(newStudent.getCourse(), newStudent.getEmail());
-                    enrolledStudents.add(newStudent);
-                } catch (InvalidParametersException | EntityAlreadyExistsException exception) {
-                    // Unsuccessfully enrolled students will not be returned.
-                    failToEnrollStudents.add(new EnrollStudentsData.EnrollErrorResults(student.getEmail(),
-                            exception.getMessage()));
+                studentsToCreate.add(student);
+            }
+        }
+
+        List<StudentAttributes> savedStudents;
+        try {
+            savedStudents = logic.saveStudentsCascade(studentsToCreate, studentsToUpdate);
+        } catch (InvalidParametersException | EntityDoesNotExistException | EntityAlreadyExistsException e) {
+            return enrollStudentsIndividually(existingStudentsEmail, students, failToEnrollStudents);
+        }
+
+        // return the students in the order of the enroll requests
+        Iterator<StudentAttributes> createdStudents = savedStudents.subList(0, studentsToCreate.size()).iterator();
+        Iterator<StudentAttributes> updatedStudents =
+                savedStudents.subList(studentsToCreate.size(), savedStudents.size()).iterator();
+        return students.stream()
+                .map(student -> existingStudentsEmail.contains(student.getEmail())
+                        ? updatedStudents.next() : createdStudents.next())
+                .collect(Collectors.toList());
+    }
+
+    private List<StudentAttributes> enrollStudentsIndividually(
+            Set<String> existingStudentsEmail, List<StudentAttributes> students,
+            List<EnrollStudentsData.EnrollErrorResults> failToEnrollStudents) {
+        List<StudentAttributes> enrolledStudents = new ArrayList<>();
+        for (StudentAttributes student : students) {
+            try {
+                if (existingStudentsEmail.contains(student.getEmail())) {
+                    enrolledStudents.add(logic.updateStudentCascade(getUpdateOptions(student)));
+                } else {
+                    enrolledStudents.add(logic.createStudent(student));
                 }
+            } catch (InvalidParametersException | EntityDoesNotExistException
+                    | EntityAlreadyExistsException exception) {
+                // Unsuccessfully enrolled students will not be returned.
+                failToEnrollStudents.add(new EnrollStudentsData.EnrollErrorResults(student.getEmail(),
+                        exception.getMessage()));
             }
         }
-        return new JsonResult(new EnrollStudentsData(new StudentsData(enrolledStudents), failToEnrollStudents));
+        return enrolledStudents;
+    }
+
+    private StudentAttributes.UpdateOptions getUpdateOptions(StudentAttributes student) {
+        return StudentAttributes.updateOptionsBuilder(student.getCourse(), student.getEmail())
+                .withName(student.getName())
+                .withSectionName(student.getSection())
+                .withTeamName(student.getTeam())
+                .withComment(student.getComments())
+                .build();
     }
 }
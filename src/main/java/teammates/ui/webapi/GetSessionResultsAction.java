@@ -7,7 +7,6 @@ import teammates.common.datatransfer.attributes.InstructorAttributes;
 import teammates.common.datatransfer.attributes.StudentAttributes;
 import teammates.common.util.Const;
 import teammates.common.util.StringHelper;
-import teammates.ui.output.SessionResultsData;
 import teammates.ui.request.Intent;
 
 /**
@@ -81,7 +80,7 @@ class GetSessionResultsAction extends BasicFeedbackSubmissionAction {
 
             bundle = logic.getSessionResultsForCourse(feedbackSessionName, courseId, instructor.getEmail(),
                     questionId, selectedSection, fetchType);
-            return new JsonResult(SessionResultsData.initForInstructor(bundle));
+            return new SessionResultsJsonResult(bundle);
         case INSTRUCTOR_RESULT:
             // Section name filter is not applicable here
             instructor = getInstructorOfCourseFromRequest(courseId);
@@ -94,7 +93,7 @@ class GetSessionResultsAction extends BasicFeedbackSubmissionAction {
                     .withTeamName(Const.USER_TEAM_FOR_INSTRUCTOR)
                     .build();
 
-            return new JsonResult(SessionResultsData.initForStudent(bundle, student));
+            return new SessionResultsJsonResult(bundle, student);
         case STUDENT_RESULT:
             // Section name filter is not applicable here
             student = getStudentOfCourseFromRequest(courseId);
@@ -102,7 +101,7 @@ class GetSessionResultsAction extends BasicFeedbackSubmissionAction {
             bundle = logic.getSessionResultsForUser(feedbackSessionName, courseId, student.getEmail(),
                     false, questionId, isPreviewResults);
 
-            return new JsonResult(SessionResultsData.initForStudent(bundle, student));
+            return new SessionResultsJsonResult(bundle, student);
         case INSTRUCTOR_SUBMISSION:
         case STUDENT_SUBMISSION:
             throw new InvalidHttpParameterException("Invalid intent for this action");
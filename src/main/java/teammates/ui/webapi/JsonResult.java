@@ -47,6 +47,17 @@ public class JsonResult extends ActionResult {
         this.cookies = new ArrayList<>();
     }
 
+    /**
+     * Constructor for subclasses which produce the output themselves, e.g. by streaming it.
+     *
+     * <p>Such subclasses are expected to override both {@link #getOutput()} and {@link #send(HttpServletResponse)}.
+     */
+    JsonResult() {
+        super(HttpStatus.SC_OK);
+        this.output = null;
+        this.cookies = new ArrayList<>();
+    }
+
     ApiOutput getOutput() {
         return output;
     }
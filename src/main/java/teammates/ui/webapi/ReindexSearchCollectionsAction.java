@@ -0,0 +1,21 @@
+package teammates.ui.webapi;
+
+import teammates.ui.request.SearchReindexingRequest.SearchCollection;
+
+/**
+ * Re-indexes all entities of all search collections.
+ *
+ * <p>Each collection is re-indexed by its own chain of tasks, so that the collections are re-indexed in parallel.
+ */
+class ReindexSearchCollectionsAction extends AdminOnlyAction {
+
+    @Override
+    public JsonResult execute() {
+        for (SearchCollection collection : SearchCollection.values()) {
+            taskQueuer.scheduleSearchReindexing(collection, null, 0);
+        }
+
+        return new JsonResult("Re-indexing of all search collections has been scheduled.");
+    }
+
+}
@@ -0,0 +1,80 @@
+package teammates.ui.webapi;
+
+import org.apache.http.HttpStatus;
+
+import teammates.common.datatransfer.CursorPage;
+import teammates.common.exception.SearchServiceException;
+import teammates.common.util.Logger;
+import teammates.common.util.RequestTracer;
+import teammates.ui.request.InvalidHttpRequestBodyException;
+import teammates.ui.request.SearchReindexingRequest;
+import teammates.ui.request.SearchReindexingRequest.SearchCollection;
+
+/**
+ * Task queue worker action: re-indexes all entities of a search collection, one page after another.
+ *
+ * <p>As many pages as the request deadline allows are indexed, after which another task is queued
+ * to continue from the cursor of the next page. The cursor in the task thus checkpoints the progress of the job,
+ * and a failed task is retried from its own cursor without indexing the pages of earlier tasks again.
+ */
+class SearchReindexingWorkerAction extends AdminOnlyAction {
+
+    /**
+     * The number of entities indexed in each page.
+     */
+    static final int PAGE_SIZE = 200;
+
+    private static final Logger log = Logger.getLogger();
+
+    // leave enough time to index one more page and queue the next task before the request times out
+    private static final long MIN_REMAINING_TIME_MILLIS = 60 * 1000;
+
+    @Override
+    public JsonResult execute() throws InvalidHttpRequestBodyException {
+        SearchReindexingRequest reindexingRequest = getAndValidateRequestBody(SearchReindexingRequest.class);
+        SearchCollection collection = reindexingRequest.getCollection();
+        String cursor = reindexingRequest.getCursor();
+        int numIndexed = reindexingRequest.getNumIndexed();
+
+        boolean hasIndexedPage = false;
+        do {
+            CursorPage<?> page;
+            try {
+                page = reindexPage(collection, cursor);
+            } catch (SearchServiceException e) {
+                if (!hasIndexedPage) {
+                    // Set an arbitrary retry code outside of the range 200-299 to trigger automatic retry
+                    return new JsonResult("Failure", HttpStatus.SC_BAD_GATEWAY);
+                }
+                // continue from the failed page in a new task, so that the pages indexed so far are not indexed again
+                log.warning("Failed to re-index a page of the " + collection + " search collection", e);
+                break;
+            }
+            hasIndexedPage = true;
+            numIndexed += page.getItems().size();
+            cursor = page.getNextCursor();
+        } while (cursor != null && RequestTracer.getRemainingTimeMillis() > MIN_REMAINING_TIME_MILLIS);
+
+        if (cursor == null) {
+            log.info("Re-indexed all " + numIndexed + " entities of the " + collection + " search collection");
+            return new JsonResult("Successful");
+        }
+
+        taskQueuer.scheduleSearchReindexing(collection, cursor, numIndexed);
+        return new JsonResult("Re-indexed " + numIndexed + " entities so far");
+    }
+
+    private CursorPage<?> reindexPage(SearchCollection collection, String cursor) throws SearchServiceException {
+        switch (collection) {
+        case STUDENTS:
+            return logic.reindexStudents(cursor, PAGE_SIZE);
+        case INSTRUCTORS:
+            return logic.reindexInstructors(cursor, PAGE_SIZE);
+        case ACCOUNT_REQUESTS:
+            return logic.reindexAccountRequests(cursor, PAGE_SIZE);
+        default:
+            throw new AssertionError("Unknown search collection: " + collection);
+        }
+    }
+
+}
@@ -0,0 +1,45 @@
+package teammates.ui.webapi;
+
+import java.util.List;
+
+import teammates.common.datatransfer.attributes.InstructorAttributes;
+import teammates.common.datatransfer.attributes.StudentAttributes;
+import teammates.common.exception.SearchServiceException;
+import teammates.common.util.Const;
+import teammates.ui.output.StudentSuggestionsData;
+
+/**
+ * Action for suggesting students as an instructor types a search query.
+ *
+ * <p>The suggestions are answered from the search index alone, without reading the students from the database.
+ */
+class SearchStudentSuggestionsAction extends Action {
+
+    @Override
+    AuthType getMinAuthLevel() {
+        return AuthType.LOGGED_IN;
+    }
+
+    @Override
+    void checkSpecificAccessControl() throws UnauthorizedAccessException {
+        if (!userInfo.isInstructor) {
+            throw new UnauthorizedAccessException("Instructor privilege is required to access this resource.");
+        }
+    }
+
+    @Override
+    public JsonResult execute() {
+        String searchKey = getNonNullRequestParamValue(Const.ParamsNames.SEARCH_KEY);
+        List<StudentAttributes> students;
+
+        try {
+            List<InstructorAttributes> instructors = logic.getInstructorsForGoogleId(userInfo.id);
+            students = logic.suggestStudents(searchKey, instructors);
+        } catch (SearchServiceException e) {
+            return new JsonResult(e.getMessage(), e.getStatusCode());
+        }
+
+        return new JsonResult(new StudentSuggestionsData(students));
+    }
+
+}
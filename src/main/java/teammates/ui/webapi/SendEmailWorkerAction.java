@@ -1,5 +1,8 @@
 package teammates.ui.webapi;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.apache.http.HttpStatus;
 
 import teammates.common.util.EmailSendingStatus;
@@ -8,20 +11,68 @@ import teammates.ui.request.InvalidHttpRequestBodyException;
 import teammates.ui.request.SendEmailRequest;
 
 /**
- * Task queue worker action: sends queued email.
+ * Task queue worker action: sends a chunk of queued emails.
+ *
+ * <p>The emails are sent in batches of at most {@link #MAX_EMAILS_PER_SECOND}, one batch per second,
+ * each in as few requests to the email sending service as the service allows.
+ * Emails which fail to be sent are queued again in a task of their own, so that the emails sent successfully
+ * are not sent again when the failed ones are retried. If none of the emails is sent, or the failed emails
+ * cannot be queued again, the action fails so that the task is retried by the queue instead.
  */
 class SendEmailWorkerAction extends AdminOnlyAction {
 
+    static final int MAX_EMAILS_PER_SECOND = 10;
+
     @Override
     public JsonResult execute() throws InvalidHttpRequestBodyException {
         SendEmailRequest emailRequest = getAndValidateRequestBody(SendEmailRequest.class);
-        EmailWrapper email = emailRequest.getEmail();
-        EmailSendingStatus status = emailSender.sendEmail(email);
-        if (!status.isSuccess()) {
-            // Set an arbitrary retry code outside of the range 200-299 so Cloud Tasks will automatically retry upon failure
+
+        List<EmailWrapper> emails = emailRequest.getEmails();
+        List<EmailSendingStatus> statuses = new ArrayList<>();
+        long lastSentTime = 0;
+        for (int i = 0; i < emails.size(); i += MAX_EMAILS_PER_SECOND) {
+            waitUntil(lastSentTime + 1000);
+            lastSentTime = System.currentTimeMillis();
+            statuses.addAll(emailSender.sendEmails(
+                    emails.subList(i, Math.min(i + MAX_EMAILS_PER_SECOND, emails.size()))));
+        }
+
+        List<EmailWrapper> failedEmails = new ArrayList<>();
+        for (int i = 0; i < emails.size(); i++) {
+            if (!statuses.get(i).isSuccess()) {
+                failedEmails.add(emails.get(i));
+            }
+        }
+
+        if (failedEmails.isEmpty()) {
+            return new JsonResult("Successful");
+        }
+
+        if (failedEmails.size() == emails.size()) {
+            // nothing has been sent, hence the whole task can be retried as is
             return new JsonResult("Failure", HttpStatus.SC_BAD_GATEWAY);
         }
-        return new JsonResult("Successful");
+
+        if (!taskQueuer.scheduleEmailsForResending(failedEmails)) {
+            // the emails sent successfully will be sent again, which is better than not sending the failed ones
+            return new JsonResult("Failure", HttpStatus.SC_BAD_GATEWAY);
+        }
+
+        // The failed emails are retried in a separate task, hence this task should not be retried
+        return new JsonResult(String.format("%d of %d email(s) failed to send",
+                failedEmails.size(), emails.size()));
+    }
+
+    private static void waitUntil(long time) {
+        long waitTime = time - System.currentTimeMillis();
+        if (waitTime <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(waitTime);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
     }
 
 }
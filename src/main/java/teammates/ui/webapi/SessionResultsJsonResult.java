@@ -0,0 +1,88 @@
+package teammates.ui.webapi;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import javax.servlet.http.HttpServletResponse;
+
+import com.google.gson.stream.JsonWriter;
+
+import teammates.common.datatransfer.SessionResultsBundle;
+import teammates.common.datatransfer.attributes.StudentAttributes;
+import teammates.common.util.JsonUtils;
+import teammates.common.util.RequestTracer;
+import teammates.ui.output.SessionResultsData;
+import teammates.ui.output.SessionResultsData.QuestionOutput;
+
+/**
+ * Action result in form of {@link SessionResultsData} which is streamed to the response question by question.
+ *
+ * <p>The JSON written is the same as that of a {@link JsonResult} containing the full {@link SessionResultsData},
+ * but only the output of a single question is held in memory at any time.
+ */
+class SessionResultsJsonResult extends JsonResult {
+
+    private final SessionResultsBundle bundle;
+    private final StudentAttributes student;
+
+    /**
+     * Creates a result for instructor.
+     */
+    SessionResultsJsonResult(SessionResultsBundle bundle) {
+        this(bundle, null);
+    }
+
+    /**
+     * Creates a result for student, or for instructor if {@code student} is null.
+     */
+    SessionResultsJsonResult(SessionResultsBundle bundle, StudentAttributes student) {
+        super();
+        this.bundle = bundle;
+        this.student = student;
+    }
+
+    private Stream<QuestionOutput> streamQuestions() {
+        if (student == null) {
+            return SessionResultsData.streamForInstructor(bundle);
+        }
+        return SessionResultsData.streamForStudent(bundle, student);
+    }
+
+    /**
+     * Builds the full output in memory.
+     *
+     * <p>Note that the output is not used by {@link #send(HttpServletResponse)}.
+     */
+    @Override
+    SessionResultsData getOutput() {
+        SessionResultsData output = student == null
+                ? SessionResultsData.initForInstructor(bundle)
+                : SessionResultsData.initForStudent(bundle, student);
+        output.setRequestId(RequestTracer.getTraceId());
+        return output;
+    }
+
+    @Override
+    public void send(HttpServletResponse resp) throws IOException {
+        resp.setStatus(getStatusCode());
+        resp.setContentType("application/json");
+
+        // field order follows the serialization of SessionResultsData, i.e. its own fields before ApiOutput's
+        JsonWriter writer = JsonUtils.createCompactJsonWriter(resp.getWriter());
+        writer.beginObject();
+        writer.name("questions");
+        writer.beginArray();
+        try (Stream<QuestionOutput> questions = streamQuestions()) {
+            Iterator<QuestionOutput> iterator = questions.iterator();
+            while (iterator.hasNext()) {
+                JsonUtils.toCompactJson(iterator.next(), writer);
+            }
+        }
+        writer.endArray();
+        writer.name("requestId").value(RequestTracer.getTraceId());
+        writer.endObject();
+        writer.flush();
+    }
+
+}
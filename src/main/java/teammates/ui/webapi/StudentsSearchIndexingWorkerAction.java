@@ -0,0 +1,36 @@
+package teammates.ui.webapi;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.http.HttpStatus;
+
+import teammates.common.datatransfer.attributes.StudentAttributes;
+import teammates.common.exception.SearchServiceException;
+import teammates.ui.request.InvalidHttpRequestBodyException;
+import teammates.ui.request.StudentsSearchIndexingRequest;
+
+/**
+ * Task queue worker action: performs search indexing for a batch of students of a course.
+ */
+public class StudentsSearchIndexingWorkerAction extends AdminOnlyAction {
+
+    @Override
+    public ActionResult execute() throws InvalidHttpRequestBodyException {
+        StudentsSearchIndexingRequest indexingRequest =
+                getAndValidateRequestBody(StudentsSearchIndexingRequest.class);
+
+        // students which no longer exist are skipped
+        List<StudentAttributes> students = new ArrayList<>(logic.getStudentsForEmails(
+                indexingRequest.getCourseId(), Arrays.asList(indexingRequest.getStudentEmails())).values());
+        try {
+            logic.putStudentDocuments(students);
+        } catch (SearchServiceException e) {
+            // Set an arbitrary retry code outside of the range 200-299 to trigger automatic retry
+            return new JsonResult("Failure", HttpStatus.SC_BAD_GATEWAY);
+        }
+
+        return new JsonResult("Successful");
+    }
+}
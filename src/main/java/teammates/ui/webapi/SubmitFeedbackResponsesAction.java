@@ -197,33 +197,22 @@ class SubmitFeedbackResponsesAction extends BasicFeedbackSubmissionAction {
         }
 
         List<String> recipients = submitRequest.getRecipients();
-        List<FeedbackResponseAttributes> feedbackResponsesToDelete = existingResponsesPerRecipient.entrySet().stream()
+        List<String> feedbackResponseIdsToDelete = existingResponsesPerRecipient.entrySet().stream()
                 .filter(entry -> !recipients.contains(entry.getKey()))
-                .map(entry -> entry.getValue())
+                .map(entry -> entry.getValue().getId())
                 .collect(Collectors.toList());
 
-        for (FeedbackResponseAttributes feedbackResponse : feedbackResponsesToDelete) {
-            logic.deleteFeedbackResponseCascade(feedbackResponse.getId());
-        }
-
-        List<FeedbackResponseAttributes> output = new ArrayList<>();
-
-        for (FeedbackResponseAttributes feedbackResponse : feedbackResponsesToAdd) {
-            try {
-                output.add(logic.createFeedbackResponse(feedbackResponse));
-            } catch (InvalidParametersException | EntityAlreadyExistsException e) {
-                // None of the exceptions should be happening as the responses have been pre-validated
-                log.severe("Encountered exception when creating response: " + e.getMessage(), e);
-            }
-        }
-
-        for (FeedbackResponseAttributes.UpdateOptions feedbackResponse : feedbackResponsesToUpdate) {
-            try {
-                output.add(logic.updateFeedbackResponseCascade(feedbackResponse));
-            } catch (InvalidParametersException | EntityAlreadyExistsException | EntityDoesNotExistException e) {
-                // None of the exceptions should be happening as the responses have been pre-validated
-                log.severe("Encountered exception when updating response: " + e.getMessage(), e);
-            }
+        List<FeedbackResponseAttributes> output;
+        try {
+            output = logic.saveFeedbackResponsesCascade(
+                    feedbackResponsesToAdd, feedbackResponsesToUpdate, feedbackResponseIdsToDelete);
+        } catch (InvalidParametersException ipe) {
+            throw new InvalidHttpRequestBodyException(ipe);
+        } catch (EntityAlreadyExistsException eaee) {
+            // the responses have been changed by a concurrent submission
+            throw new InvalidOperationException(eaee);
+        } catch (EntityDoesNotExistException ednee) {
+            throw new EntityNotFoundException(ednee);
         }
 
         return new JsonResult(new FeedbackResponsesData(output));
@@ -0,0 +1,63 @@
+package teammates.common.datatransfer;
+
+import org.testng.annotations.Test;
+
+import teammates.test.BaseTestCase;
+
+/**
+ * SUT: {@link NameVisibilityTable}.
+ */
+public class NameVisibilityTableTest extends BaseTestCase {
+
+    @Test
+    public void testPut_typicalCase_shouldRecordVisibilityPerPosition() {
+        NameVisibilityTable table = new NameVisibilityTable();
+        table.put(0, true, false);
+        table.put(1, false, true);
+        table.put(2, true, true);
+
+        assertEquals(3, table.size());
+        assertTrue(table.isGiverVisible(0));
+        assertFalse(table.isRecipientVisible(0));
+        assertFalse(table.isGiverVisible(1));
+        assertTrue(table.isRecipientVisible(1));
+        assertTrue(table.isGiverVisible(2));
+        assertTrue(table.isRecipientVisible(2));
+
+        ______TS("putting an existing position should replace its visibility");
+
+        table.put(0, false, true);
+
+        assertEquals(3, table.size());
+        assertFalse(table.isGiverVisible(0));
+        assertTrue(table.isRecipientVisible(0));
+        assertTrue(table.isGiverVisible(2));
+
+        ______TS("items with only giver visibility should not have visible recipient");
+
+        NameVisibilityTable commentTable = new NameVisibilityTable();
+        commentTable.put(0, true);
+
+        assertTrue(commentTable.isGiverVisible(0));
+        assertFalse(commentTable.isRecipientVisible(0));
+    }
+
+    @Test
+    public void testIsVisible_positionNotPut_shouldReturnFalse() {
+        NameVisibilityTable table = new NameVisibilityTable();
+        table.put(0, true, true);
+
+        assertFalse(table.isGiverVisible(1));
+        assertFalse(table.isRecipientVisible(1));
+        assertEquals(1, table.size());
+
+        ______TS("skipped positions should be covered by the size but not be visible");
+
+        table.put(3, true, true);
+
+        assertEquals(4, table.size());
+        assertFalse(table.isGiverVisible(2));
+        assertFalse(table.isRecipientVisible(2));
+    }
+
+}
@@ -1,15 +1,16 @@
 package teammates.common.datatransfer;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
 
 import org.testng.annotations.Test;
 
 import teammates.common.datatransfer.attributes.FeedbackQuestionAttributes;
 import teammates.common.datatransfer.attributes.FeedbackResponseAttributes;
+import teammates.common.datatransfer.attributes.FeedbackResponseCommentAttributes;
 import teammates.common.util.Const;
 import teammates.test.BaseTestCase;
 
@@ -30,8 +31,9 @@ public class SessionResultsBundleTest extends BaseTestCase {
         SessionResultsBundle bundle =
                 new SessionResultsBundle(
                         responseBundle.feedbackQuestions, new HashMap<>(), new HashSet<>(),
-                        new ArrayList<>(responseBundle.feedbackResponses.values()), new ArrayList<>(),
-                        new HashMap<>(), new HashMap<>(), new HashMap<>(), new HashMap<>(),
+                        new ArrayList<>(responseBundle.feedbackResponses.values()), new NameVisibilityTable(),
+                        new ArrayList<>(), new NameVisibilityTable(),
+                        new ArrayList<>(), new NameVisibilityTable(),
                         new CourseRoster(new ArrayList<>(responseBundle.students.values()),
                                 new ArrayList<>(responseBundle.instructors.values())));
 
@@ -62,8 +64,9 @@ public class SessionResultsBundleTest extends BaseTestCase {
         SessionResultsBundle bundle =
                 new SessionResultsBundle(
                         responseBundle.feedbackQuestions, new HashMap<>(), new HashSet<>(),
-                        new ArrayList<>(), new ArrayList<>(responseBundle.feedbackResponses.values()),
-                        new HashMap<>(), new HashMap<>(), new HashMap<>(), new HashMap<>(),
+                        new ArrayList<>(), new NameVisibilityTable(),
+                        new ArrayList<>(responseBundle.feedbackResponses.values()), new NameVisibilityTable(),
+                        new ArrayList<>(), new NameVisibilityTable(),
                         new CourseRoster(new ArrayList<>(responseBundle.students.values()),
                                 new ArrayList<>(responseBundle.instructors.values())));
 
@@ -83,63 +86,150 @@ public class SessionResultsBundleTest extends BaseTestCase {
     }
 
     @Test
-    public void testIsResponseGiverRecipientVisible_typicalCase_shouldReturnCorrectValues() {
+    public void testGetResponseVisibilityTable_typicalCase_shouldFollowPositionsInQuestionResponses() {
 
         DataBundle responseBundle = loadDataBundle("/FeedbackSessionResultsBundleTest.json");
         populateQuestionAndResponseIds(responseBundle);
 
-        Map<String, Boolean> responseGiverVisibilityTable = new HashMap<>();
-        responseGiverVisibilityTable.put("response1ForQ1S1C1", true);
-        responseGiverVisibilityTable.put("response2ForQ1S1C1", false);
-        responseGiverVisibilityTable.put("response1ForQ2S1C1", true);
-        responseGiverVisibilityTable.put("response2ForQ2S1C1", false);
-
-        Map<String, Boolean> responseRecipientVisibilityTable = new HashMap<>();
-        responseRecipientVisibilityTable.put("response1ForQ1S1C1", false);
-        responseRecipientVisibilityTable.put("response2ForQ1S1C1", true);
-        responseRecipientVisibilityTable.put("response1ForQ2S1C1", true);
-        responseRecipientVisibilityTable.put("response2ForQ2S1C1", false);
+        List<FeedbackResponseAttributes> responses = new ArrayList<>();
+        NameVisibilityTable responseVisibilityTable = new NameVisibilityTable();
+        responses.add(responseBundle.feedbackResponses.get("response1ForQ1S1C1"));
+        responseVisibilityTable.put(0, true, false);
+        responses.add(responseBundle.feedbackResponses.get("response1ForQ2S1C1"));
+        responseVisibilityTable.put(1, true, true);
+        responses.add(responseBundle.feedbackResponses.get("response2ForQ1S1C1"));
+        responseVisibilityTable.put(2, false, true);
+        responses.add(responseBundle.feedbackResponses.get("response2ForQ2S1C1"));
+        responseVisibilityTable.put(3, false, false);
 
         SessionResultsBundle bundle =
                 new SessionResultsBundle(
                         responseBundle.feedbackQuestions, new HashMap<>(), new HashSet<>(),
-                        new ArrayList<>(responseBundle.feedbackResponses.values()), new ArrayList<>(),
-                        responseGiverVisibilityTable, responseRecipientVisibilityTable,
-                        new HashMap<>(), new HashMap<>(),
+                        responses, responseVisibilityTable,
+                        new ArrayList<>(responses), responseVisibilityTable,
+                        new ArrayList<>(), new NameVisibilityTable(),
                         new CourseRoster(new ArrayList<>(responseBundle.students.values()),
                                 new ArrayList<>(responseBundle.instructors.values())));
 
-        for (Map.Entry<String, Boolean> visibilityEntry : responseGiverVisibilityTable.entrySet()) {
-            assertEquals(visibilityEntry.getValue(),
-                    bundle.isResponseGiverVisible(responseBundle.feedbackResponses.get(visibilityEntry.getKey())));
-        }
+        String question1Id = responseBundle.feedbackQuestions.get("qn1InSession1InCourse1").getId();
+        String question2Id = responseBundle.feedbackQuestions.get("qn2InSession1InCourse1").getId();
+        assertEquals(responseBundle.feedbackResponses.get("response2ForQ1S1C1"),
+                bundle.getQuestionResponseMap().get(question1Id).get(1));
+
+        NameVisibilityTable question1Table = bundle.getResponseVisibilityTable(question1Id);
+        assertEquals(2, question1Table.size());
+        assertTrue(question1Table.isGiverVisible(0));
+        assertFalse(question1Table.isRecipientVisible(0));
+        assertFalse(question1Table.isGiverVisible(1));
+        assertTrue(question1Table.isRecipientVisible(1));
+
+        NameVisibilityTable question2Table = bundle.getResponseVisibilityTable(question2Id);
+        assertEquals(2, question2Table.size());
+        assertTrue(question2Table.isGiverVisible(0));
+        assertTrue(question2Table.isRecipientVisible(0));
+        assertFalse(question2Table.isGiverVisible(1));
+        assertFalse(question2Table.isRecipientVisible(1));
+
+        ______TS("missing responses should have their own tables");
+
+        NameVisibilityTable missingQuestion1Table = bundle.getMissingResponseVisibilityTable(question1Id);
+        assertEquals(2, missingQuestion1Table.size());
+        assertTrue(missingQuestion1Table.isGiverVisible(0));
+        assertFalse(missingQuestion1Table.isGiverVisible(1));
+
+        ______TS("questions without responses should have empty tables");
+
+        String question3Id = responseBundle.feedbackQuestions.get("qn3InSession1InCourse1").getId();
+        assertEquals(0, bundle.getResponseVisibilityTable(question3Id).size());
+    }
+
+    @Test
+    public void testGetResponseVisibilityTable_participantTypeNone_shouldBeVisible() {
+
+        DataBundle responseBundle = loadDataBundle("/FeedbackSessionResultsBundleTest.json");
+        populateQuestionAndResponseIds(responseBundle);
+
+        FeedbackQuestionAttributes question = responseBundle.feedbackQuestions.get("qn1InSession1InCourse1");
+        question.setRecipientType(FeedbackParticipantType.NONE);
+        List<FeedbackResponseAttributes> responses = new ArrayList<>();
+        responses.add(responseBundle.feedbackResponses.get("response1ForQ1S1C1"));
+
+        SessionResultsBundle bundle =
+                new SessionResultsBundle(
+                        responseBundle.feedbackQuestions, new HashMap<>(), new HashSet<>(),
+                        responses, new NameVisibilityTable(),
+                        new ArrayList<>(), new NameVisibilityTable(),
+                        new ArrayList<>(), new NameVisibilityTable(),
+                        new CourseRoster(new ArrayList<>(responseBundle.students.values()),
+                                new ArrayList<>(responseBundle.instructors.values())));
 
-        for (Map.Entry<String, Boolean> visibilityEntry : responseRecipientVisibilityTable.entrySet()) {
-            assertEquals(visibilityEntry.getValue(),
-                    bundle.isResponseRecipientVisible(responseBundle.feedbackResponses.get(visibilityEntry.getKey())));
-        }
+        assertFalse(bundle.getResponseVisibilityTable(question.getId()).isGiverVisible(0));
+        assertTrue(bundle.getResponseVisibilityTable(question.getId()).isRecipientVisible(0));
     }
 
     @Test
-    public void testIsCommentGiverVisible_typicalCase_shouldReturnCorrectValues() {
+    public void testGetCommentVisibilityTable_typicalCase_shouldFollowPositionsInResponseComments() {
 
         DataBundle responseBundle = loadDataBundle("/FeedbackSessionResultsBundleTest.json");
         populateQuestionAndResponseIds(responseBundle);
 
-        Map<Long, Boolean> commentGiverVisibilityTable = new HashMap<>();
-        commentGiverVisibilityTable.put(1L, true);
-        commentGiverVisibilityTable.put(2L, false);
+        FeedbackResponseCommentAttributes comment1 =
+                responseBundle.feedbackResponseComments.get("comment1FromT1C1ToR1Q1S1C1");
+        FeedbackResponseCommentAttributes comment2 =
+                responseBundle.feedbackResponseComments.get("comment2FromT1C1ToR1Q1S1C1");
+        NameVisibilityTable commentVisibilityTable = new NameVisibilityTable();
+        commentVisibilityTable.put(0, true);
+        commentVisibilityTable.put(1, false);
 
         SessionResultsBundle bundle =
                 new SessionResultsBundle(
                         responseBundle.feedbackQuestions, new HashMap<>(), new HashSet<>(),
-                        new ArrayList<>(responseBundle.feedbackResponses.values()), new ArrayList<>(),
-                        new HashMap<>(), new HashMap<>(), new HashMap<>(), commentGiverVisibilityTable,
+                        new ArrayList<>(responseBundle.feedbackResponses.values()), new NameVisibilityTable(),
+                        new ArrayList<>(), new NameVisibilityTable(),
+                        Arrays.asList(comment1, comment2), commentVisibilityTable,
                         new CourseRoster(new ArrayList<>(responseBundle.students.values()),
                                 new ArrayList<>(responseBundle.instructors.values())));
 
-        assertTrue(bundle.isCommentGiverVisible(responseBundle.feedbackResponseComments.get("comment1FromT1C1ToR1Q1S1C1")));
-        assertFalse(bundle.isCommentGiverVisible(responseBundle.feedbackResponseComments.get("comment2FromT1C1ToR1Q1S1C1")));
+        String responseId = comment1.getFeedbackResponseId();
+        assertEquals(Arrays.asList(comment1, comment2), bundle.getResponseCommentsMap().get(responseId));
+        assertTrue(bundle.getCommentVisibilityTable(responseId).isGiverVisible(0));
+        assertFalse(bundle.getCommentVisibilityTable(responseId).isGiverVisible(1));
+        assertEquals(0, bundle.getCommentVisibilityTable("responseWithoutComments").size());
+    }
+
+    @Test
+    public void testGetQuestionResultStatisticsJson_withProvider_shouldGetStatisticsFromProvider() {
+        DataBundle responseBundle = loadDataBundle("/FeedbackContributionQuestionTest.json");
+        populateQuestionAndResponseIds(responseBundle);
+
+        FeedbackQuestionAttributes question = responseBundle.feedbackQuestions.get("qn1InSession1InCourse1");
+        SessionResultsBundle bundle =
+                new SessionResultsBundle(
+                        responseBundle.feedbackQuestions, new HashMap<>(), new HashSet<>(),
+                        new ArrayList<>(responseBundle.feedbackResponses.values()), new NameVisibilityTable(),
+                        new ArrayList<>(), new NameVisibilityTable(),
+                        new ArrayList<>(), new NameVisibilityTable(),
+                        new CourseRoster(new ArrayList<>(responseBundle.students.values()),
+                                new ArrayList<>(responseBundle.instructors.values())));
+
+        String expectedStatistics =
+                question.getQuestionDetailsCopy().getQuestionResultStatisticsJson(question, null, bundle);
+        assertEquals(expectedStatistics, bundle.getQuestionResultStatisticsJson(question, null));
+
+        ______TS("statistics should be requested from the provider with a loader which computes them");
+
+        List<String> requestedStudentEmails = new ArrayList<>();
+        bundle.setQuestionResultStatisticsProvider((providedQuestion, studentEmail, statisticsLoader) -> {
+            assertEquals(question, providedQuestion);
+            requestedStudentEmails.add(studentEmail);
+            return statisticsLoader.get();
+        });
+
+        assertEquals(expectedStatistics, bundle.getQuestionResultStatisticsJson(question, null));
+        String studentEmail = responseBundle.students.get("student1InCourse1").getEmail();
+        assertEquals(question.getQuestionDetailsCopy().getQuestionResultStatisticsJson(question, studentEmail, bundle),
+                bundle.getQuestionResultStatisticsJson(question, studentEmail));
+        assertEquals(Arrays.asList(null, studentEmail), requestedStudentEmails);
     }
 
     @Test
@@ -640,6 +640,78 @@ public class FeedbackQuestionAttributesTest extends BaseAttributesTest {
         assertFalse(question.getShowResponsesTo().contains(FeedbackParticipantType.RECEIVER_TEAM_MEMBERS));
     }
 
+    @Test
+    public void testVisibilityQueries_shouldReflectChangesToVisibilityOptions() {
+        FeedbackQuestionAttributes fq = getNewFeedbackQuestionAttributes();
+        fq.setShowResponsesTo(Lists.newArrayList(FeedbackParticipantType.INSTRUCTORS));
+        fq.setShowGiverNameTo(Lists.newArrayList(FeedbackParticipantType.INSTRUCTORS));
+        fq.setShowRecipientNameTo(new ArrayList<>());
+
+        assertTrue(fq.isResponseVisibleTo(FeedbackParticipantType.INSTRUCTORS));
+        assertFalse(fq.isResponseVisibleTo(FeedbackParticipantType.STUDENTS));
+        assertTrue(fq.isGiverNameVisibleTo(FeedbackParticipantType.INSTRUCTORS));
+        assertFalse(fq.isRecipientNameVisibleTo(FeedbackParticipantType.INSTRUCTORS));
+        assertEquals(1, fq.getGiverNameViewerTypes().size());
+        assertTrue(fq.getRecipientNameViewerTypes().isEmpty());
+
+        ______TS("modification through setters and update options");
+
+        fq.setShowResponsesTo(Lists.newArrayList(FeedbackParticipantType.STUDENTS));
+        fq.setShowGiverNameTo(Lists.newArrayList(FeedbackParticipantType.STUDENTS));
+        fq.setShowRecipientNameTo(Lists.newArrayList(FeedbackParticipantType.INSTRUCTORS));
+
+        assertTrue(fq.isResponseVisibleTo(FeedbackParticipantType.STUDENTS));
+        assertFalse(fq.isGiverNameVisibleTo(FeedbackParticipantType.INSTRUCTORS));
+        assertTrue(fq.isGiverNameVisibleTo(FeedbackParticipantType.STUDENTS));
+        assertTrue(fq.isRecipientNameVisibleTo(FeedbackParticipantType.INSTRUCTORS));
+
+        fq.setShowResponsesTo(new ArrayList<>());
+        assertFalse(fq.isResponseVisibleTo(FeedbackParticipantType.STUDENTS));
+
+        fq.update(FeedbackQuestionAttributes.updateOptionsBuilder(fq.getId())
+                .withShowRecipientNameTo(new ArrayList<>())
+                .build());
+        assertFalse(fq.isRecipientNameVisibleTo(FeedbackParticipantType.INSTRUCTORS));
+
+        ______TS("modification of the lists returned by the getters");
+
+        fq.getShowRecipientNameTo().add(FeedbackParticipantType.RECEIVER);
+        assertTrue(fq.isRecipientNameVisibleTo(FeedbackParticipantType.RECEIVER));
+        assertTrue(fq.getRecipientNameViewerTypes().contains(FeedbackParticipantType.RECEIVER));
+
+        fq.getShowRecipientNameTo().clear();
+        fq.getShowRecipientNameTo().add(FeedbackParticipantType.RECEIVER_TEAM_MEMBERS);
+        assertFalse(fq.isRecipientNameVisibleTo(FeedbackParticipantType.RECEIVER));
+        assertTrue(fq.isRecipientNameVisibleTo(FeedbackParticipantType.RECEIVER_TEAM_MEMBERS));
+
+        fq.getShowGiverNameTo().set(0, FeedbackParticipantType.INSTRUCTORS);
+        assertTrue(fq.isGiverNameVisibleTo(FeedbackParticipantType.INSTRUCTORS));
+        assertFalse(fq.isGiverNameVisibleTo(FeedbackParticipantType.STUDENTS));
+
+        fq.getShowResponsesTo().add(FeedbackParticipantType.STUDENTS);
+        assertTrue(fq.isResponseVisibleTo(FeedbackParticipantType.STUDENTS));
+        fq.getShowResponsesTo().remove(FeedbackParticipantType.STUDENTS);
+        assertFalse(fq.isResponseVisibleTo(FeedbackParticipantType.STUDENTS));
+        assertEquals(new ArrayList<>(), fq.getShowResponsesTo());
+
+        ______TS("removal of irrelevant visibility options");
+
+        fq.setRecipientType(FeedbackParticipantType.NONE);
+        fq.setShowGiverNameTo(Lists.newArrayList(FeedbackParticipantType.RECEIVER));
+        assertTrue(fq.isGiverNameVisibleTo(FeedbackParticipantType.RECEIVER));
+        fq.removeIrrelevantVisibilityOptions();
+        assertFalse(fq.isGiverNameVisibleTo(FeedbackParticipantType.RECEIVER));
+
+        ______TS("visibility options deserialized from JSON");
+
+        fq.setShowGiverNameTo(Lists.newArrayList(FeedbackParticipantType.STUDENTS));
+        FeedbackQuestionAttributes deserialized =
+                JsonUtils.fromJson(JsonUtils.toJson(fq), FeedbackQuestionAttributes.class);
+        assertTrue(deserialized.isGiverNameVisibleTo(FeedbackParticipantType.STUDENTS));
+        deserialized.setShowGiverNameTo(new ArrayList<>());
+        assertFalse(deserialized.isGiverNameVisibleTo(FeedbackParticipantType.STUDENTS));
+    }
+
     @Test
     public void testGetQuestionDetails_shouldDoDeepCopy() {
         FeedbackQuestionAttributes fqa = getNewFeedbackQuestionAttributes();
@@ -11,6 +11,7 @@ import org.testng.annotations.Test;
 import teammates.common.datatransfer.CourseRoster;
 import teammates.common.datatransfer.DataBundle;
 import teammates.common.datatransfer.FeedbackParticipantType;
+import teammates.common.datatransfer.NameVisibilityTable;
 import teammates.common.datatransfer.SessionResultsBundle;
 import teammates.common.datatransfer.attributes.FeedbackQuestionAttributes;
 import teammates.common.util.Const;
@@ -109,8 +110,9 @@ public class FeedbackContributionQuestionDetailsTest extends BaseTestCase {
         SessionResultsBundle bundle =
                 new SessionResultsBundle(
                         responseBundle.feedbackQuestions, new HashMap<>(), new HashSet<>(),
-                        new ArrayList<>(responseBundle.feedbackResponses.values()), new ArrayList<>(),
-                        new HashMap<>(), new HashMap<>(), new HashMap<>(), new HashMap<>(),
+                        new ArrayList<>(responseBundle.feedbackResponses.values()), new NameVisibilityTable(),
+                        new ArrayList<>(), new NameVisibilityTable(),
+                        new ArrayList<>(), new NameVisibilityTable(),
                         new CourseRoster(new ArrayList<>(responseBundle.students.values()),
                                 new ArrayList<>(responseBundle.instructors.values())));
 
@@ -7,6 +7,10 @@ import org.testng.annotations.Test;
 import teammates.common.datatransfer.FeedbackParticipantType;
 import teammates.common.datatransfer.attributes.FeedbackQuestionAttributes;
 import teammates.common.datatransfer.attributes.FeedbackResponseAttributes;
+import teammates.common.datatransfer.logs.DefaultLogDetails;
+import teammates.common.datatransfer.logs.EmailSentLogDetails;
+import teammates.common.datatransfer.logs.LogDetails;
+import teammates.common.datatransfer.questions.FeedbackResponseDetails;
 import teammates.common.datatransfer.questions.FeedbackTextQuestionDetails;
 import teammates.common.datatransfer.questions.FeedbackTextResponseDetails;
 import teammates.test.BaseTestCase;
@@ -103,4 +107,26 @@ public class JsonUtilsTest extends BaseTestCase {
                 + "\"recipientSection\":\"recipientSection\"}",
                 JsonUtils.toCompactJson(fra));
     }
+
+    @Test
+    public void testPolymorphicDetailsAdaptors_deserialize_shouldDeserializeToConcreteClass() {
+        FeedbackResponseDetails responseDetails =
+                JsonUtils.fromJson("{\"answer\":\"My answer\",\"questionType\":\"TEXT\"}",
+                        FeedbackResponseDetails.class);
+        assertTrue(responseDetails instanceof FeedbackTextResponseDetails);
+        assertEquals("My answer", responseDetails.getAnswerString());
+
+        LogDetails logDetails = JsonUtils.fromJson("{\"event\":\"EMAIL_SENT\",\"message\":\"sent\"}", LogDetails.class);
+        assertTrue(logDetails instanceof EmailSentLogDetails);
+        assertEquals("sent", logDetails.getMessage());
+
+        ______TS("unknown or missing event should fall back to default log details");
+
+        assertTrue(JsonUtils.fromJson("{\"event\":\"UNKNOWN\"}", LogDetails.class) instanceof DefaultLogDetails);
+        assertTrue(JsonUtils.fromJson("{\"message\":\"m\"}", LogDetails.class) instanceof DefaultLogDetails);
+
+        ______TS("null should be deserialized to null");
+
+        assertNull(JsonUtils.fromJson("null", LogDetails.class));
+    }
 }
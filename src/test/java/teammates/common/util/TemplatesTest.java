@@ -0,0 +1,100 @@
+package teammates.common.util;
+
+import org.testng.annotations.Test;
+
+import teammates.common.util.Templates.EmailTemplates;
+import teammates.test.BaseTestCase;
+
+/**
+ * SUT: {@link Templates}.
+ */
+public class TemplatesTest extends BaseTestCase {
+
+    @Test
+    public void testPopulateTemplate_placeholders_shouldReplaceAllOccurrences() {
+        String template = "Dear ${userName}, ${courseName} (${courseId}) is open. ${courseName}!";
+
+        assertEquals("Dear John, Software Engineering (CS2103) is open. Software Engineering!",
+                Templates.populateTemplate(template,
+                        "${userName}", "John",
+                        "${courseName}", "Software Engineering",
+                        "${courseId}", "CS2103"));
+    }
+
+    @Test
+    public void testPopulateTemplate_unknownOrMalformedPlaceholders_shouldBeLeftAsIs() {
+        String template = "${unknown} ${userName} ${un${userName}} $userName {userName} ${userName";
+
+        assertEquals("${unknown} John ${unJohn} $userName {userName} ${userName",
+                Templates.populateTemplate(template, "${userName}", "John"));
+        assertEquals("no placeholder", Templates.populateTemplate("no placeholder", "${userName}", "John"));
+        assertEquals("${userName}", Templates.populateTemplate("${userName}"));
+        assertEquals("", Templates.populateTemplate("", "${userName}", "John"));
+    }
+
+    @Test
+    public void testPopulateTemplate_placeholdersInValues_shouldBeInsertedAsIs() {
+        String template = "${joinFragment} ${joinUrl}";
+
+        assertEquals("Join at ${joinUrl}, url",
+                Templates.populateTemplate(template,
+                        "${joinFragment}", "Join at ${joinUrl},",
+                        "${joinUrl}", "url"));
+        assertEquals("Join at ${joinUrl}, url",
+                Templates.populateTemplate(template,
+                        "${joinUrl}", "url",
+                        "${joinFragment}", "Join at ${joinUrl},"));
+    }
+
+    @Test
+    public void testEscapePlaceholdersForHtml_templatePopulatedAgain_shouldNotPopulateEscapedPlaceholders() {
+        String recipientTemplate = Templates.populateTemplate("Dear ${userName}, ${sessionInstructions}",
+                "${sessionInstructions}", Templates.escapePlaceholdersForHtml("Hi ${userName}!"));
+
+        assertEquals("Dear John, Hi &#36;{userName}!",
+                Templates.populateTemplate(recipientTemplate, "${userName}", "John"));
+    }
+
+    @Test
+    public void testPopulateTemplate_repeatedKey_shouldUseFirstValue() {
+        assertEquals("first", Templates.populateTemplate("${key}", "${key}", "first", "${key}", "second"));
+    }
+
+    @Test
+    public void testPopulateTemplate_nonPlaceholderKeys_shouldReplaceKeysOneAfterAnother() {
+        String template = "teammates.demo.instructor@demo.course teaches demo.course";
+
+        assertEquals("instr@email.tmt teaches CS2103",
+                Templates.populateTemplate(template,
+                        "teammates.demo.instructor@demo.course", "instr@email.tmt",
+                        "demo.course", "CS2103"));
+    }
+
+    @Test
+    public void testPopulateTemplate_emailTemplate_shouldBeSameAsReplacingKeysOneAfterAnother() {
+        String[] keyValuePairs = {
+                "${userName}", "John &lt;Doe&gt;",
+                "${courseName}", "Software Engineering",
+                "${courseId}", "CS2103",
+                "${feedbackSessionName}", "First Session",
+                "${deadline}", "Sun, 01 Jan 2023, 11:59 PM SGT",
+                "${instructorPreamble}", "",
+                "${sessionInstructions}", "<p>Please answer all questions. ${notAPlaceholder}</p>",
+                "${submitUrl}", "https://teammates.tmt/web/sessions/submission?key=abc",
+                "${reportUrl}", "https://teammates.tmt/web/sessions/result?key=abc",
+                "${feedbackAction}", "submit",
+                "${additionalContactInformation}", "<p>Contact ${courseName} instructors</p>",
+        };
+        String template = EmailTemplates.USER_FEEDBACK_SESSION.replace("${status}", "is now open");
+
+        String expected = template;
+        for (int i = 0; i < keyValuePairs.length; i += 2) {
+            expected = expected.replace(keyValuePairs[i], keyValuePairs[i + 1]);
+        }
+
+        assertEquals(expected, Templates.populateTemplate(template, keyValuePairs));
+        // populating the cached template again gives the same result
+        assertEquals(expected, Templates.populateTemplate(template, keyValuePairs));
+    }
+
+}
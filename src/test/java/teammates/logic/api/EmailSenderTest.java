@@ -1,5 +1,10 @@
 package teammates.logic.api;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
 import org.json.JSONArray;
 import org.json.JSONObject;
 import org.jsoup.Jsoup;
@@ -7,16 +12,22 @@ import org.testng.annotations.Test;
 
 import com.mailjet.client.MailjetRequest;
 import com.mailjet.client.resource.Email;
+import com.mailjet.client.resource.Emailv31;
 import com.sendgrid.helpers.mail.Mail;
 import com.sun.jersey.multipart.FormDataMultiPart;
 
+import teammates.common.util.Const;
+import teammates.common.util.EmailSendingStatus;
 import teammates.common.util.EmailWrapper;
+import teammates.common.util.Templates;
 import teammates.logic.external.MailgunService;
 import teammates.logic.external.MailjetService;
+import teammates.logic.external.MockEmailService;
 import teammates.logic.external.SendgridService;
 
 /**
- * SUT: {@link SendgridService},
+ * SUT: {@link EmailSender},
+ *      {@link SendgridService},
  *      {@link MailgunService},
  *      {@link MailjetService}.
  */
@@ -97,4 +108,167 @@ public class EmailSenderTest extends BaseLogicTest {
         assertEquals(wrapper.getContent(), email.get(Email.HTMLPART));
     }
 
+    @Test
+    public void testConvertToSendgrid_manyEmails_shouldBatchEmailsWithSameContent() {
+        EmailWrapper wrapper1 = getTypicalEmailWrapper();
+        EmailWrapper wrapper2 = getTypicalEmailWrapper();
+        wrapper2.setRecipient("recipient2@email.com");
+        wrapper2.setSubject("Test subject 2");
+        EmailWrapper wrapperWithOtherContent = getTypicalEmailWrapper();
+        wrapperWithOtherContent.setContent("<p>This is another test content</p>");
+
+        List<Mail> emails = new SendgridService().parseToEmails(Arrays.asList(wrapper1, wrapperWithOtherContent, wrapper2));
+
+        assertEquals(2, emails.size());
+        assertEquals(2, emails.get(0).personalization.size());
+        assertEquals(wrapper1.getRecipient(), emails.get(0).personalization.get(0).getTos().get(0).getEmail());
+        assertEquals(wrapper1.getSubject(), emails.get(0).getSubject());
+        assertEquals(wrapper2.getRecipient(), emails.get(0).personalization.get(1).getTos().get(0).getEmail());
+        assertEquals(wrapper2.getBcc(), emails.get(0).personalization.get(1).getBccs().get(0).getEmail());
+        assertEquals(wrapper2.getSubject(), emails.get(0).personalization.get(1).getSubject());
+        assertEquals(1, emails.get(1).personalization.size());
+        assertEquals(wrapperWithOtherContent.getContent(), emails.get(1).getContent().get(1).getValue());
+
+        ______TS("batches are split by the maximum number of recipients in one request");
+
+        List<EmailWrapper> wrappers = new ArrayList<>();
+        for (int i = 0; i < 501; i++) {
+            EmailWrapper wrapper = getTypicalEmailWrapper();
+            wrapper.setRecipient("recipient" + i + "@email.com");
+            wrappers.add(wrapper);
+        }
+
+        emails = new SendgridService().parseToEmails(wrappers);
+
+        // each email has one recipient and one BCC recipient
+        assertEquals(2, emails.size());
+        assertEquals(500, emails.get(0).personalization.size());
+        assertEquals(1, emails.get(1).personalization.size());
+    }
+
+    @Test
+    public void testConvertToSendgrid_personalizedEmails_shouldBatchEmailsWithSameTemplate() {
+        String template = "<p>Dear ${userName}, please submit <a href=\"${submitUrl}\">here</a>.</p>";
+        List<EmailWrapper> wrappers = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            EmailWrapper wrapper = getTypicalEmailWrapper();
+            wrapper.setRecipient("recipient" + i + "@email.com");
+            wrapper.setContentFromTemplate(template,
+                    "${userName}", "Student &amp; " + i,
+                    "${submitUrl}", "https://teammates.tmt/submit?key=" + i);
+            wrappers.add(wrapper);
+        }
+
+        List<Mail> emails = new SendgridService().parseToEmails(wrappers);
+
+        // the 10 emails have different contents, but are populated from the same template
+        assertEquals(1, emails.size());
+        Mail email = emails.get(0);
+        assertEquals(10, email.personalization.size());
+        assertEquals("Dear ${text:0}, please submit here.", email.getContent().get(0).getValue());
+        assertEquals(template, email.getContent().get(1).getValue());
+        for (int i = 0; i < 10; i++) {
+            Map<String, String> substitutions = email.personalization.get(i).getSubstitutions();
+            assertEquals("recipient" + i + "@email.com", email.personalization.get(i).getTos().get(0).getEmail());
+            assertEquals("Student &amp; " + i, substitutions.get("${userName}"));
+            assertEquals("https://teammates.tmt/submit?key=" + i, substitutions.get("${submitUrl}"));
+            assertEquals("Student & " + i, substitutions.get("${text:0}"));
+        }
+
+        ______TS("emails with substitutions too large for a personalization are sent on their own");
+
+        EmailWrapper wrapperWithLargeValue = getTypicalEmailWrapper();
+        wrapperWithLargeValue.setContentFromTemplate(template,
+                "${userName}", "Student".repeat(2000),
+                "${submitUrl}", "https://teammates.tmt/submit?key=large");
+        List<EmailWrapper> wrappersWithLargeValue = new ArrayList<>(wrappers);
+        wrappersWithLargeValue.add(wrapperWithLargeValue);
+
+        emails = new SendgridService().parseToEmails(wrappersWithLargeValue);
+
+        assertEquals(2, emails.size());
+        assertEquals(1, emails.get(1).personalization.size());
+        assertTrue(emails.get(1).personalization.get(0).getSubstitutions().isEmpty());
+        assertEquals(wrapperWithLargeValue.getContent(), emails.get(1).getContent().get(1).getValue());
+
+        ______TS("emails with placeholders typed by users are sent with their populated content");
+
+        String templateWithInstructions = "<p>Dear ${userName}, "
+                + Templates.escapePlaceholdersForHtml("type ${userName} and ${text:0} as they are") + "</p>";
+        List<EmailWrapper> wrappersWithInstructions = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            EmailWrapper wrapper = getTypicalEmailWrapper();
+            wrapper.setContentFromTemplate(templateWithInstructions, "${userName}", "Student " + i);
+            wrappersWithInstructions.add(wrapper);
+        }
+
+        emails = new SendgridService().parseToEmails(wrappersWithInstructions);
+
+        assertEquals(2, emails.size());
+        for (int i = 0; i < 2; i++) {
+            assertEquals(1, emails.get(i).personalization.size());
+            assertTrue(emails.get(i).personalization.get(0).getSubstitutions().isEmpty());
+            assertEquals("Dear Student " + i + ", type ${userName} and ${text:0} as they are",
+                    emails.get(i).getContent().get(0).getValue());
+        }
+    }
+
+    @Test
+    public void testConvertToMailjet_manyEmails_shouldBatchUpToMaximumMessages() {
+        List<EmailWrapper> wrappers = new ArrayList<>();
+        for (int i = 0; i < 51; i++) {
+            EmailWrapper wrapper = getTypicalEmailWrapper();
+            wrapper.setRecipient("recipient" + i + "@email.com");
+            wrappers.add(wrapper);
+        }
+
+        List<MailjetRequest> requests = new MailjetService().parseToEmails(wrappers);
+
+        assertEquals(2, requests.size());
+        JSONArray messages = requests.get(0).getBodyJSON().getJSONArray(Emailv31.MESSAGES);
+        assertEquals(50, messages.length());
+        assertEquals(1, requests.get(1).getBodyJSON().getJSONArray(Emailv31.MESSAGES).length());
+
+        EmailWrapper wrapper = wrappers.get(0);
+        JSONObject message = messages.getJSONObject(0);
+        assertEquals(wrapper.getSenderEmail(), message.getJSONObject(Emailv31.Message.FROM).get("Email"));
+        assertEquals(wrapper.getSenderName(), message.getJSONObject(Emailv31.Message.FROM).get("Name"));
+        assertEquals(wrapper.getRecipient(),
+                     message.getJSONArray(Emailv31.Message.TO).getJSONObject(0).get("Email"));
+        assertEquals(wrapper.getBcc(),
+                     message.getJSONArray(Emailv31.Message.BCC).getJSONObject(0).get("Email"));
+        assertEquals(wrapper.getReplyTo(), message.getJSONObject(Emailv31.Message.REPLYTO).get("Email"));
+        assertEquals(wrapper.getSubject(), message.get(Emailv31.Message.SUBJECT));
+        assertEquals(wrapper.getContent(), message.get(Emailv31.Message.HTMLPART));
+    }
+
+    @Test
+    public void testSendEmails_someEmailsFail_shouldReturnStatusOfEachEmail() {
+        MockEmailService service = new MockEmailService(2);
+        service.setFailingRecipients("recipient3@email.com");
+        EmailSender emailSender = new EmailSender(service);
+
+        List<EmailWrapper> wrappers = new ArrayList<>();
+        for (String recipient : new String[] {
+                "recipient1@email.com", "test" + Const.TEST_EMAIL_DOMAIN, "recipient2@email.com", "recipient3@email.com",
+        }) {
+            EmailWrapper wrapper = getTypicalEmailWrapper();
+            wrapper.setRecipient(recipient);
+            wrappers.add(wrapper);
+        }
+
+        List<EmailSendingStatus> statuses = emailSender.sendEmails(wrappers);
+
+        assertEquals(4, statuses.size());
+        assertTrue(statuses.get(0).isSuccess());
+        assertTrue(statuses.get(1).isSuccess());
+        assertTrue(statuses.get(2).isSuccess());
+        assertFalse(statuses.get(3).isSuccess());
+
+        // emails to test accounts are not sent
+        assertEquals(2, service.getRequestsSent().size());
+        assertEquals(Arrays.asList(wrappers.get(0), wrappers.get(2)), service.getRequestsSent().get(0));
+        assertEquals(Arrays.asList(wrappers.get(3)), service.getRequestsSent().get(1));
+    }
+
 }
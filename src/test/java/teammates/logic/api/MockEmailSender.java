@@ -1,7 +1,10 @@
 package teammates.logic.api;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.apache.http.HttpStatus;
 
@@ -17,13 +20,33 @@ import teammates.common.util.EmailWrapper;
 public class MockEmailSender extends EmailSender {
 
     private List<EmailWrapper> sentEmails = new ArrayList<>();
+    private Set<String> failingRecipients = new HashSet<>();
 
     @Override
     public EmailSendingStatus sendEmail(EmailWrapper email) {
+        if (failingRecipients.contains(email.getRecipient())) {
+            return new EmailSendingStatus(HttpStatus.SC_BAD_GATEWAY, "Failed to send email");
+        }
         sentEmails.add(email);
         return new EmailSendingStatus(HttpStatus.SC_OK, null);
     }
 
+    @Override
+    public List<EmailSendingStatus> sendEmails(List<EmailWrapper> emails) {
+        List<EmailSendingStatus> statuses = new ArrayList<>();
+        for (EmailWrapper email : emails) {
+            statuses.add(sendEmail(email));
+        }
+        return statuses;
+    }
+
+    /**
+     * Makes the sending of emails to any of the {@code recipients} fail, until the emails are cleared.
+     */
+    public void setFailingRecipients(String... recipients) {
+        failingRecipients = new HashSet<>(Arrays.asList(recipients));
+    }
+
     /**
      * Gets the emails sent.
      */
@@ -36,6 +59,7 @@ public class MockEmailSender extends EmailSender {
      */
     public void clearEmails() {
         sentEmails.clear();
+        failingRecipients.clear();
     }
 
 }
@@ -16,13 +16,34 @@ import teammates.common.util.TaskWrapper;
 public class MockTaskQueuer extends TaskQueuer {
 
     private List<TaskWrapper> tasksAdded = new ArrayList<>();
+    private boolean isFailingToAddTasks;
 
     @Override
-    void addDeferredTask(String queueName, String workerUrl, Map<String, String> paramMap, Object requestBody,
-                         long countdownTime) {
+    boolean addDeferredTask(String queueName, String workerUrl, Map<String, String> paramMap, Object requestBody,
+                            long countdownTime) {
+        if (isFailingToAddTasks) {
+            return false;
+        }
         // countdown time not tested
         TaskWrapper task = new TaskWrapper(queueName, workerUrl, paramMap, requestBody);
         tasksAdded.add(task);
+        return true;
+    }
+
+    @Override
+    boolean addDeferredTasks(List<TaskWrapper> tasks) {
+        if (isFailingToAddTasks) {
+            return false;
+        }
+        tasksAdded.addAll(tasks);
+        return true;
+    }
+
+    /**
+     * Makes the adding of any task fail, until the tasks are cleared.
+     */
+    public void setFailingToAddTasks() {
+        isFailingToAddTasks = true;
     }
 
     /**
@@ -51,6 +72,7 @@ public class MockTaskQueuer extends TaskQueuer {
      */
     public void clearTasks() {
         tasksAdded.clear();
+        isFailingToAddTasks = false;
     }
 
 }
@@ -0,0 +1,63 @@
+package teammates.logic.core;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.annotations.Test;
+
+import teammates.common.datatransfer.CourseRoster;
+import teammates.common.datatransfer.attributes.InstructorAttributes;
+import teammates.common.datatransfer.attributes.StudentAttributes;
+
+/**
+ * SUT: {@link CourseRosterCache}.
+ */
+public class CourseRosterCacheTest extends BaseLogicTest {
+
+    private final CourseRosterCache rosterCache = CourseRosterCache.inst();
+    private final StudentsLogic studentsLogic = StudentsLogic.inst();
+    private final InstructorsLogic instructorsLogic = InstructorsLogic.inst();
+
+    @Test
+    public void testGetCourseRoster() throws Exception {
+        StudentAttributes student = dataBundle.students.get("student1InCourse1");
+        String courseId = student.getCourse();
+        AtomicInteger loadCount = new AtomicInteger();
+
+        ______TS("roster is loaded only once if the roster does not change");
+
+        CourseRoster roster = getCourseRoster(courseId, loadCount);
+        getCourseRoster(courseId, loadCount);
+        assertEquals(1, loadCount.get());
+        assertEquals(student.getName(), roster.getStudentForEmail(student.getEmail()).getName());
+
+        ______TS("roster is reloaded after a student of the course is updated");
+
+        studentsLogic.updateStudentCascade(
+                StudentAttributes.updateOptionsBuilder(courseId, student.getEmail())
+                        .withName("New name")
+                        .build());
+
+        roster = getCourseRoster(courseId, loadCount);
+        assertEquals(2, loadCount.get());
+        assertEquals("New name", roster.getStudentForEmail(student.getEmail()).getName());
+
+        ______TS("roster is reloaded after an instructor of the course is deleted");
+
+        InstructorAttributes instructor = dataBundle.instructors.get("instructor1OfCourse1");
+        instructorsLogic.deleteInstructorCascade(courseId, instructor.getEmail());
+
+        roster = getCourseRoster(courseId, loadCount);
+        assertEquals(3, loadCount.get());
+        assertNull(roster.getInstructorForEmail(instructor.getEmail()));
+    }
+
+    private CourseRoster getCourseRoster(String courseId, AtomicInteger loadCount) {
+        return rosterCache.getCourseRoster(courseId,
+                () -> {
+                    loadCount.incrementAndGet();
+                    return studentsLogic.getStudentsForCourse(courseId);
+                },
+                () -> instructorsLogic.getInstructorsForCourse(courseId));
+    }
+
+}
@@ -1005,6 +1005,25 @@ public class FeedbackResponsesLogicTest extends BaseLogicTest {
         assertTrue(frcLogic.getFeedbackResponseCommentForResponse(fra.getId()).isEmpty());
     }
 
+    @Test
+    public void testSaveFeedbackResponsesCascade_deletedResponsesWithComments_shouldDeleteComments() throws Exception {
+        FeedbackResponseAttributes fra = getResponseFromDatabase("response1ForQ1S1C1");
+        FeedbackResponseAttributes otherFra = getResponseFromDatabase("response2ForQ1S1C1");
+        // the response to delete has comments
+        assertFalse(frcLogic.getFeedbackResponseCommentForResponse(fra.getId()).isEmpty());
+        int numCommentsOfOtherResponse = frcLogic.getFeedbackResponseCommentForResponse(otherFra.getId()).size();
+
+        frLogic.saveFeedbackResponsesCascade(Collections.emptyList(), Collections.emptyList(),
+                Arrays.asList(fra.getId(), "not-exist"));
+
+        assertNull(frLogic.getFeedbackResponse(fra.getId()));
+        // associated comments are deleted
+        assertTrue(frcLogic.getFeedbackResponseCommentForResponse(fra.getId()).isEmpty());
+        // comments of other responses are unaffected
+        assertEquals(numCommentsOfOtherResponse,
+                frcLogic.getFeedbackResponseCommentForResponse(otherFra.getId()).size());
+    }
+
     @Test
     public void testDeleteFeedbackResponses_byCourseId() {
         ______TS("standard delete");
@@ -1343,37 +1362,34 @@ public class FeedbackResponsesLogicTest extends BaseLogicTest {
         assertEquals(7, bundle.getQuestionMissingResponseMap().size());
 
         // Test the generated response visibilityTable for userNames.
-        Map<String, Boolean> responseGiverVisibilityTable = bundle.getResponseGiverVisibilityTable();
-        assertTrue(responseGiverVisibilityTable.get(getResponseId("qn1.resp1", responseBundle)));
-        assertTrue(responseGiverVisibilityTable.get(getResponseId("qn2.resp1", responseBundle)));
-        assertTrue(responseGiverVisibilityTable.get(getResponseId("qn2.resp3", responseBundle)));
-        assertTrue(responseGiverVisibilityTable.get(getResponseId("qn3.resp1", responseBundle)));
-        assertTrue(responseGiverVisibilityTable.get(getResponseId("qn4.resp2", responseBundle)));
-        assertFalse(responseGiverVisibilityTable.get(getResponseId("qn4.resp3", responseBundle)));
-        assertTrue(responseGiverVisibilityTable.get(getResponseId("qn5.resp1", responseBundle)));
-        assertTrue(responseGiverVisibilityTable.get(getResponseId("qn7.resp1", responseBundle)));
-        assertTrue(responseGiverVisibilityTable.get(getResponseId("qn7.resp2", responseBundle)));
-        assertTrue(responseGiverVisibilityTable.get(getResponseId("qn8.resp1", responseBundle)));
-        assertTrue(responseGiverVisibilityTable.get(getResponseId("qn8.resp2", responseBundle)));
-        assertEquals(totalResponse, responseGiverVisibilityTable.size());
-
-        Map<String, Boolean> responseRecipientVisibilityTable = bundle.getResponseRecipientVisibilityTable();
-        assertTrue(responseRecipientVisibilityTable.get(getResponseId("qn1.resp1", responseBundle)));
-        assertTrue(responseRecipientVisibilityTable.get(getResponseId("qn2.resp1", responseBundle)));
-        assertTrue(responseRecipientVisibilityTable.get(getResponseId("qn2.resp3", responseBundle)));
-        assertTrue(responseRecipientVisibilityTable.get(getResponseId("qn3.resp1", responseBundle)));
-        assertTrue(responseRecipientVisibilityTable.get(getResponseId("qn4.resp2", responseBundle)));
-        assertTrue(responseRecipientVisibilityTable.get(getResponseId("qn4.resp3", responseBundle)));
-        assertFalse(responseRecipientVisibilityTable.get(getResponseId("qn5.resp1", responseBundle)));
-        assertTrue(responseRecipientVisibilityTable.get(getResponseId("qn7.resp1", responseBundle)));
-        assertTrue(responseRecipientVisibilityTable.get(getResponseId("qn7.resp2", responseBundle)));
-        assertTrue(responseRecipientVisibilityTable.get(getResponseId("qn8.resp1", responseBundle)));
-        assertTrue(responseRecipientVisibilityTable.get(getResponseId("qn8.resp2", responseBundle)));
-        assertEquals(totalResponse, responseRecipientVisibilityTable.size());
+        assertTrue(isResponseGiverVisible(bundle, getResponseId("qn1.resp1", responseBundle)));
+        assertTrue(isResponseGiverVisible(bundle, getResponseId("qn2.resp1", responseBundle)));
+        assertTrue(isResponseGiverVisible(bundle, getResponseId("qn2.resp3", responseBundle)));
+        assertTrue(isResponseGiverVisible(bundle, getResponseId("qn3.resp1", responseBundle)));
+        assertTrue(isResponseGiverVisible(bundle, getResponseId("qn4.resp2", responseBundle)));
+        assertFalse(isResponseGiverVisible(bundle, getResponseId("qn4.resp3", responseBundle)));
+        assertTrue(isResponseGiverVisible(bundle, getResponseId("qn5.resp1", responseBundle)));
+        assertTrue(isResponseGiverVisible(bundle, getResponseId("qn7.resp1", responseBundle)));
+        assertTrue(isResponseGiverVisible(bundle, getResponseId("qn7.resp2", responseBundle)));
+        assertTrue(isResponseGiverVisible(bundle, getResponseId("qn8.resp1", responseBundle)));
+        assertTrue(isResponseGiverVisible(bundle, getResponseId("qn8.resp2", responseBundle)));
+        assertEquals(totalResponse, getResponseVisibilityTableSize(bundle));
+
+        assertTrue(isResponseRecipientVisible(bundle, getResponseId("qn1.resp1", responseBundle)));
+        assertTrue(isResponseRecipientVisible(bundle, getResponseId("qn2.resp1", responseBundle)));
+        assertTrue(isResponseRecipientVisible(bundle, getResponseId("qn2.resp3", responseBundle)));
+        assertTrue(isResponseRecipientVisible(bundle, getResponseId("qn3.resp1", responseBundle)));
+        assertTrue(isResponseRecipientVisible(bundle, getResponseId("qn4.resp2", responseBundle)));
+        assertTrue(isResponseRecipientVisible(bundle, getResponseId("qn4.resp3", responseBundle)));
+        assertFalse(isResponseRecipientVisible(bundle, getResponseId("qn5.resp1", responseBundle)));
+        assertTrue(isResponseRecipientVisible(bundle, getResponseId("qn7.resp1", responseBundle)));
+        assertTrue(isResponseRecipientVisible(bundle, getResponseId("qn7.resp2", responseBundle)));
+        assertTrue(isResponseRecipientVisible(bundle, getResponseId("qn8.resp1", responseBundle)));
+        assertTrue(isResponseRecipientVisible(bundle, getResponseId("qn8.resp2", responseBundle)));
+        assertEquals(totalResponse, getResponseVisibilityTableSize(bundle));
 
         // no entry in comment visibility table
-        Map<Long, Boolean> commentGiverVisibilityTable = bundle.getCommentGiverVisibilityTable();
-        assertEquals(0, commentGiverVisibilityTable.size());
+        assertEquals(0, getCommentVisibilityTableSize(bundle));
 
         // preview invisibility info should be empty because this is NOT previewing results
         assertEquals(0, bundle.getQuestionsNotVisibleForPreviewMap().size());
@@ -1406,18 +1422,16 @@ public class FeedbackResponsesLogicTest extends BaseLogicTest {
         assertEquals(1, bundle.getQuestionMissingResponseMap().size());
 
         // Test the generated response visibilityTable for userNames.
-        responseGiverVisibilityTable = bundle.getResponseGiverVisibilityTable();
-        assertTrue(responseGiverVisibilityTable.get(getResponseId("qn4.resp2", responseBundle)));
-        assertFalse(responseGiverVisibilityTable.get(getResponseId("qn4.resp3", responseBundle)));
-        assertEquals(totalResponse, responseGiverVisibilityTable.size());
+        assertTrue(isResponseGiverVisible(bundle, getResponseId("qn4.resp2", responseBundle)));
+        assertFalse(isResponseGiverVisible(bundle, getResponseId("qn4.resp3", responseBundle)));
+        assertEquals(totalResponse, getResponseVisibilityTableSize(bundle));
 
-        responseRecipientVisibilityTable = bundle.getResponseRecipientVisibilityTable();
-        assertTrue(responseRecipientVisibilityTable.get(getResponseId("qn4.resp2", responseBundle)));
-        assertTrue(responseRecipientVisibilityTable.get(getResponseId("qn4.resp3", responseBundle)));
-        assertEquals(totalResponse, responseRecipientVisibilityTable.size());
+        assertTrue(isResponseRecipientVisible(bundle, getResponseId("qn4.resp2", responseBundle)));
+        assertTrue(isResponseRecipientVisible(bundle, getResponseId("qn4.resp3", responseBundle)));
+        assertEquals(totalResponse, getResponseVisibilityTableSize(bundle));
 
         // no entry in comment visibility table
-        assertEquals(0, bundle.getCommentGiverVisibilityTable().size());
+        assertEquals(0, getCommentVisibilityTableSize(bundle));
 
         // q1-3, q5, q7-8 have responses viewable for the student but not instructors
         assertEquals(6, bundle.getQuestionsNotVisibleForPreviewMap().size());
@@ -1459,19 +1473,16 @@ public class FeedbackResponsesLogicTest extends BaseLogicTest {
         assertEquals(2, bundle.getQuestionMissingResponseMap().size());
 
         // Test the generated response visibilityTable for userNames.
-        Map<String, Boolean> responseGiverVisibilityTable = bundle.getResponseGiverVisibilityTable();
-        assertTrue(responseGiverVisibilityTable.get(getResponseId("qn3.resp1", responseBundle)));
-        assertTrue(responseGiverVisibilityTable.get(getResponseId("qn6.resp1", responseBundle)));
-        assertEquals(totalResponse, responseGiverVisibilityTable.size());
+        assertTrue(isResponseGiverVisible(bundle, getResponseId("qn3.resp1", responseBundle)));
+        assertTrue(isResponseGiverVisible(bundle, getResponseId("qn6.resp1", responseBundle)));
+        assertEquals(totalResponse, getResponseVisibilityTableSize(bundle));
 
-        Map<String, Boolean> responseRecipientVisibilityTable = bundle.getResponseRecipientVisibilityTable();
-        assertFalse(responseRecipientVisibilityTable.get(getResponseId("qn3.resp1", responseBundle)));
-        assertTrue(responseRecipientVisibilityTable.get(getResponseId("qn6.resp1", responseBundle)));
-        assertEquals(totalResponse, responseRecipientVisibilityTable.size());
+        assertFalse(isResponseRecipientVisible(bundle, getResponseId("qn3.resp1", responseBundle)));
+        assertTrue(isResponseRecipientVisible(bundle, getResponseId("qn6.resp1", responseBundle)));
+        assertEquals(totalResponse, getResponseVisibilityTableSize(bundle));
 
         // no entry in comment visibility table
-        Map<Long, Boolean> commentGiverVisibilityTable = bundle.getCommentGiverVisibilityTable();
-        assertEquals(0, commentGiverVisibilityTable.size());
+        assertEquals(0, getCommentVisibilityTableSize(bundle));
 
         // preview invisibility info should be empty because this is NOT previewing results
         assertEquals(0, bundle.getQuestionsNotVisibleForPreviewMap().size());
@@ -1533,35 +1544,32 @@ public class FeedbackResponsesLogicTest extends BaseLogicTest {
         assertEquals(8, bundle.getQuestionMissingResponseMap().size());
 
         // Test the generated response visibilityTable for userNames.
-        Map<String, Boolean> responseGiverVisibilityTable = bundle.getResponseGiverVisibilityTable();
-        assertFalse(responseGiverVisibilityTable.get(getResponseId("qn2.resp1", responseBundle)));
-        assertFalse(responseGiverVisibilityTable.get(getResponseId("qn2.resp2", responseBundle)));
-        assertFalse(responseGiverVisibilityTable.get(getResponseId("qn2.resp3", responseBundle)));
-        assertTrue(responseGiverVisibilityTable.get(getResponseId("qn3.resp1", responseBundle)));
-        assertFalse(responseGiverVisibilityTable.get(getResponseId("qn3.resp2", responseBundle)));
-        assertTrue(responseGiverVisibilityTable.get(getResponseId("qn4.resp1", responseBundle)));
-        assertTrue(responseGiverVisibilityTable.get(getResponseId("qn4.resp2", responseBundle)));
-        assertTrue(responseGiverVisibilityTable.get(getResponseId("qn4.resp3", responseBundle)));
-        assertFalse(responseGiverVisibilityTable.get(getResponseId("qn5.resp1", responseBundle)));
-        assertTrue(responseGiverVisibilityTable.get(getResponseId("qn6.resp1", responseBundle)));
-        assertEquals(totalResponse + totalMissingResponse, responseGiverVisibilityTable.size());
-
-        Map<String, Boolean> responseRecipientVisibilityTable = bundle.getResponseRecipientVisibilityTable();
-        assertFalse(responseRecipientVisibilityTable.get(getResponseId("qn2.resp1", responseBundle)));
-        assertFalse(responseRecipientVisibilityTable.get(getResponseId("qn2.resp2", responseBundle)));
-        assertFalse(responseRecipientVisibilityTable.get(getResponseId("qn2.resp3", responseBundle)));
-        assertFalse(responseRecipientVisibilityTable.get(getResponseId("qn3.resp1", responseBundle)));
-        assertFalse(responseRecipientVisibilityTable.get(getResponseId("qn3.resp2", responseBundle)));
-        assertTrue(responseRecipientVisibilityTable.get(getResponseId("qn4.resp1", responseBundle)));
-        assertTrue(responseRecipientVisibilityTable.get(getResponseId("qn4.resp2", responseBundle)));
-        assertTrue(responseRecipientVisibilityTable.get(getResponseId("qn4.resp3", responseBundle)));
-        assertTrue(responseRecipientVisibilityTable.get(getResponseId("qn5.resp1", responseBundle)));
-        assertTrue(responseRecipientVisibilityTable.get(getResponseId("qn6.resp1", responseBundle)));
-        assertEquals(totalResponse + totalMissingResponse, responseRecipientVisibilityTable.size());
+        assertFalse(isResponseGiverVisible(bundle, getResponseId("qn2.resp1", responseBundle)));
+        assertFalse(isResponseGiverVisible(bundle, getResponseId("qn2.resp2", responseBundle)));
+        assertFalse(isResponseGiverVisible(bundle, getResponseId("qn2.resp3", responseBundle)));
+        assertTrue(isResponseGiverVisible(bundle, getResponseId("qn3.resp1", responseBundle)));
+        assertFalse(isResponseGiverVisible(bundle, getResponseId("qn3.resp2", responseBundle)));
+        assertTrue(isResponseGiverVisible(bundle, getResponseId("qn4.resp1", responseBundle)));
+        assertTrue(isResponseGiverVisible(bundle, getResponseId("qn4.resp2", responseBundle)));
+        assertTrue(isResponseGiverVisible(bundle, getResponseId("qn4.resp3", responseBundle)));
+        assertFalse(isResponseGiverVisible(bundle, getResponseId("qn5.resp1", responseBundle)));
+        assertTrue(isResponseGiverVisible(bundle, getResponseId("qn6.resp1", responseBundle)));
+        assertEquals(totalResponse + totalMissingResponse, getResponseVisibilityTableSize(bundle));
+
+        assertFalse(isResponseRecipientVisible(bundle, getResponseId("qn2.resp1", responseBundle)));
+        assertFalse(isResponseRecipientVisible(bundle, getResponseId("qn2.resp2", responseBundle)));
+        assertFalse(isResponseRecipientVisible(bundle, getResponseId("qn2.resp3", responseBundle)));
+        assertFalse(isResponseRecipientVisible(bundle, getResponseId("qn3.resp1", responseBundle)));
+        assertFalse(isResponseRecipientVisible(bundle, getResponseId("qn3.resp2", responseBundle)));
+        assertTrue(isResponseRecipientVisible(bundle, getResponseId("qn4.resp1", responseBundle)));
+        assertTrue(isResponseRecipientVisible(bundle, getResponseId("qn4.resp2", responseBundle)));
+        assertTrue(isResponseRecipientVisible(bundle, getResponseId("qn4.resp3", responseBundle)));
+        assertTrue(isResponseRecipientVisible(bundle, getResponseId("qn5.resp1", responseBundle)));
+        assertTrue(isResponseRecipientVisible(bundle, getResponseId("qn6.resp1", responseBundle)));
+        assertEquals(totalResponse + totalMissingResponse, getResponseVisibilityTableSize(bundle));
 
         // no entry in comment visibility table
-        Map<Long, Boolean> commentGiverVisibilityTable = bundle.getCommentGiverVisibilityTable();
-        assertEquals(0, commentGiverVisibilityTable.size());
+        assertEquals(0, getCommentVisibilityTableSize(bundle));
     }
 
     @Test
@@ -1597,24 +1605,20 @@ public class FeedbackResponsesLogicTest extends BaseLogicTest {
         assertEquals(8, bundle.getQuestionMissingResponseMap().size());
 
         // Test the generated response visibilityTable for userNames.
-        Map<String, Boolean> responseGiverVisibilityTable = bundle.getResponseGiverVisibilityTable();
-        assertTrue(responseGiverVisibilityTable.get(getResponseId("qn3.resp1", responseBundle)));
-        assertTrue(responseGiverVisibilityTable.get(getResponseId("qn4.resp3", responseBundle)));
-        assertFalse(responseGiverVisibilityTable.get(getResponseId("qn2.resp3", responseBundle)));
-        assertFalse(responseGiverVisibilityTable.get(getResponseId("qn2.resp1", responseBundle)));
-        assertEquals(totalResponse + totalMissingResponse, responseGiverVisibilityTable.size());
-
-        Map<String, Boolean> responseRecipientVisibilityTable = bundle.getResponseRecipientVisibilityTable();
-        assertFalse(responseRecipientVisibilityTable.get(getResponseId("qn3.resp1", responseBundle)));
-        assertTrue(responseRecipientVisibilityTable.get(getResponseId("qn4.resp3", responseBundle)));
-        assertFalse(responseRecipientVisibilityTable.get(getResponseId("qn2.resp3", responseBundle)));
-        assertFalse(responseRecipientVisibilityTable.get(getResponseId("qn2.resp1", responseBundle)));
-        assertEquals(totalResponse + totalMissingResponse, responseGiverVisibilityTable.size());
-        assertEquals(totalResponse + totalMissingResponse, responseRecipientVisibilityTable.size());
+        assertTrue(isResponseGiverVisible(bundle, getResponseId("qn3.resp1", responseBundle)));
+        assertTrue(isResponseGiverVisible(bundle, getResponseId("qn4.resp3", responseBundle)));
+        assertFalse(isResponseGiverVisible(bundle, getResponseId("qn2.resp3", responseBundle)));
+        assertFalse(isResponseGiverVisible(bundle, getResponseId("qn2.resp1", responseBundle)));
+        assertEquals(totalResponse + totalMissingResponse, getResponseVisibilityTableSize(bundle));
+
+        assertFalse(isResponseRecipientVisible(bundle, getResponseId("qn3.resp1", responseBundle)));
+        assertTrue(isResponseRecipientVisible(bundle, getResponseId("qn4.resp3", responseBundle)));
+        assertFalse(isResponseRecipientVisible(bundle, getResponseId("qn2.resp3", responseBundle)));
+        assertFalse(isResponseRecipientVisible(bundle, getResponseId("qn2.resp1", responseBundle)));
+        assertEquals(totalResponse + totalMissingResponse, getResponseVisibilityTableSize(bundle));
 
         // no entry in comment visibility table
-        Map<Long, Boolean> commentGiverVisibilityTable = bundle.getCommentGiverVisibilityTable();
-        assertEquals(0, commentGiverVisibilityTable.size());
+        assertEquals(0, getCommentVisibilityTableSize(bundle));
     }
 
     @Test
@@ -1748,6 +1752,52 @@ public class FeedbackResponsesLogicTest extends BaseLogicTest {
         return getResponseFromDatabase(bundle, jsonId).getId();
     }
 
+    private boolean isResponseGiverVisible(SessionResultsBundle bundle, String responseId) {
+        for (Map.Entry<String, List<FeedbackResponseAttributes>> entry : bundle.getQuestionResponseMap().entrySet()) {
+            int position = getResponsePosition(entry.getValue(), responseId);
+            if (position >= 0) {
+                return bundle.getResponseVisibilityTable(entry.getKey()).isGiverVisible(position);
+            }
+        }
+        return false;
+    }
+
+    private boolean isResponseRecipientVisible(SessionResultsBundle bundle, String responseId) {
+        for (Map.Entry<String, List<FeedbackResponseAttributes>> entry : bundle.getQuestionResponseMap().entrySet()) {
+            int position = getResponsePosition(entry.getValue(), responseId);
+            if (position >= 0) {
+                return bundle.getResponseVisibilityTable(entry.getKey()).isRecipientVisible(position);
+            }
+        }
+        return false;
+    }
+
+    private int getResponsePosition(List<FeedbackResponseAttributes> responses, String responseId) {
+        for (int i = 0; i < responses.size(); i++) {
+            if (responses.get(i).getId().equals(responseId)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int getResponseVisibilityTableSize(SessionResultsBundle bundle) {
+        int size = 0;
+        for (String questionId : bundle.getQuestionsMap().keySet()) {
+            size += bundle.getResponseVisibilityTable(questionId).size();
+            size += bundle.getMissingResponseVisibilityTable(questionId).size();
+        }
+        return size;
+    }
+
+    private int getCommentVisibilityTableSize(SessionResultsBundle bundle) {
+        int size = 0;
+        for (String responseId : bundle.getResponseCommentsMap().keySet()) {
+            size += bundle.getCommentVisibilityTable(responseId).size();
+        }
+        return size;
+    }
+
     private List<FeedbackResponseCommentAttributes> getFeedbackResponseCommentsForResponsesFromDatabase(
             Set<String> responseIds) {
         List<FeedbackResponseCommentAttributes> responseComments = new ArrayList<>();
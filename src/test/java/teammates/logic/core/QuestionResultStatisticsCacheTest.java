@@ -0,0 +1,57 @@
+package teammates.logic.core;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.annotations.Test;
+
+import teammates.common.datatransfer.FeedbackParticipantType;
+import teammates.common.datatransfer.attributes.FeedbackQuestionAttributes;
+import teammates.common.datatransfer.questions.FeedbackContributionQuestionDetails;
+import teammates.test.BaseTestCase;
+
+/**
+ * SUT: {@link QuestionResultStatisticsCache}.
+ */
+public class QuestionResultStatisticsCacheTest extends BaseTestCase {
+
+    private final QuestionResultStatisticsCache statisticsCache = QuestionResultStatisticsCache.inst();
+
+    @Test
+    public void testGetQuestionResultStatisticsJson() {
+        FeedbackQuestionAttributes question = FeedbackQuestionAttributes.builder()
+                .withFeedbackSessionName("QRSCT session")
+                .withCourseId("QRSCT.course")
+                .withQuestionDetails(new FeedbackContributionQuestionDetails("question"))
+                .withQuestionNumber(1)
+                .withGiverType(FeedbackParticipantType.STUDENTS)
+                .withRecipientType(FeedbackParticipantType.OWN_TEAM_MEMBERS_INCLUDING_SELF)
+                .build();
+        question.setId("QRSCT.question." + System.nanoTime());
+        AtomicInteger loadCount = new AtomicInteger();
+
+        ______TS("statistics are computed only once for the same version and viewer");
+
+        assertEquals("statistics 1", getStatistics(question, "version1", null, loadCount));
+        assertEquals("statistics 1", getStatistics(question, "version1", null, loadCount));
+        assertEquals(1, loadCount.get());
+
+        ______TS("statistics are computed again for another viewer");
+
+        assertEquals("statistics 2", getStatistics(question, "version1", "student@email.tmt", loadCount));
+        assertEquals("statistics 1", getStatistics(question, "version1", null, loadCount));
+        assertEquals(2, loadCount.get());
+
+        ______TS("statistics are computed again after the version changes");
+
+        assertEquals("statistics 3", getStatistics(question, "version2", null, loadCount));
+        assertEquals("statistics 3", getStatistics(question, "version2", null, loadCount));
+        assertEquals(3, loadCount.get());
+    }
+
+    private String getStatistics(FeedbackQuestionAttributes question, String resultsVersion, String studentEmail,
+                                 AtomicInteger loadCount) {
+        return statisticsCache.getQuestionResultStatisticsJson(question, resultsVersion, studentEmail,
+                () -> "statistics " + loadCount.incrementAndGet());
+    }
+
+}
@@ -0,0 +1,101 @@
+package teammates.logic.external;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.Test;
+
+import com.google.api.core.ApiFuture;
+import com.google.api.core.SettableApiFuture;
+import com.google.cloud.tasks.v2.CreateTaskRequest;
+import com.google.cloud.tasks.v2.Task;
+
+import teammates.common.util.Const;
+import teammates.common.util.TaskWrapper;
+import teammates.test.BaseTestCase;
+
+/**
+ * SUT: {@link GoogleCloudTasksService}.
+ */
+public class GoogleCloudTasksServiceTest extends BaseTestCase {
+
+    private final ScheduledExecutorService executor = new ScheduledThreadPoolExecutor(4);
+
+    @AfterClass
+    public void classTeardown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testAddDeferredTasks_manyTasks_shouldBeAddedConcurrentlyWithBoundedRequests() {
+        FakeCloudTasks cloudTasks = new FakeCloudTasks();
+        GoogleCloudTasksService service = new GoogleCloudTasksService(cloudTasks::createTask);
+
+        List<TaskWrapper> tasks = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            tasks.add(new TaskWrapper(Const.TaskQueue.SEND_EMAIL_QUEUE_NAME, Const.TaskQueue.SEND_EMAIL_WORKER_URL,
+                    new HashMap<>(), null, i * 1000L));
+        }
+
+        assertTrue(service.addDeferredTasks(tasks));
+
+        assertEquals(200, cloudTasks.createdTasks.size());
+        assertEquals(0, cloudTasks.inFlightRequests.get());
+        assertTrue(cloudTasks.maxInFlightRequests.get() > 1);
+        assertTrue(cloudTasks.maxInFlightRequests.get() <= 50);
+    }
+
+    @Test
+    public void testAddDeferredTasks_someRequestsFail_shouldStillAddOtherTasks() {
+        FakeCloudTasks cloudTasks = new FakeCloudTasks();
+        cloudTasks.failedRequestIndex = 1;
+        GoogleCloudTasksService service = new GoogleCloudTasksService(cloudTasks::createTask);
+
+        List<TaskWrapper> tasks = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            tasks.add(new TaskWrapper(Const.TaskQueue.SEND_EMAIL_QUEUE_NAME, Const.TaskQueue.SEND_EMAIL_WORKER_URL,
+                    new HashMap<>(), null));
+        }
+
+        assertFalse(service.addDeferredTasks(tasks));
+
+        assertEquals(2, cloudTasks.createdTasks.size());
+    }
+
+    /**
+     * Mimics Cloud Tasks, which creates tasks asynchronously after a short delay.
+     */
+    private class FakeCloudTasks {
+        private final List<Task> createdTasks = new ArrayList<>();
+        private final AtomicInteger inFlightRequests = new AtomicInteger();
+        private final AtomicInteger maxInFlightRequests = new AtomicInteger();
+        private final AtomicInteger numberOfRequests = new AtomicInteger();
+        private int failedRequestIndex = -1;
+
+        ApiFuture<Task> createTask(CreateTaskRequest request) {
+            int requestIndex = numberOfRequests.getAndIncrement();
+            maxInFlightRequests.accumulateAndGet(inFlightRequests.incrementAndGet(), Math::max);
+
+            SettableApiFuture<Task> pendingTask = SettableApiFuture.create();
+            executor.schedule(() -> {
+                inFlightRequests.decrementAndGet();
+                if (requestIndex == failedRequestIndex) {
+                    pendingTask.setException(new IllegalStateException("Failed to create task"));
+                    return;
+                }
+                synchronized (createdTasks) {
+                    createdTasks.add(request.getTask());
+                }
+                pendingTask.set(request.getTask());
+            }, 5, TimeUnit.MILLISECONDS);
+            return pendingTask;
+        }
+    }
+
+}
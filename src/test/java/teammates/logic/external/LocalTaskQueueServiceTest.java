@@ -0,0 +1,182 @@
+package teammates.logic.external;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import teammates.common.util.Const;
+import teammates.common.util.TaskWrapper;
+import teammates.test.BaseTestCase;
+
+/**
+ * SUT: {@link LocalTaskQueueService}.
+ */
+public class LocalTaskQueueServiceTest extends BaseTestCase {
+
+    private static final String QUEUE_NAME = Const.TaskQueue.SEND_EMAIL_QUEUE_NAME;
+
+    private ManualScheduler scheduler;
+
+    @BeforeMethod
+    public void setUp() {
+        scheduler = new ManualScheduler();
+    }
+
+    @Test
+    public void testAddDeferredTask_withCountdown_shouldRunAfterCountdown() {
+        AtomicInteger runs = new AtomicInteger();
+        LocalTaskQueueService service = createService(task -> {
+            runs.incrementAndGet();
+            return true;
+        });
+
+        service.addDeferredTask(getTask(), 300);
+
+        assertEquals(1, service.getStatistics(QUEUE_NAME).getPendingTasks());
+
+        ______TS("task should not run before its countdown ends");
+
+        scheduler.advanceBy(299);
+
+        assertEquals(0, runs.get());
+        assertEquals(1, service.getStatistics(QUEUE_NAME).getPendingTasks());
+
+        ______TS("task should run once its countdown ends");
+
+        scheduler.advanceBy(1);
+
+        assertEquals(1, runs.get());
+        assertEquals(0, service.getStatistics(QUEUE_NAME).getPendingTasks());
+        assertEquals(1, service.getStatistics(QUEUE_NAME).getCompletedTasks());
+        assertEquals(0, service.getStatistics(QUEUE_NAME).getAverageLatencyMillis());
+    }
+
+    @Test
+    public void testAddDeferredTasks_failingTask_shouldBeRetriedWithBackoffUntilSuccessful() {
+        AtomicInteger attempts = new AtomicInteger();
+        LocalTaskQueueService service = createService(task -> attempts.incrementAndGet() >= 3);
+
+        service.addDeferredTasks(Collections.singletonList(getTask()));
+        scheduler.advanceBy(0);
+
+        assertEquals(1, attempts.get());
+        assertEquals(1, service.getStatistics(QUEUE_NAME).getRetriedAttempts());
+
+        ______TS("second attempt should run after the minimum backoff");
+
+        scheduler.advanceBy(999);
+        assertEquals(1, attempts.get());
+        scheduler.advanceBy(1);
+        assertEquals(2, attempts.get());
+
+        ______TS("third attempt should run after twice the backoff");
+
+        scheduler.advanceBy(1999);
+        assertEquals(2, attempts.get());
+        scheduler.advanceBy(1);
+        assertEquals(3, attempts.get());
+
+        assertEquals(2, service.getStatistics(QUEUE_NAME).getRetriedAttempts());
+        assertEquals(1, service.getStatistics(QUEUE_NAME).getCompletedTasks());
+        assertEquals(0, service.getStatistics(QUEUE_NAME).getFailedTasks());
+        assertEquals(0, service.getStatistics(QUEUE_NAME).getPendingTasks());
+        assertEquals(3000, service.getStatistics(QUEUE_NAME).getAverageLatencyMillis());
+    }
+
+    @Test
+    public void testAddDeferredTasks_alwaysFailingTask_shouldGiveUpAfterMaxAttempts() {
+        AtomicInteger attempts = new AtomicInteger();
+        LocalTaskQueueService service = createService(task -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("Worker is down");
+        });
+
+        service.addDeferredTasks(Arrays.asList(getTask(), getTask()));
+
+        // the backoffs between the 5 attempts of each task add up to 1 + 2 + 4 + 8 seconds
+        scheduler.advanceBy(14_999);
+
+        assertEquals(8, attempts.get());
+        assertEquals(2, service.getStatistics(QUEUE_NAME).getPendingTasks());
+
+        scheduler.advanceBy(1);
+
+        assertEquals(10, attempts.get());
+        assertEquals(8, service.getStatistics(QUEUE_NAME).getRetriedAttempts());
+        assertEquals(2, service.getStatistics(QUEUE_NAME).getFailedTasks());
+        assertEquals(0, service.getStatistics(QUEUE_NAME).getCompletedTasks());
+        assertEquals(0, service.getStatistics(QUEUE_NAME).getPendingTasks());
+    }
+
+    @Test
+    public void testGetStatistics_tasksInAnotherQueue_shouldNotBeCounted() {
+        LocalTaskQueueService service = createService(task -> true);
+
+        service.addDeferredTask(getTask(), 0);
+        scheduler.advanceBy(0);
+
+        assertEquals(1, service.getStatistics(QUEUE_NAME).getCompletedTasks());
+        assertEquals(0, service.getStatistics(Const.TaskQueue.SEARCH_INDEXING_QUEUE_NAME).getCompletedTasks());
+    }
+
+    private LocalTaskQueueService createService(Predicate<TaskWrapper> taskRunner) {
+        return new LocalTaskQueueService(taskRunner, scheduler, scheduler::now);
+    }
+
+    private static TaskWrapper getTask() {
+        return new TaskWrapper(QUEUE_NAME, Const.TaskQueue.SEND_EMAIL_WORKER_URL, new HashMap<>(), null);
+    }
+
+    /**
+     * Runs the scheduled tasks in the calling thread, in the order of their due times,
+     * when the time is advanced explicitly.
+     */
+    private static final class ManualScheduler implements LocalTaskQueueService.TaskScheduler {
+        private final PriorityQueue<ScheduledRun> scheduledRuns = new PriorityQueue<>(
+                Comparator.comparingLong((ScheduledRun run) -> run.dueTime).thenComparingLong(run -> run.sequence));
+        private long currentTime;
+        private long nextSequence;
+
+        @Override
+        public void schedule(String queueName, Runnable run, long delayMillis) {
+            scheduledRuns.add(new ScheduledRun(currentTime + delayMillis, nextSequence++, run));
+        }
+
+        long now() {
+            return currentTime;
+        }
+
+        /**
+         * Advances the time, running the tasks which become due in the meantime, including their retries.
+         */
+        void advanceBy(long millis) {
+            long targetTime = currentTime + millis;
+            while (!scheduledRuns.isEmpty() && scheduledRuns.peek().dueTime <= targetTime) {
+                ScheduledRun scheduledRun = scheduledRuns.remove();
+                currentTime = scheduledRun.dueTime;
+                scheduledRun.run.run();
+            }
+            currentTime = targetTime;
+        }
+    }
+
+    private static final class ScheduledRun {
+        private final long dueTime;
+        private final long sequence;
+        private final Runnable run;
+
+        ScheduledRun(long dueTime, long sequence, Runnable run) {
+            this.dueTime = dueTime;
+            this.sequence = sequence;
+            this.run = run;
+        }
+    }
+
+}
@@ -0,0 +1,70 @@
+package teammates.logic.external;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.http.HttpStatus;
+
+import teammates.common.util.EmailSendingStatus;
+import teammates.common.util.EmailWrapper;
+
+/**
+ * Allows mocking of the email sending services used in production.
+ *
+ * <p>Instead of actually sending the emails, the service keeps track of the emails sent in each request,
+ * sending up to a given number of emails in one request like the batch endpoints of the actual services.
+ */
+public class MockEmailService extends EmptyEmailService {
+
+    private final int maxEmailsPerRequest;
+    private final List<List<EmailWrapper>> requestsSent = new ArrayList<>();
+    private Set<String> failingRecipients = new HashSet<>();
+
+    public MockEmailService(int maxEmailsPerRequest) {
+        this.maxEmailsPerRequest = maxEmailsPerRequest;
+    }
+
+    @Override
+    public EmailSendingStatus sendEmail(EmailWrapper wrapper) {
+        requestsSent.add(Arrays.asList(wrapper));
+        return getStatus(wrapper);
+    }
+
+    @Override
+    public List<EmailSendingStatus> sendEmails(List<EmailWrapper> wrappers) {
+        List<EmailSendingStatus> statuses = new ArrayList<>();
+        for (int i = 0; i < wrappers.size(); i += maxEmailsPerRequest) {
+            List<EmailWrapper> request = wrappers.subList(i, Math.min(i + maxEmailsPerRequest, wrappers.size()));
+            requestsSent.add(new ArrayList<>(request));
+            for (EmailWrapper wrapper : request) {
+                statuses.add(getStatus(wrapper));
+            }
+        }
+        return statuses;
+    }
+
+    private EmailSendingStatus getStatus(EmailWrapper wrapper) {
+        if (failingRecipients.contains(wrapper.getRecipient())) {
+            return new EmailSendingStatus(HttpStatus.SC_BAD_REQUEST, "Invalid recipient");
+        }
+        return new EmailSendingStatus(HttpStatus.SC_OK, null);
+    }
+
+    /**
+     * Makes the sending of emails to any of the {@code recipients} fail.
+     */
+    public void setFailingRecipients(String... recipients) {
+        failingRecipients = new HashSet<>(Arrays.asList(recipients));
+    }
+
+    /**
+     * Gets the emails sent in each request to the service.
+     */
+    public List<List<EmailWrapper>> getRequestsSent() {
+        return requestsSent;
+    }
+
+}
@@ -0,0 +1,115 @@
+package teammates.storage.api;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.testng.annotations.Test;
+
+import teammates.common.datatransfer.attributes.CourseAttributes;
+import teammates.common.exception.DeadlineExceededException;
+import teammates.common.util.RequestTracer;
+import teammates.test.BaseTestCaseWithLocalDatabaseAccess;
+
+/**
+ * SUT: {@link ConcurrentReads}.
+ */
+public class ConcurrentReadsTest extends BaseTestCaseWithLocalDatabaseAccess {
+
+    private final CoursesDb coursesDb = CoursesDb.inst();
+
+    @Test
+    public void testSubmitAndAwait() throws Exception {
+        ______TS("success: read is run in the trace of the submitting request");
+
+        // a separate thread is used so that the trace does not leak to other tests
+        AtomicReference<String> traceIdSeenByRead = new AtomicReference<>();
+        Thread requestThread = new Thread(() -> {
+            RequestTracer.init("trace-id", "span-id", 60);
+            try (ConcurrentReads reads = new ConcurrentReads()) {
+                traceIdSeenByRead.set(reads.await(reads.submit(RequestTracer::getTraceId)));
+            }
+        });
+        requestThread.start();
+        requestThread.join();
+        assertEquals("trace-id", traceIdSeenByRead.get());
+
+        ______TS("success: reads are run in their own database sessions");
+
+        CourseAttributes course = CourseAttributes
+                .builder("Computing101-concurrent")
+                .withName("Basic Computing")
+                .withTimezone("UTC")
+                .withInstitute("Test institute")
+                .build();
+        coursesDb.createEntity(course);
+
+        try (ConcurrentReads reads = new ConcurrentReads()) {
+            Future<CourseAttributes> pendingCourse = reads.submit(() -> coursesDb.getCourse(course.getId()));
+
+            assertEquals(course.getName(), reads.await(pendingCourse).getName());
+        }
+
+        ______TS("failure: exception thrown by the read is rethrown as is and the other reads are cancelled");
+
+        CountDownLatch neverReleased = new CountDownLatch(1);
+        try (ConcurrentReads reads = new ConcurrentReads()) {
+            Future<Boolean> pendingBlockedRead = reads.submit(() -> {
+                try {
+                    return neverReleased.await(1, TimeUnit.MINUTES);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            });
+            Future<Object> pendingFailedRead = reads.submit(() -> {
+                throw new IllegalArgumentException("read failed");
+            });
+
+            IllegalArgumentException iae = assertThrows(IllegalArgumentException.class,
+                    () -> reads.await(pendingFailedRead));
+            assertEquals("read failed", iae.getMessage());
+            assertTrue(pendingBlockedRead.isCancelled());
+        }
+
+        ______TS("failure: pending reads are cancelled when the reads are closed");
+
+        Future<Boolean> pendingUnawaitedRead;
+        try (ConcurrentReads reads = new ConcurrentReads()) {
+            pendingUnawaitedRead = reads.submit(() -> {
+                try {
+                    return neverReleased.await(1, TimeUnit.MINUTES);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            });
+        }
+        assertTrue(pendingUnawaitedRead.isCancelled());
+
+        coursesDb.deleteCourse(course.getId());
+    }
+
+    @Test
+    public void testSubmit_deadlineExceeded_shouldNotRunRead() throws Exception {
+        AtomicBoolean isReadRun = new AtomicBoolean();
+        AtomicReference<RuntimeException> exceptionSeenByRequest = new AtomicReference<>();
+        Thread requestThread = new Thread(() -> {
+            // the request has already exceeded its deadline
+            RequestTracer.init("trace-id", "span-id", -1);
+            try (ConcurrentReads reads = new ConcurrentReads()) {
+                reads.await(reads.submit(() -> isReadRun.getAndSet(true)));
+            } catch (RuntimeException e) {
+                exceptionSeenByRequest.set(e);
+            }
+        });
+        requestThread.start();
+        requestThread.join();
+
+        assertTrue(exceptionSeenByRequest.get() instanceof DeadlineExceededException);
+        assertFalse(isReadRun.get());
+    }
+
+}
@@ -3,12 +3,15 @@ package teammates.storage.api;
 import static teammates.common.util.FieldValidator.COURSE_ID_ERROR_MESSAGE;
 import static teammates.common.util.FieldValidator.REASON_INCORRECT_FORMAT;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.testng.annotations.Test;
 
 import teammates.common.datatransfer.attributes.CourseAttributes;
 import teammates.common.exception.EntityAlreadyExistsException;
 import teammates.common.exception.InvalidParametersException;
 import teammates.common.util.FieldValidator;
+import teammates.storage.entity.Course;
 import teammates.test.AssertHelper;
 import teammates.test.BaseTestCaseWithLocalDatabaseAccess;
 
@@ -66,4 +69,39 @@ public class EntitiesDbTest extends BaseTestCaseWithLocalDatabaseAccess {
         assertThrows(AssertionError.class, () -> coursesDb.createEntity(null));
     }
 
+    @Test
+    public void testLoadCached() throws Exception {
+        AtomicInteger loadCount = new AtomicInteger();
+
+        ______TS("success: value is loaded only once until entities of the kind are written");
+        assertNull(coursesDb.loadCached(Course.class, "cache-key", () -> {
+            loadCount.incrementAndGet();
+            return null;
+        }));
+        assertNull(coursesDb.loadCached(Course.class, "cache-key", () -> {
+            loadCount.incrementAndGet();
+            return null;
+        }));
+        assertEquals(1, loadCount.get());
+
+        ______TS("success: cached value is discarded after an entity of the kind is written");
+        CourseAttributes c = CourseAttributes
+                .builder("Computing101-cached")
+                .withName("Basic Computing")
+                .withTimezone("UTC")
+                .withInstitute("Test institute")
+                .build();
+        assertNull(coursesDb.getCourse(c.getId()));
+        coursesDb.createEntity(c);
+        assertEquals(c.getName(), coursesDb.getCourse(c.getId()).getName());
+        coursesDb.loadCached(Course.class, "cache-key", () -> {
+            loadCount.incrementAndGet();
+            return null;
+        });
+        assertEquals(2, loadCount.get());
+
+        coursesDb.deleteCourse(c.getId());
+        assertNull(coursesDb.getCourse(c.getId()));
+    }
+
 }
@@ -2,6 +2,8 @@ package teammates.storage.api;
 
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import org.testng.annotations.AfterMethod;
@@ -406,6 +408,59 @@ public class FeedbackResponseCommentsDbTest extends BaseTestCaseWithLocalDatabas
                 () -> frcDb.updateGiverEmailOfFeedbackResponseComments(courseId, giverEmail, null));
     }
 
+    @Test
+    public void testUpdateEmailsOfFeedbackResponseComments_acrossChunks_shouldUpdateAllComments() throws Exception {
+        String courseId = "frcdb.chunks.courseId";
+        String oldEmail = "frcdb.oldEmail@email.com";
+        String updatedEmail = "frcdb.updatedEmail@email.com";
+
+        for (int numComments : new int[] { 0, 1, EntitiesDb.STREAM_CHUNK_SIZE, EntitiesDb.STREAM_CHUNK_SIZE + 1 }) {
+            ______TS(numComments + " comments: all comments of the giver should be updated");
+
+            putCommentsOfGiver(courseId, oldEmail, numComments);
+
+            frcDb.updateGiverEmailOfFeedbackResponseComments(courseId, oldEmail, updatedEmail);
+
+            assertEquals(0, countComments(courseId, "giverEmail =", oldEmail));
+            assertEquals(numComments, countComments(courseId, "giverEmail =", updatedEmail));
+
+            ______TS(numComments + " comments: all comments of the last editor should be updated");
+
+            frcDb.updateLastEditorEmailOfFeedbackResponseComments(courseId, oldEmail, updatedEmail);
+
+            assertEquals(0, countComments(courseId, "lastEditorEmail =", oldEmail));
+            assertEquals(numComments, countComments(courseId, "lastEditorEmail =", updatedEmail));
+
+            frcDb.deleteFeedbackResponseComments(AttributesDeletionQuery.builder().withCourseId(courseId).build());
+        }
+    }
+
+    private void putCommentsOfGiver(String courseId, String giverEmail, int numComments) throws Exception {
+        List<FeedbackResponseCommentAttributes> comments = new ArrayList<>();
+        for (int i = 0; i < numComments; i++) {
+            FeedbackResponseCommentAttributes comment = FeedbackResponseCommentAttributes.builder()
+                    .withCourseId(courseId)
+                    .withFeedbackSessionName("chunks session")
+                    .withFeedbackQuestionId("chunks question")
+                    .withFeedbackResponseId("chunks response " + i)
+                    .withCommentGiver(giverEmail)
+                    .withCommentGiverType(FeedbackParticipantType.INSTRUCTORS)
+                    .withCommentText("comment " + i)
+                    .build();
+            // the giver is also the last editor of the comment
+            comment.setLastEditorEmail(giverEmail);
+            comments.add(comment);
+        }
+        frcDb.putEntities(comments);
+    }
+
+    private long countComments(String courseId, String emailFilter, String email) {
+        return frcDb.streamEntities(() -> frcDb.load()
+                .filter("courseId =", courseId)
+                .filter(emailFilter, email))
+                .count();
+    }
+
     @Test
     public void testDeleteFeedbackResponseComment() {
 
@@ -468,6 +523,34 @@ public class FeedbackResponseCommentsDbTest extends BaseTestCaseWithLocalDatabas
         assertNotNull(frcDb.getFeedbackResponseComment(anotherFrcaData.getId()));
     }
 
+    @Test
+    public void testDeleteFeedbackResponseCommentsForResponses() throws Exception {
+
+        ______TS("no responses");
+
+        // should pass silently
+        frcDb.deleteFeedbackResponseCommentsForResponses(Collections.emptyList());
+
+        ______TS("typical success case: only comments of the given responses are deleted");
+
+        String otherFrId = anotherFrcaData.getFeedbackResponseId();
+        assertFalse(frcDb.getFeedbackResponseCommentsForResponse(frId).isEmpty());
+        assertFalse(frcDb.getFeedbackResponseCommentsForResponse(otherFrId).isEmpty());
+
+        frcDb.deleteFeedbackResponseCommentsForResponses(Arrays.asList(frId, "not_exist"));
+
+        assertTrue(frcDb.getFeedbackResponseCommentsForResponse(frId).isEmpty());
+        assertNotNull(frcDb.getFeedbackResponseComment(anotherFrcaData.getId()));
+
+        ______TS("typical success case: comments of multiple responses are deleted");
+
+        frcDb.putEntity(frcaData);
+        frcDb.deleteFeedbackResponseCommentsForResponses(Arrays.asList(frId, otherFrId));
+
+        assertTrue(frcDb.getFeedbackResponseCommentsForResponse(frId).isEmpty());
+        assertTrue(frcDb.getFeedbackResponseCommentsForResponse(otherFrId).isEmpty());
+    }
+
     @Test
     public void testDeleteFeedbackResponseComments_byQuestionId() {
         ______TS("non-existent question id");
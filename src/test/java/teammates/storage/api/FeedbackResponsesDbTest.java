@@ -1,5 +1,6 @@
 package teammates.storage.api;
 
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -85,6 +86,42 @@ public class FeedbackResponsesDbTest extends BaseTestCaseWithLocalDatabaseAccess
                 giverSet);
     }
 
+    @Test
+    public void testGetGiverSetThatAnswerFeedbackSession_responsesCreatedAndDeleted_shouldBeKeptUpToDate()
+            throws Exception {
+        FeedbackResponseAttributes fra = getNewFeedbackResponseAttributes();
+        FeedbackResponseAttributes anotherFra = FeedbackResponseAttributes.builder(
+                fra.getFeedbackQuestionId(), fra.getGiver(), "anotherRecipient@email.tmt")
+                .withCourseId(fra.getCourseId())
+                .withFeedbackSessionName(fra.getFeedbackSessionName())
+                .withGiverSection("None")
+                .withRecipientSection("None")
+                .withResponseDetails(new FeedbackTextResponseDetails("Another text response"))
+                .build();
+
+        // builds the statistics of the session
+        assertTrue(frDb.getGiverSetThatAnswerFeedbackSession(fra.getCourseId(), fra.getFeedbackSessionName()).isEmpty());
+
+        ______TS("created responses should be counted");
+
+        frDb.createEntity(fra);
+        frDb.createEntity(anotherFra);
+
+        assertEquals(Sets.newHashSet(fra.getGiver()),
+                frDb.getGiverSetThatAnswerFeedbackSession(fra.getCourseId(), fra.getFeedbackSessionName()));
+
+        ______TS("giver should remain until all responses of the giver are deleted");
+
+        frDb.deleteFeedbackResponse(fra.getId());
+
+        assertEquals(Sets.newHashSet(fra.getGiver()),
+                frDb.getGiverSetThatAnswerFeedbackSession(fra.getCourseId(), fra.getFeedbackSessionName()));
+
+        frDb.deleteFeedbackResponse(anotherFra.getId());
+
+        assertTrue(frDb.getGiverSetThatAnswerFeedbackSession(fra.getCourseId(), fra.getFeedbackSessionName()).isEmpty());
+    }
+
     @Test
     public void testTimestamp() throws Exception {
 
@@ -701,6 +738,63 @@ public class FeedbackResponsesDbTest extends BaseTestCaseWithLocalDatabaseAccess
         assertEquals(modifiedResponse.getFeedbackQuestionType(), updatedResponse.getFeedbackQuestionType());
     }
 
+    @Test
+    public void testSaveFeedbackResponses() throws Exception {
+        FeedbackResponseAttributes responseToCreate = getNewFeedbackResponseAttributes();
+        FeedbackResponseAttributes responseToUpdate = getResponseAttributes("response3ForQ2S1C1");
+        responseToUpdate = frDb.getFeedbackResponse(responseToUpdate.getFeedbackQuestionId(),
+                responseToUpdate.getGiver(), responseToUpdate.getRecipient());
+        FeedbackResponseAttributes responseToDelete = fras.get("response1ForQ1S1C1");
+        String responseIdToDelete = frDb.getFeedbackResponse(responseToDelete.getFeedbackQuestionId(),
+                responseToDelete.getGiver(), responseToDelete.getRecipient()).getId();
+
+        FeedbackResponseDetails frd = new FeedbackTextResponseDetails("New answer text!");
+        List<FeedbackResponseAttributes.UpdateOptions> updates = Collections.singletonList(
+                FeedbackResponseAttributes.updateOptionsBuilder(responseToUpdate.getId())
+                        .withResponseDetails(frd)
+                        .build());
+
+        ______TS("response to create already exists: nothing should be written");
+
+        FeedbackResponseAttributes existingResponse = responseToUpdate;
+        assertThrows(EntityAlreadyExistsException.class,
+                () -> frDb.saveFeedbackResponses(Collections.singletonList(existingResponse), updates,
+                        Collections.singletonList(responseIdToDelete)));
+
+        assertNotNull(frDb.getFeedbackResponse(responseIdToDelete));
+        assertEquals(existingResponse.getResponseDetailsCopy().getAnswerString(),
+                frDb.getFeedbackResponse(existingResponse.getId()).getResponseDetailsCopy().getAnswerString());
+
+        ______TS("response to update does not exist: nothing should be written");
+
+        assertThrows(EntityDoesNotExistException.class,
+                () -> frDb.saveFeedbackResponses(Collections.singletonList(responseToCreate),
+                        Collections.singletonList(FeedbackResponseAttributes.updateOptionsBuilder("non-existent")
+                                .withResponseDetails(frd)
+                                .build()),
+                        Collections.emptyList()));
+
+        assertNull(frDb.getFeedbackResponse(responseToCreate.getId()));
+
+        ______TS("standard success case");
+
+        List<FeedbackResponseAttributes> savedResponses = frDb.saveFeedbackResponses(
+                Collections.singletonList(responseToCreate), updates,
+                Collections.singletonList(responseIdToDelete));
+
+        assertEquals(2, savedResponses.size());
+        assertEquals(responseToCreate.getId(), savedResponses.get(0).getId());
+        assertEquals(responseToUpdate.getId(), savedResponses.get(1).getId());
+        assertEquals("New answer text!", savedResponses.get(1).getResponseDetailsCopy().getAnswerString());
+
+        verifyPresentInDatabase(responseToCreate);
+        assertEquals("New answer text!",
+                frDb.getFeedbackResponse(responseToUpdate.getId()).getResponseDetailsCopy().getAnswerString());
+        assertNull(frDb.getFeedbackResponse(responseIdToDelete));
+
+        deleteResponse(responseToCreate);
+    }
+
     // the test is to ensure that optimized saving policy is implemented without false negative
     @Test
     public void testUpdateFeedbackResponse_singleFieldUpdate_shouldUpdateCorrectly() throws Exception {
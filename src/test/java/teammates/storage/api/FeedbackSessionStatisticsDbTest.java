@@ -0,0 +1,117 @@
+package teammates.storage.api;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import com.google.common.collect.Sets;
+
+import teammates.common.datatransfer.questions.FeedbackQuestionType;
+import teammates.storage.entity.FeedbackResponse;
+import teammates.test.BaseTestCaseWithLocalDatabaseAccess;
+
+/**
+ * SUT: {@link FeedbackSessionStatisticsDb}.
+ */
+public class FeedbackSessionStatisticsDbTest extends BaseTestCaseWithLocalDatabaseAccess {
+
+    private static final String COURSE_ID = "FSSDbT.course";
+    private static final String SESSION_NAME = "FSSDbT session";
+
+    private final FeedbackSessionStatisticsDb statisticsDb = FeedbackSessionStatisticsDb.inst();
+
+    @AfterMethod
+    public void deleteStatistics() {
+        statisticsDb.deleteStatistics(SESSION_NAME, COURSE_ID);
+    }
+
+    @Test
+    public void testGetGiversWithResponses_completeStatistics_shouldNotReadResponses() {
+        AtomicInteger numLoads = new AtomicInteger();
+
+        assertEquals(Sets.newHashSet("giver1@email.tmt", "giver2@email.tmt"),
+                getGivers(() -> {
+                    numLoads.incrementAndGet();
+                    return Sets.newHashSet("giver1@email.tmt", "giver2@email.tmt");
+                }));
+        assertEquals(1, numLoads.get());
+
+        ______TS("updates should be applied to the complete statistics");
+
+        statisticsDb.addGiversWithResponses(Collections.singletonList(getResponse("giver3@email.tmt")));
+        statisticsDb.removeGiversWithoutResponses(
+                Collections.singletonList(getResponse("giver1@email.tmt")), response -> false);
+        statisticsDb.removeGiversWithoutResponses(
+                Collections.singletonList(getResponse("giver2@email.tmt")), response -> true);
+
+        assertEquals(Sets.newHashSet("giver2@email.tmt", "giver3@email.tmt"),
+                getGivers(() -> {
+                    throw new AssertionError("responses should not be read");
+                }));
+    }
+
+    @Test
+    public void testGetGiversWithResponses_updatesDuringBuild_shouldNotBeLost() {
+        Set<String> givers = getGivers(() -> {
+            // a first-time giver submits, and a giver deletes the last response, after the responses are read
+            statisticsDb.addGiversWithResponses(Collections.singletonList(getResponse("newGiver@email.tmt")));
+            statisticsDb.removeGiversWithoutResponses(
+                    Collections.singletonList(getResponse("leavingGiver@email.tmt")), response -> false);
+            return Sets.newHashSet("giver1@email.tmt", "leavingGiver@email.tmt");
+        });
+
+        Set<String> expectedGivers = Sets.newHashSet("giver1@email.tmt", "newGiver@email.tmt");
+        assertEquals(expectedGivers, givers);
+        assertEquals(expectedGivers, getGivers(() -> {
+            throw new AssertionError("responses should not be read");
+        }));
+    }
+
+    @Test
+    public void testGetGiversWithResponses_deletedDuringBuild_shouldBeBuiltAgain() {
+        getGivers(() -> {
+            // the responses of the session are deleted in bulk after the responses are read
+            statisticsDb.deleteStatistics(SESSION_NAME, COURSE_ID);
+            return Sets.newHashSet("giver1@email.tmt");
+        });
+
+        assertTrue(getGivers(Collections::emptySet).isEmpty());
+    }
+
+    @Test
+    public void testAddGiversWithResponses_noStatistics_shouldBeFoundWhenBuilt() {
+        statisticsDb.addGiversWithResponses(Collections.singletonList(getResponse("giver1@email.tmt")));
+
+        // the responses are read when the statistics are built, which include the response of the giver
+        assertEquals(Sets.newHashSet("giver1@email.tmt"), getGivers(() -> Sets.newHashSet("giver1@email.tmt")));
+    }
+
+    @Test
+    public void testAddGiversWithResponses_failedUpdate_shouldBeBuiltAgain() {
+        getGivers(() -> Sets.newHashSet("giver1@email.tmt"));
+
+        assertThrows(IllegalStateException.class,
+                () -> statisticsDb.addGiversWithResponses(Collections.singletonList(getResponse("giver2@email.tmt")),
+                        keys -> {
+                            throw new IllegalStateException("Datastore is unavailable");
+                        }));
+
+        // the response of the giver is written, hence it is read when the statistics are built again
+        assertEquals(Sets.newHashSet("giver1@email.tmt", "giver2@email.tmt"),
+                getGivers(() -> Sets.newHashSet("giver1@email.tmt", "giver2@email.tmt")));
+    }
+
+    private Set<String> getGivers(Supplier<Set<String>> giversLoader) {
+        return statisticsDb.getGiversWithResponses(SESSION_NAME, COURSE_ID, giversLoader);
+    }
+
+    private FeedbackResponse getResponse(String giver) {
+        return new FeedbackResponse(SESSION_NAME, COURSE_ID, "questionId", FeedbackQuestionType.TEXT,
+                giver, "None", "recipient@email.tmt", "None", "answer");
+    }
+
+}
@@ -4,11 +4,19 @@ import static teammates.common.util.FieldValidator.COURSE_ID_ERROR_MESSAGE;
 import static teammates.common.util.FieldValidator.REASON_INCORRECT_FORMAT;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.testng.annotations.Test;
 
 import teammates.common.datatransfer.AttributesDeletionQuery;
+import teammates.common.datatransfer.CursorPage;
 import teammates.common.datatransfer.attributes.StudentAttributes;
 import teammates.common.exception.EntityAlreadyExistsException;
 import teammates.common.exception.EntityDoesNotExistException;
@@ -192,6 +200,197 @@ public class StudentsDbTest extends BaseTestCaseWithLocalDatabaseAccess {
         studentsDb.deleteStudent(s2.getCourse(), s2.getEmail());
     }
 
+    @Test
+    public void testGetStudentsForIds() throws Exception {
+        StudentAttributes s1 = createNewStudent("valid1@email.com");
+        StudentAttributes s2 = createNewStudent("valid2@email.com");
+
+        ______TS("typical case: students found are keyed by their IDs");
+
+        Map<String, StudentAttributes> students = studentsDb.getStudentsForIds(
+                Arrays.asList(s1.getId(), s2.getId(), "non-existent@email.com%valid-course"));
+
+        assertEquals(2, students.size());
+        assertTrue(isEnrollInfoSameAs(s1, students.get(s1.getId())));
+        assertTrue(isEnrollInfoSameAs(s2, students.get(s2.getId())));
+
+        ______TS("no IDs");
+
+        assertTrue(studentsDb.getStudentsForIds(new ArrayList<>()).isEmpty());
+
+        studentsDb.deleteStudent(s1.getCourse(), s1.getEmail());
+        studentsDb.deleteStudent(s2.getCourse(), s2.getEmail());
+    }
+
+    @Test
+    public void testGetEntitiesPage() throws Exception {
+        StudentAttributes s1 = createNewStudent("valid1@email.com");
+        StudentAttributes s2 = createNewStudent("valid2@email.com");
+        StudentAttributes s3 = createNewStudent("valid3@email.com");
+
+        ______TS("typical case: pages should cover all students exactly once");
+
+        List<String> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<StudentAttributes> page = studentsDb.getEntitiesPage(cursor, 2);
+            assertTrue(page.getItems().size() <= 2);
+            for (StudentAttributes student : page.getItems()) {
+                ids.add(student.getId());
+            }
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(new HashSet<>(ids).size(), ids.size());
+        assertTrue(ids.containsAll(Arrays.asList(s1.getId(), s2.getId(), s3.getId())));
+
+        studentsDb.deleteStudent(s1.getCourse(), s1.getEmail());
+        studentsDb.deleteStudent(s2.getCourse(), s2.getEmail());
+        studentsDb.deleteStudent(s3.getCourse(), s3.getEmail());
+    }
+
+    @Test
+    public void testStreamEntities() throws Exception {
+        for (int numStudents : new int[] { 0, 1, EntitiesDb.STREAM_CHUNK_SIZE, EntitiesDb.STREAM_CHUNK_SIZE + 1 }) {
+            ______TS(numStudents + " matching students: stream should cover all of them exactly once");
+
+            String courseId = "stream-course-" + numStudents;
+            List<StudentAttributes> students = putStudentsInTeam(courseId, "team", numStudents);
+
+            List<String> ids = studentsDb.streamAttributes(() -> studentsDb.load().filter("courseId =", courseId))
+                    .map(StudentAttributes::getId)
+                    .collect(Collectors.toList());
+
+            assertEquals(numStudents, ids.size());
+            assertEquals(students.stream().map(StudentAttributes::getId).collect(Collectors.toSet()),
+                    new HashSet<>(ids));
+
+            studentsDb.deleteStudents(AttributesDeletionQuery.builder().withCourseId(courseId).build());
+        }
+
+        ______TS("chunks smaller than the matching students: stream should read all chunks");
+
+        String courseId = "stream-course-small-chunks";
+        putStudentsInTeam(courseId, "team", 5);
+
+        assertEquals(5, studentsDb.streamEntities(() -> studentsDb.load().filter("courseId =", courseId), 2).count());
+
+        studentsDb.deleteStudents(AttributesDeletionQuery.builder().withCourseId(courseId).build());
+    }
+
+    @Test
+    public void testUpdateEntitiesInChunks() throws Exception {
+        for (int numStudents : new int[] { 0, 1, EntitiesDb.STREAM_CHUNK_SIZE, EntitiesDb.STREAM_CHUNK_SIZE + 1 }) {
+            ______TS(numStudents + " matching students: all of them should be updated");
+
+            String courseId = "update-in-chunks-course-" + numStudents;
+            putStudentsInTeam(courseId, "old team", numStudents);
+
+            // the update makes the students no longer match the query, which must not skip any of them
+            studentsDb.updateEntitiesInChunks(() -> studentsDb.load()
+                            .filter("courseId =", courseId)
+                            .filter("teamName =", "old team"),
+                    student -> student.setTeamName("new team"));
+
+            assertEquals(0, studentsDb.getStudentCountForTeam("old team", courseId));
+            assertEquals(numStudents, studentsDb.getStudentCountForTeam("new team", courseId));
+
+            studentsDb.deleteStudents(AttributesDeletionQuery.builder().withCourseId(courseId).build());
+        }
+    }
+
+    @Test
+    public void testSaveStudents() throws Exception {
+        StudentAttributes existingStudent = createNewStudent();
+        StudentAttributes newStudent = StudentAttributes
+                .builder(existingStudent.getCourse(), "new@email.com")
+                .withName("new student")
+                .withComment("")
+                .withTeamName("validTeamName")
+                .withSectionName("validSectionName")
+                .build();
+        studentsDb.deleteStudent(newStudent.getCourse(), newStudent.getEmail());
+
+        List<StudentAttributes.UpdateOptions> updates = Collections.singletonList(
+                StudentAttributes.updateOptionsBuilder(existingStudent.getCourse(), existingStudent.getEmail())
+                        .withName("updated name")
+                        .build());
+
+        ______TS("student to create already exists: nothing should be written");
+
+        assertThrows(EntityAlreadyExistsException.class,
+                () -> studentsDb.saveStudents(Collections.singletonList(existingStudent), updates));
+
+        assertEquals(existingStudent.getName(),
+                studentsDb.getStudentForEmail(existingStudent.getCourse(), existingStudent.getEmail()).getName());
+
+        ______TS("invalid student to update: nothing should be written");
+
+        assertThrows(InvalidParametersException.class,
+                () -> studentsDb.saveStudents(Collections.singletonList(newStudent), Collections.singletonList(
+                        StudentAttributes.updateOptionsBuilder(existingStudent.getCourse(), existingStudent.getEmail())
+                                .withTeamName("invalid | team % name")
+                                .build())));
+
+        assertNull(studentsDb.getStudentForEmail(newStudent.getCourse(), newStudent.getEmail()));
+
+        ______TS("student to update does not exist");
+
+        assertThrows(EntityDoesNotExistException.class,
+                () -> studentsDb.saveStudents(new ArrayList<>(), Collections.singletonList(
+                        StudentAttributes.updateOptionsBuilder(existingStudent.getCourse(), "non-existent@email.com")
+                                .withName("updated name")
+                                .build())));
+
+        ______TS("standard success case");
+
+        List<StudentAttributes> savedStudents =
+                studentsDb.saveStudents(Collections.singletonList(newStudent), updates);
+
+        assertEquals(2, savedStudents.size());
+        assertEquals(newStudent.getEmail(), savedStudents.get(0).getEmail());
+        assertEquals(existingStudent.getEmail(), savedStudents.get(1).getEmail());
+        assertEquals("updated name", savedStudents.get(1).getName());
+
+        verifyPresentInDatabase(newStudent);
+        assertEquals("updated name",
+                studentsDb.getStudentForEmail(existingStudent.getCourse(), existingStudent.getEmail()).getName());
+        assertEquals(2, studentsDb.getStudentsForEmails(existingStudent.getCourse(),
+                Arrays.asList(newStudent.getEmail(), existingStudent.getEmail(), "non-existent@email.com")).size());
+
+        ______TS("many students to create: each student should get its own registration key");
+
+        List<StudentAttributes> manyNewStudents = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            StudentAttributes student = StudentAttributes
+                    .builder(existingStudent.getCourse(), "new" + i + "@email.com")
+                    .withName("new student " + i)
+                    .withComment("")
+                    .withTeamName("validTeamName")
+                    .withSectionName("validSectionName")
+                    .build();
+            studentsDb.deleteStudent(student.getCourse(), student.getEmail());
+            manyNewStudents.add(student);
+        }
+
+        List<StudentAttributes> manySavedStudents = studentsDb.saveStudents(manyNewStudents, new ArrayList<>());
+
+        assertEquals(manyNewStudents.size(), manySavedStudents.size());
+        Set<String> registrationKeys = new HashSet<>();
+        for (StudentAttributes student : manyNewStudents) {
+            StudentAttributes savedStudent = studentsDb.getStudentForEmail(student.getCourse(), student.getEmail());
+            assertNotNull(savedStudent);
+            registrationKeys.add(savedStudent.getKey());
+            assertEquals(student.getEmail(), studentsDb.getStudentForRegistrationKey(savedStudent.getKey()).getEmail());
+        }
+        assertEquals(manyNewStudents.size(), registrationKeys.size());
+
+        studentsDb.deleteStudent(newStudent.getCourse(), newStudent.getEmail());
+        for (StudentAttributes student : manyNewStudents) {
+            studentsDb.deleteStudent(student.getCourse(), student.getEmail());
+        }
+    }
+
     @Test
     public void testUpdateStudent_noChangeToStudent_shouldNotIssueSaveRequest() throws Exception {
         StudentAttributes s = createNewStudent();
@@ -449,6 +648,24 @@ public class StudentsDbTest extends BaseTestCaseWithLocalDatabaseAccess {
         return studentsDb.createEntity(s);
     }
 
+    private List<StudentAttributes> putStudentsInTeam(String courseId, String teamName, int numStudents)
+            throws Exception {
+        studentsDb.deleteStudents(AttributesDeletionQuery.builder().withCourseId(courseId).build());
+
+        List<StudentAttributes> students = new ArrayList<>();
+        for (int i = 0; i < numStudents; i++) {
+            students.add(StudentAttributes
+                    .builder(courseId, "student" + i + "@email.com")
+                    .withName("student " + i)
+                    .withComment("")
+                    .withTeamName(teamName)
+                    .withSectionName("valid section name")
+                    .withGoogleId("")
+                    .build());
+        }
+        return studentsDb.putEntities(students);
+    }
+
     private boolean isEnrollInfoSameAs(StudentAttributes student, StudentAttributes otherStudent) {
         return otherStudent != null && otherStudent.getEmail().equals(student.getEmail())
                 && otherStudent.getCourse().equals(student.getCourse())
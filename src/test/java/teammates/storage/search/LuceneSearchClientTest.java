@@ -0,0 +1,198 @@
+package teammates.storage.search;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.apache.solr.client.solrj.SolrQuery;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.common.SolrInputDocument;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import teammates.test.BaseTestCase;
+
+/**
+ * SUT: {@link LuceneSearchClient}.
+ */
+public class LuceneSearchClientTest extends BaseTestCase {
+
+    private static final String COLLECTION = "students";
+
+    private Path indexDirectory;
+    private LuceneSearchClient client;
+
+    @BeforeClass
+    public void setUpIndex() throws IOException {
+        indexDirectory = Files.createTempDirectory("search-index");
+        client = new LuceneSearchClient(indexDirectory);
+    }
+
+    @BeforeMethod
+    public void resetIndex() throws Exception {
+        client.deleteAll(COLLECTION);
+        client.add(COLLECTION, Arrays.asList(
+                getDocument("alice@email.tmt", "course-1", "Alice Betsy Course One Team 1"),
+                getDocument("bob@email.tmt", "course-1", "Bob Charles Course One Team 2"),
+                getDocument("alice@email.tmt", "course-2", "Alice Betsy Course Two Team 1")), 1000);
+    }
+
+    @AfterClass
+    public void tearDownIndex() throws IOException {
+        client.close();
+        deleteDirectory(indexDirectory);
+    }
+
+    @Test
+    public void testQuery_textQuery_shouldMatchTokensCaseInsensitively() throws Exception {
+        assertEquals(Arrays.asList("alice@email.tmt%course-1", "alice@email.tmt%course-2"), search("aLiCe"));
+        assertEquals(Arrays.asList("bob@email.tmt%course-1"), search("charles"));
+        assertEquals(Arrays.asList("alice@email.tmt%course-2"), search("\"course two\""));
+        assertTrue(search("non-existent").isEmpty());
+        assertTrue(search(" ").isEmpty());
+    }
+
+    @Test
+    public void testQuery_filterQuery_shouldOnlyMatchExactValues() throws Exception {
+        SolrQuery query = new SolrQuery("alice");
+        query.addFilterQuery("courseId:(\"course-2\" OR \"course-3\")");
+
+        List<String> ids = getIds(query);
+
+        assertEquals(Arrays.asList("alice@email.tmt%course-2"), ids);
+
+        query = new SolrQuery("alice");
+        query.addFilterQuery("courseId:(\"course\")");
+
+        assertTrue(getIds(query).isEmpty());
+    }
+
+    @Test
+    public void testQuery_storedFields_shouldBeReturned() throws Exception {
+        SolrQuery query = new SolrQuery("bob");
+
+        var document = client.query(COLLECTION, query).get(0);
+
+        assertEquals("bob@email.tmt", document.getFirstValue("email"));
+        assertEquals("course-1", document.getFirstValue("courseId"));
+        // the text field is searched but not stored
+        assertNull(document.getFirstValue("_text_"));
+    }
+
+    @Test
+    public void testQuery_rows_shouldLimitResults() throws Exception {
+        SolrQuery query = new SolrQuery("course");
+        query.setStart(0);
+        query.setRows(2);
+
+        assertEquals(2, client.query(COLLECTION, query).size());
+        assertEquals(3, client.query(COLLECTION, query).getNumFound());
+    }
+
+    @Test
+    public void testQuery_prefixField_shouldMatchPrefixesOfWords() throws Exception {
+        SolrInputDocument document = getDocument("charlie@email.tmt", "course-1", "Charlie Davis");
+        document.addField("_prefix_", "Charlie Davis charlie@email.tmt Team 1 Section A");
+        client.add(COLLECTION, Collections.singletonList(document), 1000);
+
+        SolrQuery query = new SolrQuery("CHAR dav");
+        query.set("df", "_prefix_");
+        query.set("q.op", "AND");
+
+        assertEquals(Arrays.asList("charlie@email.tmt%course-1"), getIds(query));
+
+        // every word in the query must be a prefix of some word
+        query.setQuery("char bob");
+        assertTrue(getIds(query).isEmpty());
+
+        // a prefix in the query does not match words it is not a prefix of
+        query.setQuery("charlies");
+        assertTrue(getIds(query).isEmpty());
+
+        query.setQuery("charlie@em");
+        assertEquals(Arrays.asList("charlie@email.tmt%course-1"), getIds(query));
+
+        // the prefixes are not searched in the text field
+        assertTrue(search("char").isEmpty());
+    }
+
+    @Test
+    public void testQuery_invalidSyntax_shouldThrowException() {
+        assertThrows(SolrServerException.class, () -> search("alice AND"));
+    }
+
+    @Test
+    public void testAdd_existingId_shouldReplaceDocument() throws Exception {
+        client.add(COLLECTION, Collections.singletonList(
+                getDocument("bob@email.tmt", "course-1", "Bobby Charles Course One Team 3")), 1000);
+
+        assertTrue(search("\"team 2\"").isEmpty());
+        assertEquals(Arrays.asList("bob@email.tmt%course-1"), search("\"team 3\""));
+        assertEquals(3, client.query(COLLECTION, new SolrQuery("course")).getNumFound());
+    }
+
+    @Test
+    public void testDeleteById_shouldRemoveDocumentsFromSearch() throws Exception {
+        client.deleteById(COLLECTION, Arrays.asList("alice@email.tmt%course-1", "non-existent"), 1000);
+
+        assertEquals(Arrays.asList("alice@email.tmt%course-2"), search("alice"));
+    }
+
+    @Test
+    public void testDeleteAll_shouldRemoveAllDocumentsFromSearch() throws Exception {
+        client.deleteAll(COLLECTION);
+
+        assertTrue(search("course").isEmpty());
+    }
+
+    @Test
+    public void testClose_shouldCommitUpdatesToIndex() throws Exception {
+        Path otherIndexDirectory = Files.createTempDirectory("search-index");
+        try {
+            try (LuceneSearchClient otherClient = new LuceneSearchClient(otherIndexDirectory)) {
+                otherClient.add(COLLECTION, Collections.singletonList(
+                        getDocument("alice@email.tmt", "course-1", "Alice Betsy Course One Team 1")), 1000);
+            }
+
+            try (LuceneSearchClient reopenedClient = new LuceneSearchClient(otherIndexDirectory)) {
+                assertEquals(1, reopenedClient.query(COLLECTION, new SolrQuery("alice")).getNumFound());
+            }
+        } finally {
+            deleteDirectory(otherIndexDirectory);
+        }
+    }
+
+    private void deleteDirectory(Path directory) throws IOException {
+        try (var paths = Files.walk(directory)) {
+            paths.sorted(Collections.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    private SolrInputDocument getDocument(String email, String courseId, String text) {
+        SolrInputDocument document = new SolrInputDocument();
+        document.addField("id", email + "%" + courseId);
+        document.addField("_text_", email + " " + text);
+        document.addField("courseId", courseId);
+        document.addField("email", email);
+        return document;
+    }
+
+    private List<String> search(String queryString) throws Exception {
+        return getIds(new SolrQuery(queryString));
+    }
+
+    private List<String> getIds(SolrQuery query) throws Exception {
+        return client.query(COLLECTION, query).stream()
+                .map(document -> (String) document.getFirstValue("id"))
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+}
@@ -0,0 +1,92 @@
+package teammates.storage.search;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import teammates.test.BaseTestCase;
+
+/**
+ * SUT: {@link SearchResultCache}.
+ */
+public class SearchResultCacheTest extends BaseTestCase {
+
+    private static final List<String> COURSES = Arrays.asList("course-1", "course-2");
+
+    @Test
+    public void testGet_sameQueryAndCourses_shouldReturnCachedResult() {
+        SearchResultCache cache = new SearchResultCache(Duration.ZERO);
+        List<String> documentIds = Arrays.asList("alice@email.tmt%course-1", "bob@email.tmt%course-2");
+
+        assertNull(cache.get("alice", COURSES));
+
+        cache.put("alice", COURSES, documentIds);
+
+        assertEquals(documentIds, cache.get("alice", COURSES));
+        // the order of the courses and the whitespace in the query do not matter
+        assertEquals(documentIds, cache.get("  alice ", Arrays.asList("course-2", "course-1")));
+        // empty results are cached too
+        cache.put("charlie", COURSES, Collections.emptyList());
+        assertEquals(Collections.emptyList(), cache.get("charlie", COURSES));
+    }
+
+    @Test
+    public void testGet_differentQueryOrCourses_shouldNotReturnCachedResult() {
+        SearchResultCache cache = new SearchResultCache(Duration.ZERO);
+        cache.put("alice", COURSES, Collections.singletonList("alice@email.tmt%course-1"));
+
+        assertNull(cache.get("bob", COURSES));
+        assertNull(cache.get("ALICE", COURSES));
+        assertNull(cache.get("alice", Collections.singletonList("course-1")));
+        assertNull(cache.get("alice", Arrays.asList("course-1", "course-2", "course-3")));
+        assertNull(cache.get("alice", null));
+    }
+
+    @Test
+    public void testInvalidateCourses_shouldDropResultsWhichMayIncludeCourses() {
+        SearchResultCache cache = new SearchResultCache(Duration.ZERO);
+        cache.put("alice", COURSES, Collections.singletonList("alice@email.tmt%course-1"));
+        cache.put("alice", Collections.singletonList("course-3"), Collections.emptyList());
+        cache.put("alice", null, Collections.singletonList("alice@email.tmt%course-1"));
+
+        cache.invalidateCourses(Collections.singletonList("course-2"));
+
+        assertNull(cache.get("alice", COURSES));
+        assertNull(cache.get("alice", null));
+        assertEquals(Collections.emptyList(), cache.get("alice", Collections.singletonList("course-3")));
+    }
+
+    @Test
+    public void testPut_coursesUpdatedWithinSettleTime_shouldNotCacheResult() {
+        SearchResultCache cache = new SearchResultCache(Duration.ofMinutes(1));
+        cache.invalidateCourses(Collections.singletonList("course-2"));
+
+        cache.put("alice", COURSES, Collections.singletonList("alice@email.tmt%course-1"));
+        cache.put("alice", null, Collections.singletonList("alice@email.tmt%course-1"));
+        cache.put("alice", Collections.singletonList("course-3"), Collections.emptyList());
+
+        assertNull(cache.get("alice", COURSES));
+        assertNull(cache.get("alice", null));
+        assertEquals(Collections.emptyList(), cache.get("alice", Collections.singletonList("course-3")));
+    }
+
+    @Test
+    public void testInvalidateDocuments_shouldDropResultsIncludingDocuments() {
+        SearchResultCache cache = new SearchResultCache(Duration.ZERO);
+        cache.put("alice", COURSES, Collections.singletonList("alice@email.tmt%course-1"));
+        cache.put("bob", COURSES, Collections.singletonList("bob@email.tmt%course-2"));
+
+        cache.invalidateDocuments(Arrays.asList("alice@email.tmt%course-1", "non-existent"));
+
+        assertNull(cache.get("alice", COURSES));
+        assertEquals(Collections.singletonList("bob@email.tmt%course-2"), cache.get("bob", COURSES));
+
+        cache.clear();
+
+        assertNull(cache.get("bob", COURSES));
+    }
+
+}
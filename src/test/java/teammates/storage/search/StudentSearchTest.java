@@ -135,6 +135,63 @@ public class StudentSearchTest extends BaseSearchTest {
                 studentList);
     }
 
+    @Test
+    public void testPutDocuments_existingAndNullStudents_shouldUpdateDocumentsOfExistingStudents() throws Exception {
+        if (!TestProperties.isSearchServiceActive()) {
+            return;
+        }
+
+        StudentAttributes stu1InCourse1 = dataBundle.students.get("student1InCourse1");
+        StudentAttributes stu1InCourse2 = dataBundle.students.get("student1InCourse2");
+        StudentAttributes stu1InCourse3 = dataBundle.students.get("student1InCourse3");
+        StudentAttributes stu1InUnregCourse = dataBundle.students.get("student1InUnregisteredCourse");
+        StudentAttributes stu1InArchCourse = dataBundle.students.get("student1InArchivedCourse");
+
+        // documents put again replace the existing documents, and null students are skipped
+        studentsDb.putDocuments(Arrays.asList(stu1InCourse1, null, stu1InCourse2));
+
+        List<StudentAttributes> studentList = studentsDb.searchStudentsInWholeSystem("student1");
+
+        assertEquals(5, studentList.size());
+        AssertHelper.assertSameContentIgnoreOrder(
+                Arrays.asList(stu1InCourse1, stu1InCourse2, stu1InCourse3, stu1InUnregCourse, stu1InArchCourse),
+                studentList);
+    }
+
+    @Test
+    public void testSuggestStudents_prefixesOfWords_shouldSuggestStudentsFromIndexedFields() throws Exception {
+        if (!TestProperties.isSearchServiceActive()) {
+            return;
+        }
+
+        StudentAttributes stu1InCourse1 = dataBundle.students.get("student1InCourse1");
+        List<InstructorAttributes> ins1OfCourse1 = Collections.singletonList(
+                dataBundle.instructors.get("instructor1OfCourse1"));
+        List<InstructorAttributes> ins1OfCourse2 = Collections.singletonList(
+                dataBundle.instructors.get("instructor1OfCourse2"));
+
+        ______TS("success: every word of the query is a prefix of a word of the student");
+
+        List<StudentAttributes> studentList = studentsDb.suggestStudents("STUDENT1incourse1@gm", ins1OfCourse1);
+
+        assertEquals(1, studentList.size());
+        StudentAttributes suggestion = studentList.get(0);
+        assertEquals(stu1InCourse1.getCourse(), suggestion.getCourse());
+        assertEquals(stu1InCourse1.getEmail(), suggestion.getEmail());
+        assertEquals(stu1InCourse1.getName(), suggestion.getName());
+        assertEquals(stu1InCourse1.getTeam(), suggestion.getTeam());
+        assertEquals(stu1InCourse1.getSection(), suggestion.getSection());
+
+        ______TS("success: results restricted based on instructor's privilege");
+
+        assertTrue(studentsDb.suggestStudents("student1incourse1@gm", ins1OfCourse2).isEmpty());
+
+        ______TS("success: no suggestion if some word of the query is not a prefix");
+
+        assertTrue(studentsDb.suggestStudents("student1incourse1@gm nonexistent", ins1OfCourse1).isEmpty());
+        assertTrue(studentsDb.suggestStudents("  ", ins1OfCourse1).isEmpty());
+    }
+
     @Test
     public void testSearchStudents_noSearchService_shouldThrowException() {
         if (TestProperties.isSearchServiceActive()) {
@@ -147,6 +204,8 @@ public class StudentSearchTest extends BaseSearchTest {
                 () -> studentsDb.search("anything", ins1OfCourse1));
         assertThrows(SearchServiceException.class,
                 () -> studentsDb.searchStudentsInWholeSystem("anything"));
+        assertThrows(SearchServiceException.class,
+                () -> studentsDb.suggestStudents("anything", ins1OfCourse1));
     }
 
 }
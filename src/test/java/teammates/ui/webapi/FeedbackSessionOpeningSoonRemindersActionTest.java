@@ -1,18 +1,14 @@
 package teammates.ui.webapi;
 
-import java.util.List;
-
 import org.testng.annotations.Test;
 
 import teammates.common.datatransfer.attributes.FeedbackSessionAttributes;
 import teammates.common.util.Const;
 import teammates.common.util.EmailType;
 import teammates.common.util.EmailWrapper;
-import teammates.common.util.TaskWrapper;
 import teammates.common.util.TimeHelper;
 import teammates.common.util.TimeHelperExtension;
 import teammates.test.ThreadHelper;
-import teammates.ui.request.SendEmailRequest;
 
 /**
  * SUT: {@link FeedbackSessionOpeningSoonRemindersAction}.
@@ -86,14 +82,11 @@ public class FeedbackSessionOpeningSoonRemindersActionTest
         action.execute();
 
         // 3 co-owners in course1 x 2 sessions
-        verifySpecifiedTasksAdded(Const.TaskQueue.SEND_EMAIL_QUEUE_NAME, 6);
+        verifyNumberOfEmailsQueued(6);
 
         // check that the subject matches either session 1 or session 2's details
         String courseName = logic.getCourse(session1.getCourseId()).getName();
-        List<TaskWrapper> tasksAdded = mockTaskQueuer.getTasksAdded();
-        for (TaskWrapper task : tasksAdded) {
-            SendEmailRequest requestBody = (SendEmailRequest) task.getRequestBody();
-            EmailWrapper email = requestBody.getEmail();
+        for (EmailWrapper email : getEmailsQueued()) {
             try {
                 assertEquals(String.format(EmailType.FEEDBACK_OPENING_SOON.getSubject(), courseName,
                         session1.getFeedbackSessionName()),
@@ -183,12 +176,9 @@ public class FeedbackSessionOpeningSoonRemindersActionTest
         action = getAction();
         action.execute();
 
-        verifySpecifiedTasksAdded(Const.TaskQueue.SEND_EMAIL_QUEUE_NAME, 3);
+        verifyNumberOfEmailsQueued(3);
 
-        tasksAdded = mockTaskQueuer.getTasksAdded();
-        for (TaskWrapper task : tasksAdded) {
-            SendEmailRequest requestBody = (SendEmailRequest) task.getRequestBody();
-            EmailWrapper email = requestBody.getEmail();
+        for (EmailWrapper email : getEmailsQueued()) {
 
             assertEquals(String.format(EmailType.FEEDBACK_OPENING_SOON.getSubject(), courseName,
                     session1.getFeedbackSessionName()),
@@ -225,12 +215,9 @@ public class FeedbackSessionOpeningSoonRemindersActionTest
         action = getAction();
         action.execute();
 
-        verifySpecifiedTasksAdded(Const.TaskQueue.SEND_EMAIL_QUEUE_NAME, 3);
+        verifyNumberOfEmailsQueued(3);
 
-        tasksAdded = mockTaskQueuer.getTasksAdded();
-        for (TaskWrapper task : tasksAdded) {
-            SendEmailRequest requestBody = (SendEmailRequest) task.getRequestBody();
-            EmailWrapper email = requestBody.getEmail();
+        for (EmailWrapper email : getEmailsQueued()) {
 
             assertEquals(String.format(EmailType.FEEDBACK_OPENING_SOON.getSubject(), courseName,
                     session1.getFeedbackSessionName()),
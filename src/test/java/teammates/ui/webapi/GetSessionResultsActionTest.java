@@ -1,5 +1,6 @@
 package teammates.ui.webapi;
 
+import java.io.IOException;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -13,6 +14,7 @@ import teammates.common.datatransfer.attributes.InstructorAttributes;
 import teammates.common.datatransfer.attributes.StudentAttributes;
 import teammates.common.util.Const;
 import teammates.common.util.JsonUtils;
+import teammates.test.MockHttpServletResponse;
 import teammates.ui.output.SessionResultsData;
 import teammates.ui.request.Intent;
 
@@ -58,6 +60,7 @@ public class GetSessionResultsActionTest extends BaseActionTest<GetSessionResult
                         null, null, FeedbackResultFetchType.BOTH));
 
         assertTrue(isSessionResultsDataEqual(expectedResults, output));
+        verifyStreamedOutputIsSameAsFullOutput(r);
 
         ______TS("typical: instructor accesses results of his/her course with breakdown");
 
@@ -139,6 +142,17 @@ public class GetSessionResultsActionTest extends BaseActionTest<GetSessionResult
                 studentAttributes);
 
         assertTrue(isSessionResultsDataEqual(expectedResults, output));
+        verifyStreamedOutputIsSameAsFullOutput(r);
+    }
+
+    private void verifyStreamedOutputIsSameAsFullOutput(JsonResult r) {
+        MockHttpServletResponse resp = new MockHttpServletResponse();
+        try {
+            r.send(resp);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        assertEquals(JsonUtils.toCompactJson(r.getOutput()), resp.getWrittenContent());
     }
 
     @Override
@@ -0,0 +1,53 @@
+package teammates.ui.webapi;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import teammates.common.util.Const;
+import teammates.common.util.TaskWrapper;
+import teammates.ui.request.SearchReindexingRequest;
+import teammates.ui.request.SearchReindexingRequest.SearchCollection;
+
+/**
+ * SUT: {@link ReindexSearchCollectionsAction}.
+ */
+public class ReindexSearchCollectionsActionTest extends BaseActionTest<ReindexSearchCollectionsAction> {
+
+    @Override
+    protected String getActionUri() {
+        return Const.ResourceURIs.SEARCH_REINDEX;
+    }
+
+    @Override
+    protected String getRequestMethod() {
+        return POST;
+    }
+
+    @Override
+    @Test
+    protected void testExecute() {
+        ReindexSearchCollectionsAction action = getAction();
+        getJsonResult(action);
+
+        verifySpecifiedTasksAdded(Const.TaskQueue.SEARCH_INDEXING_QUEUE_NAME, 3);
+
+        List<SearchCollection> collections = new ArrayList<>();
+        for (TaskWrapper task : mockTaskQueuer.getTasksAdded()) {
+            SearchReindexingRequest reindexingRequest = (SearchReindexingRequest) task.getRequestBody();
+            assertNull(reindexingRequest.getCursor());
+            assertEquals(0, reindexingRequest.getNumIndexed());
+            collections.add(reindexingRequest.getCollection());
+        }
+        assertEquals(Arrays.asList(SearchCollection.values()), collections);
+    }
+
+    @Override
+    @Test
+    protected void testAccessControl() {
+        verifyOnlyAdminCanAccess();
+    }
+
+}
@@ -0,0 +1,66 @@
+package teammates.ui.webapi;
+
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import teammates.common.datatransfer.attributes.StudentAttributes;
+import teammates.common.util.Const.TaskQueue;
+import teammates.test.TestProperties;
+import teammates.ui.request.SearchReindexingRequest;
+import teammates.ui.request.SearchReindexingRequest.SearchCollection;
+
+/**
+ * SUT: {@link SearchReindexingWorkerAction}.
+ */
+public class SearchReindexingWorkerActionTest extends BaseActionTest<SearchReindexingWorkerAction> {
+
+    @Override
+    protected String getActionUri() {
+        return TaskQueue.SEARCH_REINDEXING_WORKER_URL;
+    }
+
+    @Override
+    protected String getRequestMethod() {
+        return POST;
+    }
+
+    @Override
+    @Test
+    protected void testExecute() throws Exception {
+        ______TS("invalid request body");
+
+        verifyHttpRequestBodyFailure(new SearchReindexingRequest(null, null, 0));
+        verifyHttpRequestBodyFailure(new SearchReindexingRequest(SearchCollection.STUDENTS, null, -1));
+
+        if (!TestProperties.isSearchServiceActive()) {
+            return;
+        }
+
+        StudentAttributes student1 = typicalBundle.students.get("student1InCourse1");
+
+        ______TS("students not yet indexed should not be searchable");
+
+        assertEquals(0, logic.searchStudentsInWholeSystem(student1.getEmail()).size());
+
+        ______TS("collection fitting in one page should be re-indexed without queuing another task");
+
+        SearchReindexingRequest reindexingRequest = new SearchReindexingRequest(SearchCollection.STUDENTS, null, 0);
+
+        SearchReindexingWorkerAction action = getAction(reindexingRequest);
+        getJsonResult(action);
+
+        verifyNoTasksAdded();
+
+        List<StudentAttributes> studentList = logic.searchStudentsInWholeSystem(student1.getEmail());
+        assertEquals(1, studentList.size());
+        assertEquals(student1.getName(), studentList.get(0).getName());
+    }
+
+    @Override
+    @Test
+    protected void testAccessControl() {
+        verifyOnlyAdminCanAccess();
+    }
+
+}
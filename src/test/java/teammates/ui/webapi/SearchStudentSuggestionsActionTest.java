@@ -0,0 +1,111 @@
+package teammates.ui.webapi;
+
+import org.apache.http.HttpStatus;
+import org.testng.annotations.Test;
+
+import teammates.common.datatransfer.DataBundle;
+import teammates.common.datatransfer.attributes.StudentAttributes;
+import teammates.common.util.Const;
+import teammates.test.TestProperties;
+import teammates.ui.output.MessageOutput;
+import teammates.ui.output.StudentSuggestionData;
+import teammates.ui.output.StudentSuggestionsData;
+
+/**
+ * SUT: {@link SearchStudentSuggestionsAction}.
+ */
+public class SearchStudentSuggestionsActionTest extends BaseActionTest<SearchStudentSuggestionsAction> {
+
+    @Override
+    protected void prepareTestData() {
+        DataBundle dataBundle = getTypicalDataBundle();
+        removeAndRestoreDataBundle(dataBundle);
+        putDocuments(dataBundle);
+    }
+
+    @Override
+    protected String getActionUri() {
+        return Const.ResourceURIs.SEARCH_STUDENT_SUGGESTIONS;
+    }
+
+    @Override
+    protected String getRequestMethod() {
+        return GET;
+    }
+
+    @Override
+    protected void testExecute() {
+        // See individual test cases below
+    }
+
+    @Test
+    public void execute_invalidParameters_parameterFailure() {
+        loginAsInstructor("idOfInstructor1OfCourse1");
+        verifyHttpParameterFailure();
+    }
+
+    @Test
+    public void execute_prefixOfStudentEmail_success() {
+        if (!TestProperties.isSearchServiceActive()) {
+            return;
+        }
+
+        StudentAttributes student = typicalBundle.students.get("student1InCourse1");
+        loginAsInstructor("idOfInstructor1OfCourse1");
+        String[] params = new String[] {
+                Const.ParamsNames.SEARCH_KEY, "student1InCourse1@gm",
+        };
+        SearchStudentSuggestionsAction a = getAction(params);
+        JsonResult result = getJsonResult(a);
+        StudentSuggestionsData response = (StudentSuggestionsData) result.getOutput();
+
+        assertEquals(1, response.getStudents().size());
+        StudentSuggestionData suggestion = response.getStudents().get(0);
+        assertEquals(student.getEmail(), suggestion.getEmail());
+        assertEquals(student.getCourse(), suggestion.getCourseId());
+        assertEquals(student.getName(), suggestion.getName());
+        assertEquals(student.getTeam(), suggestion.getTeamName());
+        assertEquals(student.getSection(), suggestion.getSectionName());
+    }
+
+    @Test
+    public void execute_prefixOfStudentInInaccessibleCourse_noMatch() {
+        if (!TestProperties.isSearchServiceActive()) {
+            return;
+        }
+
+        loginAsInstructor("idOfInstructor1OfCourse2");
+        String[] params = new String[] {
+                Const.ParamsNames.SEARCH_KEY, "student1InCourse1@gm",
+        };
+        SearchStudentSuggestionsAction a = getAction(params);
+        JsonResult result = getJsonResult(a);
+        StudentSuggestionsData response = (StudentSuggestionsData) result.getOutput();
+
+        assertEquals(0, response.getStudents().size());
+    }
+
+    @Test
+    public void execute_noSearchService_shouldReturn501() {
+        if (TestProperties.isSearchServiceActive()) {
+            return;
+        }
+
+        loginAsInstructor("idOfInstructor1OfCourse1");
+        String[] params = new String[] {
+                Const.ParamsNames.SEARCH_KEY, "anything",
+        };
+        SearchStudentSuggestionsAction a = getAction(params);
+        JsonResult result = getJsonResult(a, HttpStatus.SC_NOT_IMPLEMENTED);
+        MessageOutput output = (MessageOutput) result.getOutput();
+
+        assertEquals("Full-text search is not available.", output.getMessage());
+    }
+
+    @Override
+    @Test
+    protected void testAccessControl() {
+        verifyOnlyInstructorsCanAccess();
+    }
+
+}
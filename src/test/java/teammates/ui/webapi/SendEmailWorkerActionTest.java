@@ -0,0 +1,114 @@
+package teammates.ui.webapi;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.http.HttpStatus;
+import org.testng.annotations.Test;
+
+import teammates.common.util.Const;
+import teammates.common.util.EmailWrapper;
+import teammates.common.util.JsonUtils;
+import teammates.ui.request.SendEmailRequest;
+
+/**
+ * SUT: {@link SendEmailWorkerAction}.
+ */
+public class SendEmailWorkerActionTest extends BaseActionTest<SendEmailWorkerAction> {
+
+    @Override
+    protected String getActionUri() {
+        return Const.TaskQueue.SEND_EMAIL_WORKER_URL;
+    }
+
+    @Override
+    protected String getRequestMethod() {
+        return POST;
+    }
+
+    @Override
+    @Test
+    protected void testExecute() {
+        List<EmailWrapper> emails = Arrays.asList(
+                getEmail("recipient1@email.tmt"), getEmail("recipient2@email.tmt"), getEmail("recipient3@email.tmt"));
+
+        ______TS("all emails in the chunk are sent");
+
+        SendEmailWorkerAction action = getAction(new SendEmailRequest(emails));
+        getJsonResult(action);
+
+        verifyNumberOfEmailsSent(3);
+        verifyNoTasksAdded();
+
+        ______TS("only the emails which fail to be sent are queued again");
+
+        mockEmailSender.clearEmails();
+        mockEmailSender.setFailingRecipients("recipient2@email.tmt");
+
+        action = getAction(new SendEmailRequest(emails));
+        getJsonResult(action);
+
+        verifyNumberOfEmailsSent(2);
+        verifySpecifiedTasksAdded(Const.TaskQueue.SEND_EMAIL_QUEUE_NAME, 1);
+        SendEmailRequest retryRequest = (SendEmailRequest) mockTaskQueuer.getTasksAdded().get(0).getRequestBody();
+        assertEquals(1, retryRequest.getEmails().size());
+        assertEquals("recipient2@email.tmt", retryRequest.getEmails().get(0).getRecipient());
+
+        ______TS("failure: the failed emails cannot be queued again, hence the task should be retried");
+
+        mockEmailSender.clearEmails();
+        mockTaskQueuer.clearTasks();
+        mockEmailSender.setFailingRecipients("recipient2@email.tmt");
+        mockTaskQueuer.setFailingToAddTasks();
+
+        action = getAction(new SendEmailRequest(emails));
+        getJsonResult(action, HttpStatus.SC_BAD_GATEWAY);
+
+        verifyNumberOfEmailsSent(2);
+        verifyNoTasksAdded();
+
+        ______TS("failure: none of the emails is sent, hence the task should be retried");
+
+        mockEmailSender.clearEmails();
+        mockTaskQueuer.clearTasks();
+        mockEmailSender.setFailingRecipients("recipient1@email.tmt", "recipient2@email.tmt", "recipient3@email.tmt");
+
+        action = getAction(new SendEmailRequest(emails));
+        getJsonResult(action, HttpStatus.SC_BAD_GATEWAY);
+
+        verifyNumberOfEmailsSent(0);
+        verifyNoTasksAdded();
+
+        ______TS("single email queued before emails were sent in chunks");
+
+        String legacyRequestBody = "{\"email\":" + JsonUtils.toCompactJson(getEmail("recipient1@email.tmt")) + "}";
+        action = getAction(legacyRequestBody, new ArrayList<>());
+        getJsonResult(action);
+
+        verifyNumberOfEmailsSent(1);
+        assertEquals("recipient1@email.tmt", mockEmailSender.getEmailsSent().get(0).getRecipient());
+        verifyNoTasksAdded();
+
+        ______TS("invalid request: empty chunk");
+
+        verifyHttpRequestBodyFailure(new SendEmailRequest(new ArrayList<>()));
+    }
+
+    private EmailWrapper getEmail(String recipient) {
+        EmailWrapper email = new EmailWrapper();
+        email.setSenderEmail("sender@email.tmt");
+        email.setReplyTo("replyto@email.tmt");
+        email.setRecipient(recipient);
+        email.setSubject("Test subject");
+        email.setContent("<p>Test content</p>");
+        return email;
+    }
+
+    @Override
+    @Test
+    protected void testAccessControl() {
+        verifyOnlyAdminCanAccess();
+    }
+
+}